@@ -0,0 +1,89 @@
+package dev.morphia.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.benchmarks.model.Order;
+import dev.morphia.mapping.AccessorStrategy;
+import dev.morphia.mapping.codec.PrimitiveAccessor;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+
+import org.bson.codecs.pojo.PropertyAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the property accessors created by each {@link AccessorStrategy} in isolation from the rest of the codec machinery.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessorBenchmark {
+    @Param({ "REFLECTION", "HANDLES" })
+    private AccessorStrategy accessorStrategy;
+
+    private MongoClient client;
+    private PropertyAccessor<? super Object> customer;
+    private PrimitiveAccessor total;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        client = Datastores.client();
+        MorphiaDatastore datastore = Datastores.create(client, Datastores.config().accessorStrategy(accessorStrategy));
+        EntityModel model = datastore.getMapper().getEntityModel(Order.class);
+        customer = model.getProperty("customer").getAccessor();
+        total = (PrimitiveAccessor) model.getProperty("total").getAccessor();
+        order = Order.sample(42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Object getReference() {
+        return customer.get(order);
+    }
+
+    @Benchmark
+    public void setReference() {
+        customer.set(order, "customer");
+    }
+
+    @Benchmark
+    public Object getBoxed() {
+        return total.get(order);
+    }
+
+    @Benchmark
+    public void setBoxed() {
+        total.set(order, 12.5);
+    }
+
+    @Benchmark
+    public double getPrimitive() {
+        return total.getDouble(order);
+    }
+
+    @Benchmark
+    public void setPrimitive() {
+        total.setDouble(order, 12.5);
+    }
+}
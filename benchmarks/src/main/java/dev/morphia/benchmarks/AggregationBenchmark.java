@@ -0,0 +1,82 @@
+package dev.morphia.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.aggregation.AggregationImpl;
+import dev.morphia.benchmarks.model.Order;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.avg;
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.push;
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.sum;
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.expressions.Expressions.value;
+import static dev.morphia.aggregation.expressions.MathExpressions.multiply;
+import static dev.morphia.aggregation.stages.Group.group;
+import static dev.morphia.aggregation.stages.Group.id;
+import static dev.morphia.aggregation.stages.Projection.project;
+import static dev.morphia.aggregation.stages.Sort.sort;
+import static dev.morphia.aggregation.stages.Unwind.unwind;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gt;
+import static dev.morphia.query.filters.Filters.in;
+
+/**
+ * Measures encoding a typical multi-stage pipeline via {@link AggregationImpl#pipeline()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+    private MongoClient client;
+    private AggregationImpl<Order> aggregation;
+
+    @Setup
+    public void setup() {
+        client = Datastores.client();
+        MorphiaDatastore datastore = Datastores.create(client, Datastores.config());
+        aggregation = (AggregationImpl<Order>) datastore.aggregate(Order.class)
+                .match(eq("shipped", true), gt("total", 100), in("status", List.of(Order.Status.PAID, Order.Status.SHIPPED)))
+                .unwind(unwind("items"))
+                .group(group(id(field("customer")))
+                        .field("spent", sum(multiply(field("items.price"), field("items.quantity"))))
+                        .field("average", avg(field("items.price")))
+                        .field("skus", push(field("items.sku"))))
+                .project(project()
+                        .include("spent")
+                        .include("average")
+                        .include("skus")
+                        .include("vip", value(true)))
+                .sort(sort().descending("spent"))
+                .limit(100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public List<Document> pipeline() {
+        return aggregation.pipeline();
+    }
+}
@@ -0,0 +1,83 @@
+package dev.morphia.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.benchmarks.model.Order;
+import dev.morphia.mapping.AccessorStrategy;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the entity codecs encoding to and decoding from raw BSON buffers, i.e., the work done for every document sent to or read
+ * from the server. Both accessor strategies are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().isEncodingCollectibleDocument(true).build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    @Param({ "REFLECTION", "HANDLES" })
+    private AccessorStrategy accessorStrategy;
+
+    private MongoClient client;
+    private Codec<Order> codec;
+    private Order order;
+    private byte[] bytes;
+    private final BasicOutputBuffer buffer = new BasicOutputBuffer();
+
+    @Setup
+    public void setup() {
+        client = Datastores.client();
+        MorphiaDatastore datastore = Datastores.create(client, Datastores.config().accessorStrategy(accessorStrategy));
+        codec = datastore.getCodecRegistry().get(Order.class);
+        order = Order.sample(42);
+
+        BasicOutputBuffer output = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(output), order, ENCODER_CONTEXT);
+        bytes = Arrays.copyOf(output.getInternalBuffer(), output.getPosition());
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public int encode() {
+        buffer.truncateToPosition(0);
+        codec.encode(new BsonBinaryWriter(buffer), order, ENCODER_CONTEXT);
+        return buffer.getPosition();
+    }
+
+    @Benchmark
+    public Order decode() {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), DECODER_CONTEXT);
+    }
+}
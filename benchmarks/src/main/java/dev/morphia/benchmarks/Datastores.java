@@ -0,0 +1,37 @@
+package dev.morphia.benchmarks;
+
+import java.util.List;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.benchmarks.model.Address;
+import dev.morphia.benchmarks.model.LineItem;
+import dev.morphia.benchmarks.model.Order;
+import dev.morphia.config.ManualMorphiaConfig;
+import dev.morphia.config.MorphiaConfig;
+
+/**
+ * Creates datastores for the benchmarks. None of the benchmarks talk to a server so the client is never used to connect.
+ */
+final class Datastores {
+    private Datastores() {
+    }
+
+    static MorphiaConfig config() {
+        return ManualMorphiaConfig.configure()
+                .database("benchmarks")
+                .packages(List.of());
+    }
+
+    static MorphiaDatastore create(MongoClient client, MorphiaConfig config) {
+        MorphiaDatastore datastore = new MorphiaDatastore(client, config);
+        datastore.getMapper().map(Order.class, LineItem.class, Address.class);
+        return datastore;
+    }
+
+    static MongoClient client() {
+        return MongoClients.create();
+    }
+}
@@ -0,0 +1,69 @@
+package dev.morphia.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.benchmarks.model.Order;
+import dev.morphia.mapping.codec.reader.DocumentReader;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures converting entities to and from {@code Document}s via {@link DocumentWriter} and {@link DocumentReader} as is done for
+ * lifecycle listeners, query by example and embedded values in filters and updates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentBenchmark {
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    private MongoClient client;
+    private MorphiaDatastore datastore;
+    private Codec<Order> codec;
+    private Order order;
+    private Document document;
+
+    @Setup
+    public void setup() {
+        client = Datastores.client();
+        datastore = Datastores.create(client, Datastores.config());
+        codec = datastore.getCodecRegistry().get(Order.class);
+        order = Order.sample(42);
+        document = DocumentWriter.encode(order, datastore.getMapper(), datastore.getCodecRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Document write() {
+        return DocumentWriter.encode(order, datastore.getMapper(), datastore.getCodecRegistry());
+    }
+
+    @Benchmark
+    public Order read() {
+        return codec.decode(new DocumentReader(document), DECODER_CONTEXT);
+    }
+}
@@ -0,0 +1,95 @@
+package dev.morphia.benchmarks;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.config.MorphiaConfig;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the startup cost of mapping a few hundred entities with a fresh {@link Mapper}. The entity types are generated once per
+ * trial so that the benchmark doesn't need hundreds of hand written classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class MappingBenchmark {
+    private static final int FIELDS = 12;
+    private static final Type[] FIELD_TYPES = {
+            String.class,
+            int.class,
+            long.class,
+            double.class,
+            boolean.class,
+            Date.class,
+            TypeDescription.Generic.Builder.parameterizedType(List.class, String.class).build(),
+            TypeDescription.Generic.Builder.parameterizedType(Map.class, String.class, Integer.class).build()
+    };
+
+    @Param({ "100", "300" })
+    private int entityCount;
+
+    private MorphiaConfig config;
+    private Class<?>[] entities;
+
+    @Setup
+    public void setup() {
+        config = Datastores.config();
+        List<Class<?>> types = new ArrayList<>();
+        for (int i = 0; i < entityCount; i++) {
+            types.add(generate(i));
+        }
+        entities = types.toArray(new Class<?>[0]);
+    }
+
+    @Benchmark
+    public List<EntityModel> map() {
+        return new Mapper(config).map(entities);
+    }
+
+    private static Class<?> generate(int index) {
+        DynamicType.Builder<?> builder = new ByteBuddy()
+                .subclass(Object.class)
+                .name("dev.morphia.benchmarks.generated.Entity" + index)
+                .annotateType(AnnotationDescription.Builder.ofType(Entity.class)
+                        .define("value", "entity" + index)
+                        .build())
+                .defineField("id", ObjectId.class, Visibility.PRIVATE)
+                .annotateField(AnnotationDescription.Builder.ofType(Id.class).build());
+        for (int field = 0; field < FIELDS; field++) {
+            builder = builder.defineField("field" + field, FIELD_TYPES[field % FIELD_TYPES.length], Visibility.PRIVATE);
+        }
+        return builder.make()
+                .load(MappingBenchmark.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+}
@@ -0,0 +1,92 @@
+package dev.morphia.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.benchmarks.model.Order;
+import dev.morphia.query.MorphiaQuery;
+import dev.morphia.query.filters.Filter;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.exists;
+import static dev.morphia.query.filters.Filters.gt;
+import static dev.morphia.query.filters.Filters.in;
+import static dev.morphia.query.filters.Filters.lte;
+import static dev.morphia.query.filters.Filters.ne;
+
+/**
+ * Measures building a query and encoding its filters via {@link MorphiaQuery#toDocument()}. Each filter's path is validated against
+ * the mapping and translated to the mapped names so this covers the per query overhead paid before anything is sent to the server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+    @Param({ "1", "10", "50" })
+    private int filterCount;
+
+    private MongoClient client;
+    private MorphiaDatastore datastore;
+    private Filter[] filters;
+
+    @Setup
+    public void setup() {
+        client = Datastores.client();
+        datastore = Datastores.create(client, Datastores.config());
+        filters = new Filter[filterCount];
+        for (int i = 0; i < filterCount; i++) {
+            filters[i] = filter(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Document toDocument() {
+        return ((MorphiaQuery<Order>) datastore.find(Order.class).filter(filters)).toDocument();
+    }
+
+    private static Filter filter(int index) {
+        switch (index % 8) {
+            case 0:
+                return eq("customer", "customer-" + index);
+            case 1:
+                return gt("total", index);
+            case 2:
+                return in("tags", List.of("tag-" + index, "gift"));
+            case 3:
+                return eq("address.city", "Springfield");
+            case 4:
+                return lte("count", index);
+            case 5:
+                return exists("status");
+            case 6:
+                return eq("items.sku", "sku-" + index);
+            default:
+                return ne("shipped", false);
+        }
+    }
+}
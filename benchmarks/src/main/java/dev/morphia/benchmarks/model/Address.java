@@ -0,0 +1,30 @@
+package dev.morphia.benchmarks.model;
+
+import dev.morphia.annotations.Entity;
+
+/**
+ * An embedded address
+ */
+@Entity
+public class Address {
+    public String street;
+    public String city;
+    public String zip;
+
+    /**
+     * Used by Morphia
+     */
+    public Address() {
+    }
+
+    /**
+     * @param street the street
+     * @param city   the city
+     * @param zip    the zip code
+     */
+    public Address(String street, String city, String zip) {
+        this.street = street;
+        this.city = city;
+        this.zip = zip;
+    }
+}
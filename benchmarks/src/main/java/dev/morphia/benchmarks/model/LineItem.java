@@ -0,0 +1,30 @@
+package dev.morphia.benchmarks.model;
+
+import dev.morphia.annotations.Entity;
+
+/**
+ * An embedded line item
+ */
+@Entity
+public class LineItem {
+    public String sku;
+    public int quantity;
+    public double price;
+
+    /**
+     * Used by Morphia
+     */
+    public LineItem() {
+    }
+
+    /**
+     * @param sku      the sku
+     * @param quantity the quantity
+     * @param price    the unit price
+     */
+    public LineItem(String sku, int quantity, double price) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.price = price;
+    }
+}
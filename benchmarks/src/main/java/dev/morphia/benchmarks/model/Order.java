@@ -0,0 +1,70 @@
+package dev.morphia.benchmarks.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Property;
+
+import org.bson.types.ObjectId;
+
+/**
+ * A representative entity mixing primitives, strings, dates, collections, maps and embedded types
+ */
+@Entity("orders")
+public class Order {
+    @Id
+    public ObjectId id;
+    public String customer;
+    @Property("ts")
+    public LocalDateTime created;
+    public double total;
+    public int count;
+    public long sequence;
+    public boolean shipped;
+    public Status status;
+    public List<String> tags;
+    public Map<String, Integer> counters;
+    public Address address;
+    public List<LineItem> items;
+
+    /**
+     * Creates a populated order
+     *
+     * @param seed varies the values of the order
+     * @return the order
+     */
+    public static Order sample(int seed) {
+        Order order = new Order();
+        order.id = new ObjectId();
+        order.customer = "customer-" + seed;
+        order.created = LocalDateTime.of(2023, 1, 1 + seed % 28, 12, 0);
+        order.count = 10;
+        order.sequence = seed * 1_000L;
+        order.shipped = seed % 2 == 0;
+        order.status = Status.values()[seed % Status.values().length];
+        order.tags = List.of("priority", "gift", "tag-" + seed);
+        order.counters = Map.of("views", seed, "edits", seed / 2);
+        order.address = new Address("1 Main St", "Springfield", "12345");
+        order.items = new ArrayList<>();
+        for (int i = 0; i < order.count; i++) {
+            LineItem item = new LineItem("sku-" + i, i + 1, 9.99 * (i + 1));
+            order.items.add(item);
+            order.total += item.price * item.quantity;
+        }
+        return order;
+    }
+
+    /**
+     * The order states
+     */
+    public enum Status {
+        NEW,
+        PAID,
+        SHIPPED,
+        CANCELLED
+    }
+}
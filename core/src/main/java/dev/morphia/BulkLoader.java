@@ -0,0 +1,492 @@
+package dev.morphia;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.sofia.Sofia;
+import dev.morphia.transactions.MorphiaSession;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+/**
+ * Inserts entities from an {@link java.util.Iterator} or {@link Stream} without holding them all in memory. Entities are encoded as
+ * they are read and collected, per entity type, into batches bounded by both the {@link InsertManyOptions#batchSize(int) number of
+ * entities} and their {@link #maxBatchBytes(int) encoded size}. Full batches are written on a pool of worker threads while the next
+ * ones are encoded. Once {@link #maxPendingBatches(int) too many batches} are in flight, reading from the source waits for the oldest
+ * to complete.
+ * <p>
+ * Lifecycle methods are called and ids generated as each entity is encoded, on the thread calling {@link #load(Iterator)}.
+ * The outcome of each batch is passed to the {@link #onBatch(Consumer) listener} on that thread, too, in the order the batches were
+ * written.
+ * <p>
+ * If the options are {@link InsertManyOptions#ordered(boolean) ordered}, the default, loading stops at the first failed batch and any
+ * batches waiting to be written are skipped. Batches already being written by other threads still complete. Otherwise, every batch is
+ * attempted and the failures reported at the end.
+ *
+ * @param <T> the entity type
+ * @since 3.0
+ */
+public class BulkLoader<T> {
+    /**
+     * The largest number of writes the server accepts in a single batch
+     */
+    public static final int MAX_BATCH_COUNT = 100_000;
+
+    /**
+     * The default limit on the encoded size of a batch. This stays below the server's 48MB message limit to leave room for the
+     * command itself.
+     */
+    public static final int DEFAULT_MAX_BATCH_BYTES = 47_000_000;
+
+    private static final EncoderContext CONTEXT = EncoderContext.builder()
+            .isEncodingCollectibleDocument(true)
+            .build();
+
+    private final MorphiaDatastore datastore;
+    private final Class<T> type;
+    private final InsertManyOptions options;
+    private int threads = 1;
+    private int maxPendingBatches = 2;
+    private int maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+    private Consumer<BatchResult> listener = result -> {
+    };
+
+    /**
+     * Creates a new loader
+     *
+     * @param datastore the datastore to use
+     * @param type      the type of the entities to load
+     * @param options   the options to apply to each batch
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public BulkLoader(MorphiaDatastore datastore, Class<T> type, InsertManyOptions options) {
+        this.datastore = datastore;
+        this.type = type;
+        this.options = options;
+    }
+
+    /**
+     * Sets the maximum encoded size of a batch. An entity larger than this is written in a batch of its own.
+     *
+     * @param maxBatchBytes the maximum size in bytes
+     * @return this
+     */
+    public BulkLoader<T> maxBatchBytes(int maxBatchBytes) {
+        this.maxBatchBytes = maxBatchBytes;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of batches that may be written or waiting to be written at once. Reading from the source pauses while
+     * this many are pending. The default is 2.
+     *
+     * @param maxPendingBatches the maximum number of pending batches
+     * @return this
+     */
+    public BulkLoader<T> maxPendingBatches(int maxPendingBatches) {
+        this.maxPendingBatches = Math.max(1, maxPendingBatches);
+        return this;
+    }
+
+    /**
+     * Sets the listener to notify as each batch completes
+     *
+     * @param listener the listener
+     * @return this
+     */
+    public BulkLoader<T> onBatch(Consumer<BatchResult> listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads writing batches. The default is 1. Batches are always written one at a time when loading via a
+     * {@link MorphiaSession} since sessions can not be used concurrently.
+     *
+     * @param threads the number of threads
+     * @return this
+     */
+    public BulkLoader<T> threads(int threads) {
+        this.threads = Math.max(1, threads);
+        return this;
+    }
+
+    /**
+     * Loads the entities from a stream
+     *
+     * @param entities the entities to insert
+     * @return the summary of the load
+     */
+    public Result load(Stream<? extends T> entities) {
+        try (entities) {
+            return load(entities.iterator());
+        }
+    }
+
+    /**
+     * Loads the entities from an iterator
+     *
+     * @param entities the entities to insert
+     * @return the summary of the load
+     * @throws IllegalArgumentException if an entity is not an instance of the loader's type
+     */
+    public Result load(Iterator<? extends T> entities) {
+        int batchSize = options.batchSize() > 0 ? Math.min(options.batchSize(), MAX_BATCH_COUNT) : MAX_BATCH_COUNT;
+        int workers = datastore instanceof MorphiaSession ? 1 : threads;
+        ExecutorService executor = Executors.newFixedThreadPool(workers, new LoaderThreads());
+        Loading loading = new Loading(executor);
+        try {
+            Map<Class<?>, Batch> open = new LinkedHashMap<>();
+            while (!loading.stopped && entities.hasNext()) {
+                T entity = entities.next();
+                if (!type.isInstance(entity)) {
+                    throw new IllegalArgumentException(Sofia.illegalArgument(entity.getClass().getName(), type.getName()));
+                }
+                Batch batch = open.computeIfAbsent(entity.getClass(), Batch::new);
+                Encoded encoded = batch.encode(entity);
+                if (!batch.isEmpty() && batch.bytes + encoded.size() > maxBatchBytes) {
+                    loading.submit(batch);
+                    batch = new Batch(entity.getClass());
+                    open.put(entity.getClass(), batch);
+                }
+                batch.add(encoded);
+                if (batch.documents.size() >= batchSize) {
+                    loading.submit(open.remove(entity.getClass()));
+                }
+            }
+            for (Batch batch : open.values()) {
+                if (!loading.stopped) {
+                    loading.submit(batch);
+                } else {
+                    batch.rollback(0);
+                }
+            }
+            loading.drain();
+        } finally {
+            executor.shutdownNow();
+        }
+        return loading.result;
+    }
+
+    /**
+     * The outcome of writing one batch
+     */
+    public static final class BatchResult {
+        private final int index;
+        private final Class<?> type;
+        private final int count;
+        @Nullable
+        private final InsertManyResult result;
+        @Nullable
+        private final MongoException failure;
+
+        BatchResult(int index, Class<?> type, int count, @Nullable InsertManyResult result, @Nullable MongoException failure) {
+            this.index = index;
+            this.type = type;
+            this.count = count;
+            this.result = result;
+            this.failure = failure;
+        }
+
+        /**
+         * @return the number of entities in the batch
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the failure writing the batch or null if it succeeded
+         */
+        @Nullable
+        public MongoException getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return the position of this batch in the order batches were submitted, starting at 0
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the result of writing the batch or null if it failed
+         */
+        @Nullable
+        public InsertManyResult getResult() {
+            return result;
+        }
+
+        /**
+         * @return the type of the entities in the batch
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * @return true if the batch was written successfully
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+        @Override
+        public String toString() {
+            return "BatchResult{index=" + index + ", type=" + type.getName() + ", count=" + count + ", failure=" + failure + "}";
+        }
+    }
+
+    /**
+     * Summarizes a completed load
+     */
+    public static final class Result {
+        private final List<BatchResult> failures = new ArrayList<>();
+        private int batches;
+        private long inserted;
+
+        /**
+         * @return the number of batches written
+         */
+        public int getBatchCount() {
+            return batches;
+        }
+
+        /**
+         * @return the batches which failed
+         */
+        public List<BatchResult> getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return the number of entities inserted, including those inserted by batches which partially failed
+         */
+        public long getInsertedCount() {
+            return inserted;
+        }
+
+        /**
+         * @return true if every batch was written successfully
+         */
+        public boolean isSuccessful() {
+            return failures.isEmpty();
+        }
+    }
+
+    private class Batch {
+        private final Class<?> type;
+        private final List<RawBsonDocument> documents = new ArrayList<>();
+        @Nullable
+        private final PropertyModel versionProperty;
+        private final List<Encoded> versioned = new ArrayList<>();
+        private int bytes;
+
+        Batch(Class<?> type) {
+            this.type = type;
+            versionProperty = datastore.getMapper().getEntityModel(type).getVersionProperty();
+        }
+
+        /**
+         * Encodes an entity, generating its id and bumping its version as an insert would.
+         */
+        @SuppressWarnings("unchecked")
+        Encoded encode(Object entity) {
+            Codec<Object> codec = (Codec<Object>) datastore.getCodecRegistry().get(type);
+            if (codec instanceof CollectibleCodec) {
+                ((CollectibleCodec<Object>) codec).generateIdIfAbsentFromDocument(entity);
+            }
+            Long oldVersion = null;
+            if (versionProperty != null) {
+                oldVersion = (Long) versionProperty.getValue(entity);
+                versionProperty.setValue(entity, oldVersion == null ? 1 : oldVersion + 1);
+            }
+            BasicOutputBuffer buffer = new BasicOutputBuffer();
+            try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+                codec.encode(writer, entity, CONTEXT);
+            }
+            return new Encoded(entity, new RawBsonDocument(buffer.toByteArray()), oldVersion);
+        }
+
+        void add(Encoded encoded) {
+            documents.add(encoded.document);
+            bytes += encoded.size();
+            if (versionProperty != null) {
+                versioned.add(encoded);
+            }
+        }
+
+        boolean isEmpty() {
+            return documents.isEmpty();
+        }
+
+        BatchResult write(int index) {
+            MongoCollection<RawBsonDocument> collection = datastore.configureCollection(options, datastore.getCollection(type))
+                    .withDocumentClass(RawBsonDocument.class);
+            try {
+                InsertManyResult result = datastore.operations().insertMany(collection, documents, options);
+                return new BatchResult(index, type, documents.size(), result, null);
+            } catch (MongoBulkWriteException e) {
+                List<BulkWriteError> errors = e.getWriteErrors();
+                for (BulkWriteError error : errors) {
+                    rollback(error.getIndex(), error.getIndex() + 1);
+                }
+                if (options.driver().isOrdered() && !errors.isEmpty()) {
+                    // an ordered write stops at the first error so nothing after it was written
+                    rollback(errors.get(0).getIndex() + 1);
+                }
+                return new BatchResult(index, type, documents.size(), null, e);
+            } catch (MongoException e) {
+                rollback(0);
+                return new BatchResult(index, type, documents.size(), null, e);
+            }
+        }
+
+        void rollback(int from) {
+            rollback(from, versioned.size());
+        }
+
+        void rollback(int from, int to) {
+            if (versionProperty != null) {
+                for (Encoded encoded : versioned.subList(from, to)) {
+                    versionProperty.setValue(encoded.entity, encoded.oldVersion);
+                }
+            }
+        }
+    }
+
+    private static final class Encoded {
+        private final Object entity;
+        private final RawBsonDocument document;
+        @Nullable
+        private final Long oldVersion;
+
+        private Encoded(Object entity, RawBsonDocument document, @Nullable Long oldVersion) {
+            this.entity = entity;
+            this.document = document;
+            this.oldVersion = oldVersion;
+        }
+
+        int size() {
+            return document.getByteBuffer().remaining();
+        }
+    }
+
+    private class Loading {
+        private final ExecutorService executor;
+        private final Deque<Future<BatchResult>> pending = new ArrayDeque<>();
+        private final Result result = new Result();
+        private int submitted;
+        private volatile boolean stopped;
+
+        Loading(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        void submit(Batch batch) {
+            while (pending.size() >= maxPendingBatches) {
+                complete(pending.poll());
+            }
+            int index = submitted++;
+            pending.add(executor.submit(() -> write(batch, index)));
+            while (!pending.isEmpty() && pending.peek().isDone()) {
+                complete(pending.poll());
+            }
+        }
+
+        void drain() {
+            while (!pending.isEmpty()) {
+                complete(pending.poll());
+            }
+        }
+
+        /**
+         * Writes a batch unless an ordered load has already stopped, in which case the batch is skipped
+         *
+         * @return the outcome or null if the batch was skipped
+         */
+        @Nullable
+        private BatchResult write(Batch batch, int index) {
+            if (stopped) {
+                batch.rollback(0);
+                return null;
+            }
+            BatchResult written = batch.write(index);
+            if (!written.isSuccessful() && options.driver().isOrdered()) {
+                stopped = true;
+            }
+            return written;
+        }
+
+        private void complete(Future<BatchResult> future) {
+            BatchResult batch;
+            try {
+                batch = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MongoInterruptedException("Interrupted while waiting for a batch to be written", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new MongoException(cause.getMessage(), cause);
+            }
+            if (batch == null) {
+                return;
+            }
+            result.batches++;
+            if (batch.isSuccessful()) {
+                result.inserted += batch.getCount();
+            } else {
+                if (batch.getFailure() instanceof MongoBulkWriteException) {
+                    result.inserted += ((MongoBulkWriteException) batch.getFailure()).getWriteResult().getInsertedCount();
+                }
+                result.failures.add(batch);
+                if (options.driver().isOrdered()) {
+                    stopped = true;
+                }
+            }
+            listener.accept(batch);
+        }
+    }
+
+    private static class LoaderThreads implements ThreadFactory {
+        private static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "morphia-bulk-loader-" + COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
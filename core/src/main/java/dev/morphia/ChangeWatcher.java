@@ -0,0 +1,394 @@
+package dev.morphia;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static dev.morphia.mapping.codec.CodecHelper.document;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Watches the collection of an entity type for changes. The {@code fullDocument} and {@code fullDocumentBeforeChange} of each change
+ * are decoded with the entity's codec. Changes to documents of any type stored in the collection are reported.
+ * <p>
+ * A watcher can either be read from directly via {@link #cursor()} or {@link #start(Consumer) started} to pass each batch of changes to
+ * a handler on its own thread or on a given {@link #executor(Executor) executor}. When {@link #checkpoints(CheckpointStore, String)
+ * checkpoints} are configured, the resume token is saved after each batch is handled and a restarted watcher resumes after it. The
+ * token the server reports while no matching changes arrive is saved as well so that a restarted watcher doesn't rescan the changes
+ * it filtered out.
+ *
+ * @param <T> the entity type
+ * @since 3.0
+ */
+public class ChangeWatcher<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeWatcher.class);
+    private static final int DEFAULT_MAX_CHANGES = 100;
+    private static final List<String> ROOT_VARIABLES = List.of("$$ROOT", "$$CURRENT");
+    private static final List<String> UNSUPPORTED_FILTERS = List.of("$where", "$text", "$jsonSchema");
+
+    private final MorphiaDatastore datastore;
+    private final Class<T> type;
+    private final List<Filter> filters = new ArrayList<>();
+    private final List<String> operationTypes = new ArrayList<>();
+    private FullDocument fullDocument = FullDocument.DEFAULT;
+    private FullDocumentBeforeChange fullDocumentBeforeChange = FullDocumentBeforeChange.DEFAULT;
+    private int batchSize;
+    private long maxAwaitTimeMS = 1000;
+    @Nullable
+    private Executor executor;
+    @Nullable
+    private CheckpointStore checkpoints;
+    private String name;
+
+    /**
+     * Creates a new watcher
+     *
+     * @param datastore the datastore to use
+     * @param type      the entity type to watch
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public ChangeWatcher(MorphiaDatastore datastore, Class<T> type) {
+        this.datastore = datastore;
+        this.type = type;
+        name = datastore.getMapper().getEntityModel(type).getCollectionName();
+    }
+
+    /**
+     * Sets the maximum number of changes to read per batch from the server. This is also the most changes passed to a handler at
+     * once, 100 if not set.
+     *
+     * @param batchSize the batch size
+     * @return this
+     */
+    public ChangeWatcher<T> batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Saves the resume token of each batch of changes once it has been handled and resumes after the last saved token when
+     * started.
+     *
+     * @param store the store to save tokens in
+     * @param name  the name to save tokens under. This should be unique to each watcher.
+     * @return this
+     */
+    public ChangeWatcher<T> checkpoints(CheckpointStore store, String name) {
+        this.checkpoints = store;
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Sets the executor to read changes and run the handler on. If not set, a new daemon thread is started for each
+     * {@link #start(Consumer) watch}.
+     *
+     * @param executor the executor
+     * @return this
+     */
+    public ChangeWatcher<T> executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Filters the changes reported to those whose full document matches the filters. Paths are checked against the entity type as
+     * with a query and are then made relative to the {@code fullDocument} of the change, as are the field paths of {@code $expr}
+     * filters. Changes without a full document, such as deletes, do not match. {@code $where}, {@code $text} and
+     * {@code $jsonSchema} filters can't be applied to the full document and are rejected when the change stream is opened.
+     *
+     * @param filters the filters to apply
+     * @return this
+     */
+    public ChangeWatcher<T> filter(Filter... filters) {
+        for (Filter filter : filters) {
+            this.filters.add(filter.entityType(type));
+        }
+        return this;
+    }
+
+    /**
+     * Sets when the current version of the document is included in a change
+     *
+     * @param fullDocument the full document option
+     * @return this
+     */
+    public ChangeWatcher<T> fullDocument(FullDocument fullDocument) {
+        this.fullDocument = fullDocument;
+        return this;
+    }
+
+    /**
+     * Sets when the version of the document before the change is included in a change. The collection must have pre-images enabled.
+     *
+     * @param fullDocumentBeforeChange the pre-image option
+     * @return this
+     */
+    public ChangeWatcher<T> fullDocumentBeforeChange(FullDocumentBeforeChange fullDocumentBeforeChange) {
+        this.fullDocumentBeforeChange = fullDocumentBeforeChange;
+        return this;
+    }
+
+    /**
+     * Sets how long the server waits for new changes before returning an empty batch. This also bounds how long it takes a started
+     * watch to notice it has been closed. The default is one second.
+     *
+     * @param maxAwaitTime the time to wait
+     * @param unit         the unit of the time
+     * @return this
+     */
+    public ChangeWatcher<T> maxAwaitTime(long maxAwaitTime, TimeUnit unit) {
+        this.maxAwaitTimeMS = MILLISECONDS.convert(maxAwaitTime, unit);
+        return this;
+    }
+
+    /**
+     * Limits the changes reported to the given operation types
+     *
+     * @param types the types to report
+     * @return this
+     */
+    public ChangeWatcher<T> operationTypes(OperationType... types) {
+        for (OperationType operationType : types) {
+            operationTypes.add(operationType.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Opens a cursor on the changes. The cursor resumes after the last checkpoint, if any, but does not save checkpoints itself.
+     *
+     * @return the cursor
+     */
+    public MongoChangeStreamCursor<ChangeStreamDocument<T>> cursor() {
+        ChangeStreamIterable<T> iterable = datastore.getCollection(type)
+                .watch(pipeline())
+                .fullDocument(fullDocument)
+                .fullDocumentBeforeChange(fullDocumentBeforeChange)
+                .maxAwaitTime(maxAwaitTimeMS, MILLISECONDS);
+        if (batchSize > 0) {
+            iterable.batchSize(batchSize);
+        }
+        if (checkpoints != null) {
+            BsonDocument token = checkpoints.load(name);
+            if (token != null) {
+                iterable.resumeAfter(token);
+            }
+        }
+        return iterable.cursor();
+    }
+
+    /**
+     * @return the pipeline matching the changes to report
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public List<Bson> pipeline() {
+        Document match = new Document();
+        if (!filters.isEmpty()) {
+            DocumentWriter writer = new DocumentWriter(datastore.getMapper().getConfig());
+            document(writer, () -> {
+                EncoderContext context = EncoderContext.builder().build();
+                for (Filter filter : filters) {
+                    Codec codec = datastore.getCodecRegistry().get(filter.getClass());
+                    codec.encode(writer, filter, context);
+                }
+            });
+            match.putAll(fullDocument(writer.getDocument()));
+        }
+        if (!operationTypes.isEmpty()) {
+            match.put("operationType", new Document("$in", operationTypes));
+        }
+        return match.isEmpty() ? List.of() : List.of(new Document("$match", match));
+    }
+
+    /**
+     * Opens the change stream and passes each batch of changes to the handler. The stream is opened before this method returns so
+     * every change made after it returns is reported. Reading stops when the watch is closed or the handler throws an exception.
+     *
+     * @param handler the handler for each batch of changes
+     * @return the running watch
+     */
+    public Watch start(Consumer<List<ChangeStreamDocument<T>>> handler) {
+        MongoChangeStreamCursor<ChangeStreamDocument<T>> cursor = cursor();
+        Watch watch = new Watch();
+        Runnable task = () -> run(cursor, watch, handler);
+        if (executor != null) {
+            executor.execute(task);
+        } else {
+            Thread thread = new Thread(task, "morphia-watcher-" + name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return watch;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Document fullDocument(Document query) {
+        Document prefixed = new Document();
+        for (Entry<String, Object> entry : query.entrySet()) {
+            String key = entry.getKey();
+            if (key.equals("$and") || key.equals("$or") || key.equals("$nor")) {
+                List<Document> clauses = new ArrayList<>();
+                for (Document clause : (List<Document>) entry.getValue()) {
+                    clauses.add(fullDocument(clause));
+                }
+                prefixed.put(key, clauses);
+            } else if (key.equals("$expr")) {
+                prefixed.put(key, fieldPaths(entry.getValue()));
+            } else if (UNSUPPORTED_FILTERS.contains(key)) {
+                throw new UnsupportedOperationException(Sofia.unsupportedChangeFilter(key));
+            } else if (key.startsWith("$")) {
+                prefixed.put(key, entry.getValue());
+            } else {
+                prefixed.put("fullDocument." + key, entry.getValue());
+            }
+        }
+        return prefixed;
+    }
+
+    /**
+     * Makes the field paths of an aggregation expression relative to the {@code fullDocument} of a change. Other variables and the
+     * values of {@code $literal} expressions are left alone.
+     */
+    @Nullable
+    private static Object fieldPaths(@Nullable Object value) {
+        if (value instanceof String) {
+            String path = (String) value;
+            for (String variable : ROOT_VARIABLES) {
+                if (path.equals(variable) || path.startsWith(variable + ".")) {
+                    return "$fullDocument" + path.substring(variable.length());
+                }
+            }
+            return path.startsWith("$") && !path.startsWith("$$") ? "$fullDocument." + path.substring(1) : path;
+        } else if (value instanceof Document) {
+            Document expression = new Document();
+            for (Entry<String, Object> entry : ((Document) value).entrySet()) {
+                expression.put(entry.getKey(), entry.getKey().equals("$literal") ? entry.getValue() : fieldPaths(entry.getValue()));
+            }
+            return expression;
+        } else if (value instanceof List) {
+            List<Object> values = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                values.add(fieldPaths(item));
+            }
+            return values;
+        }
+        return value;
+    }
+
+    @Nullable
+    private BsonDocument checkpoint(@Nullable BsonDocument token, @Nullable BsonDocument saved) {
+        if (checkpoints == null || token == null || token.equals(saved)) {
+            return saved;
+        }
+        checkpoints.save(name, token);
+        return token;
+    }
+
+    private void run(MongoChangeStreamCursor<ChangeStreamDocument<T>> cursor, Watch watch,
+            Consumer<List<ChangeStreamDocument<T>>> handler) {
+        int maxChanges = batchSize > 0 ? batchSize : DEFAULT_MAX_CHANGES;
+        BsonDocument saved = null;
+        try (cursor) {
+            while (!watch.closed) {
+                ChangeStreamDocument<T> next = cursor.tryNext();
+                if (next != null) {
+                    List<ChangeStreamDocument<T>> changes = new ArrayList<>();
+                    changes.add(next);
+                    while (changes.size() < maxChanges && cursor.available() > 0) {
+                        changes.add(cursor.next());
+                    }
+                    handler.accept(changes);
+                    BsonDocument token = cursor.getResumeToken();
+                    saved = checkpoint(token != null ? token : changes.get(changes.size() - 1).getResumeToken(), saved);
+                } else {
+                    // the server moves the token on past changes which didn't match even when none are returned
+                    saved = checkpoint(cursor.getResumeToken(), saved);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Watching for changes to {} failed", type.getName(), e);
+            watch.failure = e;
+        } finally {
+            watch.done.countDown();
+        }
+    }
+
+    /**
+     * A running watch
+     */
+    public static final class Watch implements AutoCloseable {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile boolean closed;
+        @Nullable
+        private volatile RuntimeException failure;
+
+        private Watch() {
+        }
+
+        /**
+         * Waits for the watch to stop
+         *
+         * @param timeout the maximum time to wait
+         * @param unit    the unit of the timeout
+         * @return true if the watch stopped before the timeout
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return done.await(timeout, unit);
+        }
+
+        /**
+         * Stops the watch once the handler has finished with the current batch, if any
+         */
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        /**
+         * @return the exception which stopped the watch, if any
+         */
+        @Nullable
+        public RuntimeException getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return true until the watch has stopped
+         */
+        public boolean isRunning() {
+            return done.getCount() != 0;
+        }
+    }
+}
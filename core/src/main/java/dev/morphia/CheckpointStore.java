@@ -0,0 +1,60 @@
+package dev.morphia;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.lang.Nullable;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+
+/**
+ * Stores the resume tokens of {@link ChangeWatcher change watchers} so that a watcher can carry on from where it left off after a
+ * restart.
+ *
+ * @see ChangeWatcher#checkpoints(CheckpointStore, String)
+ * @since 3.0
+ */
+public interface CheckpointStore {
+    /**
+     * Creates a store which keeps each token in a document of the given collection keyed by the name of the watcher
+     *
+     * @param datastore  the datastore whose database holds the collection
+     * @param collection the name of the collection
+     * @return the store
+     */
+    static CheckpointStore collection(Datastore datastore, String collection) {
+        MongoCollection<BsonDocument> tokens = datastore.getDatabase().getCollection(collection, BsonDocument.class);
+        return new CheckpointStore() {
+            @Override
+            @Nullable
+            public BsonDocument load(String name) {
+                BsonDocument checkpoint = tokens.find(new BsonDocument("_id", new BsonString(name))).first();
+                return checkpoint != null ? checkpoint.getDocument("token", null) : null;
+            }
+
+            @Override
+            public void save(String name, BsonDocument token) {
+                BsonString id = new BsonString(name);
+                tokens.replaceOne(new BsonDocument("_id", id), new BsonDocument("_id", id).append("token", token),
+                        new ReplaceOptions().upsert(true));
+            }
+        };
+    }
+
+    /**
+     * Loads the last token saved for a watcher
+     *
+     * @param name the name of the watcher
+     * @return the token or null if none has been saved
+     */
+    @Nullable
+    BsonDocument load(String name);
+
+    /**
+     * Saves the token of the last change handled by a watcher
+     *
+     * @param name  the name of the watcher
+     * @param token the resume token
+     */
+    void save(String name, BsonDocument token);
+}
@@ -1,5 +1,7 @@
 package dev.morphia;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import com.mongodb.ClientSessionOptions;
@@ -41,6 +43,29 @@ public interface Datastore {
      */
     <T> Aggregation<T> aggregate(Class<T> source);
 
+    /**
+     * Creates a loader to insert a large number of entities in batches without holding them all in memory
+     *
+     * @param type the type of the entities to load
+     * @param <T>  the type of the entities
+     * @return the loader
+     * @since 3.0
+     */
+    default <T> BulkLoader<T> bulkLoader(Class<T> type) {
+        return bulkLoader(type, new InsertManyOptions());
+    }
+
+    /**
+     * Creates a loader to insert a large number of entities in batches without holding them all in memory
+     *
+     * @param type    the type of the entities to load
+     * @param options the options to apply to each batch
+     * @param <T>     the type of the entities
+     * @return the loader
+     * @since 3.0
+     */
+    <T> BulkLoader<T> bulkLoader(Class<T> type, InsertManyOptions options);
+
     /**
      * Deletes the given entity (by @Id)
      *
@@ -146,7 +171,8 @@ public interface Datastore {
     <T> void insert(List<T> entities, InsertManyOptions options);
 
     /**
-     * Work as if you did an update with each field in the entity doing a $set; Only at the top level of the entity.
+     * Work as if you did an update with each field in the entity doing a $set; Only at the top level of the entity. Entities loaded
+     * with {@link dev.morphia.config.MorphiaConfig#dirtyTracking() dirty tracking} enabled only send the fields which have changed.
      *
      * @param entity the entity to merge back in to the database
      * @param <T>    the type of the entity
@@ -165,6 +191,33 @@ public interface Datastore {
      */
     <T> T merge(T entity, InsertOneOptions options);
 
+    /**
+     * Updates an entity with only the fields which have changed since it was loaded. This relies on
+     * {@link dev.morphia.config.MorphiaConfig#dirtyTracking() dirty tracking} and sends a {@code $set} for each changed path,
+     * including those within embedded documents, and a {@code $unset} for each field which has been removed. If the entity isn't
+     * tracked, every field is set. No update is sent if nothing has changed.
+     *
+     * @param entity the entity to update
+     * @param <T>    the type of the entity
+     * @return the entity
+     * @since 3.0
+     */
+    default <T> T update(T entity) {
+        return update(entity, new UpdateOptions());
+    }
+
+    /**
+     * Updates an entity with only the fields which have changed since it was loaded.
+     *
+     * @param entity  the entity to update
+     * @param options the options to apply
+     * @param <T>     the type of the entity
+     * @return the entity
+     * @see #update(Object)
+     * @since 3.0
+     */
+    <T> T update(T entity, UpdateOptions options);
+
     /**
      * Returns a new query based on the example object
      *
@@ -220,7 +273,13 @@ public interface Datastore {
     }
 
     /**
-     * Replaces a list of documents in the database
+     * Replaces a list of documents in the database. The replacements are sent as bulk writes, one per entity type or per
+     * {@link ReplaceOptions#batchSize(int) batch}. If the version of any versioned entity no longer matches the database, a
+     * {@link VersionMismatchException} is thrown for those entities. Ordered writes stop after the first batch with such an entity.
+     * <p>
+     * To stop at the first stale entity, ordered writes read the stored versions of a batch's versioned entities before writing it,
+     * which costs an extra query per batch. Unordered writes skip that read and only look documents up once a replacement has
+     * matched nothing.
      *
      * @param entities the entities to replace
      * @param <T>      the type of the entity
@@ -242,7 +301,14 @@ public interface Datastore {
     }
 
     /**
-     * Saves the entities (Objects) and updates the @Id field
+     * Saves the entities (Objects) and updates the @Id field. New, unversioned entities are inserted in bulk. Any others are sent as
+     * bulk writes, one per entity type or per {@link InsertManyOptions#batchSize(int) batch}. If the version of any versioned entity no
+     * longer matches the database, a {@link VersionMismatchException} is thrown for those entities. Ordered writes stop after the first
+     * batch with such an entity.
+     * <p>
+     * To stop at the first stale entity, ordered writes read the stored versions of a batch's versioned entities before writing it,
+     * which costs an extra query per batch. Unordered writes skip that read and only look documents up once a replacement has
+     * matched nothing.
      *
      * @param entities the entities to save
      * @param <T>      the type of the entity
@@ -290,6 +356,16 @@ public interface Datastore {
      */
     MorphiaSession startSession(ClientSessionOptions options);
 
+    /**
+     * Creates a watcher for changes to the collection of an entity type
+     *
+     * @param type the entity type to watch
+     * @param <T>  the entity type
+     * @return the watcher
+     * @since 3.0
+     */
+    <T> ChangeWatcher<T> watch(Class<T> type);
+
     /**
      * @param transaction the transaction wrapper
      * @param <T>         the return type
@@ -308,4 +384,19 @@ public interface Datastore {
      */
     @Nullable
     <T> T withTransaction(ClientSessionOptions options, MorphiaTransaction<T> transaction);
+
+    /**
+     * Writes a snapshot of the entity types mapped by this datastore. When found on the classpath at
+     * {@value dev.morphia.mapping.MappingSnapshotImporter#SNAPSHOT_FILE}, a snapshot is restored as the datastore starts instead of mapping
+     * those types reflectively. Snapshots are meant to be written at build time and must be rewritten whenever the entities or the
+     * mapping configuration change. A snapshot which no longer matches is ignored.
+     *
+     * @param out the stream to write to
+     * @return the number of entity types written
+     * @throws IOException if the snapshot can not be written
+     * @morphia.experimental
+     * @since 3.0
+     */
+    @MorphiaExperimental
+    int writeMappingSnapshot(OutputStream out) throws IOException;
 }
@@ -0,0 +1,216 @@
+package dev.morphia;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.sofia.Sofia;
+
+/**
+ * Keeps a single instance of each entity loaded while it's in use. Entities are keyed by collection name and {@code _id}. Queries using
+ * an identity map return the instance already held for a document rather than a newly decoded copy, and references are looked up in the
+ * map before querying the server. An identity map can be set on {@link dev.morphia.query.FindOptions#identityMap(IdentityMap) a query}
+ * or on {@link dev.morphia.transactions.MorphiaSession#identityMap(IdentityMap) a session}.
+ * <p>
+ * Because instances are reused, changes made to a document on the server after it has been loaded are not reflected in the instance
+ * returned. Use an identity map for as long as that is acceptable and then {@link #clear()} it or let it go.
+ *
+ * @since 3.0
+ */
+public final class IdentityMap {
+    private static final ThreadLocal<IdentityMap> CURRENT = new ThreadLocal<>();
+
+    private final Map<Key, Object> entries;
+    @Nullable
+    private final ReferenceQueue<Object> queue;
+
+    private IdentityMap(Map<Key, Object> entries, @Nullable ReferenceQueue<Object> queue) {
+        this.entries = entries;
+        this.queue = queue;
+    }
+
+    /**
+     * Creates an identity map holding at most the given number of entities. Once full, the least recently used entity is evicted.
+     *
+     * @param maximumSize the maximum number of entities to hold
+     * @return the new map
+     */
+    public static IdentityMap bounded(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException(Sofia.identityMapSize(maximumSize));
+        }
+        return new IdentityMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Entry<Key, Object> eldest) {
+                return size() > maximumSize;
+            }
+        }, null);
+    }
+
+    /**
+     * Creates an identity map holding its entities weakly. Entities are evicted once they are no longer referenced outside the map.
+     *
+     * @return the new map
+     */
+    public static IdentityMap weak() {
+        return new IdentityMap(new HashMap<>(), new ReferenceQueue<>());
+    }
+
+    /**
+     * @return the identity map in use on this thread, if any
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public static IdentityMap current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Removes all entities from this map.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        expunge();
+    }
+
+    /**
+     * Removes an entity from this map.
+     *
+     * @param collection the collection name
+     * @param id         the entity's ID
+     */
+    public synchronized void evict(String collection, Object id) {
+        entries.remove(new Key(collection, id));
+    }
+
+    /**
+     * Finds an entity in this map.
+     *
+     * @param collection the collection name
+     * @param id         the entity's ID
+     * @return the entity or null if it isn't held
+     */
+    @Nullable
+    public synchronized Object get(String collection, Object id) {
+        expunge();
+        return unwrap(entries.get(new Key(collection, id)));
+    }
+
+    /**
+     * Adds an entity to this map unless one is already held for the same document.
+     *
+     * @param collection the collection name
+     * @param id         the entity's ID
+     * @param entity     the entity
+     * @param <T>        the entity type
+     * @return the entity held for the document which is the given entity if none was held before
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T putIfAbsent(String collection, Object id, T entity) {
+        expunge();
+        Key key = new Key(collection, id);
+        Object existing = unwrap(entries.get(key));
+        if (existing != null) {
+            return (T) existing;
+        }
+        entries.put(key, queue != null ? new WeakEntry(key, entity, queue) : entity);
+        return entity;
+    }
+
+    /**
+     * Runs the given function with this map in use on the current thread so that any queries and references it runs use this map.
+     *
+     * @param function the function to run
+     * @param <V>      the return type
+     * @return the value returned by the function
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public <V> V run(Supplier<V> function) {
+        IdentityMap previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return function.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the number of entities held
+     */
+    public synchronized int size() {
+        expunge();
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "IdentityMap{size=%d, weak=%s}".formatted(size(), queue != null);
+    }
+
+    private void expunge() {
+        if (queue != null) {
+            WeakEntry entry;
+            while ((entry = (WeakEntry) queue.poll()) != null) {
+                entries.remove(entry.key, entry);
+            }
+        }
+    }
+
+    @Nullable
+    private static Object unwrap(@Nullable Object value) {
+        return value instanceof WeakEntry ? ((WeakEntry) value).get() : value;
+    }
+
+    private static final class Key {
+        private final String collection;
+        private final Object id;
+
+        private Key(String collection, Object id) {
+            this.collection = collection;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return collection.equals(key.collection) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(collection, id);
+        }
+    }
+
+    private static final class WeakEntry extends WeakReference<Object> {
+        private final Key key;
+
+        private WeakEntry(Key key, Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+}
@@ -18,6 +18,7 @@ public class InsertManyOptions implements WriteConfigurable<InsertManyOptions>,
     private com.mongodb.client.model.InsertManyOptions options = new com.mongodb.client.model.InsertManyOptions();
     private WriteConcern writeConcern = WriteConcern.ACKNOWLEDGED;
     private String collection;
+    private int batchSize;
 
     /**
      * Creates a new options wrapper
@@ -36,6 +37,34 @@ public class InsertManyOptions implements WriteConfigurable<InsertManyOptions>,
         this.options = that.options;
         this.writeConcern = that.writeConcern;
         this.collection = that.collection;
+        this.batchSize = that.batchSize;
+    }
+
+    /**
+     * Sets the number of entities sent to the server in each bulk write when saving entities that might already exist or when loading
+     * entities via a {@link BulkLoader}. A value of 0, the default, sends each entity type in a single bulk write and lets the driver
+     * split it as needed. Bulk loads use at most {@link BulkLoader#MAX_BATCH_COUNT} entities per batch.
+     *
+     * @param batchSize the number of entities per bulk write
+     * @return this
+     * @see Datastore#save(java.util.List, InsertManyOptions)
+     * @see Datastore#bulkLoader(Class, InsertManyOptions)
+     * @since 3.0
+     */
+    public InsertManyOptions batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return the number of entities per bulk write
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public int batchSize() {
+        return batchSize;
     }
 
     /**
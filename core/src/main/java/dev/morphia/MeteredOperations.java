@@ -0,0 +1,180 @@
+package dev.morphia;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.MorphiaDatastore.DatastoreOperations;
+import dev.morphia.metrics.MorphiaMetrics;
+import dev.morphia.query.CountOptions;
+import dev.morphia.query.FindAndDeleteOptions;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+/**
+ * Times the operations of another {@link DatastoreOperations} and reports them to {@link MorphiaMetrics}. Finds are only passed through
+ * as the query isn't sent until the returned iterable is read. They are timed by the query once its cursor is opened.
+ */
+class MeteredOperations extends DatastoreOperations {
+    private final DatastoreOperations operations;
+    private final MorphiaMetrics metrics;
+
+    MeteredOperations(DatastoreOperations operations, MorphiaMetrics metrics) {
+        this.operations = operations;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> BulkWriteResult bulkWrite(MongoCollection<T> collection, List<WriteModel<T>> requests, BulkWriteOptions options) {
+        return time("bulkWrite", collection, () -> operations.bulkWrite(collection, requests, options),
+                result -> result.wasAcknowledged()
+                        ? result.getInsertedCount() + result.getModifiedCount() + result.getDeletedCount() + result.getUpserts().size()
+                        : -1);
+    }
+
+    @Override
+    public <T> long countDocuments(MongoCollection<T> collection, Bson query, CountOptions options) {
+        return time("countDocuments", collection, () -> operations.countDocuments(collection, query, options), count -> count);
+    }
+
+    @Override
+    public <T> long countDocuments(MongoCollection<T> collection, Document query, CountOptions options) {
+        return countDocuments(collection, (Bson) query, options);
+    }
+
+    @Override
+    public <T> DeleteResult deleteMany(MongoCollection<T> collection, Bson query, DeleteOptions options) {
+        return time("deleteMany", collection, () -> operations.deleteMany(collection, query, options), MeteredOperations::deleted);
+    }
+
+    @Override
+    public <T> DeleteResult deleteMany(MongoCollection<T> collection, Document query, DeleteOptions options) {
+        return deleteMany(collection, (Bson) query, options);
+    }
+
+    @Override
+    public <T> DeleteResult deleteOne(MongoCollection<T> collection, Bson query, DeleteOptions options) {
+        return time("deleteOne", collection, () -> operations.deleteOne(collection, query, options), MeteredOperations::deleted);
+    }
+
+    @Override
+    public <T> DeleteResult deleteOne(MongoCollection<T> collection, Document query, DeleteOptions options) {
+        return deleteOne(collection, (Bson) query, options);
+    }
+
+    @Override
+    public <T> FindIterable<T> find(MongoCollection<T> collection, Bson query) {
+        return operations.find(collection, query);
+    }
+
+    @Override
+    public <T> FindIterable<T> find(MongoCollection<T> collection, Document query) {
+        return find(collection, (Bson) query);
+    }
+
+    @Override
+    @Nullable
+    public <T> T findOneAndDelete(MongoCollection<T> collection, Bson query, FindAndDeleteOptions options) {
+        return time("findOneAndDelete", collection, () -> operations.findOneAndDelete(collection, query, options),
+                MeteredOperations::found);
+    }
+
+    @Override
+    @Nullable
+    public <T> T findOneAndDelete(MongoCollection<T> collection, Document query, FindAndDeleteOptions options) {
+        return findOneAndDelete(collection, (Bson) query, options);
+    }
+
+    @Override
+    @Nullable
+    public <T> T findOneAndUpdate(MongoCollection<T> collection, Document query, Document update, ModifyOptions options) {
+        return time("findOneAndUpdate", collection, () -> operations.findOneAndUpdate(collection, query, update, options),
+                MeteredOperations::found);
+    }
+
+    @Override
+    public <T> InsertManyResult insertMany(MongoCollection<T> collection, List<T> list, InsertManyOptions options) {
+        return time("insertMany", collection, () -> operations.insertMany(collection, list, options), result -> list.size());
+    }
+
+    @Override
+    public <T> InsertOneResult insertOne(MongoCollection<T> collection, T entity, InsertOneOptions options) {
+        return time("insertOne", collection, () -> operations.insertOne(collection, entity, options), result -> 1);
+    }
+
+    @Override
+    public <T> UpdateResult replaceOne(MongoCollection<T> collection, T entity, Document filter, ReplaceOptions options) {
+        return time("replaceOne", collection, () -> operations.replaceOne(collection, entity, filter, options),
+                MeteredOperations::modified);
+    }
+
+    @Override
+    public Document runCommand(Document command) {
+        return time("runCommand", null, () -> operations.runCommand(command), result -> -1);
+    }
+
+    @Override
+    public <T> UpdateResult updateMany(MongoCollection<T> collection, Document query, Document updates, UpdateOptions options) {
+        return time("updateMany", collection, () -> operations.updateMany(collection, query, updates, options),
+                MeteredOperations::modified);
+    }
+
+    @Override
+    public <T> UpdateResult updateMany(MongoCollection<T> collection, Document query, List<Document> updates,
+            UpdateOptions options) {
+        return time("updateMany", collection, () -> operations.updateMany(collection, query, updates, options),
+                MeteredOperations::modified);
+    }
+
+    @Override
+    public <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, Document updates, UpdateOptions options) {
+        return time("updateOne", collection, () -> operations.updateOne(collection, query, updates, options),
+                MeteredOperations::modified);
+    }
+
+    @Override
+    public <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, List<Document> updates,
+            UpdateOptions options) {
+        return time("updateOne", collection, () -> operations.updateOne(collection, query, updates, options),
+                MeteredOperations::modified);
+    }
+
+    private static long deleted(DeleteResult result) {
+        return result.wasAcknowledged() ? result.getDeletedCount() : -1;
+    }
+
+    private static long found(@Nullable Object result) {
+        return result != null ? 1 : 0;
+    }
+
+    private static long modified(UpdateResult result) {
+        return result.wasAcknowledged() ? result.getModifiedCount() : -1;
+    }
+
+    private <R> R time(String operation, @Nullable MongoCollection<?> collection, Supplier<R> call, ToLongFunction<R> documents) {
+        String name = collection != null ? collection.getNamespace().getCollectionName() : null;
+        Class<?> type = collection != null ? collection.getDocumentClass() : null;
+        long start = System.nanoTime();
+        R result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            metrics.operation(operation, name, type, System.nanoTime() - start, -1, e);
+            throw e;
+        }
+        metrics.operation(operation, name, type, System.nanoTime() - start, documents.applyAsLong(result), null);
+        return result;
+    }
+}
@@ -3,6 +3,7 @@ package dev.morphia;
 import com.mongodb.client.MongoClient;
 
 import dev.morphia.config.MorphiaConfig;
+import dev.morphia.query.QueryLog;
 
 /**
  * Entry point for working with Morphia
@@ -35,4 +36,18 @@ public final class Morphia {
         return new MorphiaDatastore(mongoClient, config);
     }
 
+    /**
+     * Creates a Datastore which reads {@link dev.morphia.query.Query#getLoggedQuery() logged queries} from the given log rather than
+     * the server's profiler. The log must also have been added as a command listener to the client's settings.
+     *
+     * @param mongoClient the client to use
+     * @param config      the configuration to use
+     * @param queryLog    the log of the commands sent by the client
+     * @return a Datastore that you can use to interact with MongoDB
+     * @since 3.0.0
+     */
+    public static Datastore createDatastore(MongoClient mongoClient, MorphiaConfig config, QueryLog queryLog) {
+        return new MorphiaDatastore(mongoClient, config, queryLog);
+    }
+
 }
@@ -1,26 +1,38 @@
 package dev.morphia;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoCommandException;
 import com.mongodb.MongoException;
 import com.mongodb.MongoWriteException;
 import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.TransactionBody;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ValidationOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertManyResult;
 import com.mongodb.client.result.InsertOneResult;
@@ -41,6 +53,7 @@ import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.config.MorphiaConfig;
 import dev.morphia.internal.CollectionConfigurable;
 import dev.morphia.internal.CollectionConfiguration;
+import dev.morphia.internal.VersionBump;
 import dev.morphia.internal.ReadConfigurable;
 import dev.morphia.internal.WriteConfigurable;
 import dev.morphia.mapping.EntityModelImporter;
@@ -54,16 +67,21 @@ import dev.morphia.mapping.codec.MorphiaFilterCodecProvider;
 import dev.morphia.mapping.codec.MorphiaTypesCodecProvider;
 import dev.morphia.mapping.codec.PrimitiveCodecRegistry;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.EntitySnapshots;
+import dev.morphia.mapping.codec.pojo.MappingSnapshot;
 import dev.morphia.mapping.codec.pojo.MergingEncoder;
 import dev.morphia.mapping.codec.pojo.MorphiaCodec;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.mapping.codec.reader.DocumentReader;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.metrics.MorphiaMetrics;
 import dev.morphia.query.CountOptions;
 import dev.morphia.query.FindAndDeleteOptions;
 import dev.morphia.query.FindOptions;
 import dev.morphia.query.Query;
 import dev.morphia.query.QueryFactory;
+import dev.morphia.query.QueryLog;
+import dev.morphia.query.QueryShapes;
 import dev.morphia.query.UpdateException;
 import dev.morphia.query.updates.UpdateOperator;
 import dev.morphia.sofia.Sofia;
@@ -71,10 +89,12 @@ import dev.morphia.transactions.MorphiaTransaction;
 import dev.morphia.transactions.SessionDatastore;
 
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
 import org.bson.codecs.configuration.CodecProvider;
 import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -102,6 +122,10 @@ public class MorphiaDatastore implements Datastore {
     private final Mapper mapper;
     private final QueryFactory queryFactory;
     private final CodecRegistry codecRegistry;
+    private final QueryShapes queryShapes;
+    private final EntitySnapshots snapshots;
+    @Nullable
+    private final QueryLog queryLog;
     public List<MorphiaCodecProvider> morphiaCodecProviders = new ArrayList<>();
     private MongoDatabase database;
     private DatastoreOperations operations;
@@ -114,16 +138,32 @@ public class MorphiaDatastore implements Datastore {
      */
     @MorphiaInternal
     public MorphiaDatastore(MongoClient client, MorphiaConfig config) {
+        this(client, config, null);
+    }
+
+    /**
+     * @param client   the mongo client
+     * @param config   the config
+     * @param queryLog the log of the commands sent by the client or null
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public MorphiaDatastore(MongoClient client, MorphiaConfig config, @Nullable QueryLog queryLog) {
         this.mongoClient = client;
+        this.queryLog = queryLog;
         this.database = mongoClient.getDatabase(config.database());
         this.mapper = new Mapper(config);
         this.queryFactory = mapper.getConfig().queryFactory();
         importModels();
 
         codecRegistry = buildRegistry();
+        queryShapes = new QueryShapes(this, mapper.getConfig().queryShapeCacheSize());
+        snapshots = new EntitySnapshots();
 
         this.database = database.withCodecRegistry(this.codecRegistry);
-        operations = new CollectionOperations();
+        operations = metered(new CollectionOperations());
 
         config.packages().forEach(packageName -> {
             Sofia.logMappingPackage(packageName);
@@ -155,6 +195,9 @@ public class MorphiaDatastore implements Datastore {
         this.queryFactory = datastore.queryFactory;
         this.operations = datastore.operations;
         codecRegistry = buildRegistry();
+        queryShapes = new QueryShapes(this, mapper.getConfig().queryShapeCacheSize());
+        snapshots = new EntitySnapshots(datastore.snapshots);
+        queryLog = datastore.queryLog;
     }
 
     private CodecRegistry buildRegistry() {
@@ -180,7 +223,7 @@ public class MorphiaDatastore implements Datastore {
     @Override
     public <T> void insert(T entity, InsertOneOptions options) {
         MongoCollection<T> collection = (MongoCollection<T>) configureCollection(options, getCollection(entity.getClass()));
-        VersionBumpInfo info = updateVersioning(entity);
+        VersionBump info = VersionBump.of(mapper, entity);
 
         try {
             operations.insertOne(collection, entity, options);
@@ -204,8 +247,8 @@ public class MorphiaDatastore implements Datastore {
         }
 
         grouped.forEach((key, list) -> {
-            List<VersionBumpInfo> infos = list.stream()
-                    .map(this::updateVersioning)
+            List<VersionBump> infos = list.stream()
+                    .map(entity -> VersionBump.of(mapper, entity))
                     .collect(Collectors.toList());
 
             try {
@@ -213,7 +256,7 @@ public class MorphiaDatastore implements Datastore {
                         (MongoCollection<T>) getCollection(key));
                 operations.insertMany(collection, list, options);
             } catch (MongoException e) {
-                infos.forEach(VersionBumpInfo::rollbackVersion);
+                infos.forEach(VersionBump::rollbackVersion);
                 throw e;
             }
         });
@@ -229,6 +272,11 @@ public class MorphiaDatastore implements Datastore {
         return new AggregationImpl(this, source, getCollection(source));
     }
 
+    @Override
+    public <T> BulkLoader<T> bulkLoader(Class<T> type, InsertManyOptions options) {
+        return new BulkLoader<>(this, type, options);
+    }
+
     /**
      * Applies configuration options to the collection
      *
@@ -349,6 +397,40 @@ public class MorphiaDatastore implements Datastore {
         return codecRegistry;
     }
 
+    /**
+     * @return the query shape cache
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public QueryShapes getQueryShapes() {
+        return queryShapes;
+    }
+
+    /**
+     * @return the documents tracked entities were loaded from
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public EntitySnapshots getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * @return the log of the commands sent by the client, if one was given
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public QueryLog getQueryLog() {
+        return queryLog;
+    }
+
     @Override
     public <T> MongoCollection<T> getCollection(Class<T> type) {
         EntityModel entityModel = mapper.getEntityModel(type);
@@ -379,7 +461,7 @@ public class MorphiaDatastore implements Datastore {
         if (id == null) {
             throw new MissingIdException();
         }
-        VersionBumpInfo info = updateVersioning(entity);
+        VersionBump info = VersionBump.of(mapper, entity);
 
         try {
             Document filter = new Document("_id", id);
@@ -451,7 +533,14 @@ public class MorphiaDatastore implements Datastore {
             throw new MappingException("Could not get id for " + entity.getClass().getName());
         }
 
-        VersionBumpInfo info = updateVersioning(entity);
+        RawBsonDocument snapshot = snapshots.get(entity);
+        if (snapshot != null) {
+            update(entity, snapshot, options.unsetMissing(), false, new UpdateOptions()
+                    .writeConcern(options.writeConcern()));
+            return (T) find(entity.getClass()).filter(eq("_id", id)).iterator(new FindOptions().limit(1)).next();
+        }
+
+        VersionBump info = VersionBump.of(mapper, entity);
 
         final Query<T> query = info.filter((Query<T>) find(entity.getClass()).filter(eq("_id", id)));
 
@@ -502,11 +591,22 @@ public class MorphiaDatastore implements Datastore {
         });
     }
 
+    @Override
+    public <T> ChangeWatcher<T> watch(Class<T> type) {
+        return new ChangeWatcher<>(this, type);
+    }
+
     @Override
     public <T> T merge(T entity) {
         return merge(entity, new InsertOneOptions());
     }
 
+    @Override
+    public <T> T update(T entity, UpdateOptions options) {
+        update(entity, snapshots.get(entity), true, true, options);
+        return entity;
+    }
+
     protected Document shardCollection(EntityModel model) {
         ShardKeys shardKeys = model.getAnnotation(ShardKeys.class);
         if (shardKeys != null) {
@@ -584,13 +684,14 @@ public class MorphiaDatastore implements Datastore {
             operations.insertMany(collection, entry.getValue(), options);
         }
 
-        InsertOneOptions insertOneOptions = new InsertOneOptions()
+        BulkWriteOptions bulkOptions = new BulkWriteOptions()
+                .ordered(options.driver().isOrdered())
                 .bypassDocumentValidation(options.bypassDocumentValidation())
-                .collection(alternate)
-                .writeConcern(options.writeConcern());
-        for (T entity : list) {
-            save(entity, insertOneOptions);
-        }
+                .comment(options.driver().getComment());
+        groupByType(list, model -> false).forEach((type, typed) -> {
+            MongoCollection<T> collection = configureCollection(options, (MongoCollection<T>) getCollection(type));
+            bulkWrite(collection, typed, bulkOptions, options.batchSize(), null);
+        });
         return entities;
     }
 
@@ -650,7 +751,7 @@ public class MorphiaDatastore implements Datastore {
     @Nullable
     protected <T> T doTransaction(SessionDatastore morphiaSession, MorphiaTransaction<T> body) {
         try (morphiaSession) {
-            return morphiaSession.getSession().withTransaction(() -> body.execute(morphiaSession));
+            return morphiaSession.withTransaction((TransactionBody<T>) () -> body.execute(morphiaSession));
         }
     }
 
@@ -665,10 +766,26 @@ public class MorphiaDatastore implements Datastore {
     }
 
     @Override
+    public int writeMappingSnapshot(OutputStream out) throws IOException {
+        return MappingSnapshot.write(mapper, out);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
     public <T> List<T> replace(List<T> entities, ReplaceOptions options) {
         for (T entity : entities) {
-            replace(entity, options);
+            if (mapper.getId(entity) == null) {
+                throw new MissingIdException();
+            }
         }
+        BulkWriteOptions bulkOptions = new BulkWriteOptions()
+                .ordered(options.ordered())
+                .bypassDocumentValidation(options.getBypassDocumentValidation())
+                .comment(options.getComment());
+        groupByType(entities, model -> false).forEach((type, typed) -> {
+            MongoCollection<T> collection = configureCollection(options, (MongoCollection<T>) getCollection(type));
+            bulkWrite(collection, typed, bulkOptions, options.batchSize(), options);
+        });
 
         return entities;
     }
@@ -706,25 +823,31 @@ public class MorphiaDatastore implements Datastore {
      * @return this
      */
     protected MorphiaDatastore operations(DatastoreOperations operations) {
-        this.operations = operations;
+        this.operations = metered(operations);
         return this;
     }
 
+    private DatastoreOperations metered(DatastoreOperations operations) {
+        MorphiaMetrics metrics = mapper.getConfig().metrics();
+        return metrics.isEnabled() ? new MeteredOperations(operations, metrics) : operations;
+    }
+
     private <T> void save(MongoCollection collection, T entity, InsertOneOptions options) {
         collection = configureCollection(options, collection);
 
         EntityModel entityModel = mapper.getEntityModel(entity.getClass());
         PropertyModel idProperty = entityModel.getIdProperty();
         Object id = idProperty != null ? idProperty.getValue(entity) : null;
-        VersionBumpInfo info = updateVersioning(entity);
+        VersionBump info = VersionBump.of(mapper, entity);
+        snapshots.remove(entity);
 
         try {
-            if (id == null || info.versioned() && info.newVersion() == 1) {
+            if (id == null || info.isFirstVersion()) {
                 operations.insertOne(collection, entity, options);
             } else {
                 ReplaceOptions updateOptions = new ReplaceOptions()
                         .bypassDocumentValidation(options.bypassDocumentValidation())
-                        .upsert(!info.versioned);
+                        .upsert(!info.versioned());
                 Document filter = new Document("_id", id);
                 info.filter(filter);
                 entityModel.getShardKeys().forEach((property) -> {
@@ -746,6 +869,214 @@ public class MorphiaDatastore implements Datastore {
         }
     }
 
+    /**
+     * Writes a list of entities of a single type via bulk writes. When saving, new entities are inserted and the others are replaced,
+     * upserting any unversioned ones. When replacing, every entity is replaced using the given options. Versions are bumped before
+     * each batch is written and rolled back for any entity whose write did not apply. Ordered writes stop at the first stale entity
+     * while unordered writes carry on and report every stale entity at the end.
+     * <p>
+     * Versioned replacements filter on the previous version and are never upserted. A replacement which matches nothing is not an error
+     * to the server, so an ordered write would carry on past a stale entity. Ordered writes therefore read the stored versions of a
+     * batch before it is written, leave stale entities out and stop at the first one. Unordered writes don't pay for that read. Any
+     * replacement which matches nothing is found afterwards by looking its document up, which is only done when the matched count
+     * falls short.
+     *
+     * @param replaceOptions the options to replace with or null if the entities are being saved
+     */
+    private <T> void bulkWrite(MongoCollection<T> collection, List<T> entities, BulkWriteOptions options, int batchSize,
+            @Nullable ReplaceOptions replaceOptions) {
+        EntityModel entityModel = mapper.getEntityModel(entities.get(0).getClass());
+        PropertyModel idProperty = entityModel.getIdProperty();
+        com.mongodb.client.model.ReplaceOptions versioned = new com.mongodb.client.model.ReplaceOptions();
+        com.mongodb.client.model.ReplaceOptions upsert = new com.mongodb.client.model.ReplaceOptions()
+                .upsert(true);
+        if (replaceOptions != null) {
+            versioned.bypassDocumentValidation(replaceOptions.getBypassDocumentValidation())
+                    .collation(replaceOptions.getCollation())
+                    .hint(replaceOptions.getHint())
+                    .hintString(replaceOptions.getHintString())
+                    .comment(replaceOptions.getComment())
+                    .let(replaceOptions.getLet());
+        }
+        int size = batchSize > 0 ? batchSize : entities.size();
+
+        RuntimeException failure = null;
+        for (int start = 0; start < entities.size() && (failure == null || !options.isOrdered()); start += size) {
+            List<T> batch = entities.subList(start, Math.min(entities.size(), start + size));
+            Map<Object, Document> stored = options.isOrdered()
+                    ? storedVersions(collection, entityModel, batch, replaceOptions == null)
+                    : null;
+            List<WriteModel<T>> requests = new ArrayList<>(batch.size());
+            List<VersionBump> infos = new ArrayList<>(batch.size());
+            for (T entity : batch) {
+                Object id = idProperty != null ? idProperty.getValue(entity) : null;
+                VersionBump info = VersionBump.of(mapper, entity);
+                snapshots.remove(entity);
+                if (replaceOptions == null && (id == null || info.isFirstVersion())) {
+                    requests.add(new InsertOneModel<>(entity));
+                } else if (stored != null && info.versioned() && !matches(stored.get(id), entityModel, info.oldVersion())) {
+                    info.rollbackVersion();
+                    failure = chain(failure, new VersionMismatchException(entityModel.getType(), id));
+                    if (options.isOrdered()) {
+                        break;
+                    }
+                    continue;
+                } else {
+                    Document filter = new Document("_id", id);
+                    info.filter(filter);
+                    entityModel.getShardKeys().forEach((property) -> {
+                        filter.put(property.getMappedName(), property.getValue(entity));
+                    });
+                    requests.add(new ReplaceOneModel<>(filter, entity, info.versioned()
+                            ? versioned
+                            : replaceOptions != null ? replaceOptions : upsert));
+                }
+                infos.add(info);
+            }
+            if (requests.isEmpty()) {
+                continue;
+            }
+
+            BulkWriteResult result;
+            try {
+                result = operations.bulkWrite(collection, requests, options);
+            } catch (MongoBulkWriteException e) {
+                List<BulkWriteError> errors = e.getWriteErrors();
+                for (BulkWriteError error : errors) {
+                    infos.get(error.getIndex()).rollbackVersion();
+                }
+                if (options.isOrdered() && !errors.isEmpty()) {
+                    // an ordered write stops at the first error so nothing after it was written
+                    infos.subList(errors.get(0).getIndex() + 1, infos.size()).forEach(VersionBump::rollbackVersion);
+                }
+                throw e;
+            } catch (MongoException e) {
+                infos.forEach(VersionBump::rollbackVersion);
+                throw e;
+            }
+
+            RuntimeException missed = checkReplacements(collection, entityModel, requests, infos, result);
+            if (missed != null) {
+                failure = chain(failure, missed);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Reads the stored versions of the versioned entities of a batch which will be replaced
+     *
+     * @return the stored documents, holding only the id and version, by id
+     */
+    private <T> Map<Object, Document> storedVersions(MongoCollection<T> collection, EntityModel entityModel, List<T> batch,
+            boolean saving) {
+        PropertyModel idProperty = entityModel.getIdProperty();
+        PropertyModel versionProperty = entityModel.getVersionProperty();
+        if (idProperty == null || versionProperty == null) {
+            return Map.of();
+        }
+        List<Object> ids = new ArrayList<>();
+        for (T entity : batch) {
+            Object id = idProperty.getValue(entity);
+            if (id != null && (!saving || versionProperty.getValue(entity) != null)) {
+                ids.add(id);
+            }
+        }
+        return ids.isEmpty() ? Map.of() : lookup(collection, ids, versionProperty);
+    }
+
+    private <T> Map<Object, Document> lookup(MongoCollection<T> collection, List<Object> ids, @Nullable PropertyModel versionProperty) {
+        Document projection = new Document("_id", 1);
+        if (versionProperty != null) {
+            projection.put(versionProperty.getMappedName(), 1);
+        }
+        Map<Object, Document> found = new HashMap<>();
+        operations.find(collection.withDocumentClass(Document.class), new Document("_id", new Document("$in", ids)))
+                .projection(projection)
+                .forEach(document -> found.put(document.get("_id"), document));
+        return found;
+    }
+
+    private static boolean matches(@Nullable Document stored, EntityModel entityModel, @Nullable Long version) {
+        if (stored == null) {
+            return false;
+        }
+        Object value = stored.get(entityModel.getVersionProperty().getMappedName());
+        return value instanceof Number ? version != null && ((Number) value).longValue() == version : version == null;
+    }
+
+    /**
+     * Finds any replacements which matched no document: versioned entities which went stale while being written and unversioned ones
+     * which were not upserted. Bulk write results only report totals so the database is consulted to find which ones missed. The
+     * versions of stale entities are rolled back.
+     *
+     * @return the failure to report or null if every replacement matched
+     */
+    @Nullable
+    private <T> RuntimeException checkReplacements(MongoCollection<T> collection, EntityModel entityModel, List<WriteModel<T>> requests,
+            List<VersionBump> infos, BulkWriteResult result) {
+        if (!result.wasAcknowledged()) {
+            return null;
+        }
+        List<Integer> checked = new ArrayList<>();
+        int upserts = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            WriteModel<T> request = requests.get(i);
+            if (request instanceof ReplaceOneModel) {
+                if (((ReplaceOneModel<T>) request).getReplaceOptions().isUpsert()) {
+                    upserts++;
+                } else {
+                    checked.add(i);
+                }
+            }
+        }
+        // upserted replacements either matched a document or inserted one
+        long matched = result.getMatchedCount() - (upserts - result.getUpserts().size());
+        if (checked.isEmpty() || matched >= checked.size()) {
+            return null;
+        }
+
+        List<Object> ids = new ArrayList<>();
+        checked.forEach(index -> ids.add(id(requests.get(index))));
+        Map<Object, Document> found = lookup(collection, ids, entityModel.getVersionProperty());
+
+        RuntimeException failure = null;
+        for (int index : checked) {
+            Object id = id(requests.get(index));
+            VersionBump info = infos.get(index);
+            if (info.versioned()) {
+                if (!matches(found.get(id), entityModel, info.newVersion())) {
+                    info.rollbackVersion();
+                    failure = chain(failure, new VersionMismatchException(entityModel.getType(), id));
+                }
+            } else if (!found.containsKey(id)) {
+                failure = chain(failure, new MappingException(noDocumentsUpdated(id)));
+            }
+        }
+        if (failure == null) {
+            failure = new MappingException(entityModel.getShardKeys().isEmpty()
+                    ? noDocumentsUpdated(ids)
+                    : noShardKeyMatch(entityModel.getShardKeys()
+                            .stream().map(PropertyModel::getMappedName)
+                            .collect(joining(", "))));
+        }
+        return failure;
+    }
+
+    private static RuntimeException chain(@Nullable RuntimeException failure, RuntimeException next) {
+        if (failure == null) {
+            return next;
+        }
+        failure.addSuppressed(next);
+        return failure;
+    }
+
+    private static Object id(WriteModel<?> request) {
+        return ((Document) ((ReplaceOneModel<?>) request).getFilter()).get("_id");
+    }
+
     /**
      * Enables any document validation defined on the class
      *
@@ -813,10 +1144,15 @@ public class MorphiaDatastore implements Datastore {
         ServiceLoader<EntityModelImporter> importers = ServiceLoader.load(EntityModelImporter.class);
         for (EntityModelImporter importer : importers) {
             for (EntityModel model : importer.getModels(getMapper())) {
-                mapper.register(model);
+                if (!mapper.isMapped(model.getType()) || mapper.getEntityModel(model.getType()) != model) {
+                    mapper.register(model);
+                }
             }
 
-            morphiaCodecProviders.add(importer.getCodecProvider(mapper));
+            MorphiaCodecProvider codecProvider = importer.getCodecProvider(mapper);
+            if (codecProvider != null) {
+                morphiaCodecProviders.add(codecProvider);
+            }
         }
     }
 
@@ -831,17 +1167,59 @@ public class MorphiaDatastore implements Datastore {
         return DocumentWriter.encode(entity, this.getMapper(), this.getCodecRegistry());
     }
 
-    private <T> VersionBumpInfo updateVersioning(T entity) {
-        final EntityModel entityModel = mapper.getEntityModel(entity.getClass());
+    /**
+     * Updates an entity with only the fields which differ from its snapshot. Entities without a snapshot have all their fields set.
+     * Only the mapped properties the entity writes are unset, and only when {@code unsetMissing}. Embedded documents are updated field
+     * by field when {@code nested} and set as a whole otherwise. The entity is tracked again once the update has been applied.
+     */
+    private <T> void update(T entity, @Nullable RawBsonDocument snapshot, boolean unsetMissing, boolean nested,
+            UpdateOptions options) {
+        Object id = mapper.getId(entity);
+        if (id == null) {
+            throw new MissingIdException();
+        }
+        EntityModel entityModel = mapper.getEntityModel(entity.getClass());
+        MongoCollection<T> collection = configureCollection(options, (MongoCollection<T>) getCollection(entity.getClass()));
+        VersionBump info = VersionBump.of(mapper, entity);
+
+        RawBsonDocument current = new RawBsonDocument(entity, (Codec<T>) codecRegistry.get(entity.getClass()));
+        Set<String> unset = unsetMissing
+                ? entityModel.getProperties().stream()
+                        .filter(PropertyModel::isWritable)
+                        .map(PropertyModel::getMappedName)
+                        .collect(Collectors.toSet())
+                : Set.of();
+        Document update = EntitySnapshots.diff(snapshot, current, unset, nested);
         PropertyModel versionProperty = entityModel.getVersionProperty();
-        if (versionProperty != null) {
-            Long value = (Long) versionProperty.getValue(entity);
-            long updated = value == null ? 1 : value + 1;
-            versionProperty.setValue(entity, updated);
-            return new VersionBumpInfo(entity, versionProperty, value, updated);
+        Document set = (Document) update.get("$set");
+        if (update.isEmpty() || update.size() == 1 && set != null && set.size() == 1 && versionProperty != null
+                && set.containsKey(versionProperty.getMappedName())) {
+            info.rollbackVersion();
+            return;
         }
 
-        return new VersionBumpInfo(entity);
+        Document filter = new Document("_id", id);
+        info.filter(filter);
+        entityModel.getShardKeys().forEach((property) -> {
+            filter.put(property.getMappedName(), property.getValue(entity));
+        });
+        UpdateResult result;
+        try {
+            result = operations.updateOne(collection, filter, update, options);
+        } catch (MongoWriteException e) {
+            info.rollbackVersion();
+            throw e;
+        }
+        if (result.getMatchedCount() != 1) {
+            info.rollbackVersion();
+            if (info.versioned()) {
+                throw new VersionMismatchException(entity.getClass(), id);
+            }
+            throw new UpdateException(Sofia.noMatchingDocuments());
+        }
+        if (mapper.getConfig().dirtyTracking()) {
+            snapshots.record(entity, current);
+        }
     }
 
     private static class NoDeleteResult extends DeleteResult {
@@ -860,6 +1238,20 @@ public class MorphiaDatastore implements Datastore {
      * Defines the various operations the driver performs on behalf of a Datastore
      */
     public abstract static class DatastoreOperations {
+        /**
+         * Executes a mix of inserts, updates, replaces, and deletes.
+         *
+         * @param collection the collection to use
+         * @param requests   the writes to execute
+         * @param options    the options to apply
+         * @return the results
+         * @param <T> the entity type
+         * @since 3.0
+         */
+        public <T> BulkWriteResult bulkWrite(MongoCollection<T> collection, List<WriteModel<T>> requests, BulkWriteOptions options) {
+            return collection.bulkWrite(requests, options);
+        }
+
         /**
          * Counts the number of documents in the collection according to the given options.
          * 
@@ -871,6 +1263,22 @@ public class MorphiaDatastore implements Datastore {
          */
         public abstract <T> long countDocuments(MongoCollection<T> collection, Document query, CountOptions options);
 
+        /**
+         * Counts the number of documents in the collection according to the given options. The query may already be encoded, e.g., as a
+         * {@link org.bson.RawBsonDocument}. By default, it is converted to a {@link Document} and passed to
+         * {@link #countDocuments(MongoCollection, Document, CountOptions)}. Subclasses should override this to pass it to the driver as is.
+         *
+         * @param collection the collection to use
+         * @param query      the query to use
+         * @param options    the options to apply
+         * @return the count of documents found
+         * @param <T> the entity type
+         * @since 3.0
+         */
+        public <T> long countDocuments(MongoCollection<T> collection, Bson query, CountOptions options) {
+            return countDocuments(collection, document(collection, query), options);
+        }
+
         /**
          * Removes all documents from the collection that match the given query filter. If no documents match, the collection is not
          * modified.
@@ -883,6 +1291,21 @@ public class MorphiaDatastore implements Datastore {
          */
         public abstract <T> DeleteResult deleteMany(MongoCollection<T> collection, Document query, DeleteOptions options);
 
+        /**
+         * Removes all documents from the collection that match the given, possibly already encoded, query filter. By default, the query is
+         * converted to a {@link Document} and passed to {@link #deleteMany(MongoCollection, Document, DeleteOptions)}.
+         *
+         * @param collection the collection to use
+         * @param query      the query to use
+         * @param options    the options to apply
+         * @return the results
+         * @param <T> the entity type
+         * @since 3.0
+         */
+        public <T> DeleteResult deleteMany(MongoCollection<T> collection, Bson query, DeleteOptions options) {
+            return deleteMany(collection, document(collection, query), options);
+        }
+
         /**
          * Removes one document from the collection that match the given query filter. If no documents match, the collection is not
          * modified.
@@ -895,6 +1318,21 @@ public class MorphiaDatastore implements Datastore {
          */
         public abstract <T> DeleteResult deleteOne(MongoCollection<T> collection, Document query, DeleteOptions options);
 
+        /**
+         * Removes one document from the collection that matches the given, possibly already encoded, query filter. By default, the query
+         * is converted to a {@link Document} and passed to {@link #deleteOne(MongoCollection, Document, DeleteOptions)}.
+         *
+         * @param collection the collection to use
+         * @param query      the query to use
+         * @param options    the options to apply
+         * @return the results
+         * @param <T> the entity type
+         * @since 3.0
+         */
+        public <T> DeleteResult deleteOne(MongoCollection<T> collection, Bson query, DeleteOptions options) {
+            return deleteOne(collection, document(collection, query), options);
+        }
+
         /**
          * Finds all documents in the collection.
          *
@@ -905,6 +1343,20 @@ public class MorphiaDatastore implements Datastore {
          */
         public abstract <T> FindIterable<T> find(MongoCollection<T> collection, Document query);
 
+        /**
+         * Finds the documents in the collection matching the given, possibly already encoded, query. By default, the query is converted to
+         * a {@link Document} and passed to {@link #find(MongoCollection, Document)}.
+         *
+         * @param collection the collection to use
+         * @param query      the query to use
+         * @return the results
+         * @param <T> the entity type
+         * @since 3.0
+         */
+        public <T> FindIterable<T> find(MongoCollection<T> collection, Bson query) {
+            return find(collection, document(collection, query));
+        }
+
         /**
          * Atomically find a document and remove it.
          *
@@ -917,6 +1369,22 @@ public class MorphiaDatastore implements Datastore {
         @Nullable
         public abstract <T> T findOneAndDelete(MongoCollection<T> collection, Document query, FindAndDeleteOptions options);
 
+        /**
+         * Atomically find a document matching the given, possibly already encoded, query and remove it. By default, the query is
+         * converted to a {@link Document} and passed to {@link #findOneAndDelete(MongoCollection, Document, FindAndDeleteOptions)}.
+         *
+         * @param collection the collection to use
+         * @param query      the query to use
+         * @param options    the options to apply
+         * @return the results
+         * @param <T> the entity type
+         * @since 3.0
+         */
+        @Nullable
+        public <T> T findOneAndDelete(MongoCollection<T> collection, Bson query, FindAndDeleteOptions options) {
+            return findOneAndDelete(collection, document(collection, query), options);
+        }
+
         /**
          * Atomically find a document and update it.
          *
@@ -1022,31 +1490,64 @@ public class MorphiaDatastore implements Datastore {
         public abstract <T> UpdateResult updateOne(MongoCollection<T> collection, Document query, List<Document> updates,
                 UpdateOptions options);
 
+        private static Document document(MongoCollection<?> collection, Bson query) {
+            if (query instanceof Document) {
+                return (Document) query;
+            }
+            CodecRegistry registry = collection.getCodecRegistry();
+            return registry.get(Document.class).decode(query.toBsonDocument(Document.class, registry).asBsonReader(),
+                    DecoderContext.builder().build());
+        }
     }
 
     private class CollectionOperations extends DatastoreOperations {
         @Override
         public <T> long countDocuments(MongoCollection<T> collection, Document query, CountOptions options) {
+            return countDocuments(collection, (Bson) query, options);
+        }
+
+        @Override
+        public <T> long countDocuments(MongoCollection<T> collection, Bson query, CountOptions options) {
             return collection.countDocuments(query, options);
         }
 
         @Override
         public <T> DeleteResult deleteMany(MongoCollection<T> collection, Document queryDocument, DeleteOptions options) {
+            return deleteMany(collection, (Bson) queryDocument, options);
+        }
+
+        @Override
+        public <T> DeleteResult deleteMany(MongoCollection<T> collection, Bson queryDocument, DeleteOptions options) {
             return collection.deleteMany(queryDocument, options);
         }
 
         @Override
         public <T> DeleteResult deleteOne(MongoCollection<T> collection, Document queryDocument, DeleteOptions options) {
+            return deleteOne(collection, (Bson) queryDocument, options);
+        }
+
+        @Override
+        public <T> DeleteResult deleteOne(MongoCollection<T> collection, Bson queryDocument, DeleteOptions options) {
             return collection.deleteOne(queryDocument, options);
         }
 
         @Override
         public <E> FindIterable<E> find(MongoCollection<E> collection, Document query) {
+            return find(collection, (Bson) query);
+        }
+
+        @Override
+        public <E> FindIterable<E> find(MongoCollection<E> collection, Bson query) {
             return collection.find(query);
         }
 
         @Override
         public <T> T findOneAndDelete(MongoCollection<T> mongoCollection, Document queryDocument, FindAndDeleteOptions options) {
+            return findOneAndDelete(mongoCollection, (Bson) queryDocument, options);
+        }
+
+        @Override
+        public <T> T findOneAndDelete(MongoCollection<T> mongoCollection, Bson queryDocument, FindAndDeleteOptions options) {
             return mongoCollection.findOneAndDelete(queryDocument, options);
         }
 
@@ -1101,61 +1602,4 @@ public class MorphiaDatastore implements Datastore {
             return collection.updateOne(query, updates, options);
         }
     }
-
-    @MorphiaInternal
-    private static class VersionBumpInfo {
-        private final Long oldVersion;
-        private final boolean versioned;
-        private final Long newVersion;
-        private final PropertyModel versionProperty;
-        private final Object entity;
-
-        <T> VersionBumpInfo(T entity) {
-            versioned = false;
-            newVersion = null;
-            oldVersion = null;
-            versionProperty = null;
-            this.entity = entity;
-        }
-
-        <T> VersionBumpInfo(T entity, PropertyModel versionProperty, @Nullable Long oldVersion, Long newVersion) {
-            this.entity = entity;
-            versioned = true;
-            this.newVersion = newVersion;
-            this.oldVersion = oldVersion;
-            this.versionProperty = versionProperty;
-        }
-
-        public void filter(Document filter) {
-            if (versionProperty != null) {
-                filter.put(versionProperty.getMappedName(), oldVersion());
-            }
-        }
-
-        public <T> Query<T> filter(Query<T> query) {
-            if (versionProperty != null && newVersion() != -1) {
-                query.filter(eq(versionProperty.getMappedName(), oldVersion()));
-            }
-
-            return query;
-        }
-
-        public Long newVersion() {
-            return newVersion;
-        }
-
-        public Long oldVersion() {
-            return oldVersion;
-        }
-
-        public void rollbackVersion() {
-            if (versionProperty != null) {
-                versionProperty.setValue(entity, oldVersion);
-            }
-        }
-
-        public boolean versioned() {
-            return versioned;
-        }
-    }
 }
@@ -32,6 +32,8 @@ import org.bson.conversions.Bson;
  */
 public class ReplaceOptions extends com.mongodb.client.model.ReplaceOptions implements WriteConfigurable<ReplaceOptions> {
     private WriteConcern writeConcern = WriteConcern.ACKNOWLEDGED;
+    private boolean ordered = true;
+    private int batchSize;
 
     /**
      * Creates a new options wrapper
@@ -57,6 +59,27 @@ public class ReplaceOptions extends com.mongodb.client.model.ReplaceOptions impl
         return this;
     }
 
+    /**
+     * Sets the number of entities sent to the server in each bulk write when replacing a list of entities. A value of 0, the default,
+     * sends each entity type in a single bulk write and lets the driver split it as needed.
+     *
+     * @param batchSize the number of entities per bulk write
+     * @return this
+     * @since 3.0
+     */
+    public ReplaceOptions batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return the number of entities per bulk write
+     * @since 3.0
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+
     @Override
     public ReplaceOptions collation(@Nullable Collation collation) {
         super.collation(collation);
@@ -101,6 +124,27 @@ public class ReplaceOptions extends com.mongodb.client.model.ReplaceOptions impl
         return this;
     }
 
+    /**
+     * Sets whether the server should apply the replacements in the order provided when replacing a list of entities. If true, the
+     * default, the server stops at the first failed replacement.
+     *
+     * @param ordered true if the entities should be replaced in order
+     * @return this
+     * @since 3.0
+     */
+    public ReplaceOptions ordered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * @return true if the entities should be replaced in order
+     * @since 3.0
+     */
+    public boolean ordered() {
+        return ordered;
+    }
+
     /**
      * Sets the write concern to use for the insert.
      *
@@ -137,6 +137,16 @@ public interface Aggregation<T> {
      */
     <S> MorphiaCursor<S> execute(Class<S> resultType);
 
+    /**
+     * Encodes the stages of this aggregation once in to a template which can be executed many times with different values for its
+     * {@link dev.morphia.aggregation.expressions.Expressions#parameter(String) parameters}. Stages added after preparing are not part
+     * of the prepared aggregation.
+     *
+     * @return the prepared aggregation
+     * @since 3.0
+     */
+    PreparedAggregation<T> prepare();
+
     /**
      * Execute the aggregation and get the results.
      *
@@ -2,11 +2,11 @@ package dev.morphia.aggregation;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import com.mongodb.ServerAddress;
-import com.mongodb.ServerCursor;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.lang.Nullable;
@@ -51,20 +51,29 @@ import dev.morphia.aggregation.stages.UnionWith;
 import dev.morphia.aggregation.stages.Unset;
 import dev.morphia.aggregation.stages.Unwind;
 import dev.morphia.annotations.internal.MorphiaInternal;
-import dev.morphia.mapping.codec.pojo.EntityModel;
-import dev.morphia.mapping.codec.reader.DocumentReader;
+import dev.morphia.mapping.codec.writer.BinaryDocumentWriter;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
 import dev.morphia.query.MorphiaCursor;
 import dev.morphia.query.filters.Filter;
+import dev.morphia.sofia.Sofia;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonWriter;
 import org.bson.Document;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static dev.morphia.aggregation.expressions.impls.ParameterExpression.PARAMETER;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
 /**
  * @param <T> the starting type of the aggregation
  * @hidden
@@ -150,29 +159,20 @@ public class AggregationImpl<T> implements Aggregation<T> {
 
     @Override
     public <R> MorphiaCursor<R> execute(Class<R> resultType) {
-        MongoCursor<R> cursor;
-        List<Document> pipeline = pipeline();
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("pipeline = " + pipeline);
-        }
-        if (datastore.getMapper().isMappable(resultType) && !resultType.equals(this.collection.getDocumentClass())) {
-            MongoCollection<Document> collection = this.collection.withDocumentClass(Document.class);
-            MongoCursor<Document> results = collection.aggregate(pipeline).iterator();
-            EntityModel entityModel = datastore.getMapper().getEntityModel(this.collection.getDocumentClass());
-            cursor = new MappingCursor<>(results, datastore.getCodecRegistry().get(resultType),
-                    entityModel.getDiscriminatorKey());
-        } else {
-            cursor = collection.aggregate(pipeline, resultType).iterator();
-        }
-        return new MorphiaCursor<>(cursor);
+        return execute(datastore, collection, encodePipeline(), resultType);
     }
 
     @Override
     public <R> MorphiaCursor<R> execute(Class<R> resultType, AggregationOptions options) {
-        return new MorphiaCursor<>(options.apply(pipeline(), datastore.getDatabase(), collection, resultType)
+        return new MorphiaCursor<>(options.apply(encodePipeline(), datastore.getDatabase(), collection, resultType)
                 .iterator());
     }
 
+    @Override
+    public PreparedAggregation<T> prepare() {
+        return new PreparedAggregation<>(datastore, collection, pipeline());
+    }
+
     @Override
     public Aggregation<T> facet(Facet facet) {
         return addStage(facet);
@@ -226,7 +226,7 @@ public class AggregationImpl<T> implements Aggregation<T> {
     @Override
     public <M> void merge(Merge<M> merge) {
         addStage(merge);
-        collection.aggregate(pipeline())
+        collection.aggregate(encodePipeline())
                 .toCollection();
     }
 
@@ -235,14 +235,14 @@ public class AggregationImpl<T> implements Aggregation<T> {
         addStage(merge);
         Class<?> type = merge.getType();
         type = type != null ? type : Document.class;
-        options.apply(pipeline(), datastore.getDatabase(), collection, type)
+        options.apply(encodePipeline(), datastore.getDatabase(), collection, type)
                 .toCollection();
     }
 
     @Override
     public <O> void out(Out<O> out) {
         addStage(out);
-        collection.aggregate(pipeline())
+        collection.aggregate(encodePipeline())
                 .toCollection();
     }
 
@@ -251,7 +251,7 @@ public class AggregationImpl<T> implements Aggregation<T> {
         addStage(out);
         Class<?> type = out.type();
         type = type != null ? type : Document.class;
-        options.apply(pipeline(), datastore.getDatabase(), collection, type).toCollection();
+        options.apply(encodePipeline(), datastore.getDatabase(), collection, type).toCollection();
     }
 
     @Override
@@ -364,6 +364,54 @@ public class AggregationImpl<T> implements Aggregation<T> {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Encodes the stages straight to BSON when {@link dev.morphia.config.MorphiaConfig#binaryEncoding() enabled}. Stages which repeat a
+     * name in a document are encoded using {@link DocumentWriter} as in {@link #pipeline()}.
+     *
+     * @throws IllegalArgumentException if a stage has a parameter since values can only be given to a prepared aggregation
+     */
+    private List<? extends Bson> encodePipeline() {
+        List<? extends Bson> pipeline;
+        if (!datastore.getMapper().getConfig().binaryEncoding()) {
+            pipeline = pipeline();
+        } else {
+            List<Bson> encoded = new ArrayList<>(stages.size());
+            for (Stage stage : stages) {
+                Bson bson = BinaryDocumentWriter.encode(stage, datastore.getCodecRegistry());
+                encoded.add(bson != null ? bson : DocumentWriter.encode(stage, datastore.getMapper(), datastore.getCodecRegistry()));
+            }
+            pipeline = encoded;
+        }
+        String parameter = parameter(pipeline);
+        if (parameter != null) {
+            throw new IllegalArgumentException(Sofia.unboundAggregationParameter(parameter));
+        }
+        return pipeline;
+    }
+
+    /**
+     * @return the name of the first parameter found in the node or null if there are none
+     */
+    @Nullable
+    private static String parameter(Object node) {
+        if (node instanceof Map) {
+            Map<?, ?> document = (Map<?, ?>) node;
+            Object parameter = document.get(PARAMETER);
+            if (parameter != null && document.size() == 1) {
+                return parameter instanceof BsonString ? ((BsonString) parameter).getValue() : parameter.toString();
+            }
+            return parameter(document.values());
+        } else if (node instanceof Collection) {
+            for (Object value : (Collection<?>) node) {
+                String name = parameter(value);
+                if (name != null) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
     @Override
     public Aggregation<T> addStage(Stage stage) {
         stage.aggregation(this);
@@ -371,56 +419,57 @@ public class AggregationImpl<T> implements Aggregation<T> {
         return this;
     }
 
-    private static class MappingCursor<R> implements MongoCursor<R> {
-        private final MongoCursor<Document> results;
-        private final Codec<R> codec;
-        private final String discriminator;
-
-        MappingCursor(MongoCursor<Document> results, Codec<R> codec, String discriminator) {
-            this.results = results;
-            this.codec = codec;
-            this.discriminator = discriminator;
-        }
-
-        @Override
-        public void close() {
-            results.close();
+    static <T, R> MorphiaCursor<R> execute(MorphiaDatastore datastore, MongoCollection<T> source, List<? extends Bson> pipeline,
+            Class<R> resultType) {
+        MongoCursor<R> cursor;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("pipeline = " + pipeline);
         }
-
-        @Override
-        public boolean hasNext() {
-            return results.hasNext();
+        if (datastore.getMapper().isMappable(resultType) && !resultType.equals(source.getDocumentClass())) {
+            Codec<R> codec = new ResultCodec<>(datastore.getCodecRegistry().get(resultType));
+            MongoCollection<R> collection = source.withDocumentClass(resultType)
+                    .withCodecRegistry(fromRegistries(fromCodecs(codec), source.getCodecRegistry()));
+            cursor = collection.aggregate(pipeline, resultType).iterator();
+        } else {
+            cursor = source.aggregate(pipeline, resultType).iterator();
         }
+        return new MorphiaCursor<>(cursor);
+    }
 
-        @Override
-        public R next() {
-            return map(results.next());
-        }
+    /**
+     * Decodes results straight from the server's response. The discriminator in the results is that of the source collection's type
+     * rather than the result type's so the decoder is told it has already been checked. Any discriminator value is then skipped like
+     * any other unmapped field.
+     *
+     * @param <R> the result type
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public static class ResultCodec<R> implements Codec<R> {
+        private static final DecoderContext CHECKED = DecoderContext.builder().checkedDiscriminator(true).build();
+        private final Codec<R> codec;
 
-        public int available() {
-            return results.available();
+        /**
+         * @param codec the codec for the result type
+         */
+        public ResultCodec(Codec<R> codec) {
+            this.codec = codec;
         }
 
         @Override
-        @Nullable
-        public R tryNext() {
-            return hasNext() ? next() : null;
+        public R decode(BsonReader reader, DecoderContext decoderContext) {
+            return codec.decode(reader, CHECKED);
         }
 
         @Override
-        @Nullable
-        public ServerCursor getServerCursor() {
-            return results.getServerCursor();
+        public void encode(BsonWriter writer, R value, EncoderContext encoderContext) {
+            codec.encode(writer, value, encoderContext);
         }
 
         @Override
-        public ServerAddress getServerAddress() {
-            return results.getServerAddress();
-        }
-
-        private R map(Document next) {
-            next.remove(discriminator);
-            return codec.decode(new DocumentReader(next), DecoderContext.builder().build());
+        public Class<R> getEncoderClass() {
+            return codec.getEncoderClass();
         }
     }
 
@@ -18,6 +18,7 @@ import dev.morphia.internal.ReadConfigurable;
 import dev.morphia.internal.WriteConfigurable;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 /**
  * Defines options to be applied to an aggregation pipeline.
@@ -61,7 +62,7 @@ public class AggregationOptions implements ReadConfigurable<AggregationOptions>,
      * @morphia.internal
      */
     @MorphiaInternal
-    <S, T> AggregateIterable<S> apply(List<Document> documents,
+    <S, T> AggregateIterable<S> apply(List<? extends Bson> documents,
             MongoDatabase database, MongoCollection<T> collection, Class<S> resultType) {
         MongoCollection<T> bound = prepare(collection, database);
         if (readConcern != null) {
@@ -0,0 +1,192 @@
+package dev.morphia.aggregation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.mongodb.client.MongoCollection;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.CodecHelper;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.query.MorphiaCursor;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
+
+import static dev.morphia.aggregation.expressions.impls.ParameterExpression.PARAMETER;
+import static dev.morphia.mapping.codec.CodecHelper.document;
+
+/**
+ * An aggregation whose stages have been encoded once in to a template. Values for the
+ * {@link dev.morphia.aggregation.expressions.Expressions#parameter(String) parameters} in the stages are given each time the aggregation
+ * is executed and only those values are encoded. Stages without parameters are kept as raw BSON and sent as is.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ *
+ * @param <T> the source type of the aggregation
+ * @see Aggregation#prepare()
+ * @since 3.0
+ */
+public class PreparedAggregation<T> {
+    private static final EncoderContext CONTEXT = EncoderContext.builder().build();
+
+    private final MorphiaDatastore datastore;
+    private final MongoCollection<T> collection;
+    private final List<Bson> stages;
+    private final BitSet parameterized = new BitSet();
+    private final Set<String> parameters;
+
+    PreparedAggregation(MorphiaDatastore datastore, MongoCollection<T> collection, List<Document> pipeline) {
+        this.datastore = datastore;
+        this.collection = collection;
+        Codec<Document> codec = datastore.getCodecRegistry().get(Document.class);
+        Set<String> names = new LinkedHashSet<>();
+        List<Bson> encoded = new ArrayList<>(pipeline.size());
+        for (Document stage : pipeline) {
+            if (collect(stage, names)) {
+                parameterized.set(encoded.size());
+                encoded.add(stage);
+            } else {
+                encoded.add(new RawBsonDocument(stage, codec));
+            }
+        }
+        stages = Collections.unmodifiableList(encoded);
+        parameters = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * @return the names of the parameters of this aggregation
+     */
+    public Set<String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Execute the aggregation and get the results.
+     *
+     * @param resultType the type of the result
+     * @param parameters the values of the parameters
+     * @param <S>        the output type
+     * @return a MorphiaCursor
+     * @throws IllegalArgumentException if a parameter has no value or a value is given for an unknown parameter
+     */
+    public <S> MorphiaCursor<S> execute(Class<S> resultType, Map<String, ?> parameters) {
+        return AggregationImpl.execute(datastore, collection, bind(parameters), resultType);
+    }
+
+    /**
+     * Execute the aggregation and get the results.
+     *
+     * @param resultType the type of the result
+     * @param options    the options to apply
+     * @param parameters the values of the parameters
+     * @param <S>        the output type
+     * @return a MorphiaCursor
+     * @throws IllegalArgumentException if a parameter has no value or a value is given for an unknown parameter
+     */
+    public <S> MorphiaCursor<S> execute(Class<S> resultType, AggregationOptions options, Map<String, ?> parameters) {
+        return new MorphiaCursor<>(options.apply(bind(parameters), datastore.getDatabase(), collection, resultType)
+                .iterator());
+    }
+
+    /**
+     * Binds values to the parameters of this aggregation
+     *
+     * @param parameters the values of the parameters
+     * @return the pipeline with the values in place of the parameters
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public List<Bson> bind(Map<String, ?> parameters) {
+        for (String name : this.parameters) {
+            if (!parameters.containsKey(name)) {
+                throw new IllegalArgumentException(Sofia.unboundAggregationParameter(name));
+            }
+        }
+        for (String name : parameters.keySet()) {
+            if (!this.parameters.contains(name)) {
+                throw new IllegalArgumentException(Sofia.unknownAggregationParameter(name, this.parameters));
+            }
+        }
+        if (parameters.isEmpty()) {
+            return stages;
+        }
+
+        DocumentWriter writer = new DocumentWriter(datastore.getMapper().getConfig());
+        document(writer, () -> {
+            for (Entry<String, ?> entry : parameters.entrySet()) {
+                CodecHelper.namedValue(writer, datastore, entry.getKey(), entry.getValue(), CONTEXT);
+            }
+        });
+        Document values = writer.getDocument();
+
+        List<Bson> bound = new ArrayList<>(stages.size());
+        for (int i = 0; i < stages.size(); i++) {
+            bound.add(parameterized.get(i) ? (Document) copy(stages.get(i), values) : stages.get(i));
+        }
+        return bound;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedAggregation{parameters=%s, stages=%s}".formatted(parameters, stages);
+    }
+
+    /**
+     * @return true if the node contains any parameters
+     */
+    private static boolean collect(Object node, Set<String> names) {
+        boolean found = false;
+        if (node instanceof Document) {
+            Document document = (Document) node;
+            Object parameter = document.get(PARAMETER);
+            if (parameter instanceof String && document.size() == 1) {
+                names.add((String) parameter);
+                return true;
+            }
+            for (Object value : document.values()) {
+                found |= collect(value, names);
+            }
+        } else if (node instanceof List) {
+            for (Object value : (List<?>) node) {
+                found |= collect(value, names);
+            }
+        }
+        return found;
+    }
+
+    private static Object copy(Object node, Document values) {
+        if (node instanceof Document) {
+            Document document = (Document) node;
+            Object parameter = document.get(PARAMETER);
+            if (parameter instanceof String && document.size() == 1) {
+                return values.get(parameter);
+            }
+            Document copy = new Document();
+            for (Entry<String, Object> entry : document.entrySet()) {
+                copy.put(entry.getKey(), copy(entry.getValue(), values));
+            }
+            return copy;
+        } else if (node instanceof List) {
+            List<?> list = (List<?>) node;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object value : list) {
+                copy.add(copy(value, values));
+            }
+            return copy;
+        }
+        return node;
+    }
+}
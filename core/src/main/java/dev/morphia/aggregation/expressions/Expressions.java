@@ -9,6 +9,7 @@ import dev.morphia.aggregation.expressions.impls.DocumentExpression;
 import dev.morphia.aggregation.expressions.impls.Expression;
 import dev.morphia.aggregation.expressions.impls.LiteralExpression;
 import dev.morphia.aggregation.expressions.impls.MetaExpression;
+import dev.morphia.aggregation.expressions.impls.ParameterExpression;
 import dev.morphia.aggregation.expressions.impls.ValueExpression;
 import dev.morphia.annotations.internal.MorphiaInternal;
 
@@ -68,6 +69,19 @@ public final class Expressions {
         return new LiteralExpression(value);
     }
 
+    /**
+     * Creates a named placeholder for a value given when a {@link dev.morphia.aggregation.PreparedAggregation prepared aggregation} is
+     * executed. Parameters can be used wherever a value or an expression is expected, including the values of {@code $match} filters.
+     *
+     * @param name the parameter name
+     * @return the new expression
+     * @see dev.morphia.aggregation.Aggregation#prepare()
+     * @since 3.0
+     */
+    public static Expression parameter(String name) {
+        return new ParameterExpression(name);
+    }
+
     /**
      * Returns the metadata associated with a document in a pipeline operations, e.g. "textScore" when performing text search.
      *
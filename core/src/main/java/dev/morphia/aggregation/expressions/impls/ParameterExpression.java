@@ -0,0 +1,41 @@
+package dev.morphia.aggregation.expressions.impls;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+/**
+ * A named placeholder for a value bound when a prepared aggregation is executed
+ *
+ * @hidden
+ * @morphia.internal
+ * @see dev.morphia.aggregation.PreparedAggregation
+ * @since 3.0
+ */
+@MorphiaInternal
+public class ParameterExpression extends Expression implements SingleValuedExpression {
+    /**
+     * The field name of the placeholder document written in place of the value
+     */
+    public static final String PARAMETER = "$morphia.parameter";
+
+    private final String name;
+
+    /**
+     * @param name the parameter name
+     */
+    public ParameterExpression(String name) {
+        super(PARAMETER);
+        this.name = name;
+    }
+
+    /**
+     * @return the parameter name
+     */
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "ParameterExpression{name=%s}".formatted(name);
+    }
+}
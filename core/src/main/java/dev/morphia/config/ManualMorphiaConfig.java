@@ -6,15 +6,19 @@ import java.util.Optional;
 
 import com.mongodb.lang.Nullable;
 
+import dev.morphia.mapping.AccessorStrategy;
 import dev.morphia.mapping.DateStorage;
 import dev.morphia.mapping.DiscriminatorFunction;
 import dev.morphia.mapping.NamingStrategy;
 import dev.morphia.mapping.PropertyDiscovery;
+import dev.morphia.metrics.MorphiaMetrics;
+import dev.morphia.metrics.NoOpMetrics;
 import dev.morphia.query.DefaultQueryFactory;
 import dev.morphia.query.QueryFactory;
 
 import org.bson.codecs.configuration.CodecProvider;
 
+import static dev.morphia.mapping.AccessorStrategy.REFLECTION;
 import static dev.morphia.mapping.DateStorage.UTC;
 import static dev.morphia.mapping.DiscriminatorFunction.simpleName;
 import static dev.morphia.mapping.NamingStrategy.camelCase;
@@ -28,21 +32,27 @@ import static java.lang.Boolean.FALSE;
  */
 @SuppressWarnings("removal")
 public class ManualMorphiaConfig implements MorphiaConfig {
+    AccessorStrategy accessorStrategy;
     Boolean applyCaps;
     Boolean applyDocumentValidations;
     Boolean applyIndexes;
+    Boolean binaryEncoding;
     String database;
     Optional<CodecProvider> codecProvider;
     NamingStrategy collectionNaming;
     DateStorage dateStorage;
+    Boolean dirtyTracking;
     DiscriminatorFunction discriminator;
     String discriminatorKey;
     Boolean enablePolymorphicQueries;
     Boolean ignoreFinals;
+    MorphiaMetrics metrics;
     List<String> packages;
     PropertyDiscovery propertyDiscovery;
     NamingStrategy propertyNaming;
     QueryFactory queryFactory;
+    Integer queryShapeCacheSize;
+    Integer referenceBatchSize;
     Boolean storeEmpties;
     Boolean storeNulls;
 
@@ -56,21 +66,27 @@ public class ManualMorphiaConfig implements MorphiaConfig {
      * @hidden
      */
     protected ManualMorphiaConfig(MorphiaConfig base) {
+        accessorStrategy = base.accessorStrategy();
         applyCaps = base.applyCaps();
         applyDocumentValidations = base.applyDocumentValidations();
         applyIndexes = base.applyIndexes();
+        binaryEncoding = base.binaryEncoding();
         codecProvider = base.codecProvider();
         collectionNaming = base.collectionNaming();
         database = base.database();
         dateStorage = base.dateStorage();
+        dirtyTracking = base.dirtyTracking();
         discriminator = base.discriminator();
         discriminatorKey = base.discriminatorKey();
         enablePolymorphicQueries = base.enablePolymorphicQueries();
         ignoreFinals = base.ignoreFinals();
+        metrics = base.metrics();
         packages = new ArrayList<>(base.packages());
         propertyDiscovery = base.propertyDiscovery();
         propertyNaming = base.propertyNaming();
         queryFactory = base.queryFactory();
+        queryShapeCacheSize = base.queryShapeCacheSize();
+        referenceBatchSize = base.referenceBatchSize();
         storeEmpties = base.storeEmpties();
         storeNulls = base.storeNulls();
     }
@@ -90,6 +106,11 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return new ManualMorphiaConfig(base);
     }
 
+    @Override
+    public AccessorStrategy accessorStrategy() {
+        return orDefault(accessorStrategy, REFLECTION);
+    }
+
     @Override
     public Boolean applyCaps() {
         return orDefault(applyCaps, FALSE);
@@ -104,6 +125,11 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return orDefault(applyIndexes, FALSE);
     }
 
+    @Override
+    public Boolean binaryEncoding() {
+        return orDefault(binaryEncoding, FALSE);
+    }
+
     @Override
     public Optional<CodecProvider> codecProvider() {
         return orDefault(codecProvider, Optional.empty());
@@ -124,6 +150,11 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return orDefault(dateStorage, UTC);
     }
 
+    @Override
+    public Boolean dirtyTracking() {
+        return orDefault(dirtyTracking, FALSE);
+    }
+
     @Override
     public DiscriminatorFunction discriminator() {
         return orDefault(discriminator, simpleName());
@@ -144,6 +175,11 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return orDefault(ignoreFinals, FALSE);
     }
 
+    @Override
+    public MorphiaMetrics metrics() {
+        return orDefault(metrics, new NoOpMetrics());
+    }
+
     @Override
     public List<String> packages() {
         return orDefault(packages, List.of());
@@ -164,6 +200,16 @@ public class ManualMorphiaConfig implements MorphiaConfig {
         return orDefault(queryFactory, new DefaultQueryFactory());
     }
 
+    @Override
+    public Integer queryShapeCacheSize() {
+        return orDefault(queryShapeCacheSize, 0);
+    }
+
+    @Override
+    public Integer referenceBatchSize() {
+        return orDefault(referenceBatchSize, 0);
+    }
+
     @Override
     public Boolean storeEmpties() {
         return orDefault(storeEmpties, FALSE);
@@ -176,13 +222,14 @@ public class ManualMorphiaConfig implements MorphiaConfig {
 
     @Override
     public String toString() {
-        return ("MorphiaConfig{applyCaps=%s, applyDocumentValidations=%s, applyIndexes=%s, database='%s', codecProvider=%s, " +
-                "collectionNaming=%s, dateStorage=%s, discriminator=%s, discriminatorKey='%s', enablePolymorphicQueries=%s, " +
-                "ignoreFinals=%s, packages=%s, propertyDiscovery=%s, propertyNaming=%s, queryFactory=%s, " +
-                "storeEmpties=%s, storeNulls=%s}").formatted(
-                        applyCaps(), applyDocumentValidations(), applyIndexes(), database(), codecProvider(), collectionNaming(),
-                        dateStorage(), discriminator(), discriminatorKey(), enablePolymorphicQueries(), ignoreFinals(), packages(),
-                        propertyDiscovery(), propertyNaming(), queryFactory(), storeEmpties(), storeNulls());
+        return ("MorphiaConfig{accessorStrategy=%s, applyCaps=%s, applyDocumentValidations=%s, applyIndexes=%s, binaryEncoding=%s, " +
+                "database='%s', codecProvider=%s, collectionNaming=%s, dateStorage=%s, dirtyTracking=%s, discriminator=%s, " +
+                "discriminatorKey='%s', enablePolymorphicQueries=%s, ignoreFinals=%s, metrics=%s, packages=%s, propertyDiscovery=%s, " +
+                "propertyNaming=%s, queryFactory=%s, queryShapeCacheSize=%s, referenceBatchSize=%s, storeEmpties=%s, storeNulls=%s}")
+                .formatted(accessorStrategy(), applyCaps(), applyDocumentValidations(), applyIndexes(), binaryEncoding(), database(),
+                        codecProvider(), collectionNaming(), dateStorage(), dirtyTracking(), discriminator(), discriminatorKey(),
+                        enablePolymorphicQueries(), ignoreFinals(), metrics(), packages(), propertyDiscovery(), propertyNaming(),
+                        queryFactory(), queryShapeCacheSize(), referenceBatchSize(), storeEmpties(), storeNulls());
     }
 
     protected <T> T orDefault(@Nullable T localValue, T defaultValue) {
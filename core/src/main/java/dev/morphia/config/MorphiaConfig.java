@@ -8,11 +8,13 @@ import dev.morphia.annotations.PossibleValues;
 import dev.morphia.annotations.Property;
 import dev.morphia.annotations.Validation;
 import dev.morphia.annotations.internal.MorphiaExperimental;
+import dev.morphia.mapping.AccessorStrategy;
 import dev.morphia.mapping.DateStorage;
 import dev.morphia.mapping.DiscriminatorFunction;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.NamingStrategy;
 import dev.morphia.mapping.PropertyDiscovery;
+import dev.morphia.metrics.MorphiaMetrics;
 import dev.morphia.query.QueryFactory;
 import dev.morphia.sofia.Sofia;
 
@@ -96,6 +98,32 @@ public interface MorphiaConfig {
     @WithDefault("morphia")
     String database();
 
+    /**
+     * Determines how mapped properties are read from and written to entities. The default uses core reflection. Using method handles
+     * avoids much of the overhead of reflective access on the encode and decode paths.
+     *
+     * @return the accessor strategy to use
+     * @see AccessorStrategy
+     * @since 3.0
+     */
+    @WithDefault("reflection")
+    @PossibleValues(value = { "reflection", "handles" }, fqcn = false)
+    AccessorStrategy accessorStrategy();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig accessorStrategy(AccessorStrategy value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.accessorStrategy = value;
+        return newConfig;
+    }
+
     /**
      * If true, collection caps will be applied to the database at start up.
      *
@@ -164,6 +192,31 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * If true, query filters and aggregation stages are encoded straight to BSON rather than first being built up as {@code Document}s.
+     * Queries which repeat a field name in a document, e.g., two filters on the same field, are still built up as {@code Document}s so
+     * that the repeated criteria can be combined.
+     *
+     * @return true if queries should be encoded straight to BSON
+     * @since 3.0
+     */
+    @WithDefault("false")
+    Boolean binaryEncoding();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig binaryEncoding(Boolean value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.binaryEncoding = value;
+        return newConfig;
+    }
+
     /**
      * Specifies a {@code CodecProvider} to supply user defined codecs that Morphia should use.
      *
@@ -241,6 +294,31 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * Enables tracking changes to entities loaded by queries. A copy of each document read is kept alongside the entity so that
+     * {@link dev.morphia.Datastore#update(Object)} and {@link dev.morphia.Datastore#merge(Object)} only send the fields which have
+     * changed since it was loaded.
+     *
+     * @return true if loaded entities should be tracked
+     * @since 3.0
+     */
+    @WithDefault("false")
+    Boolean dirtyTracking();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig dirtyTracking(Boolean value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.dirtyTracking = value;
+        return newConfig;
+    }
+
     /**
      * The function to use when calculating the discriminator value for an entity
      *
@@ -353,6 +431,32 @@ public interface MorphiaConfig {
 
     }
 
+    /**
+     * Specifies where Morphia reports the time taken by server operations, encoding, decoding, reference fetches and mapping. Possible
+     * values are the fully qualified class name of a {@link MorphiaMetrics} implementation with a no argument constructor. By default,
+     * nothing is measured.
+     *
+     * @return the metrics to report to
+     * @since 3.0
+     */
+    @WithConverter(MetricsConverter.class)
+    @WithDefault("dev.morphia.metrics.NoOpMetrics")
+    MorphiaMetrics metrics();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig metrics(MorphiaMetrics value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.metrics = value;
+        return newConfig;
+    }
+
     /**
      * A comma delimited list of packages that Morphia should map. If subpackages of a specific package should also be mapped, simply add
      * a '*' to the end of the package name. e.g., 'com.foo.bar.*'
@@ -453,6 +557,56 @@ public interface MorphiaConfig {
         return newConfig;
     }
 
+    /**
+     * Sets the maximum number of query shapes to cache. A query's shape is the structure of its filters without their values. Once a
+     * shape has been encoded, later queries with the same shape reuse the encoded filter document and its resolved field paths and only
+     * encode their values. Shapes seen after the cache is full are encoded in full each time. A value of 0 disables the cache.
+     *
+     * @return the maximum number of query shapes to cache
+     * @since 3.0
+     */
+    @WithDefault("0")
+    Integer queryShapeCacheSize();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig queryShapeCacheSize(Integer value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.queryShapeCacheSize = value;
+        return newConfig;
+    }
+
+    /**
+     * Sets the number of entities read ahead from a query's cursor whose non-lazy, single valued references are then fetched together
+     * with one {@code $in} query per referenced collection. A value of 0 disables batching and each reference is fetched as its entity
+     * is decoded.
+     *
+     * @return the number of entities to batch reference fetches across
+     * @since 3.0
+     */
+    @WithDefault("0")
+    Integer referenceBatchSize();
+
+    /**
+     * Updates this configuration with a new value and returns a new instance. The original instance is unchanged.
+     *
+     * @param value the new value
+     * @return a new instance with the updated configuration
+     * @since 3.0
+     */
+    default MorphiaConfig referenceBatchSize(Integer value) {
+        var newConfig = new ManualMorphiaConfig(this);
+
+        newConfig.referenceBatchSize = value;
+        return newConfig;
+    }
+
     /**
      * Instructs Morphia on how to handle empty Collections and Maps.
      *
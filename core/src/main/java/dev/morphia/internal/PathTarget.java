@@ -23,6 +23,7 @@ import java.util.StringJoiner;
 import com.mongodb.lang.Nullable;
 
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.internal.ResolvedPaths.ResolvedPath;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.NotMappableException;
 import dev.morphia.mapping.codec.pojo.EntityModel;
@@ -41,13 +42,15 @@ import static java.util.Arrays.asList;
  */
 @MorphiaInternal
 public class PathTarget {
-    private final List<String> segments;
+    private final String path;
+    private List<String> segments;
     private final boolean validateNames;
     private int position;
     private final Mapper mapper;
     private final EntityModel root;
     private EntityModel context;
     private PropertyModel target;
+    private String translatedPath;
     private boolean resolved;
 
     /**
@@ -71,11 +74,14 @@ public class PathTarget {
      */
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     public PathTarget(Mapper mapper, @Nullable EntityModel root, String path, boolean validateNames) {
-        segments = asList(path.split("\\."));
+        this.path = path;
         this.root = root;
         this.mapper = mapper;
         this.validateNames = validateNames;
-        resolved = path.startsWith("$");
+        if (path.startsWith("$")) {
+            translatedPath = path;
+            resolved = true;
+        }
     }
 
     /**
@@ -124,9 +130,7 @@ public class PathTarget {
         if (!resolved) {
             resolve();
         }
-        StringJoiner joiner = new StringJoiner(".");
-        segments.forEach(joiner::add);
-        return joiner.toString();
+        return translatedPath;
     }
 
     /**
@@ -144,7 +148,7 @@ public class PathTarget {
 
     @Override
     public String toString() {
-        return String.format("PathTarget{root=%s, segments=%s, target=%s}", root.getType().getSimpleName(), segments, target);
+        return String.format("PathTarget{root=%s, path=%s, target=%s}", root.getType().getSimpleName(), path, target);
     }
 
     private boolean hasNext() {
@@ -152,11 +156,27 @@ public class PathTarget {
     }
 
     private void failValidation(String pathElement) {
+        translatedPath = join();
         resolved = true;
-        throw new ValidationException(Sofia.invalidPathTarget(translatedPath(), root.getType().getName(), pathElement));
+        throw new ValidationException(Sofia.invalidPathTarget(translatedPath, root.getType().getName(), pathElement));
+    }
+
+    private String join() {
+        StringJoiner joiner = new StringJoiner(".");
+        segments.forEach(joiner::add);
+        return joiner.toString();
     }
 
     private void resolve() {
+        ResolvedPaths cache = mapper.getResolvedPaths();
+        ResolvedPath cached = cache.get(root, path, validateNames);
+        if (cached != null) {
+            translatedPath = cached.translatedPath();
+            target = cached.target();
+            resolved = true;
+            return;
+        }
+        segments = asList(path.split("\\."));
         context = this.root;
         position = 0;
         PropertyModel property = null;
@@ -187,7 +207,9 @@ public class PathTarget {
             }
         }
         target = property;
+        translatedPath = join();
         resolved = true;
+        cache.put(root, path, validateNames, new ResolvedPath(translatedPath, target));
     }
 
     private void translate(String nameToStore) {
@@ -0,0 +1,136 @@
+package dev.morphia.internal;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+
+/**
+ * Caches the resolution of field paths against entity models so that repeated queries, updates, sorts, and projections don't walk the
+ * model again for each path. Entries are keyed by the root model, the path, and whether names are validated. Once the cache is full,
+ * further paths are resolved but not cached. Paths failing validation are never cached.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class ResolvedPaths {
+    /**
+     * The maximum number of paths cached
+     */
+    public static final int MAX_SIZE = 10_000;
+
+    private final Map<Key, ResolvedPath> paths = new ConcurrentHashMap<>();
+
+    /**
+     * Drops every cached path. This is needed whenever a new model is mapped since paths not found on a model are looked up on its
+     * subtypes.
+     */
+    public void clear() {
+        paths.clear();
+    }
+
+    /**
+     * @param root          the root model
+     * @param path          the path
+     * @param validateNames true if names are validated
+     * @return the resolved path or null if it has not been cached
+     */
+    @Nullable
+    public ResolvedPath get(@Nullable EntityModel root, String path, boolean validateNames) {
+        return paths.get(new Key(root, path, validateNames));
+    }
+
+    /**
+     * @param root          the root model
+     * @param path          the path
+     * @param validateNames true if names are validated
+     * @param resolved      the resolved path
+     */
+    public void put(@Nullable EntityModel root, String path, boolean validateNames, ResolvedPath resolved) {
+        if (paths.size() < MAX_SIZE) {
+            paths.put(new Key(root, path, validateNames), resolved);
+        }
+    }
+
+    /**
+     * @return the number of cached paths
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * The immutable result of resolving a path
+     */
+    public static final class ResolvedPath {
+        private final String translatedPath;
+        @Nullable
+        private final PropertyModel target;
+
+        /**
+         * @param translatedPath the path using the mapped names
+         * @param target         the property at the end of the path or null if it could not be found
+         */
+        public ResolvedPath(String translatedPath, @Nullable PropertyModel target) {
+            this.translatedPath = translatedPath;
+            this.target = target;
+        }
+
+        /**
+         * @return the path using the mapped names
+         */
+        public String translatedPath() {
+            return translatedPath;
+        }
+
+        /**
+         * @return the property at the end of the path or null if it could not be found
+         */
+        @Nullable
+        public PropertyModel target() {
+            return target;
+        }
+    }
+
+    /**
+     * Models are compared by identity since each mapper holds its own copies.
+     */
+    private static final class Key {
+        @Nullable
+        private final EntityModel root;
+        private final String path;
+        private final boolean validateNames;
+        private final int hash;
+
+        private Key(@Nullable EntityModel root, String path, boolean validateNames) {
+            this.root = root;
+            this.path = path;
+            this.validateNames = validateNames;
+            hash = Objects.hash(System.identityHashCode(root), path, validateNames);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return root == key.root && validateNames == key.validateNames && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package dev.morphia.internal;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.query.Query;
+
+import org.bson.Document;
+
+import static dev.morphia.query.filters.Filters.eq;
+
+/**
+ * Bumps the version of an entity before it is written and tracks the previous version so that the write can be made conditional on it
+ * and the bump rolled back if the write fails. Entities without a version property are left alone.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public final class VersionBump {
+    private final Object entity;
+    @Nullable
+    private final PropertyModel versionProperty;
+    @Nullable
+    private final Long oldVersion;
+    @Nullable
+    private final Long newVersion;
+
+    private VersionBump(Object entity, @Nullable PropertyModel versionProperty, @Nullable Long oldVersion, @Nullable Long newVersion) {
+        this.entity = entity;
+        this.versionProperty = versionProperty;
+        this.oldVersion = oldVersion;
+        this.newVersion = newVersion;
+    }
+
+    /**
+     * Bumps the version of an entity if it is versioned
+     *
+     * @param mapper the mapper
+     * @param entity the entity
+     * @return the bump
+     */
+    public static VersionBump of(Mapper mapper, Object entity) {
+        PropertyModel versionProperty = mapper.getEntityModel(entity.getClass()).getVersionProperty();
+        if (versionProperty == null) {
+            return new VersionBump(entity, null, null, null);
+        }
+        Long value = (Long) versionProperty.getValue(entity);
+        long updated = value == null ? 1 : value + 1;
+        versionProperty.setValue(entity, updated);
+        return new VersionBump(entity, versionProperty, value, updated);
+    }
+
+    /**
+     * Adds the previous version to a filter
+     *
+     * @param filter the filter to update
+     */
+    public void filter(Document filter) {
+        if (versionProperty != null) {
+            filter.put(versionProperty.getMappedName(), oldVersion);
+        }
+    }
+
+    /**
+     * Adds the previous version to a query
+     *
+     * @param query the query to update
+     * @param <T>   the entity type
+     * @return the query
+     */
+    public <T> Query<T> filter(Query<T> query) {
+        if (versionProperty != null) {
+            query.filter(eq(versionProperty.getMappedName(), oldVersion));
+        }
+        return query;
+    }
+
+    /**
+     * @return true if this is the first version of the entity, i.e., it has never been written
+     */
+    public boolean isFirstVersion() {
+        return newVersion != null && newVersion == 1;
+    }
+
+    /**
+     * @return the new version or null if the entity is not versioned
+     */
+    @Nullable
+    public Long newVersion() {
+        return newVersion;
+    }
+
+    /**
+     * @return the previous version or null if the entity is not versioned or had no version
+     */
+    @Nullable
+    public Long oldVersion() {
+        return oldVersion;
+    }
+
+    /**
+     * Restores the previous version on the entity
+     */
+    public void rollbackVersion() {
+        if (versionProperty != null) {
+            versionProperty.setValue(entity, oldVersion);
+        }
+    }
+
+    /**
+     * @return true if the entity is versioned
+     */
+    public boolean versioned() {
+        return versionProperty != null;
+    }
+}
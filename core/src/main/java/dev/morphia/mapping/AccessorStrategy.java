@@ -0,0 +1,18 @@
+package dev.morphia.mapping;
+
+/**
+ * Defines how mapped properties are read from and written to entities.
+ *
+ * @since 3.0
+ */
+public enum AccessorStrategy {
+    /**
+     * Uses core reflection via {@code Field} and {@code Method}
+     */
+    REFLECTION,
+    /**
+     * Uses method handles for fields and {@code LambdaMetafactory} generated functions for get/set methods. Properties which can not be
+     * accessed this way fall back to reflection.
+     */
+    HANDLES
+}
@@ -42,7 +42,9 @@ import static java.lang.String.format;
  */
 @MorphiaInternal
 public final class DiscriminatorLookup {
+    private static final int MAX_UNKNOWN = 1_000;
     private final Map<String, Class<?>> discriminatorClassMap = new ConcurrentHashMap<>();
+    private final Set<String> unknown = ConcurrentHashMap.newKeySet();
     private final Set<String> packages = new ConcurrentSkipListSet<>();
     private final ClassLoader classLoader;
 
@@ -67,6 +69,7 @@ public final class DiscriminatorLookup {
             throw new MappingException(Sofia.duplicateDiscriminators(entityModel.getDiscriminator(), current.getName(),
                     entityModel.getType().getName()));
         }
+        unknown.remove(entityModel.getDiscriminator());
     }
 
     /**
@@ -76,16 +79,23 @@ public final class DiscriminatorLookup {
      * @return the mapped class
      */
     public Class<?> lookup(String discriminator) {
-        if (discriminatorClassMap.containsKey(discriminator)) {
-            return discriminatorClassMap.get(discriminator);
+        Class<?> clazz = discriminatorClassMap.get(discriminator);
+        if (clazz != null) {
+            return clazz;
         }
 
-        Class<?> clazz = getClassForName(discriminator);
-        if (clazz == null) {
-            clazz = searchPackages(discriminator);
+        if (!unknown.contains(discriminator)) {
+            clazz = getClassForName(discriminator);
+            if (clazz == null) {
+                clazz = searchPackages(discriminator);
+            }
         }
 
         if (clazz == null) {
+            // remember values that don't resolve so that they are not searched for again on every document
+            if (unknown.size() < MAX_UNKNOWN) {
+                unknown.add(discriminator);
+            }
             throw new CodecConfigurationException(format("A class could not be found for the discriminator: '%s'.", discriminator));
         } else {
             discriminatorClassMap.put(discriminator, clazz);
@@ -2,6 +2,8 @@ package dev.morphia.mapping;
 
 import java.util.List;
 
+import com.mongodb.lang.Nullable;
+
 import dev.morphia.annotations.internal.MorphiaExperimental;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.mapping.codec.MorphiaCodecProvider;
@@ -25,12 +27,14 @@ public interface EntityModelImporter {
      * Returns the codec provider responsible for creating the codecs for the {@link EntityModel}s returned by this importer.
      *
      * @param mapper The datastore to use
-     * @return the provider
+     * @return the provider or null if the default codecs should be used
      */
+    @Nullable
     MorphiaCodecProvider getCodecProvider(Mapper mapper);
 
     /**
-     * Returns the models to be introduced by this importer.
+     * Returns the models to be introduced by this importer. Models the importer has already registered with the mapper are not
+     * registered again.
      *
      * @param mapper the Mapper to use while building the {@link EntityModel}s
      * @return the models
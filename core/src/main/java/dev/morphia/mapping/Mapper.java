@@ -1,15 +1,21 @@
 package dev.morphia.mapping;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import com.mongodb.WriteConcern;
@@ -24,11 +30,13 @@ import dev.morphia.annotations.PreLoad;
 import dev.morphia.annotations.PrePersist;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.config.MorphiaConfig;
+import dev.morphia.internal.ResolvedPaths;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.pojo.EntityModelBuilder;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.mapping.codec.references.MorphiaProxy;
 import dev.morphia.mapping.validation.MappingValidator;
+import dev.morphia.metrics.MorphiaMetrics;
 import dev.morphia.sofia.Sofia;
 
 import org.bson.Document;
@@ -39,6 +47,8 @@ import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ScanResult;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * @morphia.internal
  * @hidden
@@ -48,6 +58,14 @@ import io.github.classgraph.ScanResult;
 public class Mapper {
     private static final Logger LOG = LoggerFactory.getLogger(Mapper.class);
 
+    /**
+     * The resource listing the mappable types of a module, one binary class name per line, as written by the morphia-processor
+     * annotation processor
+     *
+     * @since 3.0
+     */
+    public static final String ENTITY_INDEX = "META-INF/morphia/entities";
+
     /**
      * Special name that can never be used. Used as default for some fields to indicate default state.
      *
@@ -72,6 +90,9 @@ public class Mapper {
     private final MorphiaConfig config;
     private final DiscriminatorLookup discriminatorLookup;
     private final ClassLoader contextClassLoader;
+    private final ResolvedPaths resolvedPaths = new ResolvedPaths();
+    @Nullable
+    private List<String> entityIndex;
 
     /**
      * Creates a Mapper with the given options.
@@ -234,7 +255,12 @@ public class Mapper {
             if (!isMappable(actual)) {
                 throw new NotMappableException(type);
             }
+            MorphiaMetrics metrics = config.metrics();
+            long start = System.nanoTime();
             model = register(createEntityModel(type));
+            if (metrics.isEnabled()) {
+                metrics.mapped(model.getType(), System.nanoTime() - start);
+            }
         }
 
         return model;
@@ -292,6 +318,17 @@ public class Mapper {
         return config;
     }
 
+    /**
+     * @return the cache of resolved field paths
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public ResolvedPaths getResolvedPaths() {
+        return resolvedPaths;
+    }
+
     /**
      * Gets the write concern for entity or returns the default write concern for this datastore
      *
@@ -388,7 +425,8 @@ public class Mapper {
     }
 
     /**
-     * Tries to map all classes in the package specified.
+     * Tries to map all classes in the package specified. The types listed in the package by any entity index ({@value #ENTITY_INDEX}) are
+     * loaded and mapped. Classpath elements with no index are scanned for the rest.
      *
      * @param packageName the name of the package to process
      * @deprecated This is handled via the config file and should not be called manually
@@ -455,10 +493,30 @@ public class Mapper {
      */
     @MorphiaInternal
     public void updateQueryWithDiscriminators(EntityModel model, Document query) {
+        List<String> values = getQueryDiscriminators(model, query::containsKey);
+        if (values != null) {
+            query.put(model.getDiscriminatorKey(),
+                    new Document("$in", values));
+        }
+    }
+
+    /**
+     * Finds the discriminators a query should be restricted to if polymorphic queries are enabled
+     *
+     * @param model    the query model
+     * @param hasField checks whether the query already has a top level field
+     * @return the discriminator values or null if the query should not be restricted
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @Nullable
+    @MorphiaInternal
+    public List<String> getQueryDiscriminators(EntityModel model, Predicate<String> hasField) {
         Entity annotation = model.getEntityAnnotation();
         if (annotation != null && annotation.useDiscriminator()
-                && !query.containsKey("_id")
-                && !query.containsKey(model.getDiscriminatorKey())) {
+                && !hasField.test("_id")
+                && !hasField.test(model.getDiscriminatorKey())) {
             List<String> values = new ArrayList<>();
             values.add(model.getDiscriminator());
             if (config.enablePolymorphicQueries()) {
@@ -466,9 +524,9 @@ public class Mapper {
                     values.add(subtype.getDiscriminator());
                 }
             }
-            query.put(model.getDiscriminatorKey(),
-                    new Document("$in", values));
+            return values;
         }
+        return null;
     }
 
     /**
@@ -485,6 +543,7 @@ public class Mapper {
 
     private EntityModel register(EntityModel entityModel, boolean validate) {
 
+        resolvedPaths.clear();
         discriminatorLookup.addModel(entityModel);
         mappedEntities.put(entityModel.getType(), entityModel);
         mappedEntitiesByCollection.computeIfAbsent(entityModel.getCollectionName(), s -> new CopyOnWriteArraySet<>())
@@ -512,13 +571,19 @@ public class Mapper {
                 .build();
     }
 
+    /**
+     * Finds the types in a package. Classpath elements with an entity index contribute the types they list while any others are scanned.
+     */
     private List<Class> getClasses(ClassLoader loader, String packageName)
             throws ClassNotFoundException {
-        final Set<Class> classes = new HashSet<>();
+        final Set<Class> classes = new LinkedHashSet<>(getIndexedClasses(loader, packageName));
 
         ClassGraph classGraph = new ClassGraph()
                 .addClassLoader(loader)
                 .enableAllInfo();
+        if (!getEntityIndex(loader).isEmpty()) {
+            classGraph.rejectClasspathElementsContainingResourcePath(ENTITY_INDEX);
+        }
         if (packageName.endsWith(".*")) {
             String base = packageName.substring(0, packageName.length() - 2);
             if (!base.isEmpty()) {
@@ -540,6 +605,50 @@ public class Mapper {
         return new ArrayList<>(classes);
     }
 
+    /**
+     * Loads the indexed types in a package without initializing them.
+     */
+    private List<Class> getIndexedClasses(ClassLoader loader, String packageName) {
+        boolean recursive = packageName.endsWith(".*");
+        String base = recursive ? packageName.substring(0, packageName.length() - 2) : packageName;
+        List<Class> classes = new ArrayList<>();
+        for (String name : getEntityIndex(loader)) {
+            int dot = name.lastIndexOf('.');
+            String typePackage = dot == -1 ? "" : name.substring(0, dot);
+            if (typePackage.equals(base) || recursive && (base.isEmpty() || typePackage.startsWith(base + "."))) {
+                try {
+                    classes.add(Class.forName(name, false, loader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    Sofia.logUnloadableIndexedType(name, e.getMessage());
+                }
+            }
+        }
+        return classes;
+    }
+
+    private List<String> getEntityIndex(ClassLoader loader) {
+        if (entityIndex == null) {
+            Set<String> names = new LinkedHashSet<>();
+            try {
+                Enumeration<URL> resources = loader.getResources(ENTITY_INDEX);
+                while (resources.hasMoreElements()) {
+                    URL resource = resources.nextElement();
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), UTF_8))) {
+                        reader.lines()
+                                .map(String::trim)
+                                .filter(line -> !line.isEmpty())
+                                .forEach(names::add);
+                    }
+                }
+            } catch (IOException e) {
+                Sofia.logUnreadableEntityIndex(e.getMessage());
+                names.clear();
+            }
+            entityIndex = new ArrayList<>(names);
+        }
+        return entityIndex;
+    }
+
     private <T> boolean hasAnnotation(Class<T> clazz, List<Class<? extends Annotation>> annotations) {
         for (Class<? extends Annotation> annotation : annotations) {
             if (clazz.getAnnotation(annotation) != null) {
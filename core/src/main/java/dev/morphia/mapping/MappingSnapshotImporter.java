@@ -0,0 +1,64 @@
+package dev.morphia.mapping;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaExperimental;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.MorphiaCodecProvider;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.MappingSnapshot;
+import dev.morphia.sofia.Sofia;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Restores the models in the mapping snapshot found at {@value #SNAPSHOT_FILE} on the classpath, if any. A snapshot that can not be
+ * restored is logged and ignored so that the entities are mapped reflectively instead.
+ *
+ * @hidden
+ * @morphia.internal
+ * @morphia.experimental
+ * @see MappingSnapshot
+ * @since 3.0
+ */
+@MorphiaInternal
+@MorphiaExperimental
+public class MappingSnapshotImporter implements EntityModelImporter {
+    /**
+     * The classpath location of the mapping snapshot
+     */
+    public static final String SNAPSHOT_FILE = "META-INF/morphia/mapping";
+
+    /**
+     * The restored models use the default codecs.
+     *
+     * @param mapper The datastore to use
+     * @return null
+     */
+    @Nullable
+    @Override
+    public MorphiaCodecProvider getCodecProvider(Mapper mapper) {
+        return null;
+    }
+
+    @Override
+    public List<EntityModel> getModels(Mapper mapper) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        URL snapshot = (loader != null ? loader : getClass().getClassLoader()).getResource(SNAPSHOT_FILE);
+        if (snapshot == null) {
+            return emptyList();
+        }
+        try (InputStream in = new BufferedInputStream(snapshot.openStream())) {
+            return MappingSnapshot.read(in).restore(mapper);
+        } catch (IOException | MappingException e) {
+            Sofia.logIgnoringMappingSnapshot(snapshot, e.getMessage());
+            return emptyList();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.lang.reflect.Constructor;
 
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.mapping.codec.MorphiaInstanceCreator;
+import dev.morphia.mapping.codec.PrimitiveAccessor;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.sofia.Sofia;
 
@@ -34,6 +35,26 @@ public class NoArgCreator implements MorphiaInstanceCreator {
         model.getAccessor().set(instance(), value);
     }
 
+    @Override
+    public void setInt(int value, PropertyModel model) {
+        ((PrimitiveAccessor) model.getAccessor()).setInt(instance(), value);
+    }
+
+    @Override
+    public void setLong(long value, PropertyModel model) {
+        ((PrimitiveAccessor) model.getAccessor()).setLong(instance(), value);
+    }
+
+    @Override
+    public void setDouble(double value, PropertyModel model) {
+        ((PrimitiveAccessor) model.getAccessor()).setDouble(instance(), value);
+    }
+
+    @Override
+    public void setBoolean(boolean value, PropertyModel model) {
+        ((PrimitiveAccessor) model.getAccessor()).setBoolean(instance(), value);
+    }
+
     private Object instance() {
         if (instance == null) {
             try {
@@ -7,14 +7,12 @@ import com.mongodb.lang.Nullable;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.mapping.MappingException;
 
-import org.bson.codecs.pojo.PropertyAccessor;
-
 /**
  * @hidden
  * @morphia.internal
  */
 @MorphiaInternal
-public class FieldAccessor implements PropertyAccessor<Object> {
+public class FieldAccessor implements PrimitiveAccessor {
     private final Field field;
 
     /**
@@ -49,4 +47,76 @@ public class FieldAccessor implements PropertyAccessor<Object> {
             throw new MappingException(e.getMessage(), e);
         }
     }
+
+    @Override
+    public int getInt(Object instance) {
+        try {
+            return field.getInt(instance);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void setInt(Object instance, int value) {
+        try {
+            field.setInt(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long getLong(Object instance) {
+        try {
+            return field.getLong(instance);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void setLong(Object instance, long value) {
+        try {
+            field.setLong(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object instance) {
+        try {
+            return field.getDouble(instance);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object instance, double value) {
+        try {
+            field.setDouble(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object instance) {
+        try {
+            return field.getBoolean(instance);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object instance, boolean value) {
+        try {
+            field.setBoolean(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package dev.morphia.mapping.codec;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.codecs.pojo.PropertyAccessor;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Accesses a field via method handles rather than core reflection. The handles are adapted to an erased signature once so that each
+ * access is a single exact invocation.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class FieldHandleAccessor implements PrimitiveAccessor {
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    @Nullable
+    private final MethodHandle primitiveGetter;
+    @Nullable
+    private final MethodHandle primitiveSetter;
+
+    private FieldHandleAccessor(Field field) throws IllegalAccessException {
+        this.field = field;
+        field.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle fieldGetter = lookup.unreflectGetter(field);
+        MethodHandle fieldSetter = lookup.unreflectSetter(field);
+        getter = fieldGetter.asType(methodType(Object.class, Object.class));
+        setter = fieldSetter.asType(methodType(void.class, Object.class, Object.class));
+        if (field.getType().isPrimitive()) {
+            primitiveGetter = fieldGetter.asType(methodType(field.getType(), Object.class));
+            primitiveSetter = fieldSetter.asType(methodType(void.class, Object.class, field.getType()));
+        } else {
+            primitiveGetter = null;
+            primitiveSetter = null;
+        }
+    }
+
+    /**
+     * Creates an accessor for the field. If the handles can not be created, a reflective accessor is returned instead.
+     *
+     * @param field the field
+     * @return the accessor
+     */
+    public static PropertyAccessor<? super Object> of(Field field) {
+        try {
+            return new FieldHandleAccessor(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            Sofia.logAccessorFallback(field, e.getMessage());
+            return new FieldAccessor(field);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object get(@Nullable Object instance) {
+        if (instance == null) {
+            return null;
+        }
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void set(Object instance, @Nullable Object value) {
+        try {
+            setter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public int getInt(Object instance) {
+        try {
+            return (int) primitiveGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setInt(Object instance, int value) {
+        try {
+            primitiveSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public long getLong(Object instance) {
+        try {
+            return (long) primitiveGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setLong(Object instance, long value) {
+        try {
+            primitiveSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object instance) {
+        try {
+            return (double) primitiveGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object instance, double value) {
+        try {
+            primitiveSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object instance) {
+        try {
+            return (boolean) primitiveGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object instance, boolean value) {
+        try {
+            primitiveSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FieldHandleAccessor{" + field + "}";
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new MappingException(e.getMessage(), e);
+    }
+}
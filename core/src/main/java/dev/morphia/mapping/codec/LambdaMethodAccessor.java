@@ -0,0 +1,90 @@
+package dev.morphia.mapping.codec;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.codecs.pojo.PropertyAccessor;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Accesses a property via functions spun by {@link LambdaMetafactory} for its get and set methods. Once created, each access is a
+ * plain interface call which the JIT can inline like any other.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class LambdaMethodAccessor implements PropertyAccessor<Object> {
+    private final Method getterMethod;
+    private final Function<Object, Object> getter;
+    private final BiConsumer<Object, Object> setter;
+
+    private LambdaMethodAccessor(Method getter, Method setter) throws Throwable {
+        this.getterMethod = getter;
+        this.getter = getter(getter);
+        this.setter = setter(setter);
+    }
+
+    /**
+     * Creates an accessor for the get/set method pair. If the functions can not be created, a reflective accessor is returned instead.
+     *
+     * @param getter the get method
+     * @param setter the set method
+     * @return the accessor
+     */
+    public static PropertyAccessor<? super Object> of(Method getter, Method setter) {
+        try {
+            return new LambdaMethodAccessor(getter, setter);
+        } catch (Throwable e) {
+            Sofia.logAccessorFallback(getter, e.getMessage());
+            return new MethodAccessor(getter, setter);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+        MethodHandle handle = lookup.unreflect(method);
+        return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply", methodType(Function.class),
+                methodType(Object.class, Object.class), handle, handle.type().wrap())
+                .getTarget()
+                .invoke();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+        MethodHandle handle = lookup.unreflect(method);
+        return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(lookup, "accept", methodType(BiConsumer.class),
+                methodType(void.class, Object.class, Object.class), handle, handle.type().wrap().changeReturnType(void.class))
+                .getTarget()
+                .invoke();
+    }
+
+    @Override
+    @Nullable
+    public <S> Object get(S instance) {
+        return getter.apply(instance);
+    }
+
+    @Override
+    public <S> void set(S instance, @Nullable Object value) {
+        setter.accept(instance, value);
+    }
+
+    @Override
+    public String toString() {
+        return "LambdaMethodAccessor{" + getterMethod + "}";
+    }
+}
@@ -1,5 +1,6 @@
 package dev.morphia.mapping.codec;
 
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -16,16 +17,21 @@ import dev.morphia.annotations.PrePersist;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityDecoder;
+import dev.morphia.mapping.codec.pojo.EntityEncoder;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.GeneratedCodecs;
 import dev.morphia.mapping.codec.pojo.LifecycleDecoder;
 import dev.morphia.mapping.codec.pojo.LifecycleEncoder;
 import dev.morphia.mapping.codec.pojo.MorphiaCodec;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.mapping.internal.ConstructorCreator;
 
 import org.bson.codecs.Codec;
 import org.bson.codecs.configuration.CodecProvider;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PropertyCodecProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Provider for codecs for Morphia entities
@@ -35,7 +41,10 @@ import org.bson.codecs.pojo.PropertyCodecProvider;
  */
 @MorphiaInternal
 public class MorphiaCodecProvider implements CodecProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(MorphiaCodecProvider.class);
+
     private final Map<Class<?>, Codec<?>> codecs = new HashMap<>();
+    private final Map<Class<?>, GeneratedCodecs> generatedCodecs = new HashMap<>();
     private final Mapper mapper;
     private final List<PropertyCodecProvider> propertyCodecProviders = new ArrayList<>();
     private MorphiaDatastore datastore;
@@ -56,6 +65,9 @@ public class MorphiaCodecProvider implements CodecProvider {
         providers.forEach(provider -> {
             propertyCodecProviders.add(provider);
         });
+
+        ServiceLoader.load(GeneratedCodecs.class)
+                .forEach(generated -> generatedCodecs.put(generated.getType(), generated));
     }
 
     @Nullable
@@ -66,12 +78,18 @@ public class MorphiaCodecProvider implements CodecProvider {
         if (codec == null && (mapper.isMapped(type) || mapper.isMappable(type))) {
             EntityModel model = mapper.getEntityModel(type);
             codec = new MorphiaCodec<>(datastore, model, propertyCodecProviders, mapper.getDiscriminatorLookup(), registry);
-            if (model.hasLifecycle(PostPersist.class) || model.hasLifecycle(PrePersist.class) || mapper.hasInterceptors()) {
+            boolean persistLifecycle = model.hasLifecycle(PostPersist.class) || model.hasLifecycle(PrePersist.class)
+                    || mapper.hasInterceptors();
+            boolean loadLifecycle = model.hasLifecycle(PreLoad.class) || model.hasLifecycle(PostLoad.class) || mapper.hasInterceptors();
+            if (persistLifecycle) {
                 codec.setEncoder(new LifecycleEncoder(codec));
             }
-            if (model.hasLifecycle(PreLoad.class) || model.hasLifecycle(PostLoad.class) || mapper.hasInterceptors()) {
+            if (loadLifecycle) {
                 codec.setDecoder(new LifecycleDecoder(codec));
             }
+            if (!persistLifecycle && !loadLifecycle) {
+                useGeneratedCodecs(model, codec);
+            }
             codecs.put(type, codec);
         }
 
@@ -112,6 +130,28 @@ public class MorphiaCodecProvider implements CodecProvider {
         };
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <T> void useGeneratedCodecs(EntityModel model, MorphiaCodec<T> codec) {
+        GeneratedCodecs generated = generatedCodecs.get(model.getType());
+        if (generated != null) {
+            if (!generated.matches(model)) {
+                LOG.debug(String.format("Generated codecs for %s do not match the runtime mapping.  Falling back to reflection.",
+                        model.getType().getName()));
+                return;
+            }
+            codec.setEncoder((EntityEncoder) generated.encoder(codec));
+            EntityDecoder decoder = generated.decoder(codec);
+            if (decoder != null && usesNoArgConstructor(model)) {
+                codec.setDecoder(decoder);
+            }
+        }
+    }
+
+    private static boolean usesNoArgConstructor(EntityModel model) {
+        Constructor<?> constructor = ConstructorCreator.bestConstructor(model);
+        return constructor == null || constructor.getParameterCount() == 0;
+    }
+
     protected Mapper getMapper() {
         return mapper;
     }
@@ -40,6 +40,7 @@ import dev.morphia.mapping.codec.expressions.MathExpressionCodec;
 import dev.morphia.mapping.codec.expressions.MergeObjectsCodec;
 import dev.morphia.mapping.codec.expressions.MetaExpressionCodec;
 import dev.morphia.mapping.codec.expressions.NRankedResultsExpressionCodec;
+import dev.morphia.mapping.codec.expressions.ParameterExpressionCodec;
 import dev.morphia.mapping.codec.expressions.PushCodec;
 import dev.morphia.mapping.codec.expressions.RangeExpressionCodec;
 import dev.morphia.mapping.codec.expressions.RankExpressionCodec;
@@ -104,6 +105,7 @@ public class MorphiaExpressionCodecProvider implements CodecProvider {
         addCodec(new MergeObjectsCodec(datastore));
         addCodec(new MetaExpressionCodec(datastore));
         addCodec(new NRankedResultsExpressionCodec(datastore));
+        addCodec(new ParameterExpressionCodec(datastore));
         addCodec(new PushCodec(datastore));
         addCodec(new RangeExpressionCodec(datastore));
         addCodec(new RankExpressionCodec(datastore));
@@ -24,4 +24,48 @@ public interface MorphiaInstanceCreator {
      * @param model the model
      */
     void set(@Nullable Object value, PropertyModel model);
+
+    /**
+     * Sets a value for a property whose {@link PropertyModel#getPrimitiveKind() primitive kind} is {@code INT}
+     *
+     * @param value the value
+     * @param model the model
+     * @since 3.0
+     */
+    default void setInt(int value, PropertyModel model) {
+        set(value, model);
+    }
+
+    /**
+     * Sets a value for a property whose {@link PropertyModel#getPrimitiveKind() primitive kind} is {@code LONG}
+     *
+     * @param value the value
+     * @param model the model
+     * @since 3.0
+     */
+    default void setLong(long value, PropertyModel model) {
+        set(value, model);
+    }
+
+    /**
+     * Sets a value for a property whose {@link PropertyModel#getPrimitiveKind() primitive kind} is {@code DOUBLE}
+     *
+     * @param value the value
+     * @param model the model
+     * @since 3.0
+     */
+    default void setDouble(double value, PropertyModel model) {
+        set(value, model);
+    }
+
+    /**
+     * Sets a value for a property whose {@link PropertyModel#getPrimitiveKind() primitive kind} is {@code BOOLEAN}
+     *
+     * @param value the value
+     * @param model the model
+     * @since 3.0
+     */
+    default void setBoolean(boolean value, PropertyModel model) {
+        set(value, model);
+    }
 }
@@ -50,6 +50,18 @@ public class MorphiaPropertySerialization implements PropertySerialization {
         return doesNotHaveAnnotation(LoadOnly.class);
     }
 
+    /**
+     * Determines if a non-null value which is neither a collection nor a map should be serialized, e.g., a primitive value. Unlike
+     * {@link #shouldSerialize(Object)}, the answer does not depend on the value itself.
+     *
+     * @return true if such values should be serialized
+     * @since 3.0
+     */
+    public boolean shouldSerializeScalar() {
+        return !(config.ignoreFinals() && Modifier.isFinal(modifiers))
+                && doesNotHaveAnnotation(LoadOnly.class);
+    }
+
     private boolean doesNotHaveAnnotation(Class<? extends Annotation> annotationClass) {
         return annotations.stream().noneMatch(a -> a.annotationType().equals(annotationClass));
     }
@@ -0,0 +1,64 @@
+package dev.morphia.mapping.codec;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+import org.bson.codecs.pojo.PropertyAccessor;
+
+/**
+ * A {@link PropertyAccessor} which can also read and write primitive properties without boxing. Each method may only be called for
+ * properties of the matching primitive type.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public interface PrimitiveAccessor extends PropertyAccessor<Object> {
+    /**
+     * @param instance the instance
+     * @return the property value
+     */
+    int getInt(Object instance);
+
+    /**
+     * @param instance the instance
+     * @param value    the new value
+     */
+    void setInt(Object instance, int value);
+
+    /**
+     * @param instance the instance
+     * @return the property value
+     */
+    long getLong(Object instance);
+
+    /**
+     * @param instance the instance
+     * @param value    the new value
+     */
+    void setLong(Object instance, long value);
+
+    /**
+     * @param instance the instance
+     * @return the property value
+     */
+    double getDouble(Object instance);
+
+    /**
+     * @param instance the instance
+     * @param value    the new value
+     */
+    void setDouble(Object instance, double value);
+
+    /**
+     * @param instance the instance
+     * @return the property value
+     */
+    boolean getBoolean(Object instance);
+
+    /**
+     * @param instance the instance
+     * @param value    the new value
+     */
+    void setBoolean(Object instance, boolean value);
+}
@@ -0,0 +1,25 @@
+package dev.morphia.mapping.codec.expressions;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.aggregation.expressions.impls.ParameterExpression;
+
+import org.bson.BsonWriter;
+import org.bson.codecs.EncoderContext;
+
+public class ParameterExpressionCodec extends BaseExpressionCodec<ParameterExpression> {
+    public ParameterExpressionCodec(MorphiaDatastore datastore) {
+        super(datastore);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, ParameterExpression value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeString(value.operation(), value.name());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<ParameterExpression> getEncoderClass() {
+        return ParameterExpression.class;
+    }
+}
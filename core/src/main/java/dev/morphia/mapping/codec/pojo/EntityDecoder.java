@@ -1,10 +1,14 @@
 package dev.morphia.mapping.codec.pojo;
 
+import java.util.BitSet;
+
 import com.mongodb.lang.Nullable;
 
 import dev.morphia.annotations.internal.MorphiaInternal;
-import dev.morphia.mapping.DiscriminatorLookup;
+import dev.morphia.mapping.NoArgCreator;
 import dev.morphia.mapping.codec.MorphiaInstanceCreator;
+import dev.morphia.mapping.codec.PrimitiveAccessor;
+import dev.morphia.mapping.codec.references.DeferredReference;
 
 import org.bson.BsonInvalidOperationException;
 import org.bson.BsonReader;
@@ -14,7 +18,6 @@ import org.bson.codecs.Codec;
 import org.bson.codecs.Decoder;
 import org.bson.codecs.DecoderContext;
 import org.bson.codecs.configuration.CodecConfigurationException;
-import org.bson.codecs.configuration.CodecRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +34,8 @@ import static java.lang.String.format;
 public class EntityDecoder<T> implements Decoder<T> {
     private static final Logger LOG = LoggerFactory.getLogger(EntityDecoder.class);
 
+    static final DecoderContext CHECKED_DISCRIMINATOR = DecoderContext.builder().checkedDiscriminator(true).build();
+
     private final MorphiaCodec<T> morphiaCodec;
     private final EntityModel classModel;
 
@@ -42,59 +47,265 @@ public class EntityDecoder<T> implements Decoder<T> {
     @Override
     @SuppressWarnings("unchecked")
     public T decode(BsonReader reader, DecoderContext decoderContext) {
-        T entity;
         if (decoderContext.hasCheckedDiscriminator()) {
             LOG.debug(format("Decoding document using codec for %s'", morphiaCodec.getEntityModel().getType().getName()));
             MorphiaInstanceCreator instanceCreator = getInstanceCreator();
             decodeProperties(reader, decoderContext, instanceCreator, classModel);
             return (T) instanceCreator.getInstance();
+        } else if (!classModel.useDiscriminator()) {
+            return morphiaCodec.decode(reader, CHECKED_DISCRIMINATOR);
         } else {
-            entity = getCodecFromDocument(reader, classModel.useDiscriminator(), classModel.getDiscriminatorKey(),
-                    morphiaCodec.getRegistry(), morphiaCodec.getDiscriminatorLookup(), morphiaCodec)
-                    .decode(reader, DecoderContext.builder().checkedDiscriminator(true).build());
+            return decodePolymorphic(reader, CHECKED_DISCRIMINATOR, null);
+        }
+    }
+
+    /**
+     * Decodes only the properties selected by the mask. The values of all other fields are skipped without touching their codecs. The
+     * discriminator is resolved in the same pass as the properties are decoded. Decoders which are not {@link #isResumable() resumable}
+     * decode the whole document.
+     *
+     * @param reader         the reader
+     * @param decoderContext the context
+     * @param mask           the properties to decode
+     * @return the partially decoded entity
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    @SuppressWarnings("unchecked")
+    public T decode(BsonReader reader, DecoderContext decoderContext, PropertyMask mask) {
+        if (!isResumable()) {
+            return decode(reader, decoderContext);
         }
+        if (!classModel.useDiscriminator()) {
+            MorphiaInstanceCreator instanceCreator = getInstanceCreator();
+            reader.readStartDocument();
+            decodeFields(reader, decoderContext, instanceCreator, classModel, mask.mask(classModel));
+            return (T) instanceCreator.getInstance();
+        }
+        return decodePolymorphic(reader, decoderContext, mask);
+    }
+
+    /**
+     * Determines whether this decoder can take over a document whose leading fields have already been read while looking for the
+     * discriminator. Decoders which override {@link #decode(BsonReader, DecoderContext)} need the whole document and are handed the
+     * reader reset to the start of it instead.
+     *
+     * @return true if {@link #decodeRemaining(BsonReader, DecoderContext, String)} may be used
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected boolean isResumable() {
+        return getClass() == EntityDecoder.class;
+    }
 
-        return entity;
+    /**
+     * Decodes the rest of a document after its start and discriminator have been read.
+     *
+     * @param reader         the reader positioned at the value of {@code leading} or at the field after the discriminator
+     * @param decoderContext the context
+     * @param leading        the name of a field read before the discriminator whose value is still to be decoded or null
+     * @return the entity
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected T decodeRemaining(BsonReader reader, DecoderContext decoderContext, @Nullable String leading) {
+        return decodeRemaining(reader, decoderContext, leading, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T decodeRemaining(BsonReader reader, DecoderContext decoderContext, @Nullable String leading, @Nullable BitSet mask) {
+        MorphiaInstanceCreator instanceCreator = getInstanceCreator();
+        if (leading != null) {
+            PropertyModel model = classModel.getProperty(leading);
+            if (masked(model, mask)) {
+                reader.skipValue();
+            } else {
+                decodeModel(reader, decoderContext, instanceCreator, model);
+            }
+        }
+        decodeFields(reader, decoderContext, instanceCreator, classModel, mask);
+        return (T) instanceCreator.getInstance();
     }
 
     protected void decodeModel(BsonReader reader, DecoderContext decoderContext,
             MorphiaInstanceCreator instanceCreator, @Nullable PropertyModel model) {
 
         if (model != null) {
-            final BsonReaderMark mark = reader.getMark();
-            try {
-                if (reader.getCurrentBsonType() == BsonType.NULL) {
-                    reader.readNull();
+            if (isPrimitive(reader, model)) {
+                switch (model.getPrimitiveKind()) {
+                    case INT -> instanceCreator.setInt(reader.readInt32(), model);
+                    case LONG -> instanceCreator.setLong(reader.readInt64(), model);
+                    case DOUBLE -> instanceCreator.setDouble(reader.readDouble(), model);
+                    case BOOLEAN -> instanceCreator.setBoolean(reader.readBoolean(), model);
+                }
+            } else if (!skipNull(reader)) {
+                Object value = decodeValue(reader, decoderContext, model);
+                if (value instanceof DeferredReference) {
+                    if (instanceCreator instanceof NoArgCreator) {
+                        bindReference((DeferredReference) value, instanceCreator.getInstance(), model);
+                    } else {
+                        instanceCreator.set(((DeferredReference) value).get(), model);
+                    }
                 } else {
-                    Object value = decoderContext.decodeWithChildContext(model.getCodec(), reader);
                     instanceCreator.set(value, model);
                 }
-            } catch (BsonInvalidOperationException e) {
-                mark.reset();
-                final Object value = morphiaCodec.getRegistry().get(Object.class).decode(reader, decoderContext);
-                instanceCreator.set(convert(value, model.getTypeData().getType()), model);
             }
         } else {
             reader.skipValue();
         }
     }
 
+    /**
+     * Decodes a single document field directly on to an entity instance. Unknown fields are skipped and the discriminator is consumed.
+     * This is the fallback path for generated decoders when a field name isn't one of the precomputed mapped names.
+     *
+     * @param reader         the reader
+     * @param decoderContext the context
+     * @param entity         the entity being decoded
+     * @param name           the field name just read
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected void decodeProperty(BsonReader reader, DecoderContext decoderContext, Object entity, String name) {
+        if (classModel.useDiscriminator() && classModel.getDiscriminatorKey().equals(name)) {
+            reader.readString();
+        } else {
+            PropertyModel model = classModel.getProperty(name);
+            if (model == null) {
+                reader.skipValue();
+            } else if (isPrimitive(reader, model)) {
+                decodePrimitive(reader, entity, model);
+            } else if (!skipNull(reader)) {
+                Object value = decodeValue(reader, decoderContext, model);
+                if (value instanceof DeferredReference) {
+                    bindReference((DeferredReference) value, entity, model);
+                } else {
+                    model.getAccessor().set(entity, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines whether references decoded while a cursor is batching reference fetches may be set on the entity after it has been
+     * decoded. Decoders which run code against the decoded entity, e.g. lifecycle events, should fetch references immediately instead.
+     *
+     * @return true if references may be fetched after decoding
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected boolean defersReferences() {
+        return true;
+    }
+
+    /**
+     * Decodes the current value using the property's codec. If the stored type doesn't match what the codec expects, the value is
+     * decoded generically and converted to the property's type.
+     *
+     * @param reader         the reader
+     * @param decoderContext the context
+     * @param model          the property being decoded
+     * @return the decoded value
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    protected Object decodeValue(BsonReader reader, DecoderContext decoderContext, PropertyModel model) {
+        final BsonReaderMark mark = reader.getMark();
+        try {
+            return decoderContext.decodeWithChildContext(model.getCodec(), reader);
+        } catch (BsonInvalidOperationException e) {
+            mark.reset();
+            final Object value = morphiaCodec.getRegistry().get(Object.class).decode(reader, decoderContext);
+            return convert(value, model.getTypeData().getType());
+        }
+    }
+
+    /**
+     * Checks if the current value can be read directly in to a primitive property. This is only the case when the property is
+     * {@link PropertyModel#getPrimitiveKind() primitive} and the value is stored with exactly the BSON type of that kind. Anything else
+     * goes through the property's codec so that stored values of other numeric types are still converted.
+     *
+     * @param reader the reader
+     * @param model  the property being decoded
+     * @return true if the primitive path can be used
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected boolean isPrimitive(BsonReader reader, PropertyModel model) {
+        PrimitiveKind kind = model.getPrimitiveKind();
+        return kind != null && reader.getCurrentBsonType() == kind.getBsonType();
+    }
+
+    /**
+     * Reads the current value and sets it on the entity without boxing it. Only valid when
+     * {@link #isPrimitive(BsonReader, PropertyModel)} is true.
+     *
+     * @param reader the reader
+     * @param entity the entity being decoded
+     * @param model  the property being decoded
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected void decodePrimitive(BsonReader reader, Object entity, PropertyModel model) {
+        PrimitiveAccessor accessor = (PrimitiveAccessor) model.getAccessor();
+        switch (model.getPrimitiveKind()) {
+            case INT -> accessor.setInt(entity, reader.readInt32());
+            case LONG -> accessor.setLong(entity, reader.readInt64());
+            case DOUBLE -> accessor.setDouble(entity, reader.readDouble());
+            case BOOLEAN -> accessor.setBoolean(entity, reader.readBoolean());
+        }
+    }
+
+    /**
+     * Consumes the current value if it is a BSON null.
+     *
+     * @param reader the reader
+     * @return true if a null was read
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected boolean skipNull(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return true;
+        }
+        return false;
+    }
+
+    private void bindReference(DeferredReference reference, Object entity, PropertyModel model) {
+        if (defersReferences()) {
+            reference.bind(value -> model.getAccessor().set(entity, value));
+        } else {
+            model.getAccessor().set(entity, reference.get());
+        }
+    }
+
     protected void decodeProperties(BsonReader reader, DecoderContext decoderContext,
             MorphiaInstanceCreator instanceCreator, EntityModel classModel) {
         reader.readStartDocument();
-        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
-            String name = reader.readName();
-            if (classModel.useDiscriminator() && classModel.getDiscriminatorKey().equals(name)) {
-                reader.readString();
-            } else {
-                decodeModel(reader, decoderContext, instanceCreator, classModel.getProperty(name));
-            }
-        }
-        reader.readEndDocument();
+        decodeFields(reader, decoderContext, instanceCreator, classModel, null);
     }
 
     protected Codec<T> getCodecFromDocument(BsonReader reader, boolean useDiscriminator, String discriminatorKey,
-            CodecRegistry registry, DiscriminatorLookup discriminatorLookup,
             Codec<T> defaultCodec) {
         Codec<T> codec = null;
         if (useDiscriminator) {
@@ -103,14 +314,11 @@ public class EntityDecoder<T> implements Decoder<T> {
                 reader.readStartDocument();
                 while (codec == null && reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
                     if (discriminatorKey.equals(reader.readName())) {
-                        codec = (Codec<T>) registry.get(discriminatorLookup.lookup(reader.readString()));
+                        codec = getDiscriminatorCodec(reader);
                     } else {
                         reader.skipValue();
                     }
                 }
-            } catch (Exception e) {
-                throw new CodecConfigurationException(format("Failed to decode '%s'. Decoding errored with: %s",
-                        morphiaCodec.getEntityModel().getName(), e.getMessage()), e);
             } finally {
                 mark.reset();
             }
@@ -125,4 +333,80 @@ public class EntityDecoder<T> implements Decoder<T> {
     protected MorphiaCodec<T> getMorphiaCodec() {
         return morphiaCodec;
     }
+
+    private void decodeFields(BsonReader reader, DecoderContext decoderContext, MorphiaInstanceCreator instanceCreator,
+            EntityModel classModel, @Nullable BitSet mask) {
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (classModel.useDiscriminator() && classModel.getDiscriminatorKey().equals(name)) {
+                reader.readString();
+            } else {
+                PropertyModel model = classModel.getProperty(name);
+                if (masked(model, mask)) {
+                    reader.skipValue();
+                } else {
+                    decodeModel(reader, decoderContext, instanceCreator, model);
+                }
+            }
+        }
+        reader.readEndDocument();
+    }
+
+    private static boolean masked(@Nullable PropertyModel model, @Nullable BitSet mask) {
+        return mask != null && model != null && model.getIndex() != -1 && !mask.get(model.getIndex());
+    }
+
+    /**
+     * Reads the discriminator as one of the first two fields, which is where Morphia writes it, and finishes decoding with the codec
+     * for it in the same pass. Anything else falls back to searching the whole document for the discriminator first.
+     *
+     * @param mask the properties to decode or null to decode them all
+     */
+    @SuppressWarnings("unchecked")
+    private T decodePolymorphic(BsonReader reader, DecoderContext decoderContext, @Nullable PropertyMask mask) {
+        String discriminatorKey = classModel.getDiscriminatorKey();
+        BsonReaderMark start = reader.getMark();
+        Codec<T> codec = null;
+        String leading = null;
+        BsonReaderMark leadingValue = null;
+        reader.readStartDocument();
+        if (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (discriminatorKey.equals(name)) {
+                codec = getDiscriminatorCodec(reader);
+            } else {
+                leading = name;
+                leadingValue = reader.getMark();
+                reader.skipValue();
+                if (reader.readBsonType() != BsonType.END_OF_DOCUMENT && discriminatorKey.equals(reader.readName())) {
+                    codec = getDiscriminatorCodec(reader);
+                }
+            }
+        }
+
+        if (codec instanceof MorphiaCodec) {
+            EntityDecoder<T> decoder = ((MorphiaCodec<T>) codec).getDecoder();
+            if (decoder.isResumable()) {
+                if (leadingValue != null) {
+                    leadingValue.reset();
+                }
+                return decoder.decodeRemaining(reader, decoderContext, leading, mask != null ? mask.mask(decoder.classModel) : null);
+            }
+        }
+        start.reset();
+        if (codec == null) {
+            codec = getCodecFromDocument(reader, true, discriminatorKey, morphiaCodec);
+        }
+        return codec.decode(reader, CHECKED_DISCRIMINATOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Codec<T> getDiscriminatorCodec(BsonReader reader) {
+        try {
+            return (Codec<T>) morphiaCodec.getDiscriminatorCodec(reader.readString());
+        } catch (Exception e) {
+            throw new CodecConfigurationException(format("Failed to decode '%s'. Decoding errored with: %s",
+                    morphiaCodec.getEntityModel().getName(), e.getMessage()), e);
+        }
+    }
 }
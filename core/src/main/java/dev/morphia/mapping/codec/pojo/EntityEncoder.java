@@ -6,6 +6,7 @@ import java.util.Map;
 import com.mongodb.lang.Nullable;
 
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.PrimitiveAccessor;
 
 import org.bson.BsonWriter;
 import org.bson.codecs.Codec;
@@ -80,7 +81,60 @@ public class EntityEncoder<T> implements org.bson.codecs.Encoder<T> {
      */
     @MorphiaInternal
     public void encodeProperty(BsonWriter writer, PropertyModel propertyModel, Object value, EncoderContext encoderContext) {
-        encodeValue(writer, encoderContext, propertyModel, propertyModel.getAccessor().get(value));
+        PrimitiveKind kind = propertyModel.getPrimitiveKind();
+        if (kind != null) {
+            encodePrimitive(writer, encoderContext, propertyModel, kind, value);
+        } else {
+            encodeValue(writer, encoderContext, propertyModel, propertyModel.getAccessor().get(value));
+        }
+    }
+
+    /**
+     * Encodes a primitive property by reading it from the entity and writing it to the writer without boxing the value.
+     *
+     * @param writer         the writer
+     * @param encoderContext the context
+     * @param model          the property to encode
+     * @param kind           the primitive kind of the property
+     * @param entity         the entity
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected void encodePrimitive(BsonWriter writer, EncoderContext encoderContext, PropertyModel model, PrimitiveKind kind,
+            Object entity) {
+        if (!writePrimitiveName(writer, model)) {
+            encodeValue(writer, encoderContext, model, model.getAccessor().get(entity));
+            return;
+        }
+        PrimitiveAccessor accessor = (PrimitiveAccessor) model.getAccessor();
+        switch (kind) {
+            case INT -> writer.writeInt32(accessor.getInt(entity));
+            case LONG -> writer.writeInt64(accessor.getLong(entity));
+            case DOUBLE -> writer.writeDouble(accessor.getDouble(entity));
+            case BOOLEAN -> writer.writeBoolean(accessor.getBoolean(entity));
+        }
+    }
+
+    /**
+     * Writes the name of a primitive property if its value should be serialized. Properties not written here must go through
+     * {@link #encodeValue(BsonWriter, EncoderContext, PropertyModel, Object)} instead.
+     *
+     * @param writer the writer
+     * @param model  the primitive property
+     * @return true if the name was written and the value should follow
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    protected boolean writePrimitiveName(BsonWriter writer, PropertyModel model) {
+        if (model.shouldSerializePrimitive()) {
+            writer.writeName(model.getMappedName());
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
@@ -27,6 +28,7 @@ import dev.morphia.annotations.ShardKeys;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.mapping.InstanceCreatorFactory;
 import dev.morphia.mapping.InstanceCreatorFactoryImpl;
+import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.codec.MorphiaInstanceCreator;
 import dev.morphia.mapping.lifecycle.EntityListenerAdapter;
@@ -69,6 +71,7 @@ public class EntityModel {
     private final PropertyModel idProperty;
     private final PropertyModel versionProperty;
     private final List<EntityListener<?>> listeners = new ArrayList<>();
+    private final Map<Class<? extends Annotation>, Boolean> documentEvents = new ConcurrentHashMap<>();
 
     /**
      * Creates a new instance
@@ -99,7 +102,9 @@ public class EntityModel {
                     throw new MappingException(Sofia.duplicatedMappedName(type.getCanonicalName(), name));
                 }
             }
-            propertyModelsByName.putIfAbsent(model.getName(), model);
+            if (propertyModelsByName.putIfAbsent(model.getName(), model) == null) {
+                model.index(propertyModelsByName.size() - 1);
+            }
         });
 
         ShardKeys shardKeys = getAnnotation(ShardKeys.class);
@@ -161,7 +166,9 @@ public class EntityModel {
                     throw new MappingException(Sofia.duplicatedMappedName(type.getCanonicalName(), name));
                 }
             }
-            propertyModelsByName.putIfAbsent(model.getName(), model);
+            if (propertyModelsByName.putIfAbsent(model.getName(), model) == null) {
+                model.index(propertyModelsByName.size() - 1);
+            }
         });
 
         ShardKeys shardKeys = getAnnotation(ShardKeys.class);
@@ -330,7 +337,11 @@ public class EntityModel {
      */
     @Nullable
     public PropertyModel getProperty(@Nullable String name) {
-        return name != null ? propertyModelsByMappedName.getOrDefault(name, propertyModelsByName.get(name)) : null;
+        if (name == null) {
+            return null;
+        }
+        PropertyModel model = propertyModelsByMappedName.get(name);
+        return model != null ? model : propertyModelsByName.get(name);
     }
 
     /**
@@ -378,6 +389,25 @@ public class EntityModel {
                 .anyMatch(listener -> listener.hasAnnotation(type));
     }
 
+    /**
+     * Checks if any listener for the event, either on this model or registered globally, needs the {@code Document} form of the entity.
+     * If none do, lifecycle events can be run around a direct encode or decode without materializing the Document.
+     *
+     * @param event  the lifecycle event
+     * @param mapper the mapper holding any global listeners
+     * @return true if the Document is needed
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public boolean requiresDocument(Class<? extends Annotation> event, Mapper mapper) {
+        boolean required = documentEvents.computeIfAbsent(event, e -> listeners.stream()
+                .anyMatch(listener -> EntityListenerAdapter.requiresDocument(listener, e)));
+        return required || mapper.getListeners().stream()
+                .anyMatch(listener -> EntityListenerAdapter.requiresDocument(listener, event));
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(annotations, propertyModelsByName, propertyModelsByMappedName, creatorFactory,
@@ -0,0 +1,231 @@
+package dev.morphia.mapping.codec.pojo;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+/**
+ * Holds the documents entities were decoded from so that later updates can be limited to what has changed since. Entities are held
+ * weakly and by identity so tracking an entity neither keeps it alive nor depends on its {@code equals()}.
+ * <p>
+ * Sessions track entities in snapshots of their own which fall back to those of the datastore they were started from. What a session
+ * records or forgets is only passed on to its parent once the session's writes have been committed.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class EntitySnapshots {
+    private static final BsonDocument EMPTY = new BsonDocument();
+    private static final RawBsonDocument REMOVED = new RawBsonDocument(EMPTY, new BsonDocumentCodec());
+
+    private final Map<Key, RawBsonDocument> snapshots = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    @Nullable
+    private final EntitySnapshots parent;
+
+    /**
+     * Creates snapshots for a datastore.
+     */
+    public EntitySnapshots() {
+        this(null);
+    }
+
+    /**
+     * Creates snapshots for a session.
+     *
+     * @param parent the snapshots of the datastore the session was started from
+     */
+    public EntitySnapshots(@Nullable EntitySnapshots parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Computes the update which turns one document in to another. When {@code nested}, embedded documents are compared field by field
+     * so that only the paths which differ are written. Anything else which differs, including arrays and embedded documents which have
+     * lost fields, is set as a whole.
+     * <p>
+     * Only the top level fields named in {@code unset} are ever unset. Anything else stored in the document, e.g., fields which are
+     * only loaded or not mapped at all, is left alone.
+     *
+     * @param before the document as it was loaded or null if it is not known
+     * @param after  the document as it is now
+     * @param unset  the names of the fields to unset if they are missing from {@code after}
+     * @param nested true if embedded documents should be compared field by field
+     * @return the update or an empty document if nothing has changed
+     */
+    public static Document diff(@Nullable BsonDocument before, BsonDocument after, Set<String> unset, boolean nested) {
+        Document set = new Document();
+        Document unsets = new Document();
+        BsonDocument old = before != null ? before : EMPTY;
+        diff("", old, after, set, nested);
+        for (String name : unset) {
+            if (old.containsKey(name) && !after.containsKey(name)) {
+                unsets.put(name, "");
+            }
+        }
+        set.remove("_id");
+
+        Document update = new Document();
+        if (!set.isEmpty()) {
+            update.put("$set", set);
+        }
+        if (!unsets.isEmpty()) {
+            update.put("$unset", unsets);
+        }
+        return update;
+    }
+
+    /**
+     * @param entity the entity
+     * @return the document the entity was last loaded from or saved as, or null if it isn't tracked
+     */
+    @Nullable
+    public RawBsonDocument get(Object entity) {
+        RawBsonDocument snapshot = snapshots.get(new Key(entity, null));
+        if (snapshot == null && parent != null) {
+            return parent.get(entity);
+        }
+        return snapshot != REMOVED ? snapshot : null;
+    }
+
+    /**
+     * Passes what has been recorded or removed on to the parent snapshots and starts afresh.
+     */
+    public void commit() {
+        if (parent != null) {
+            snapshots.forEach((key, snapshot) -> {
+                Object entity = key.get();
+                if (entity != null) {
+                    if (snapshot == REMOVED) {
+                        parent.remove(entity);
+                    } else {
+                        parent.record(entity, snapshot);
+                    }
+                }
+            });
+        }
+        snapshots.clear();
+    }
+
+    /**
+     * Forgets what has been recorded or removed without passing it on to the parent snapshots.
+     */
+    public void discard() {
+        snapshots.clear();
+    }
+
+    /**
+     * Records the document an entity was loaded from or saved as.
+     *
+     * @param entity   the entity
+     * @param document the document
+     */
+    public void record(Object entity, RawBsonDocument document) {
+        expunge();
+        snapshots.put(new Key(entity, collected), document);
+    }
+
+    /**
+     * Stops tracking an entity.
+     *
+     * @param entity the entity
+     */
+    public void remove(Object entity) {
+        if (parent == null) {
+            snapshots.remove(new Key(entity, null));
+        } else {
+            expunge();
+            snapshots.put(new Key(entity, collected), REMOVED);
+        }
+    }
+
+    /**
+     * @return the number of entities tracked
+     */
+    public int size() {
+        expunge();
+        return (int) snapshots.values().stream()
+                .filter(snapshot -> snapshot != REMOVED)
+                .count();
+    }
+
+    private static void diff(String prefix, BsonDocument before, BsonDocument after, Document set, boolean nested) {
+        for (Entry<String, BsonValue> entry : after.entrySet()) {
+            String path = prefix + entry.getKey();
+            BsonValue value = entry.getValue();
+            BsonValue old = before.get(entry.getKey());
+            if (old == null || !old.equals(value)) {
+                if (nested && old != null && old.isDocument() && value.isDocument() && isPath(value.asDocument())
+                        && isPath(old.asDocument()) && value.asDocument().keySet().containsAll(old.asDocument().keySet())) {
+                    diff(path + ".", old.asDocument(), value.asDocument(), set, true);
+                } else {
+                    set.put(path, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the names in a document can be used in an update path. Documents with any other names are set as a whole.
+     */
+    private static boolean isPath(BsonDocument document) {
+        if (document.isEmpty()) {
+            return false;
+        }
+        for (String name : document.keySet()) {
+            if (name.isEmpty() || name.indexOf('.') != -1 || name.charAt(0) == '$') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            snapshots.remove(reference);
+        }
+    }
+
+    private static final class Key extends WeakReference<Object> {
+        private final int hash;
+
+        private Key(Object entity, @Nullable ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            hash = System.identityHashCode(entity);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Object entity = get();
+            return entity != null && entity == ((Key) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.morphia.mapping.codec.pojo;
+
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaExperimental;
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+/**
+ * Defines the SPI for build time generated entity codecs. Implementations are emitted by the {@code morphia-processor} annotation
+ * processor and discovered via {@link java.util.ServiceLoader}. Generated codecs are only used when the runtime mapping of a type agrees
+ * with the mapping computed at build time. Otherwise, the reflective {@link EntityEncoder} and {@link EntityDecoder} are used.
+ *
+ * @hidden
+ * @morphia.internal
+ * @morphia.experimental
+ * @since 3.0
+ */
+@MorphiaInternal
+@MorphiaExperimental
+public interface GeneratedCodecs {
+    /**
+     * @return the entity type these codecs handle
+     */
+    Class<?> getType();
+
+    /**
+     * @return the java property names mapped to the document field names computed at build time
+     */
+    Map<String, String> getMappedNames();
+
+    /**
+     * Creates the generated encoder
+     *
+     * @param codec the codec for the entity
+     * @return the encoder
+     */
+    EntityEncoder<?> encoder(MorphiaCodec<?> codec);
+
+    /**
+     * Creates the generated decoder if one could be generated for this type. A decoder can only be generated when the type has a no
+     * argument constructor visible to the generated code.
+     *
+     * @param codec the codec for the entity
+     * @return the decoder or null
+     */
+    @Nullable
+    EntityDecoder<?> decoder(MorphiaCodec<?> codec);
+
+    /**
+     * Checks the build time mapping against the runtime mapping of a type.
+     *
+     * @param model the runtime model
+     * @return true if the generated codecs can be used for this model
+     */
+    default boolean matches(EntityModel model) {
+        Map<String, String> mappedNames = getMappedNames();
+        List<PropertyModel> properties = model.getProperties();
+        if (!model.getType().equals(getType()) || properties.size() != mappedNames.size()) {
+            return false;
+        }
+        for (PropertyModel property : properties) {
+            if (!property.getMappedName().equals(mappedNames.get(property.getName()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,8 +1,10 @@
 package dev.morphia.mapping.codec.pojo;
 
+import dev.morphia.MorphiaDatastore;
 import dev.morphia.annotations.PostLoad;
 import dev.morphia.annotations.PreLoad;
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.MorphiaInstanceCreator;
 import dev.morphia.mapping.codec.reader.DocumentReader;
 
@@ -31,17 +33,36 @@ public class LifecycleDecoder<T> extends EntityDecoder<T> {
         super(codec);
     }
 
+    /**
+     * Runs the load lifecycle events around the decoding of the entity. The document is only decoded to an intermediate
+     * {@code Document} when a listener for those events needs it. Otherwise, the entity is decoded directly from the reader.
+     */
     @Override
     @SuppressWarnings("unchecked")
     public T decode(BsonReader reader, DecoderContext decoderContext) {
+        MorphiaDatastore datastore = getMorphiaCodec().getDatastore();
+        if (!requiresDocument(getMorphiaCodec().getEntityModel(), datastore.getMapper())) {
+            if (!decoderContext.hasCheckedDiscriminator()) {
+                // resolves the codec for any subtype which then reenters here with the discriminator checked
+                return super.decode(reader, decoderContext);
+            }
+            EntityModel model = getMorphiaCodec().getEntityModel();
+            Document document = new Document();
+            MorphiaInstanceCreator instanceCreator = getInstanceCreator();
+            T entity = (T) instanceCreator.getInstance();
+            model.callLifecycleMethods(PreLoad.class, entity, document, datastore);
+            decodeProperties(reader, decoderContext, instanceCreator, model);
+            model.callLifecycleMethods(PostLoad.class, entity, document, datastore);
+            return entity;
+        }
+
         Document document = getMorphiaCodec().getRegistry().get(Document.class).decode(reader, decoderContext);
         EntityModel model = getMorphiaCodec().getEntityModel();
-        if (model.useDiscriminator()) {
+        if (model.useDiscriminator() && !decoderContext.hasCheckedDiscriminator()) {
             String discriminator = document.getString(model.getDiscriminatorKey());
             if (discriminator != null) {
-                Class<?> discriminatorClass = getMorphiaCodec().getDiscriminatorLookup().lookup(discriminator);
                 // need to load the codec to initialize cachedCodecs in field models
-                Codec<?> codec = getMorphiaCodec().getRegistry().get(discriminatorClass);
+                Codec<?> codec = getMorphiaCodec().getDiscriminatorCodec(discriminator);
                 if (codec instanceof MorphiaCodec) {
                     model = ((MorphiaCodec<?>) codec).getEntityModel();
                 } else {
@@ -58,4 +79,15 @@ public class LifecycleDecoder<T> extends EntityDecoder<T> {
         return entity;
     }
 
+    /**
+     * Load listeners may inspect references so they are always fetched before the listeners run.
+     */
+    @Override
+    protected boolean defersReferences() {
+        return false;
+    }
+
+    private static boolean requiresDocument(EntityModel model, Mapper mapper) {
+        return model.requiresDocument(PreLoad.class, mapper) || model.requiresDocument(PostLoad.class, mapper);
+    }
 }
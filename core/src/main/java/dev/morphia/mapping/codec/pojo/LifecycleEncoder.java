@@ -4,6 +4,7 @@ import dev.morphia.MorphiaDatastore;
 import dev.morphia.annotations.PostPersist;
 import dev.morphia.annotations.PrePersist;
 import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
 
 import org.bson.BsonWriter;
@@ -27,12 +28,23 @@ public class LifecycleEncoder<T> extends EntityEncoder<T> {
         super(morphiaCodec);
     }
 
+    /**
+     * Runs the persistence lifecycle events around the encoding of the entity. The entity is only encoded to an intermediate
+     * {@code Document} when a listener for those events needs it. Otherwise, the entity is encoded directly to the writer.
+     */
     @Override
     public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
         EntityModel model = getMorphiaCodec().getEntityModel();
         MorphiaDatastore datastore = getMorphiaCodec().getDatastore();
 
         Document document = new Document();
+        if (!requiresDocument(model, datastore.getMapper())) {
+            model.callLifecycleMethods(PrePersist.class, value, document, datastore);
+            super.encode(writer, value, encoderContext);
+            model.callLifecycleMethods(PostPersist.class, value, document, datastore);
+            return;
+        }
+
         model.callLifecycleMethods(PrePersist.class, value, document, datastore);
 
         final DocumentWriter documentWriter = new DocumentWriter(datastore.getMapper().getConfig(), document);
@@ -43,4 +55,7 @@ public class LifecycleEncoder<T> extends EntityEncoder<T> {
         getMorphiaCodec().getRegistry().get(Document.class).encode(writer, document, encoderContext);
     }
 
+    private static boolean requiresDocument(EntityModel model, Mapper mapper) {
+        return model.requiresDocument(PrePersist.class, mapper) || model.requiresDocument(PostPersist.class, mapper);
+    }
 }
@@ -0,0 +1,654 @@
+package dev.morphia.mapping.codec.pojo;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.ExternalEntity;
+import dev.morphia.annotations.internal.MorphiaExperimental;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.config.MorphiaConfig;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.NamingStrategy;
+import dev.morphia.mapping.codec.MorphiaPropertySerialization;
+import dev.morphia.mapping.conventions.FieldDiscovery;
+import dev.morphia.mapping.conventions.MethodDiscovery;
+import dev.morphia.sofia.Sofia;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static dev.morphia.mapping.PropertyDiscovery.FIELDS;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A compact binary snapshot of the {@link EntityModel}s of a {@link Mapper}. Restoring a snapshot skips the reflective discovery of
+ * properties, the resolution of generic {@link TypeData}, and the mapping conventions. Only the members recorded in the snapshot are
+ * looked up again to create their accessors and read their annotations. Everything derived from annotations, such as index definitions,
+ * is rebuilt from those.
+ * <p>
+ * A snapshot is meant to be written at build time, via {@link dev.morphia.Datastore#writeMappingSnapshot(OutputStream)}, and must be
+ * rewritten whenever the entities change. Each model records a hash of the members, member types and annotations of its type and
+ * supertypes. Restoring fails with a {@link MappingException} if the mapping configuration differs from the one the snapshot was
+ * written with or if any recorded type no longer hashes the same. Models of {@link ExternalEntity} types and models with properties not
+ * backed by a field or by accessor methods are left out of snapshots and are mapped reflectively as before.
+ *
+ * @hidden
+ * @morphia.internal
+ * @morphia.experimental
+ * @since 3.0
+ */
+@MorphiaInternal
+@MorphiaExperimental
+public final class MappingSnapshot {
+    private static final Logger LOG = LoggerFactory.getLogger(MappingSnapshot.class);
+    private static final int MAGIC = 0x4D4F5250;
+    private static final int FORMAT_VERSION = 2;
+    private static final byte PLAIN = 0;
+    private static final byte UPPER_BOUND = 1;
+    private static final byte LOWER_BOUND = 2;
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of("boolean", boolean.class, "byte", byte.class, "char", char.class,
+            "short", short.class, "int", int.class, "long", long.class, "float", float.class, "double", double.class, "void", void.class);
+
+    private final String fingerprint;
+    private final List<ModelData> models;
+
+    private MappingSnapshot(String fingerprint, List<ModelData> models) {
+        this.fingerprint = fingerprint;
+        this.models = models;
+    }
+
+    /**
+     * Reads a snapshot
+     *
+     * @param in the stream to read from
+     * @return the snapshot
+     * @throws IOException if the snapshot can not be read
+     */
+    public static MappingSnapshot read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION) {
+            throw new MappingException(Sofia.invalidMappingSnapshot());
+        }
+        String fingerprint = data.readUTF();
+        int count = data.readInt();
+        List<ModelData> models = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            models.add(ModelData.read(data));
+        }
+        return new MappingSnapshot(fingerprint, models);
+    }
+
+    /**
+     * Writes a snapshot of the models currently mapped by a mapper. Supertypes are written ahead of their subtypes so that they are
+     * restored first.
+     *
+     * @param mapper the mapper to take the snapshot of
+     * @param out    the stream to write to
+     * @return the number of models written
+     * @throws IOException if the snapshot can not be written
+     */
+    public static int write(Mapper mapper, OutputStream out) throws IOException {
+        boolean fields = mapper.getConfig().propertyDiscovery() == FIELDS;
+        List<ModelData> models = new ArrayList<>();
+        mapper.getMappedEntities().stream()
+                .sorted(Comparator.comparingInt((EntityModel model) -> supertypes(model.getType()).size())
+                        .thenComparing(model -> model.getType().getName()))
+                .forEach(model -> {
+                    ModelData data = ModelData.of(model, fields);
+                    if (data != null) {
+                        models.add(data);
+                    } else {
+                        LOG.debug(String.format("%s can not be included in a mapping snapshot.", model.getType().getName()));
+                    }
+                });
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeUTF(fingerprint(mapper.getConfig()));
+        data.writeInt(models.size());
+        for (ModelData model : models) {
+            model.write(data);
+        }
+        data.flush();
+        return models.size();
+    }
+
+    /**
+     * Rebuilds the models in this snapshot and registers them with the mapper. Types the mapper already knows are skipped. Nothing is
+     * registered if any recorded type or member can not be found.
+     *
+     * @param mapper the mapper to restore the models in to
+     * @return the restored models
+     * @throws MappingException if the snapshot does not match the mapper's configuration or the current classes
+     */
+    public List<EntityModel> restore(Mapper mapper) {
+        if (!fingerprint.equals(fingerprint(mapper.getConfig()))) {
+            throw new MappingException(Sofia.staleMappingSnapshot("the mapping configuration has changed"));
+        }
+        ClassLoader loader = classLoader();
+        boolean fields = mapper.getConfig().propertyDiscovery() == FIELDS;
+        List<ResolvedModel> resolved = new ArrayList<>(models.size());
+        try {
+            for (ModelData model : models) {
+                resolved.add(model.resolve(loader, fields));
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new MappingException(Sofia.staleMappingSnapshot(e.toString()), e);
+        }
+
+        List<EntityModel> restored = new ArrayList<>(resolved.size());
+        for (ResolvedModel model : resolved) {
+            if (!mapper.isMapped(model.type)) {
+                restored.add(mapper.register(model.build(mapper)));
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * @return the number of models in this snapshot
+     */
+    public int size() {
+        return models.size();
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return loader != null ? loader : MappingSnapshot.class.getClassLoader();
+    }
+
+    /**
+     * Describes the configuration which shapes the mapped models. Naming strategies are identified by their class and by samples mixing
+     * case and separators, since no single name tells them all apart. Discriminator functions can only be identified by their class.
+     */
+    private static String fingerprint(MorphiaConfig config) {
+        NamingStrategy naming = config.propertyNaming();
+        return String.join("|", config.propertyDiscovery().name(), config.discriminatorKey(),
+                config.discriminator().getClass().getName(), naming.getClass().getName(),
+                naming.apply("mappingSnapshot"), naming.apply("Mapping_Snapshot"), naming.apply("mapping-SNAPSHOT_v2"));
+    }
+
+    private static Class<?> load(ClassLoader loader, String name) throws ClassNotFoundException {
+        Class<?> primitive = PRIMITIVES.get(name);
+        return primitive != null ? primitive : Class.forName(name, false, loader);
+    }
+
+    /**
+     * Lists the classes in the order {@link FieldDiscovery} and {@link MethodDiscovery} search them so that the same member is found
+     * when a property is declared more than once.
+     */
+    private static List<Class<?>> hierarchy(Class<?> type, boolean fields) {
+        List<Class<?>> classes = new ArrayList<>();
+        if (!fields) {
+            classes.add(type);
+        }
+        Class<?> parent = type.getSuperclass();
+        while (parent != null && !parent.isEnum() && !parent.equals(Object.class)) {
+            classes.add(parent);
+            parent = parent.getSuperclass();
+        }
+        if (fields) {
+            classes.add(type);
+        }
+        return classes;
+    }
+
+    private static Set<Class<?>> supertypes(Class<?> type) {
+        Set<Class<?>> supertypes = new LinkedHashSet<>();
+        Class<?> superclass = type.getSuperclass();
+        if (superclass != null && supertypes.add(superclass)) {
+            supertypes.addAll(supertypes(superclass));
+        }
+        for (Class<?> anInterface : type.getInterfaces()) {
+            if (supertypes.add(anInterface)) {
+                supertypes.addAll(supertypes(anInterface));
+            }
+        }
+        return supertypes;
+    }
+
+    /**
+     * Hashes the declared members, their types and modifiers, and the annotations of a type and of its supertypes outside the JDK
+     */
+    private static long hash(Class<?> type) {
+        List<Class<?>> classes = new ArrayList<>();
+        classes.add(type);
+        supertypes(type).stream()
+                .filter(supertype -> !supertype.getName().startsWith("java.") && !supertype.getName().startsWith("javax."))
+                .forEach(classes::add);
+        StringBuilder description = new StringBuilder();
+        for (Class<?> current : classes) {
+            description.append(current.getName()).append(' ').append(current.getModifiers());
+            describe(description, current.getDeclaredAnnotations());
+            Stream.of(current.getDeclaredFields())
+                    .filter(field -> !field.isSynthetic())
+                    .sorted(Comparator.comparing(Field::getName))
+                    .forEach(field -> {
+                        description.append('\n').append(field.toGenericString());
+                        describe(description, field.getDeclaredAnnotations());
+                    });
+            Stream.of(current.getDeclaredMethods())
+                    .filter(method -> !method.isSynthetic())
+                    .sorted(Comparator.comparing(Method::toGenericString))
+                    .forEach(method -> {
+                        description.append('\n').append(method.toGenericString());
+                        describe(description, method.getDeclaredAnnotations());
+                    });
+            description.append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(description.toString().getBytes(UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Describes annotations by their attribute values since {@link Annotation#toString()} varies between JDKs
+     */
+    private static void describe(StringBuilder description, Annotation[] annotations) {
+        Stream.of(annotations)
+                .sorted(Comparator.comparing(annotation -> annotation.annotationType().getName()))
+                .forEach(annotation -> {
+                    description.append(" @").append(annotation.annotationType().getName()).append('(');
+                    Stream.of(annotation.annotationType().getDeclaredMethods())
+                            .sorted(Comparator.comparing(Method::getName))
+                            .forEach(attribute -> {
+                                description.append(attribute.getName()).append('=');
+                                try {
+                                    attribute.setAccessible(true);
+                                    describeValue(description, attribute.invoke(annotation));
+                                } catch (ReflectiveOperationException | RuntimeException e) {
+                                    description.append(annotation);
+                                }
+                                description.append(',');
+                            });
+                    description.append(')');
+                });
+    }
+
+    private static void describeValue(StringBuilder description, @Nullable Object value) {
+        if (value instanceof Class) {
+            description.append(((Class<?>) value).getName());
+        } else if (value instanceof Enum) {
+            description.append(((Enum<?>) value).name());
+        } else if (value instanceof Annotation) {
+            describe(description, new Annotation[] { (Annotation) value });
+        } else if (value != null && value.getClass().isArray()) {
+            description.append('[');
+            for (int i = 0; i < Array.getLength(value); i++) {
+                describeValue(description, Array.get(value, i));
+                description.append(',');
+            }
+            description.append(']');
+        } else {
+            description.append(value);
+        }
+    }
+
+    @Nullable
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullable(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static final class ModelData {
+        private final String type;
+        private final long hash;
+        private final boolean discriminatorEnabled;
+        @Nullable
+        private final String discriminatorKey;
+        @Nullable
+        private final String discriminator;
+        @Nullable
+        private final String idProperty;
+        @Nullable
+        private final String versionProperty;
+        private final List<PropertyData> properties;
+
+        private ModelData(String type, long hash, boolean discriminatorEnabled, @Nullable String discriminatorKey,
+                @Nullable String discriminator, @Nullable String idProperty, @Nullable String versionProperty,
+                List<PropertyData> properties) {
+            this.type = type;
+            this.hash = hash;
+            this.discriminatorEnabled = discriminatorEnabled;
+            this.discriminatorKey = discriminatorKey;
+            this.discriminator = discriminator;
+            this.idProperty = idProperty;
+            this.versionProperty = versionProperty;
+            this.properties = properties;
+        }
+
+        @Nullable
+        static ModelData of(EntityModel model, boolean fields) {
+            if (model.getAnnotation(ExternalEntity.class) != null) {
+                return null;
+            }
+            List<PropertyData> properties = new ArrayList<>();
+            for (PropertyModel property : model.getProperties()) {
+                PropertyData data = PropertyData.of(model.getType(), property, fields);
+                if (data == null) {
+                    return null;
+                }
+                properties.add(data);
+            }
+            PropertyModel id = model.getIdProperty();
+            PropertyModel version = model.getVersionProperty();
+            return new ModelData(model.getType().getName(), hash(model.getType()), model.useDiscriminator(), model.getDiscriminatorKey(),
+                    model.getDiscriminator(), id != null ? id.getName() : null, version != null ? version.getName() : null, properties);
+        }
+
+        static ModelData read(DataInputStream in) throws IOException {
+            String type = in.readUTF();
+            long hash = in.readLong();
+            boolean discriminatorEnabled = in.readBoolean();
+            String discriminatorKey = readNullable(in);
+            String discriminator = readNullable(in);
+            String idProperty = readNullable(in);
+            String versionProperty = readNullable(in);
+            int count = in.readInt();
+            List<PropertyData> properties = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                properties.add(PropertyData.read(in));
+            }
+            return new ModelData(type, hash, discriminatorEnabled, discriminatorKey, discriminator, idProperty, versionProperty,
+                    properties);
+        }
+
+        ResolvedModel resolve(ClassLoader loader, boolean fields) throws ReflectiveOperationException {
+            Class<?> resolvedType = load(loader, type);
+            if (hash(resolvedType) != hash) {
+                throw new MappingException(Sofia.staleMappingSnapshot(type + " has changed"));
+            }
+            List<ResolvedProperty> resolved = new ArrayList<>(properties.size());
+            for (PropertyData property : properties) {
+                resolved.add(property.resolve(loader, fields));
+            }
+            return new ResolvedModel(resolvedType, this, resolved);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(type);
+            out.writeLong(hash);
+            out.writeBoolean(discriminatorEnabled);
+            writeNullable(out, discriminatorKey);
+            writeNullable(out, discriminator);
+            writeNullable(out, idProperty);
+            writeNullable(out, versionProperty);
+            out.writeInt(properties.size());
+            for (PropertyData property : properties) {
+                property.write(out);
+            }
+        }
+    }
+
+    private static final class PropertyData {
+        private final String name;
+        private final String mappedName;
+        private final List<String> alternateNames;
+        private final String declaringType;
+        private final String member;
+        @Nullable
+        private final String setter;
+        @Nullable
+        private final String setterType;
+        private final TypeNode typeData;
+
+        private PropertyData(String name, String mappedName, List<String> alternateNames, String declaringType, String member,
+                @Nullable String setter, @Nullable String setterType, TypeNode typeData) {
+            this.name = name;
+            this.mappedName = mappedName;
+            this.alternateNames = alternateNames;
+            this.declaringType = declaringType;
+            this.member = member;
+            this.setter = setter;
+            this.setterType = setterType;
+            this.typeData = typeData;
+        }
+
+        /**
+         * Finds the member a property was discovered from using the same rules as {@link FieldDiscovery} and {@link MethodDiscovery}.
+         */
+        @Nullable
+        static PropertyData of(Class<?> type, PropertyModel property, boolean fields) {
+            TypeNode typeData = TypeNode.of(property.getTypeData());
+            if (typeData == null) {
+                return null;
+            }
+            List<String> loadNames = property.getLoadNames();
+            List<String> alternateNames = new ArrayList<>(loadNames.subList(1, loadNames.size()));
+            for (Class<?> owner : hierarchy(type, fields)) {
+                if (fields) {
+                    for (Field field : owner.getDeclaredFields()) {
+                        if (field.getName().equals(property.getName())) {
+                            return new PropertyData(property.getName(), property.getMappedName(), alternateNames, owner.getName(),
+                                    field.getName(), null, null, typeData);
+                        }
+                    }
+                } else {
+                    List<Method> methods = Stream.of(owner.getDeclaredMethods())
+                            .filter(m -> !m.isSynthetic() && property.getName().equals(propertyName(m)))
+                            .sorted(Comparator.comparing(Method::getName))
+                            .collect(toList());
+                    if (methods.size() == 2 && methods.get(1).getParameterCount() == 1) {
+                        Method setter = methods.get(1);
+                        return new PropertyData(property.getName(), property.getMappedName(), alternateNames, owner.getName(),
+                                methods.get(0).getName(), setter.getName(), setter.getParameterTypes()[0].getName(), typeData);
+                    }
+                }
+            }
+            return null;
+        }
+
+        static PropertyData read(DataInputStream in) throws IOException {
+            String name = in.readUTF();
+            String mappedName = in.readUTF();
+            int count = in.readShort();
+            List<String> alternateNames = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                alternateNames.add(in.readUTF());
+            }
+            return new PropertyData(name, mappedName, alternateNames, in.readUTF(), in.readUTF(), readNullable(in), readNullable(in),
+                    TypeNode.read(in));
+        }
+
+        @Nullable
+        private static String propertyName(Method method) {
+            String name = method.getName();
+            int prefix = name.startsWith("get") || name.startsWith("set") ? 3 : name.startsWith("is") ? 2 : -1;
+            if (prefix == -1 || name.length() == prefix) {
+                return null;
+            }
+            name = name.substring(prefix);
+            return name.substring(0, 1).toLowerCase() + name.substring(1);
+        }
+
+        ResolvedProperty resolve(ClassLoader loader, boolean fields) throws ReflectiveOperationException {
+            Class<?> owner = load(loader, declaringType);
+            TypeData<?> type = typeData.resolve(loader);
+            if (fields) {
+                return new ResolvedProperty(this, type, owner.getDeclaredField(member), null, null);
+            }
+            Class<?> parameter = load(loader, setterType);
+            return new ResolvedProperty(this, type, null, owner.getDeclaredMethod(member), owner.getDeclaredMethod(setter, parameter));
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(name);
+            out.writeUTF(mappedName);
+            out.writeShort(alternateNames.size());
+            for (String alternateName : alternateNames) {
+                out.writeUTF(alternateName);
+            }
+            out.writeUTF(declaringType);
+            out.writeUTF(member);
+            writeNullable(out, setter);
+            writeNullable(out, setterType);
+            typeData.write(out);
+        }
+    }
+
+    private static final class TypeNode {
+        private final String type;
+        private final boolean array;
+        private final byte bound;
+        private final List<TypeNode> parameters;
+
+        private TypeNode(String type, boolean array, byte bound, List<TypeNode> parameters) {
+            this.type = type;
+            this.array = array;
+            this.bound = bound;
+            this.parameters = parameters;
+        }
+
+        /**
+         * @return the node or null if the type data refers back to itself
+         */
+        @Nullable
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        static TypeNode of(TypeData<?> typeData) {
+            List<TypeNode> parameters = new ArrayList<>();
+            for (Object parameter : (List) typeData.getTypeParameters()) {
+                TypeNode node = parameter instanceof TypeData ? of((TypeData<?>) parameter) : null;
+                if (node == null) {
+                    return null;
+                }
+                parameters.add(node);
+            }
+            byte bound = PLAIN;
+            if (typeData instanceof WildCardTypeData) {
+                bound = ((WildCardTypeData<?>) typeData).isUpperBound() ? UPPER_BOUND : LOWER_BOUND;
+            }
+            return new TypeNode(typeData.getType().getName(), typeData.isArray(), bound, parameters);
+        }
+
+        static TypeNode read(DataInputStream in) throws IOException {
+            String type = in.readUTF();
+            boolean array = in.readBoolean();
+            byte bound = in.readByte();
+            int count = in.readShort();
+            List<TypeNode> parameters = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                parameters.add(read(in));
+            }
+            return new TypeNode(type, array, bound, parameters);
+        }
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        TypeData<?> resolve(ClassLoader loader) throws ClassNotFoundException {
+            List<TypeData<?>> resolved = new ArrayList<>(parameters.size());
+            for (TypeNode parameter : parameters) {
+                resolved.add(parameter.resolve(loader));
+            }
+            TypeData<?> typeData = new TypeData(load(loader, type), resolved);
+            if (bound != PLAIN) {
+                typeData = new WildCardTypeData(typeData, bound == UPPER_BOUND);
+            }
+            typeData.setArray(array);
+            return typeData;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(type);
+            out.writeBoolean(array);
+            out.writeByte(bound);
+            out.writeShort(parameters.size());
+            for (TypeNode parameter : parameters) {
+                parameter.write(out);
+            }
+        }
+    }
+
+    private static final class ResolvedModel {
+        private final Class<?> type;
+        private final ModelData data;
+        private final List<ResolvedProperty> properties;
+
+        private ResolvedModel(Class<?> type, ModelData data, List<ResolvedProperty> properties) {
+            this.type = type;
+            this.data = data;
+            this.properties = properties;
+        }
+
+        EntityModel build(Mapper mapper) {
+            EntityModelBuilder builder = new EntityModelBuilder(mapper, type)
+                    .enableDiscriminator(data.discriminatorEnabled)
+                    .discriminatorKey(data.discriminatorKey)
+                    .discriminator(data.discriminator)
+                    .idPropertyName(data.idProperty)
+                    .versionPropertyName(data.versionProperty);
+            for (ResolvedProperty property : properties) {
+                property.add(mapper, builder);
+            }
+            return new EntityModel(builder);
+        }
+    }
+
+    private static final class ResolvedProperty {
+        private final PropertyData data;
+        private final TypeData<?> typeData;
+        @Nullable
+        private final Field field;
+        @Nullable
+        private final Method getter;
+        @Nullable
+        private final Method setter;
+
+        private ResolvedProperty(PropertyData data, TypeData<?> typeData, @Nullable Field field, @Nullable Method getter,
+                @Nullable Method setter) {
+            this.data = data;
+            this.typeData = typeData;
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        void add(Mapper mapper, EntityModelBuilder builder) {
+            PropertyModelBuilder property = builder.addProperty()
+                    .name(data.name)
+                    .mappedName(data.mappedName)
+                    .typeData(typeData);
+            if (field != null) {
+                property.annotations(List.of(field.getDeclaredAnnotations()))
+                        .accessor(FieldDiscovery.accessor(mapper, field, typeData))
+                        .modifiers(field.getModifiers());
+            } else {
+                List<Annotation> annotations = new ArrayList<>(List.of(getter.getDeclaredAnnotations()));
+                annotations.addAll(List.of(setter.getDeclaredAnnotations()));
+                property.annotations(annotations)
+                        .accessor(MethodDiscovery.accessor(mapper, getter, setter));
+            }
+            data.alternateNames.forEach(property::alternateName);
+            property.serialization(new MorphiaPropertySerialization(mapper.getConfig(), property));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.morphia.mapping.codec.pojo;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Decodes only the properties selected by a {@link PropertyMask} and encodes using the wrapped codec.
+ *
+ * @param <T> the entity type
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class MaskedCodec<T> implements Codec<T> {
+    private final MorphiaCodec<T> codec;
+    private final PropertyMask mask;
+
+    /**
+     * Creates a new codec
+     *
+     * @param codec the codec to wrap
+     * @param mask  the properties to decode
+     */
+    public MaskedCodec(MorphiaCodec<T> codec, PropertyMask mask) {
+        this.codec = codec;
+        this.mask = mask;
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        return codec.getDecoder().decode(reader, decoderContext, mask);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        codec.encode(writer, value, encoderContext);
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return codec.getEncoderClass();
+    }
+}
@@ -1,14 +1,20 @@
 package dev.morphia.mapping.codec.pojo;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import dev.morphia.MorphiaDatastore;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.mapping.DiscriminatorLookup;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.codec.PropertyCodecRegistryImpl;
+import dev.morphia.mapping.codec.references.ReferenceCodec;
+import dev.morphia.metrics.MorphiaMetrics;
 import dev.morphia.sofia.Sofia;
 
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
 import org.bson.BsonReader;
 import org.bson.BsonValue;
 import org.bson.BsonWriter;
@@ -45,6 +51,8 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
     private final CodecRegistry registry;
     private final PropertyCodecRegistry propertyCodecRegistry;
     private final DiscriminatorLookup discriminatorLookup;
+    private final Map<String, Codec<?>> discriminatorCodecs = new ConcurrentHashMap<>();
+    private final MorphiaMetrics metrics;
     private EntityEncoder<T> encoder;
     private EntityDecoder<T> decoder;
     private MorphiaDatastore datastore;
@@ -65,20 +73,52 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
         this.discriminatorLookup = discriminatorLookup;
 
         this.entityModel = model;
+        this.metrics = datastore.getMapper().getConfig().metrics();
         this.registry = fromRegistries(fromCodecs(this), registry);
         this.propertyCodecRegistry = new PropertyCodecRegistryImpl(this, registry, propertyCodecProviders);
         idProperty = model.getIdProperty();
+        if (model.getDiscriminator() != null) {
+            discriminatorCodecs.put(model.getDiscriminator(), this);
+        }
         specializePropertyCodecs();
     }
 
+    /**
+     * Decodes an entity. When {@link MorphiaMetrics} are enabled, the decoding is timed unless this is the decoder coming back to the
+     * codec once it has checked the discriminator. Those decodes are already covered by the original call. The time spent fetching
+     * references is left out as it is reported separately.
+     */
     @Override
     public T decode(BsonReader reader, DecoderContext decoderContext) {
-        return getDecoder().decode(reader, decoderContext);
+        if (!metrics.isEnabled() || decoderContext == EntityDecoder.CHECKED_DISCRIMINATOR) {
+            return getDecoder().decode(reader, decoderContext);
+        }
+        int position = reader instanceof BsonBinaryReader ? ((BsonBinaryReader) reader).getBsonInput().getPosition() : -1;
+        long fetching = ReferenceCodec.fetchingNanos();
+        long start = System.nanoTime();
+        T entity = getDecoder().decode(reader, decoderContext);
+        long nanos = System.nanoTime() - start - (ReferenceCodec.fetchingNanos() - fetching);
+        metrics.decoded(entity.getClass(), nanos,
+                position != -1 ? ((BsonBinaryReader) reader).getBsonInput().getPosition() - position : -1);
+        return entity;
     }
 
+    /**
+     * Encodes an entity. When {@link MorphiaMetrics} are enabled, the encoding is timed unless the value is of another type and will be
+     * handed on to the codec of that type.
+     */
     @Override
     public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        if (!metrics.isEnabled() || value.getClass() != getEncoderClass()) {
+            getEncoder().encode(writer, value, encoderContext);
+            return;
+        }
+        int position = writer instanceof BsonBinaryWriter ? ((BsonBinaryWriter) writer).getBsonOutput().getPosition() : -1;
+        long start = System.nanoTime();
         getEncoder().encode(writer, value, encoderContext);
+        long nanos = System.nanoTime() - start;
+        metrics.encoded(value.getClass(), nanos,
+                position != -1 ? ((BsonBinaryWriter) writer).getBsonOutput().getPosition() - position : -1);
     }
 
     @Override
@@ -121,6 +161,24 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
         return datastore;
     }
 
+    /**
+     * Finds the codec for a discriminator value. Codecs are cached per discriminator so the class lookup and the registry are only
+     * consulted the first time a value is seen. This includes the values of subtypes mapped after this codec was created.
+     *
+     * @param discriminator the discriminator value
+     * @return the codec
+     * @throws org.bson.codecs.configuration.CodecConfigurationException if no class could be found for the value
+     * @since 3.0
+     */
+    public Codec<?> getDiscriminatorCodec(String discriminator) {
+        Codec<?> codec = discriminatorCodecs.get(discriminator);
+        if (codec == null) {
+            codec = registry.get(discriminatorLookup.lookup(discriminator));
+            discriminatorCodecs.put(discriminator, codec);
+        }
+        return codec;
+    }
+
     /**
      * @return the DiscriminatorLookup
      */
@@ -0,0 +1,76 @@
+package dev.morphia.mapping.codec.pojo;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+import org.bson.BsonType;
+import org.bson.codecs.BooleanCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DoubleCodec;
+import org.bson.codecs.IntegerCodec;
+import org.bson.codecs.LongCodec;
+
+/**
+ * The primitive types which can be encoded and decoded without boxing.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public enum PrimitiveKind {
+    /**
+     * {@code int} stored as a 32-bit integer
+     */
+    INT(int.class, BsonType.INT32, IntegerCodec.class),
+    /**
+     * {@code long} stored as a 64-bit integer
+     */
+    LONG(long.class, BsonType.INT64, LongCodec.class),
+    /**
+     * {@code double} stored as a double
+     */
+    DOUBLE(double.class, BsonType.DOUBLE, DoubleCodec.class),
+    /**
+     * {@code boolean} stored as a boolean
+     */
+    BOOLEAN(boolean.class, BsonType.BOOLEAN, BooleanCodec.class);
+
+    private final Class<?> type;
+    private final BsonType bsonType;
+    private final Class<?> codecType;
+
+    PrimitiveKind(Class<?> type, BsonType bsonType, Class<?> codecType) {
+        this.type = type;
+        this.bsonType = bsonType;
+        this.codecType = codecType;
+    }
+
+    /**
+     * Finds the kind for a property. Properties using anything other than the driver's default codec for the boxed type are not
+     * considered primitive so that custom codecs are always honored.
+     *
+     * @param type  the property type
+     * @param codec the codec configured for the property
+     * @return the kind or null if the property can not use the primitive paths
+     */
+    @Nullable
+    public static PrimitiveKind of(Class<?> type, @Nullable Codec<?> codec) {
+        if (type.isPrimitive() && codec != null) {
+            for (PrimitiveKind kind : values()) {
+                if (kind.type.equals(type) && kind.codecType.equals(codec.getClass())) {
+                    return kind;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the BSON type values of this kind are stored as
+     */
+    public BsonType getBsonType() {
+        return bsonType;
+    }
+}
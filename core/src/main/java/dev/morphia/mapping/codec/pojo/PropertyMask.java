@@ -0,0 +1,88 @@
+package dev.morphia.mapping.codec.pojo;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.query.ValidationException;
+import dev.morphia.sofia.Sofia;
+
+/**
+ * Selects the properties to decode when only part of an entity is needed. The selection is resolved once per model into a bitmap
+ * indexed by {@link PropertyModel#getIndex()} so that decoding only tests a bit for each field it reads.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class PropertyMask {
+    private final Set<String> names = new HashSet<>();
+    private final Map<EntityModel, BitSet> masks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a mask for the given property paths. Only the first segment of each path is considered.
+     *
+     * @param paths the java or mapped names of the properties to decode
+     */
+    public PropertyMask(List<String> paths) {
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            names.add(dot == -1 ? path : path.substring(0, dot));
+        }
+    }
+
+    /**
+     * Checks that every selected property is mapped on the model or on one of its subtypes
+     *
+     * @param model the model of the query type
+     * @throws ValidationException if a property is not mapped
+     */
+    public void validate(EntityModel model) {
+        for (String name : names) {
+            if (!isMapped(model, name)) {
+                throw new ValidationException(Sofia.unknownDecodeOnlyProperty(name, model.getType().getName()));
+            }
+        }
+    }
+
+    /**
+     * @param model the model being decoded
+     * @return the bitmap of the properties of the model to decode. The id is always included.
+     */
+    public BitSet mask(EntityModel model) {
+        return masks.computeIfAbsent(model, this::compute);
+    }
+
+    private static boolean isMapped(EntityModel model, String name) {
+        if (model.getProperty(name) != null) {
+            return true;
+        }
+        for (EntityModel subtype : model.getSubtypes()) {
+            if (isMapped(subtype, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BitSet compute(EntityModel model) {
+        BitSet mask = new BitSet();
+        PropertyModel idProperty = model.getIdProperty();
+        for (PropertyModel property : model.getProperties()) {
+            if (property == idProperty || names.contains(property.getName()) || names.contains(property.getMappedName())) {
+                mask.set(property.getIndex());
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyMask" + names;
+    }
+}
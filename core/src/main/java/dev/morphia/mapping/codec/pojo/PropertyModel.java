@@ -44,6 +44,7 @@ import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.codec.Conversions;
 import dev.morphia.mapping.codec.MorphiaPropertySerialization;
+import dev.morphia.mapping.codec.PrimitiveAccessor;
 import dev.morphia.mapping.codec.references.MorphiaProxy;
 import dev.morphia.sofia.Sofia;
 
@@ -73,6 +74,10 @@ public final class PropertyModel {
     private final EntityModel entityModel;
     private Codec<? super Object> codec;
     private Class<?> normalizedType;
+    @Nullable
+    private PrimitiveKind primitiveKind;
+    private boolean serializePrimitive;
+    private int index = -1;
 
     PropertyModel(PropertyModelBuilder builder) {
         entityModel = builder.owner();
@@ -158,7 +163,14 @@ public final class PropertyModel {
         return type.cast(annotationMap.get(type));
     }
 
-    Codec<?> getCodec() {
+    /**
+     * @return the codec specialized for this property by the entity's codec or null if the entity's codec has not been created yet
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public Codec<?> getCodec() {
         return codec;
     }
 
@@ -168,6 +180,17 @@ public final class PropertyModel {
                 annotationMap.values(), getNormalizedType());
     }
 
+    /**
+     * Primitive properties using the default codecs for their types are read, written, and stored without boxing the values.
+     *
+     * @return the primitive kind of this property or null if the values must be handled as objects
+     * @since 3.0
+     */
+    @Nullable
+    public PrimitiveKind getPrimitiveKind() {
+        return primitiveKind;
+    }
+
     /**
      * @param document the Document get the value from
      * @return the value from first mapping of this field
@@ -213,6 +236,22 @@ public final class PropertyModel {
         return name;
     }
 
+    /**
+     * @return the position of this property in its {@link EntityModel#getProperties() model} or -1 if it is shadowed by another
+     *         property of the same name
+     * @since 3.0
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public int getIndex() {
+        return index;
+    }
+
+    void index(int index) {
+        this.index = index;
+    }
+
     /**
      * Gets the parameterized type of a List or the key type of a Map, e.g.
      *
@@ -358,6 +397,15 @@ public final class PropertyModel {
                 && Modifier.isTransient(getType().getModifiers());
     }
 
+    /**
+     * @return true if values of this property are written when the entity is encoded, i.e., it is neither
+     *         {@link dev.morphia.annotations.LoadOnly} nor a final field ignored by the configuration
+     * @since 3.0
+     */
+    public boolean isWritable() {
+        return serialization.shouldSerializeScalar();
+    }
+
     /**
      * Sets the value for the java field
      *
@@ -433,6 +481,15 @@ public final class PropertyModel {
 
     void codec(Codec<? super Object> codec) {
         this.codec = codec;
+        primitiveKind = accessor instanceof PrimitiveAccessor ? PrimitiveKind.of(getType(), codec) : null;
+        serializePrimitive = primitiveKind != null && serialization.shouldSerializeScalar();
+    }
+
+    /**
+     * @return true if the values of this primitive property should be serialized
+     */
+    boolean shouldSerializePrimitive() {
+        return serializePrimitive;
     }
 
 }
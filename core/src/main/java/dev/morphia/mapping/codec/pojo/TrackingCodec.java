@@ -0,0 +1,63 @@
+package dev.morphia.mapping.codec.pojo;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
+import org.bson.io.ByteBufferBsonInput;
+
+/**
+ * Decodes entities using the wrapped codec and records the documents they were decoded from in {@link EntitySnapshots}.
+ *
+ * @param <T> the entity type
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class TrackingCodec<T> implements Codec<T> {
+    private static final RawBsonDocumentCodec RAW = new RawBsonDocumentCodec();
+
+    private final MorphiaCodec<T> codec;
+    private final EntitySnapshots snapshots;
+
+    /**
+     * Creates a new codec
+     *
+     * @param codec     the codec to wrap
+     * @param snapshots the snapshots to record in
+     */
+    public TrackingCodec(MorphiaCodec<T> codec, EntitySnapshots snapshots) {
+        this.codec = codec;
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        RawBsonDocument document = RAW.decode(reader, decoderContext);
+        T entity;
+        try (BsonBinaryReader binaryReader = new BsonBinaryReader(new ByteBufferBsonInput(document.getByteBuffer()))) {
+            entity = codec.decode(binaryReader, decoderContext);
+        }
+        if (entity != null) {
+            snapshots.record(entity, document);
+        }
+        return entity;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        codec.encode(writer, value, encoderContext);
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return codec.getEncoderClass();
+    }
+}
@@ -22,6 +22,14 @@ public class WildCardTypeData<T> extends TypeData<T> {
         this.upperBound = upperBound;
     }
 
+    /**
+     * @return true if this is an upper bound ({@code ? extends}) rather than a lower bound ({@code ? super})
+     * @since 3.0
+     */
+    public boolean isUpperBound() {
+        return upperBound;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(super.hashCode(), upperBound);
@@ -0,0 +1,86 @@
+package dev.morphia.mapping.codec.references;
+
+import java.util.function.Consumer;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.IdentityMap;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.lazy.proxy.ReferenceException;
+import dev.morphia.sofia.Sofia;
+
+import static dev.morphia.query.filters.Filters.eq;
+
+/**
+ * A reference decoded while a {@link ReferenceBatch} is collecting references. The decoder either binds it to the entity being
+ * decoded, so it's fetched with the rest of the batch, or fetches it directly when the value is needed immediately.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public final class DeferredReference {
+    private final ReferenceBatch batch;
+    private final Class<?> type;
+    private final Object id;
+    private final boolean ignoreMissing;
+
+    DeferredReference(ReferenceBatch batch, Class<?> type, Object id, boolean ignoreMissing) {
+        this.batch = batch;
+        this.type = type;
+        this.id = id;
+        this.ignoreMissing = ignoreMissing;
+    }
+
+    /**
+     * Defers fetching the referenced entity until the batch is resolved.
+     *
+     * @param setter the function to call with the fetched entity
+     */
+    public void bind(Consumer<Object> setter) {
+        batch.bind(this, setter);
+    }
+
+    /**
+     * Fetches the referenced entity now.
+     *
+     * @return the entity or null if it is missing and missing references are ignored
+     */
+    @Nullable
+    public Object get() {
+        IdentityMap identityMap = IdentityMap.current();
+        Object entity = null;
+        if (identityMap != null) {
+            entity = identityMap.get(batch.getDatastore().getMapper().getEntityModel(type).getCollectionName(), id);
+        }
+        if (entity == null) {
+            entity = batch.getDatastore().find(type)
+                    .filter(eq("_id", id))
+                    .first();
+        }
+        return entity != null ? entity : missing();
+    }
+
+    /**
+     * Handles the referenced entity not being found.
+     *
+     * @return null if missing references are ignored
+     * @throws ReferenceException if missing references are not ignored
+     */
+    @Nullable
+    Object missing() {
+        if (!ignoreMissing) {
+            throw new ReferenceException(Sofia.missingReferencedEntity(type.getSimpleName()));
+        }
+        return null;
+    }
+
+    Object getId() {
+        return id;
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+}
@@ -0,0 +1,184 @@
+package dev.morphia.mapping.codec.references;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.mongodb.DBRef;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.IdentityMap;
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.Conversions;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.metrics.MorphiaMetrics;
+import dev.morphia.query.MorphiaCursor;
+
+import org.bson.Document;
+
+import static dev.morphia.query.filters.Filters.in;
+
+/**
+ * Collects the single valued, non-lazy references of the entities decoded while reading ahead on a cursor. Once the cursor has read
+ * its window of entities, {@link #resolve()} fetches all the referenced entities with one {@code $in} query per referenced type and
+ * sets them on the entities which refer to them.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class ReferenceBatch {
+    private static final ThreadLocal<ReferenceBatch> CURRENT = new ThreadLocal<>();
+
+    private final MorphiaDatastore datastore;
+    private final Map<Class<?>, Map<Object, List<Binding>>> pending = new LinkedHashMap<>();
+
+    /**
+     * Creates a new batch
+     *
+     * @param datastore the datastore to fetch references with
+     */
+    public ReferenceBatch(MorphiaDatastore datastore) {
+        this.datastore = datastore;
+    }
+
+    /**
+     * @return the batch collecting references on this thread, if any
+     */
+    @Nullable
+    static ReferenceBatch current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the given function with this batch collecting any references found while decoding entities.
+     *
+     * @param function the function to run
+     * @param <V>      the return type
+     * @return the value returned by the function
+     */
+    public <V> V run(Supplier<V> function) {
+        ReferenceBatch previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return function.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Fetches every pending reference and sets the results on the entities which refer to them. References whose entity is not
+     * returned by the batched fetch are treated as missing without being fetched again.
+     */
+    public void resolve() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Class<?>, Map<Object, List<Binding>>> references = new LinkedHashMap<>(pending);
+        pending.clear();
+        for (Entry<Class<?>, Map<Object, List<Binding>>> entry : references.entrySet()) {
+            Map<Object, Object> loaded = fetch(entry.getKey(), entry.getValue().keySet());
+            for (Entry<Object, List<Binding>> bindings : entry.getValue().entrySet()) {
+                Object entity = loaded.get(bindings.getKey());
+                for (Binding binding : bindings.getValue()) {
+                    binding.setter.accept(entity != null ? entity : binding.reference.missing());
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a deferred reference if the value can be fetched as part of this batch.
+     *
+     * @param model         the model of the referenced type
+     * @param value         the stored reference value
+     * @param ignoreMissing true if a missing entity should be ignored
+     * @return the deferred reference or null if this value must be fetched directly
+     */
+    @Nullable
+    DeferredReference defer(EntityModel model, Object value, boolean ignoreMissing) {
+        Class<?> type = model.getType();
+        Object id = value;
+        if (value instanceof DBRef) {
+            DBRef ref = (DBRef) value;
+            type = datastore.getMapper().getClassFromCollection(ref.getCollectionName());
+            id = ref.getId();
+        }
+        if (model.getType().isInstance(value) || id instanceof Document) {
+            return null;
+        }
+        // ids stored with a different type than the mapped id, e.g., an int32 for a long, are keyed as the fetched entities will be
+        PropertyModel idModel = datastore.getMapper().getEntityModel(type).getIdProperty();
+        if (idModel != null) {
+            id = Conversions.convert(id, idModel.getType());
+        }
+        return new DeferredReference(this, type, id, ignoreMissing);
+    }
+
+    void bind(DeferredReference reference, Consumer<Object> setter) {
+        pending.computeIfAbsent(reference.getType(), t -> new LinkedHashMap<>())
+                .computeIfAbsent(reference.getId(), i -> new ArrayList<>())
+                .add(new Binding(reference, setter));
+    }
+
+    MorphiaDatastore getDatastore() {
+        return datastore;
+    }
+
+    private Map<Object, Object> fetch(Class<?> type, Set<Object> ids) {
+        Map<Object, Object> loaded = new HashMap<>();
+        IdentityMap identityMap = IdentityMap.current();
+        List<Object> uncached = new ArrayList<>(ids);
+        if (identityMap != null) {
+            String collection = datastore.getMapper().getEntityModel(type).getCollectionName();
+            uncached.removeIf(id -> {
+                Object cached = identityMap.get(collection, id);
+                if (cached != null) {
+                    loaded.put(id, cached);
+                }
+                return cached != null;
+            });
+        }
+        if (uncached.isEmpty()) {
+            return loaded;
+        }
+        long start = System.nanoTime();
+        try (MorphiaCursor<?> cursor = datastore.find(type)
+                .filter(in("_id", uncached))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Object entity = cursor.next();
+                loaded.put(datastore.getMapper().getId(entity), entity);
+            }
+        }
+        MorphiaMetrics metrics = datastore.getMapper().getConfig().metrics();
+        if (metrics.isEnabled()) {
+            metrics.referencesFetched(type, uncached.size(), System.nanoTime() - start);
+        }
+        return loaded;
+    }
+
+    private static class Binding {
+        private final DeferredReference reference;
+        private final Consumer<Object> setter;
+
+        Binding(DeferredReference reference, Consumer<Object> setter) {
+            this.reference = reference;
+            this.setter = setter;
+        }
+    }
+}
@@ -35,6 +35,7 @@ import dev.morphia.mapping.experimental.MorphiaReference;
 import dev.morphia.mapping.experimental.SetReference;
 import dev.morphia.mapping.experimental.SingleReference;
 import dev.morphia.mapping.lazy.proxy.ReferenceException;
+import dev.morphia.metrics.MorphiaMetrics;
 import dev.morphia.query.QueryException;
 import dev.morphia.sofia.Sofia;
 
@@ -76,6 +77,10 @@ public class ReferenceCodec extends BaseReferenceCodec<Object> implements Proper
      * Name of instance field that holds the invocation handler of the proxy object.
      */
     private static final String FIELD_INVOCATION_HANDLER = "handler";
+    /**
+     * The time each thread has spent fetching references while metrics are enabled.
+     */
+    private static final ThreadLocal<long[]> FETCHING = ThreadLocal.withInitial(() -> new long[1]);
     /**
      * Type-cache for proxy classes generated w/ Byte Buddy.
      */
@@ -95,6 +100,20 @@ public class ReferenceCodec extends BaseReferenceCodec<Object> implements Proper
         annotation = getReferenceAnnotation(propertyModel);
     }
 
+    /**
+     * Returns the total time the current thread has spent eagerly fetching references while {@link MorphiaMetrics} are enabled.
+     * Decoding is timed net of the references fetched along the way by taking the difference of this before and after.
+     *
+     * @return the time in nanoseconds
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public static long fetchingNanos() {
+        return FETCHING.get()[0];
+    }
+
     /**
      * Encodes a value
      *
@@ -340,11 +359,37 @@ public class ReferenceCodec extends BaseReferenceCodec<Object> implements Proper
         } else if (value instanceof Document) {
             reference = readDocument((Document) value);
         } else {
+            ReferenceBatch batch = ReferenceBatch.current();
+            if (batch != null && !annotation.lazy()) {
+                DeferredReference deferred = batch.defer(getEntityModelForField(), value, annotation.ignoreMissing());
+                if (deferred != null) {
+                    return deferred;
+                }
+            }
             reference = readSingle(value);
         }
         reference.ignoreMissing(annotation.ignoreMissing());
 
-        return !annotation.lazy() ? reference.get() : createProxy(reference);
+        if (annotation.lazy()) {
+            return createProxy(reference);
+        }
+        MorphiaMetrics metrics = mapper.getConfig().metrics();
+        if (!metrics.isEnabled()) {
+            return reference.get();
+        }
+        long start = System.nanoTime();
+        Object fetched = reference.get();
+        long nanos = System.nanoTime() - start;
+        FETCHING.get()[0] += nanos;
+        metrics.referencesFetched(getEntityModelForField().getType(), count(value), nanos);
+        return fetched;
+    }
+
+    private static int count(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        return value instanceof Map && !(value instanceof Document) ? ((Map<?, ?>) value).size() : 1;
     }
 
     private List<?> mapToEntitiesIfNecessary(List<?> value) {
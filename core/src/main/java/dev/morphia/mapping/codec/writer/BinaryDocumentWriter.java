@@ -0,0 +1,143 @@
+package dev.morphia.mapping.codec.writer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+
+/**
+ * Encodes a document straight to BSON rather than building up a {@code Document} the way {@link DocumentWriter} does. Each thread
+ * reuses an output buffer and the finished document is copied once in to a {@link RawBsonDocument}.
+ * <p>
+ * {@link DocumentWriter} combines repeated names in a document with an {@code $and} which can't be done once the first value has been
+ * written. Encoding is abandoned instead, and the caller is expected to fall back to {@link DocumentWriter}.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class BinaryDocumentWriter extends BsonBinaryWriter {
+    private static final int MAX_POOLED_SIZE = 1 << 20;
+    private static final ThreadLocal<BasicOutputBuffer> BUFFERS = new ThreadLocal<>();
+    private static final RepeatedNameException REPEATED_NAME = new RepeatedNameException();
+
+    private final List<String> names = new ArrayList<>();
+    private int[] levels = new int[8];
+    private int depth = -1;
+
+    private BinaryDocumentWriter(BasicOutputBuffer buffer) {
+        super(buffer);
+    }
+
+    /**
+     * Encodes a value whose codec writes a document.
+     *
+     * @param value    the value to encode
+     * @param registry the registry to find the value's codec in
+     * @return the document or null if a name was repeated in any document written
+     */
+    @Nullable
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static RawBsonDocument encode(Object value, CodecRegistry registry) {
+        Codec codec = registry.get(value.getClass());
+        return write(writer -> codec.encode(writer, value, EncoderContext.builder().build()));
+    }
+
+    /**
+     * Encodes a document. The fields of the document are written by the caller; the start and end of the document are written here.
+     *
+     * @param fields writes the fields of the document
+     * @return the document or null if a name was repeated in any document written
+     */
+    @Nullable
+    public static RawBsonDocument encodeFields(Consumer<BinaryDocumentWriter> fields) {
+        return write(writer -> {
+            writer.writeStartDocument();
+            fields.accept(writer);
+            writer.writeEndDocument();
+        });
+    }
+
+    @Nullable
+    private static RawBsonDocument write(Consumer<BinaryDocumentWriter> document) {
+        BasicOutputBuffer buffer = BUFFERS.get();
+        if (buffer != null) {
+            // documents encoded while encoding this one get a buffer of their own
+            BUFFERS.remove();
+        } else {
+            buffer = new BasicOutputBuffer();
+        }
+        try {
+            document.accept(new BinaryDocumentWriter(buffer));
+            return new RawBsonDocument(buffer.toByteArray());
+        } catch (RepeatedNameException e) {
+            return null;
+        } finally {
+            if (buffer.getInternalBuffer().length <= MAX_POOLED_SIZE) {
+                buffer.truncateToPosition(0);
+                BUFFERS.set(buffer);
+            }
+        }
+    }
+
+    /**
+     * @param name the name to check
+     * @return true if the name has already been written to the document currently open
+     */
+    public boolean hasName(String name) {
+        return indexOf(name) != -1;
+    }
+
+    @Override
+    public void writeStartDocument() {
+        super.writeStartDocument();
+        if (++depth == levels.length) {
+            levels = Arrays.copyOf(levels, depth * 2);
+        }
+        levels[depth] = names.size();
+    }
+
+    @Override
+    public void writeEndDocument() {
+        super.writeEndDocument();
+        names.subList(levels[depth--], names.size()).clear();
+    }
+
+    @Override
+    public void writeName(String name) {
+        if (depth != -1) {
+            if (indexOf(name) != -1) {
+                throw REPEATED_NAME;
+            }
+            names.add(name);
+        }
+        super.writeName(name);
+    }
+
+    private int indexOf(String name) {
+        for (int i = levels[depth]; i < names.size(); i++) {
+            if (names.get(i).equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class RepeatedNameException extends RuntimeException {
+        private RepeatedNameException() {
+            super(null, null, false, false);
+        }
+    }
+}
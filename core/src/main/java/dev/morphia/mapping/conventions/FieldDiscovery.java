@@ -11,12 +11,15 @@ import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.codec.ArrayFieldAccessor;
 import dev.morphia.mapping.codec.FieldAccessor;
+import dev.morphia.mapping.codec.FieldHandleAccessor;
 import dev.morphia.mapping.codec.pojo.EntityModelBuilder;
 import dev.morphia.mapping.codec.pojo.TypeData;
 import dev.morphia.sofia.Sofia;
 
 import org.bson.codecs.pojo.PropertyAccessor;
 
+import static dev.morphia.mapping.AccessorStrategy.HANDLES;
+
 @MorphiaInternal
 public class FieldDiscovery implements MorphiaConvention {
 
@@ -35,7 +38,7 @@ public class FieldDiscovery implements MorphiaConvention {
                                 .name(field.getName())
                                 .typeData(typeData)
                                 .annotations(List.of(field.getDeclaredAnnotations()))
-                                .accessor(getAccessor(getTargetField(builder, field), typeData))
+                                .accessor(accessor(mapper, getTargetField(builder, field), typeData))
                                 .modifiers(field.getModifiers())
                                 .discoverMappedName();
                     } catch (NoSuchFieldException e) {
@@ -55,9 +58,21 @@ public class FieldDiscovery implements MorphiaConvention {
         return builder.targetType().getDeclaredField(field.getName());
     }
 
-    private PropertyAccessor<? super Object> getAccessor(Field field, TypeData<?> typeData) {
-        return field.getType().isArray() && !field.getType().getComponentType().equals(byte.class)
-                ? new ArrayFieldAccessor(typeData, field)
+    /**
+     * Creates the accessor for a field using the configured {@link dev.morphia.mapping.AccessorStrategy}
+     *
+     * @param mapper   the mapper to use
+     * @param field    the field
+     * @param typeData the type of the field
+     * @return the accessor
+     * @since 3.0
+     */
+    public static PropertyAccessor<? super Object> accessor(Mapper mapper, Field field, TypeData<?> typeData) {
+        if (field.getType().isArray() && !field.getType().getComponentType().equals(byte.class)) {
+            return new ArrayFieldAccessor(typeData, field);
+        }
+        return mapper.getConfig().accessorStrategy() == HANDLES
+                ? FieldHandleAccessor.of(field)
                 : new FieldAccessor(field);
     }
 }
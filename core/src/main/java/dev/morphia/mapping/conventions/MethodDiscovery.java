@@ -15,13 +15,18 @@ import com.mongodb.lang.NonNull;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.codec.LambdaMethodAccessor;
 import dev.morphia.mapping.codec.MethodAccessor;
 import dev.morphia.mapping.codec.pojo.EntityModelBuilder;
 import dev.morphia.mapping.codec.pojo.TypeData;
 import dev.morphia.sofia.Sofia;
 
+import org.bson.codecs.pojo.PropertyAccessor;
+
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import static dev.morphia.mapping.AccessorStrategy.HANDLES;
+
 import static java.util.Arrays.stream;
 import static java.util.stream.Collectors.toList;
 
@@ -44,7 +49,7 @@ public class MethodDiscovery implements MorphiaConvention {
                 properties.addAll(processMethods(type));
             }
 
-            addProperties(builder, properties);
+            addProperties(mapper, builder, properties);
         }
     }
 
@@ -60,14 +65,14 @@ public class MethodDiscovery implements MorphiaConvention {
 
     }
 
-    private void addProperties(EntityModelBuilder builder, Set<Methods> properties) {
+    private void addProperties(Mapper mapper, EntityModelBuilder builder, Set<Methods> properties) {
         for (Methods methods : properties) {
             TypeData<?> typeData = entityModelBuilder.getTypeData(methods.type, TypeData.get(methods.getter),
                     methods.getter.getGenericReturnType());
 
             entityModelBuilder.addProperty()
                     .name(methods.property)
-                    .accessor(new MethodAccessor(getTargetMethod(builder, methods.getter),
+                    .accessor(accessor(mapper, getTargetMethod(builder, methods.getter),
                             getTargetMethod(builder, methods.setter)))
                     .annotations(discoverAnnotations(methods.getter, methods.setter))
                     .typeData(typeData)
@@ -75,6 +80,21 @@ public class MethodDiscovery implements MorphiaConvention {
         }
     }
 
+    /**
+     * Creates the accessor for a getter and setter pair using the configured {@link dev.morphia.mapping.AccessorStrategy}
+     *
+     * @param mapper the mapper to use
+     * @param getter the getter
+     * @param setter the setter
+     * @return the accessor
+     * @since 3.0
+     */
+    public static PropertyAccessor<? super Object> accessor(Mapper mapper, Method getter, Method setter) {
+        return mapper.getConfig().accessorStrategy() == HANDLES
+                ? LambdaMethodAccessor.of(getter, setter)
+                : new MethodAccessor(getter, setter);
+    }
+
     private static class Methods {
         private final Method getter;
         private final Method setter;
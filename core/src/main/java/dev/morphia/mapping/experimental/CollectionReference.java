@@ -161,18 +161,32 @@ public abstract class CollectionReference<C extends Collection> extends MorphiaR
     Map<Object, Object> query(String collection, List<Object> collectionIds) {
 
         final Map<Object, Object> idMap = new HashMap<>();
-        try (MongoCursor<?> cursor = getDatastore().find(collection)
-                .disableValidation()
-                .filter(in("_id", collectionIds)).iterator()) {
-            while (cursor.hasNext()) {
-                final Object entity = cursor.next();
-                idMap.put(getMapper().getId(entity), entity);
+        final List<Object> uncached = new ArrayList<>();
+        for (Object id : collectionIds) {
+            Object cached = cached(collection, id);
+            if (cached != null) {
+                idMap.put(id, cached);
+            } else {
+                uncached.add(id);
             }
+        }
+        if (!uncached.isEmpty()) {
+            fetch(() -> {
+                try (MongoCursor<?> cursor = getDatastore().find(collection)
+                        .disableValidation()
+                        .filter(in("_id", uncached)).iterator()) {
+                    while (cursor.hasNext()) {
+                        final Object entity = cursor.next();
+                        idMap.put(getMapper().getId(entity), entity);
+                    }
+                }
+                return null;
+            });
+        }
 
-            if (!ignoreMissing() && idMap.size() != new HashSet<>(collectionIds).size()) {
-                throw new ReferenceException(
-                        Sofia.missingReferencedEntities(entityModel.getType().getSimpleName()));
-            }
+        if (!ignoreMissing() && idMap.size() != new HashSet<>(collectionIds).size()) {
+            throw new ReferenceException(
+                    Sofia.missingReferencedEntities(entityModel.getType().getSimpleName()));
         }
 
         return idMap;
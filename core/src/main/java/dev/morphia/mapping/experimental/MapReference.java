@@ -131,20 +131,34 @@ public class MapReference<T> extends MorphiaReference<Map<Object, T>> {
     @SuppressWarnings("unchecked")
     private void readFromSingleCollection(String collection, List<Object> collectionIds) {
 
-        try (MongoCursor<T> cursor = (MongoCursor<T>) getDatastore().find(collection)
-                .filter(in("_id", collectionIds)).iterator()) {
-            final Map<Object, T> idMap = new HashMap<>();
-            while (cursor.hasNext()) {
-                final T entity = cursor.next();
-                idMap.put(getDatastore().getMapper().getId(entity), entity);
+        final Map<Object, T> idMap = new HashMap<>();
+        final List<Object> uncached = new ArrayList<>();
+        for (Object id : collectionIds) {
+            T cached = (T) cached(collection, id);
+            if (cached != null) {
+                idMap.put(id, cached);
+            } else {
+                uncached.add(id);
             }
-
-            for (Entry<String, Object> entry : ids.entrySet()) {
-                final Object id = entry.getValue();
-                final T value = idMap.get(id instanceof DBRef ? ((DBRef) id).getId() : id);
-                if (value != null) {
-                    values.put(entry.getKey(), value);
+        }
+        if (!uncached.isEmpty()) {
+            fetch(() -> {
+                try (MongoCursor<T> cursor = (MongoCursor<T>) getDatastore().find(collection)
+                        .filter(in("_id", uncached)).iterator()) {
+                    while (cursor.hasNext()) {
+                        final T entity = cursor.next();
+                        idMap.put(getDatastore().getMapper().getId(entity), entity);
+                    }
                 }
+                return null;
+            });
+        }
+
+        for (Entry<String, Object> entry : ids.entrySet()) {
+            final Object id = entry.getValue();
+            final T value = idMap.get(id instanceof DBRef ? ((DBRef) id).getId() : id);
+            if (value != null) {
+                values.put(entry.getKey(), value);
             }
         }
     }
@@ -4,9 +4,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Supplier;
 
 import com.mongodb.lang.Nullable;
 
+import dev.morphia.IdentityMap;
 import dev.morphia.MorphiaDatastore;
 import dev.morphia.annotations.Handler;
 import dev.morphia.annotations.internal.MorphiaInternal;
@@ -29,9 +31,12 @@ public abstract class MorphiaReference<T> {
     private boolean ignoreMissing;
     private boolean resolved;
     private MorphiaDatastore datastore;
+    @Nullable
+    private final IdentityMap identityMap;
 
     MorphiaReference(MorphiaDatastore datastore) {
         this.datastore = datastore;
+        identityMap = IdentityMap.current();
     }
 
     /**
@@ -136,4 +141,27 @@ public abstract class MorphiaReference<T> {
     }
 
     abstract Object getId(Mapper mapper, EntityModel entityModel);
+
+    /**
+     * Looks up an entity in the identity map in use when this reference was created.
+     *
+     * @param collection the collection name
+     * @param id         the ID
+     * @return the entity or null if there is no identity map or the entity isn't in it
+     */
+    @Nullable
+    Object cached(String collection, Object id) {
+        return identityMap != null ? identityMap.get(collection, id) : null;
+    }
+
+    /**
+     * Runs a fetch with the identity map in use when this reference was created so the fetched entities are added to it.
+     *
+     * @param function the fetch
+     * @param <V>      the return type
+     * @return the value returned by the function
+     */
+    <V> V fetch(Supplier<V> function) {
+        return identityMap != null ? identityMap.run(function) : function.get();
+    }
 }
@@ -83,7 +83,10 @@ public class SingleReference<T> extends MorphiaReference<T> {
     @Override
     public T get() {
         if (!isResolved() && value == null && id != null) {
-            value = (T) buildQuery().iterator().tryNext();
+            value = (T) cached(getCollectionName(), getId());
+            if (value == null) {
+                value = fetch(() -> (T) buildQuery().iterator().tryNext());
+            }
             if (value == null && !ignoreMissing()) {
                 throw new ReferenceException(
                         Sofia.missingReferencedEntity(entityModel.getType().getSimpleName()));
@@ -120,6 +123,10 @@ public class SingleReference<T> extends MorphiaReference<T> {
         return id;
     }
 
+    private String getCollectionName() {
+        return id instanceof DBRef ? ((DBRef) id).getCollectionName() : entityModel.getCollectionName();
+    }
+
     private Object getId() {
         return id instanceof DBRef ? ((DBRef) id).getId() : id;
     }
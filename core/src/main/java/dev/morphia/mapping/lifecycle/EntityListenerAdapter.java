@@ -6,8 +6,10 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.mongodb.lang.NonNull;
 
@@ -32,6 +34,25 @@ import static dev.morphia.mapping.Mapper.LIFECYCLE_ANNOTATIONS;
  */
 @MorphiaInternal
 public class EntityListenerAdapter implements EntityListener<Object> {
+    private static final ClassValue<Set<Class<? extends Annotation>>> OVERRIDDEN_EVENTS = new ClassValue<>() {
+        @Override
+        protected Set<Class<? extends Annotation>> computeValue(Class<?> type) {
+            Set<Class<? extends Annotation>> events = new HashSet<>();
+            for (Class<? extends Annotation> event : LIFECYCLE_ANNOTATIONS) {
+                String name = Character.toLowerCase(event.getSimpleName().charAt(0)) + event.getSimpleName().substring(1);
+                try {
+                    Method method = type.getMethod(name, Object.class, Document.class, Datastore.class);
+                    if (!method.getDeclaringClass().equals(EntityListener.class)) {
+                        events.add(event);
+                    }
+                } catch (NoSuchMethodException e) {
+                    events.add(event);
+                }
+            }
+            return events;
+        }
+    };
+
     private final Map<Class<? extends Annotation>, List<Method>> methods = new HashMap<>();
     private final Class<?> listenerType;
     private Object listener;
@@ -49,6 +70,33 @@ public class EntityListenerAdapter implements EntityListener<Object> {
         return !methods.get(type).isEmpty();
     }
 
+    /**
+     * Determines if a listener might read or modify the {@code Document} form of an entity for the given event. For adapters, this is
+     * the case if any of the annotated methods for the event declares a {@code Document} parameter. For any other listener, it is the
+     * case if the listener overrides the interface method for the event.
+     *
+     * @param listener the listener
+     * @param event    the lifecycle event
+     * @return true if the listener needs the Document
+     * @since 3.0
+     */
+    public static boolean requiresDocument(EntityListener<?> listener, Class<? extends Annotation> event) {
+        if (listener instanceof EntityListenerAdapter) {
+            return ((EntityListenerAdapter) listener).usesDocument(event);
+        }
+        return OVERRIDDEN_EVENTS.get(listener.getClass()).contains(event);
+    }
+
+    /**
+     * @param event the lifecycle event
+     * @return true if any of the methods handling the event declares a {@code Document} parameter
+     * @since 3.0
+     */
+    public boolean usesDocument(Class<? extends Annotation> event) {
+        return methods.getOrDefault(event, List.of()).stream()
+                .anyMatch(method -> List.of(method.getParameterTypes()).contains(Document.class));
+    }
+
     Map<Class<? extends Annotation>, List<Method>> getMethods() {
         return methods;
     }
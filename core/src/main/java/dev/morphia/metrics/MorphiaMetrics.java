@@ -0,0 +1,80 @@
+package dev.morphia.metrics;
+
+import com.mongodb.lang.Nullable;
+
+/**
+ * Receives measurements of the work Morphia does on behalf of an application so that it can be passed on to a metrics library. Each
+ * measurement carries the entity type involved so that expensive types can be found. All the methods do nothing by default and are
+ * called on the thread doing the work so implementations should return quickly.
+ * <p>
+ * Implementations are configured with {@link dev.morphia.config.MorphiaConfig#metrics()}.
+ *
+ * @since 3.0
+ */
+public interface MorphiaMetrics {
+    /**
+     * Determines whether measurements should be taken at all. When this returns false, Morphia skips timing its work entirely.
+     *
+     * @return true if measurements should be taken
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records an operation sent to the server. Finds are recorded when their cursor is opened and their time covers the first batch
+     * of results only.
+     *
+     * @param operation  the name of the operation, e.g. {@code insertMany}
+     * @param collection the name of the collection or null if the operation is a command
+     * @param type       the type the collection's documents are decoded to or null if the operation is a command
+     * @param nanos      how long the operation took
+     * @param documents  the number of documents read, written or affected or -1 if it isn't known
+     * @param failure    the exception the operation failed with, if any
+     */
+    default void operation(String operation, @Nullable String collection, @Nullable Class<?> type, long nanos, long documents,
+            @Nullable Throwable failure) {
+    }
+
+    /**
+     * Records the encoding of an entity. The time and size of embedded entities are also included in those of the entities holding
+     * them.
+     *
+     * @param type  the entity type
+     * @param nanos how long encoding took
+     * @param bytes the size of the encoded document or -1 if it isn't known
+     */
+    default void encoded(Class<?> type, long nanos, long bytes) {
+    }
+
+    /**
+     * Records the decoding of an entity. The time and size of embedded entities are also included in those of the entities holding
+     * them. The time spent fetching references is not, and is recorded by {@link #referencesFetched(Class, int, long)} instead.
+     *
+     * @param type  the entity type
+     * @param nanos how long decoding took
+     * @param bytes the size of the decoded document or -1 if it isn't known
+     */
+    default void decoded(Class<?> type, long nanos, long bytes) {
+    }
+
+    /**
+     * Records the fetching of referenced entities
+     *
+     * @param type  the referenced type
+     * @param count the number of references fetched
+     * @param nanos how long fetching took
+     */
+    default void referencesFetched(Class<?> type, int count, long nanos) {
+    }
+
+    /**
+     * Records the mapping of an entity type. The time includes that of mapping any types, such as a super type, which are first seen
+     * while mapping this one.
+     *
+     * @param type  the entity type
+     * @param nanos how long mapping took
+     */
+    default void mapped(Class<?> type, long nanos) {
+    }
+}
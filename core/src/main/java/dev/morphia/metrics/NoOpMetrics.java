@@ -0,0 +1,18 @@
+package dev.morphia.metrics;
+
+/**
+ * The default metrics which records nothing
+ *
+ * @since 3.0
+ */
+public class NoOpMetrics implements MorphiaMetrics {
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return NoOpMetrics.class.getSimpleName();
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Metrics related types
+ */
+@NonNullApi
+package dev.morphia.metrics;
+
+import com.mongodb.lang.NonNullApi;
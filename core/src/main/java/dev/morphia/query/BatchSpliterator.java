@@ -0,0 +1,65 @@
+package dev.morphia.query;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.Nullable;
+
+/**
+ * Splits the results of a cursor off in batches so that a parallel stream can work on one batch while the cursor reads the next. Each
+ * split takes at least the results the cursor already has to hand.
+ *
+ * @param <T> the entity type
+ */
+class BatchSpliterator<T> implements Spliterator<T> {
+    private static final int MIN_BATCH = 64;
+    private static final int MAX_BATCH = 1 << 14;
+
+    private final MongoCursor<T> cursor;
+    private final int characteristics;
+
+    BatchSpliterator(MongoCursor<T> cursor, boolean ordered) {
+        this.cursor = cursor;
+        characteristics = NONNULL | (ordered ? ORDERED : 0);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!cursor.hasNext()) {
+            return false;
+        }
+        action.accept(cursor.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (cursor.hasNext()) {
+            action.accept(cursor.next());
+        }
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<T> trySplit() {
+        int size = Math.min(Math.max(cursor.available(), MIN_BATCH), MAX_BATCH);
+        Object[] batch = new Object[size];
+        int count = 0;
+        while (count < size && cursor.hasNext()) {
+            batch[count++] = cursor.next();
+        }
+        return count == 0 ? null : Spliterators.spliterator(batch, 0, count, characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
@@ -0,0 +1,166 @@
+package dev.morphia.query;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.MorphiaCodec;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReaderMark;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.io.ByteBufferBsonInput;
+
+import static dev.morphia.mapping.codec.Conversions.convert;
+
+/**
+ * A read only view of an entity backed by the raw bytes of its document. Properties are decoded individually the first time they are
+ * read using the codecs of the entity's mapping, and the entity itself is only decoded when asked for. Encoding a view copies the bytes
+ * as they were read.
+ * <p>
+ * Views are not thread safe.
+ *
+ * @param <T> the entity type
+ * @see Query#views(FindOptions)
+ * @since 3.0
+ */
+public class EntityView<T> {
+    private static final DecoderContext CONTEXT = DecoderContext.builder().build();
+
+    private final MorphiaCodec<T> codec;
+    private final RawBsonDocument document;
+    private final Map<String, Object> values = new HashMap<>();
+    private MorphiaCodec<?> storedCodec;
+    private T entity;
+
+    EntityView(MorphiaCodec<T> codec, RawBsonDocument document) {
+        this.codec = codec;
+        this.document = document;
+    }
+
+    /**
+     * Reads a property, decoding it on first access.
+     *
+     * @param property the java or mapped name of the property
+     * @param <V>      the property type
+     * @return the value or null if the document has none
+     * @throws ValidationException if the stored type has no such property
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <V> V get(String property) {
+        PropertyModel model = getEntityModel().getProperty(property);
+        if (model == null) {
+            throw new ValidationException(Sofia.unknownViewProperty(property, getEntityModel().getType().getName()));
+        }
+        String name = model.getName();
+        if (!values.containsKey(name)) {
+            values.put(name, decode(model));
+        }
+        return (V) values.get(name);
+    }
+
+    /**
+     * @return the raw document backing this view
+     */
+    public RawBsonDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * @return the model of the type stored in the document, taking any discriminator in to account
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public EntityModel getEntityModel() {
+        if (storedCodec == null) {
+            storedCodec = codec;
+            EntityModel model = codec.getEntityModel();
+            if (model.useDiscriminator()) {
+                BsonValue discriminator = document.get(model.getDiscriminatorKey());
+                if (discriminator != null && discriminator.isString()) {
+                    Codec<?> found = codec.getDiscriminatorCodec(discriminator.asString().getValue());
+                    if (found instanceof MorphiaCodec) {
+                        storedCodec = (MorphiaCodec<?>) found;
+                    }
+                }
+            }
+        }
+        return storedCodec.getEntityModel();
+    }
+
+    /**
+     * Decodes the whole entity. The entity is decoded once and the same instance returned by later calls.
+     *
+     * @return the entity
+     */
+    public T toEntity() {
+        if (entity == null) {
+            try (BsonBinaryReader reader = reader()) {
+                entity = codec.decode(reader, CONTEXT);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * @return the document as JSON without decoding the entity
+     */
+    public String toJson() {
+        return document.toJson();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", EntityView.class.getSimpleName() + "[", "]")
+                .add("type=" + codec.getEncoderClass().getName())
+                .add("document=" + document.toJson())
+                .toString();
+    }
+
+    @Nullable
+    private Object decode(PropertyModel model) {
+        try (BsonBinaryReader reader = reader()) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if (model.getLoadNames().contains(reader.readName())) {
+                    return readValue(reader, model);
+                }
+                reader.skipValue();
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Object readValue(BsonBinaryReader reader, PropertyModel model) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        BsonReaderMark mark = reader.getMark();
+        try {
+            return CONTEXT.decodeWithChildContext(model.getCodec(), reader);
+        } catch (BsonInvalidOperationException e) {
+            mark.reset();
+            Object value = codec.getRegistry().get(Object.class).decode(reader, CONTEXT);
+            return convert(value, model.getTypeData().getType());
+        }
+    }
+
+    private BsonBinaryReader reader() {
+        return new BsonBinaryReader(new ByteBufferBsonInput(document.getByteBuffer()));
+    }
+}
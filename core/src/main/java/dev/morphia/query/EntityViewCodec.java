@@ -0,0 +1,41 @@
+package dev.morphia.query;
+
+import dev.morphia.mapping.codec.pojo.MorphiaCodec;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
+
+/**
+ * Reads documents as {@link EntityView views} of an entity type. Views are written by copying their raw bytes.
+ *
+ * @param <T> the entity type
+ */
+class EntityViewCodec<T> implements Codec<EntityView<T>> {
+    private static final RawBsonDocumentCodec RAW = new RawBsonDocumentCodec();
+
+    private final MorphiaCodec<T> codec;
+
+    EntityViewCodec(MorphiaCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public EntityView<T> decode(BsonReader reader, DecoderContext decoderContext) {
+        return new EntityView<>(codec, RAW.decode(reader, decoderContext));
+    }
+
+    @Override
+    public void encode(BsonWriter writer, EntityView<T> value, EncoderContext encoderContext) {
+        RAW.encode(writer, value.getDocument(), encoderContext);
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Class<EntityView<T>> getEncoderClass() {
+        return (Class) EntityView.class;
+    }
+}
@@ -16,9 +16,12 @@
 
 package dev.morphia.query;
 
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import com.mongodb.CursorType;
@@ -27,7 +30,9 @@ import com.mongodb.ReadPreference;
 import com.mongodb.assertions.Assertions;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.model.Collation;
+import com.mongodb.lang.Nullable;
 
+import dev.morphia.IdentityMap;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.internal.CollectionConfigurable;
 import dev.morphia.internal.PathTarget;
@@ -80,6 +85,10 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
     private Projection projection;
     private String queryLogId;
     private String collection;
+    private IdentityMap identityMap;
+    private List<String> decodeOnly;
+    private Executor decodeExecutor;
+    private boolean orderedDecode;
 
     /**
      * Enables writing to temporary files on the server. When set to true, the server
@@ -261,10 +270,114 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
         this.readPreference = original.readPreference;
         this.projection = original.projection;
         this.queryLogId = original.queryLogId;
+        this.identityMap = original.identityMap;
+        this.decodeOnly = original.decodeOnly;
+        this.decodeExecutor = original.decodeExecutor;
+        this.orderedDecode = original.orderedDecode;
 
         return this;
     }
 
+    /**
+     * Limits decoding to the given properties. The server still returns whole documents but any other fields are skipped without
+     * being decoded. Where possible, a projection is preferable since it also keeps the server from sending those fields. The id is
+     * always decoded. A nested path decodes its whole top level property.
+     * Entities decoded this way are never added to an identity map.
+     * <p>
+     * Only entities decoded by Morphia's reflective decoder are decoded partially. Entities with load lifecycle events or generated
+     * codecs are decoded in full. Names which are not mapped properties of the query type or of its subtypes are rejected with a
+     * {@link ValidationException} when the query is run.
+     *
+     * @param fields the properties to decode
+     * @return this
+     * @since 3.0
+     */
+    public FindOptions decodeOnly(String... fields) {
+        this.decodeOnly = List.of(fields);
+        return this;
+    }
+
+    /**
+     * @return the properties to decode or null if entities are decoded in full
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public List<String> decodeOnly() {
+        return decodeOnly;
+    }
+
+    /**
+     * Decodes results on the common fork join pool rather than on the thread reading them. The cursor reads the raw documents and hands
+     * them to the pool to decode while it carries on reading. Up to a batch of documents, or 128 if no batch size is set, are decoded
+     * at once.
+     *
+     * @param ordered true if results should be returned in the order the server sent them rather than as they are decoded
+     * @return this
+     * @see #parallelDecode(Executor, boolean)
+     * @since 3.0
+     */
+    public FindOptions parallelDecode(boolean ordered) {
+        return parallelDecode(ForkJoinPool.commonPool(), ordered);
+    }
+
+    /**
+     * Decodes results using the given executor rather than on the thread reading them. A stream of these results
+     * {@linkplain Query#stream(FindOptions) splits} by batch so that its parallel operations are spread across threads as well.
+     * <p>
+     * References are fetched as each entity is decoded, using the {@linkplain #identityMap(dev.morphia.IdentityMap) identity map} if one
+     * is set. Tailable cursors should not be decoded in parallel since the cursor reads ahead to keep the executor busy.
+     * <p>
+     * Results can not be decoded in parallel when {@link dev.morphia.config.MorphiaConfig#referenceBatchSize() reference batching} is
+     * enabled since the references of entities decoded on different threads can not be collected into one batch. Such queries fail
+     * with an {@link IllegalStateException}.
+     * <p>
+     * Queries run within a session can not be decoded in parallel since the references fetched while decoding would share the
+     * session's {@link com.mongodb.client.ClientSession} across threads. Such queries fail with an {@link IllegalStateException}.
+     *
+     * @param executor the executor to decode with
+     * @param ordered  true if results should be returned in the order the server sent them rather than as they are decoded
+     * @return this
+     * @since 3.0
+     */
+    public FindOptions parallelDecode(Executor executor, boolean ordered) {
+        this.decodeExecutor = executor;
+        this.orderedDecode = ordered;
+        return this;
+    }
+
+    /**
+     * @return the executor to decode with or null if results are decoded on the reading thread
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public Executor decodeExecutor() {
+        return decodeExecutor;
+    }
+
+    /**
+     * @return true if results decoded in parallel should be returned in the order the server sent them
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public boolean orderedDecode() {
+        return orderedDecode;
+    }
+
+    /**
+     * @return the number of results to decode in parallel at once
+     * @hidden
+     * @morphia.internal
+     */
+    @MorphiaInternal
+    public int decodeWindow() {
+        return batchSize > 0 ? batchSize : 128;
+    }
+
     /**
      * Sets the cursor type
      *
@@ -285,7 +398,7 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
     public int hashCode() {
         return Objects.hash(allowDiskUse, batchSize, limit, maxTimeMS, maxAwaitTimeMS, skip, sort, cursorType, noCursorTimeout, oplogReplay,
                 partial, collation, comment, hint, hintString, max, min, returnKey, showRecordId, readConcern, readPreference, projection,
-                queryLogId);
+                queryLogId, identityMap, decodeOnly, decodeExecutor, orderedDecode);
     }
 
     /**
@@ -310,7 +423,9 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
                 && Objects.equals(comment, that.comment) && Objects.equals(hint, that.hint) && Objects.equals(hintString, that.hintString)
                 && Objects.equals(max, that.max) && Objects.equals(min, that.min) && Objects.equals(readConcern, that.readConcern)
                 && Objects.equals(readPreference, that.readPreference) && Objects.equals(projection, that.projection)
-                && Objects.equals(queryLogId, that.queryLogId);
+                && Objects.equals(queryLogId, that.queryLogId) && Objects.equals(identityMap, that.identityMap)
+                && Objects.equals(decodeOnly, that.decodeOnly)
+                && Objects.equals(decodeExecutor, that.decodeExecutor) && orderedDecode == that.orderedDecode;
     }
 
     /**
@@ -384,6 +499,30 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
         return queryLogId;
     }
 
+    /**
+     * Sets the identity map to use for this query. Entities returned by the query, and those fetched via their references, are taken
+     * from the map when already present and added to it otherwise. Entities loaded with a projection are never added.
+     *
+     * @param identityMap the identity map
+     * @return this
+     * @since 3.0
+     */
+    public FindOptions identityMap(@Nullable IdentityMap identityMap) {
+        this.identityMap = identityMap;
+        return this;
+    }
+
+    /**
+     * @return the identity map to use or null
+     * @hidden
+     * @morphia.internal
+     */
+    @Nullable
+    @MorphiaInternal
+    public IdentityMap identityMap() {
+        return identityMap;
+    }
+
     /**
      * Sets the limit
      *
@@ -397,8 +536,12 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
 
     /**
      * This is an experimental method. It's implementation and presence are subject to change.
+     * <p>
+     * Logged queries are read back from the datastore's {@link QueryLog} if it has one. Otherwise, the server's profiler is turned on
+     * while the query runs.
      *
      * @return this
+     * @see Query#getLoggedQuery()
      */
     public FindOptions logQuery() {
         queryLogId = new ObjectId().toString();
@@ -489,6 +632,13 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
         return this;
     }
 
+    /**
+     * @return true if a projection has been defined or only some properties are decoded
+     */
+    boolean isProjected() {
+        return projection != null && !projection.isEmpty() || decodeOnly != null;
+    }
+
     /**
      * @return the projection
      * @hidden
@@ -596,6 +746,10 @@ public final class FindOptions implements ReadConfigurable<FindOptions>, Collect
                 .add("readPreference=" + readPreference)
                 .add("queryLogId='" + queryLogId + "'")
                 .add("projection=" + projection)
+                .add("identityMap=" + identityMap)
+                .add("decodeOnly=" + decodeOnly)
+                .add("decodeExecutor=" + decodeExecutor)
+                .add("orderedDecode=" + orderedDecode)
                 .toString();
     }
 
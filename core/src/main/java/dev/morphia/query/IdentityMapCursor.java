@@ -0,0 +1,89 @@
+package dev.morphia.query;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.IdentityMap;
+import dev.morphia.mapping.Mapper;
+
+/**
+ * Returns the instance held by an {@link IdentityMap} for each entity read, adding those not yet held. The map is in use on the
+ * current thread while reading so references fetched while decoding use the map as well.
+ *
+ * @param <T> the entity type
+ */
+class IdentityMapCursor<T> implements MongoCursor<T> {
+    private final MongoCursor<T> wrapped;
+    private final IdentityMap identityMap;
+    private final Mapper mapper;
+    private final String collection;
+    private final boolean store;
+
+    /**
+     * @param wrapped     the cursor to read from
+     * @param identityMap the identity map
+     * @param mapper      the mapper
+     * @param collection  the collection being read
+     * @param store       false if entities read should not be added to the map, e.g., when they are partially loaded
+     */
+    IdentityMapCursor(MongoCursor<T> wrapped, IdentityMap identityMap, Mapper mapper, String collection, boolean store) {
+        this.wrapped = wrapped;
+        this.identityMap = identityMap;
+        this.mapper = mapper;
+        this.collection = collection;
+        this.store = store;
+    }
+
+    @Override
+    public void close() {
+        wrapped.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return identityMap.run(wrapped::hasNext);
+    }
+
+    @Override
+    public T next() {
+        return canonical(identityMap.run(wrapped::next));
+    }
+
+    @Override
+    public int available() {
+        return wrapped.available();
+    }
+
+    @Override
+    @Nullable
+    public T tryNext() {
+        T next = identityMap.run(wrapped::tryNext);
+        return next != null ? canonical(next) : null;
+    }
+
+    @Override
+    @Nullable
+    public ServerCursor getServerCursor() {
+        return wrapped.getServerCursor();
+    }
+
+    @Override
+    public ServerAddress getServerAddress() {
+        return wrapped.getServerAddress();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T canonical(T entity) {
+        Object id = mapper.getId(entity);
+        if (id == null) {
+            return entity;
+        }
+        if (!store) {
+            Object existing = identityMap.get(collection, id);
+            return existing != null ? (T) existing : entity;
+        }
+        return identityMap.putIfAbsent(collection, id, entity);
+    }
+}
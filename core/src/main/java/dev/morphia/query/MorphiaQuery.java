@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.Executor;
 
 import com.mongodb.ExplainVerbosity;
 import com.mongodb.client.FindIterable;
@@ -17,6 +18,7 @@ import com.mongodb.lang.Nullable;
 
 import dev.morphia.Datastore;
 import dev.morphia.DeleteOptions;
+import dev.morphia.IdentityMap;
 import dev.morphia.ModifyOptions;
 import dev.morphia.MorphiaDatastore;
 import dev.morphia.UpdateOptions;
@@ -24,14 +26,25 @@ import dev.morphia.aggregation.stages.Stage;
 import dev.morphia.annotations.internal.MorphiaInternal;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.MaskedCodec;
+import dev.morphia.mapping.codec.pojo.MorphiaCodec;
+import dev.morphia.mapping.codec.pojo.PropertyMask;
+import dev.morphia.mapping.codec.pojo.TrackingCodec;
+import dev.morphia.mapping.codec.references.ReferenceBatch;
+import dev.morphia.mapping.codec.writer.BinaryDocumentWriter;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.metrics.MorphiaMetrics;
 import dev.morphia.query.filters.Filter;
 import dev.morphia.query.updates.UpdateOperator;
 import dev.morphia.sofia.Sofia;
+import dev.morphia.transactions.MorphiaSession;
 
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +52,8 @@ import static dev.morphia.mapping.codec.CodecHelper.coalesce;
 import static dev.morphia.mapping.codec.CodecHelper.document;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
 /**
  * @param <T> the type
@@ -113,16 +128,16 @@ public class MorphiaQuery<T> implements Query<T> {
     @Override
     public long count(CountOptions options) {
         MongoCollection<T> collection = datastore.configureCollection(options, this.collection);
-        return datastore.operations().countDocuments(collection, getQueryDocument(), options);
+        return datastore.operations().countDocuments(collection, getQuery(), options);
     }
 
     @Override
     public DeleteResult delete(DeleteOptions options) {
         MongoCollection<T> collection = datastore.configureCollection(options, this.collection);
         if (options.multi()) {
-            return datastore.operations().deleteMany(collection, getQueryDocument(), options);
+            return datastore.operations().deleteMany(collection, getQuery(), options);
         } else {
-            return datastore.operations().deleteOne(collection, getQueryDocument(), options);
+            return datastore.operations().deleteOne(collection, getQuery(), options);
         }
     }
 
@@ -148,16 +163,29 @@ public class MorphiaQuery<T> implements Query<T> {
     @Override
     public String getLoggedQuery() {
         if (lastOptions != null && lastOptions.isLogQuery()) {
+            String comment = Sofia.loggedQuery(lastOptions.queryLogId());
+            Document command = null;
+            QueryLog queryLog = datastore.getQueryLog();
+            if (queryLog != null) {
+                for (QueryLog.Entry entry : queryLog.entries(comment)) {
+                    if (entry.getCommandName().equals("find")) {
+                        command = datastore.getCodecRegistry().get(Document.class)
+                                .decode(entry.getCommand().asBsonReader(), DecoderContext.builder().build());
+                    }
+                }
+            } else {
+                Document first = datastore.getDatabase()
+                        .getCollection("system.profile")
+                        .find(new Document("command.comment", comment), Document.class)
+                        .projection(new Document("command.filter", 1))
+                        .first();
+                if (first != null) {
+                    command = (Document) first.get("command");
+                }
+            }
             String json = "{}";
-            Document filter = new Document("command.comment", Sofia.loggedQuery(lastOptions.queryLogId()));
-            Document first = datastore.getDatabase()
-                    .getCollection("system.profile")
-                    .find(filter, Document.class)
-                    .projection(new Document("command.filter", 1))
-                    .first();
-            if (first != null) {
-                Document command = (Document) first.get("command");
-                filter = (Document) command.get("filter");
+            if (command != null) {
+                Document filter = (Document) command.get("filter");
                 if (filter != null) {
                     json = filter.toJson(datastore.getCodecRegistry().get(Document.class));
                 }
@@ -171,7 +199,7 @@ public class MorphiaQuery<T> implements Query<T> {
     @Override
     public T findAndDelete(FindAndDeleteOptions options) {
         MongoCollection<T> mongoCollection = datastore.configureCollection(options, collection);
-        return datastore.operations().findOneAndDelete(mongoCollection, getQueryDocument(), options);
+        return datastore.operations().findOneAndDelete(mongoCollection, getQuery(), options);
     }
 
     @Override
@@ -207,7 +235,51 @@ public class MorphiaQuery<T> implements Query<T> {
 
     @Override
     public MorphiaCursor<T> iterator(FindOptions options) {
-        return new MorphiaCursor<>(prepareCursor(options, collection));
+        List<String> decodeOnly = options.decodeOnly();
+        MongoCollection<T> source = collection;
+        if (decodeOnly != null) {
+            source = masked(collection, decodeOnly);
+        } else if (mapper.getConfig().dirtyTracking() && !options.isProjected()) {
+            source = tracked(collection);
+        }
+        Executor executor = options.decodeExecutor();
+        MongoCursor<T> cursor;
+        if (executor != null) {
+            if (datastore instanceof MorphiaSession) {
+                throw new IllegalStateException(Sofia.parallelDecodeInSession());
+            }
+            if (mapper.getConfig().referenceBatchSize() > 0) {
+                throw new IllegalStateException(Sofia.parallelDecodeWithReferenceBatching());
+            }
+            Codec<T> codec = source.getCodecRegistry().get(type);
+            cursor = new ParallelDecodingCursor<>(prepareCursor(options, source.withDocumentClass(RawBsonDocument.class)), codec,
+                    executor, options.orderedDecode(), options.decodeWindow());
+        } else {
+            cursor = prepareCursor(options, source);
+        }
+        int batchSize = mapper.getConfig().referenceBatchSize();
+        if (batchSize > 0) {
+            cursor = new ReferenceBatchingCursor<>(cursor, new ReferenceBatch(datastore), batchSize);
+        }
+        IdentityMap identityMap = identityMap(options);
+        String name = options.collection() != null ? options.collection() : getCollectionName();
+        if (identityMap != null && name != null) {
+            cursor = new IdentityMapCursor<>(cursor, identityMap, mapper, name, !options.isProjected());
+        }
+        return new MorphiaCursor<>(cursor);
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public MorphiaCursor<EntityView<T>> views(FindOptions options) {
+        Codec<T> codec = collection.getCodecRegistry().get(type);
+        if (!(codec instanceof MorphiaCodec)) {
+            throw new UnsupportedOperationException(Sofia.viewsNotSupported(type.getName()));
+        }
+        EntityViewCodec<T> viewCodec = new EntityViewCodec<>((MorphiaCodec<T>) codec);
+        MongoCollection<EntityView<T>> views = collection.withDocumentClass((Class<EntityView<T>>) (Class) EntityView.class)
+                .withCodecRegistry(fromRegistries(fromCodecs(viewCodec), collection.getCodecRegistry()));
+        return new MorphiaCursor<>(prepareCursor(options, views));
     }
 
     /**
@@ -299,7 +371,7 @@ public class MorphiaQuery<T> implements Query<T> {
 
     @NonNull
     private <E> FindIterable<E> iterable(FindOptions findOptions, MongoCollection<E> collection) {
-        final Document query = toDocument();
+        final Bson query = getQuery();
 
         if (LOG.isTraceEnabled()) {
             LOG.trace(format("Running query(%s) : %s, options: %s,", getCollectionName(), query, findOptions));
@@ -310,19 +382,71 @@ public class MorphiaQuery<T> implements Query<T> {
         return datastore.operations().find(updated, query);
     }
 
+    @Nullable
+    private IdentityMap identityMap(FindOptions options) {
+        if (options.identityMap() != null) {
+            return options.identityMap();
+        }
+        if (datastore instanceof MorphiaSession) {
+            IdentityMap identityMap = ((MorphiaSession) datastore).identityMap();
+            if (identityMap != null) {
+                return identityMap;
+            }
+        }
+        return IdentityMap.current();
+    }
+
+    private MongoCollection<T> masked(MongoCollection<T> collection, List<String> fields) {
+        PropertyMask mask = new PropertyMask(fields);
+        if (mapper.isMappable(type)) {
+            mask.validate(mapper.getEntityModel(type));
+        }
+        Codec<T> codec = collection.getCodecRegistry().get(type);
+        if (!(codec instanceof MorphiaCodec)) {
+            return collection;
+        }
+        MaskedCodec<T> masked = new MaskedCodec<>((MorphiaCodec<T>) codec, mask);
+        return collection.withCodecRegistry(fromRegistries(fromCodecs(masked), collection.getCodecRegistry()));
+    }
+
+    private MongoCollection<T> tracked(MongoCollection<T> collection) {
+        Codec<T> codec = collection.getCodecRegistry().get(type);
+        if (!(codec instanceof MorphiaCodec)) {
+            return collection;
+        }
+        TrackingCodec<T> tracking = new TrackingCodec<>((MorphiaCodec<T>) codec, datastore.getSnapshots());
+        return collection.withCodecRegistry(fromRegistries(fromCodecs(tracking), collection.getCodecRegistry()));
+    }
+
+    /**
+     * Queries are logged through the datastore's {@link QueryLog} when it has one. Otherwise the server's profiler is turned on for the
+     * duration of the query. Opening the cursor is reported to the configured {@link MorphiaMetrics} as the {@code find} operation.
+     */
     @SuppressWarnings("ConstantConditions")
     private <E> MongoCursor<E> prepareCursor(FindOptions options, MongoCollection<E> collection) {
         Document oldProfile = null;
         lastOptions = options;
-        if (options.isLogQuery()) {
+        boolean profile = options.isLogQuery() && datastore.getQueryLog() == null;
+        if (profile) {
             oldProfile = datastore.getDatabase().runCommand(new Document("profile", 2).append("slowms", 0));
         }
         try {
-            return options
-                    .apply(iterable(options, collection), mapper, type)
-                    .iterator();
+            FindIterable<E> iterable = options.apply(iterable(options, collection), mapper, type);
+            MorphiaMetrics metrics = mapper.getConfig().metrics();
+            if (!metrics.isEnabled()) {
+                return iterable.iterator();
+            }
+            long start = System.nanoTime();
+            try {
+                MongoCursor<E> cursor = iterable.iterator();
+                metrics.operation("find", getCollectionName(), type, System.nanoTime() - start, cursor.available(), null);
+                return cursor;
+            } catch (RuntimeException e) {
+                metrics.operation("find", getCollectionName(), type, System.nanoTime() - start, -1, e);
+                throw e;
+            }
         } finally {
-            if (options.isLogQuery()) {
+            if (profile) {
                 datastore.getDatabase().runCommand(new Document("profile", oldProfile.get("was"))
                         .append("slowms", oldProfile.get("slowms"))
                         .append("sampleRate", oldProfile.get("sampleRate")));
@@ -331,21 +455,36 @@ public class MorphiaQuery<T> implements Query<T> {
         }
     }
 
-    private Document getQueryDocument() {
+    /**
+     * Encodes the query straight to BSON when {@link dev.morphia.config.MorphiaConfig#binaryEncoding() enabled}, falling back to
+     * {@link #getQueryDocument()} for seeded queries and those which repeat a name in a document.
+     */
+    private Bson getQuery() {
         if (invalid != null) {
             throw invalid;
         }
-        try {
-            DocumentWriter writer = new DocumentWriter(mapper.getConfig(), seedQuery);
-            document(writer, () -> {
-                EncoderContext context = EncoderContext.builder().build();
-                for (Filter filter : filters) {
-                    Codec codec = datastore.getCodecRegistry().get(filter.getClass());
-                    codec.encode(writer, filter, context);
+        if (seedQuery == null && mapper.getConfig().binaryEncoding()) {
+            try {
+                RawBsonDocument query = BinaryDocumentWriter.encodeFields(this::encodeFilters);
+                if (query != null) {
+                    return query;
                 }
-            });
+            } catch (ValidationException e) {
+                invalid = e;
+                throw e;
+            }
+        }
+        return getQueryDocument();
+    }
 
-            Document query = writer.getDocument();
+    private Document getQueryDocument() {
+        if (invalid != null) {
+            throw invalid;
+        }
+        try {
+            Document query = seedQuery == null
+                    ? datastore.getQueryShapes().toDocument(getEntityClass(), filters, this::encodeFilters)
+                    : encodeFilters();
             if (mapper.isMappable(getEntityClass())) {
                 mapper.updateQueryWithDiscriminators(mapper.getEntityModel(getEntityClass()), query);
             }
@@ -358,4 +497,41 @@ public class MorphiaQuery<T> implements Query<T> {
 
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void encodeFilters(BinaryDocumentWriter writer) {
+        EncoderContext context = EncoderContext.builder().build();
+        for (Filter filter : filters) {
+            Codec codec = datastore.getCodecRegistry().get(filter.getClass());
+            codec.encode(writer, filter, context);
+        }
+        if (mapper.isMappable(getEntityClass())) {
+            EntityModel model = mapper.getEntityModel(getEntityClass());
+            List<String> discriminators = mapper.getQueryDiscriminators(model, writer::hasName);
+            if (discriminators != null) {
+                writer.writeStartDocument(model.getDiscriminatorKey());
+                writer.writeStartArray("$in");
+                discriminators.forEach(writer::writeString);
+                writer.writeEndArray();
+                writer.writeEndDocument();
+            }
+        }
+    }
+
+    private Document encodeFilters() {
+        return encodeFilters(filters);
+    }
+
+    private Document encodeFilters(List<Filter> filters) {
+        DocumentWriter writer = new DocumentWriter(mapper.getConfig(), seedQuery);
+        document(writer, () -> {
+            EncoderContext context = EncoderContext.builder().build();
+            for (Filter filter : filters) {
+                Codec codec = datastore.getCodecRegistry().get(filter.getClass());
+                codec.encode(writer, filter, context);
+            }
+        });
+
+        return writer.getDocument();
+    }
+
 }
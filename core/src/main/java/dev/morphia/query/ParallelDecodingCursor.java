@@ -0,0 +1,158 @@
+package dev.morphia.query;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.IdentityMap;
+
+import org.bson.BsonBinaryReader;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+import org.bson.io.ByteBufferBsonInput;
+
+/**
+ * Reads raw documents from the wrapped cursor and decodes them on an executor. A window of documents is kept decoding while the cursor
+ * reads on so that fetching from the server and decoding overlap. Results are returned either in the order they were read or as soon
+ * as they have been decoded. Closing the cursor cancels the decoding of any documents which have not been returned. The identity map in
+ * use when a document is read is used on the executor while decoding it so that references fetched while decoding use the map.
+ *
+ * @param <T> the entity type
+ */
+class ParallelDecodingCursor<T> implements MongoCursor<T> {
+    private static final DecoderContext CONTEXT = DecoderContext.builder().build();
+
+    private final MongoCursor<RawBsonDocument> wrapped;
+    private final Decoder<T> decoder;
+    private final Executor executor;
+    private final int window;
+    private final Queue<CompletableFuture<T>> submitted;
+    @Nullable
+    private final BlockingQueue<CompletableFuture<T>> completed;
+    private int pending;
+
+    ParallelDecodingCursor(MongoCursor<RawBsonDocument> wrapped, Decoder<T> decoder, Executor executor, boolean ordered, int window) {
+        this.wrapped = wrapped;
+        this.decoder = decoder;
+        this.executor = executor;
+        this.window = window;
+        submitted = new ArrayDeque<>(window);
+        completed = ordered ? null : new LinkedBlockingQueue<>();
+    }
+
+    @Override
+    public void close() {
+        try {
+            wrapped.close();
+        } finally {
+            submitted.forEach(future -> future.cancel(false));
+            submitted.clear();
+            if (completed != null) {
+                completed.clear();
+            }
+            pending = 0;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pending != 0 || wrapped.hasNext();
+    }
+
+    @Override
+    public T next() {
+        while (pending < window && wrapped.hasNext()) {
+            submit(wrapped.next());
+        }
+        if (pending == 0) {
+            throw new NoSuchElementException();
+        }
+        return take();
+    }
+
+    @Override
+    public int available() {
+        return pending + wrapped.available();
+    }
+
+    @Override
+    @Nullable
+    public T tryNext() {
+        if (pending == 0) {
+            RawBsonDocument document = wrapped.tryNext();
+            if (document == null) {
+                return null;
+            }
+            submit(document);
+        }
+        while (pending < window && wrapped.available() > 0) {
+            submit(wrapped.next());
+        }
+        return take();
+    }
+
+    @Override
+    @Nullable
+    public ServerCursor getServerCursor() {
+        return wrapped.getServerCursor();
+    }
+
+    @Override
+    public ServerAddress getServerAddress() {
+        return wrapped.getServerAddress();
+    }
+
+    private T decode(RawBsonDocument document) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(new ByteBufferBsonInput(document.getByteBuffer()))) {
+            return decoder.decode(reader, CONTEXT);
+        }
+    }
+
+    private void submit(RawBsonDocument document) {
+        IdentityMap identityMap = IdentityMap.current();
+        Supplier<T> task = identityMap != null ? () -> identityMap.run(() -> decode(document)) : () -> decode(document);
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(task, executor);
+        submitted.add(future);
+        if (completed != null) {
+            future.whenComplete((entity, error) -> completed.add(future));
+        }
+        pending++;
+    }
+
+    private T take() {
+        CompletableFuture<T> future;
+        if (completed == null) {
+            future = submitted.remove();
+        } else {
+            try {
+                future = completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MongoInterruptedException(null, e);
+            }
+            submitted.remove(future);
+        }
+        pending--;
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -186,6 +186,13 @@ public class Projection {
         return options;
     }
 
+    /**
+     * @return true if no fields have been projected so whole documents are returned
+     */
+    boolean isEmpty() {
+        return includes == null && excludes == null && arrayField == null && meta == null && knownFields == null;
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", Projection.class.getSimpleName() + "[", "]")
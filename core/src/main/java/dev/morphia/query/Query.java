@@ -208,6 +208,29 @@ public interface Query<T> extends Iterable<T> {
      */
     MorphiaCursor<T> iterator(FindOptions options);
 
+    /**
+     * Execute the query and get the results as views over the raw documents. Properties of each view are only decoded when read, which
+     * suits results that are mostly passed through rather than used as entities.
+     *
+     * @return a MorphiaCursor of views
+     * @see #views(FindOptions)
+     * @since 3.0
+     */
+    default MorphiaCursor<EntityView<T>> views() {
+        return views(new FindOptions());
+    }
+
+    /**
+     * Execute the query and get the results as views over the raw documents. Properties of each view are only decoded when read, which
+     * suits results that are mostly passed through rather than used as entities. Views are never added to an identity map.
+     *
+     * @param options the options to apply to the find operation
+     * @return a MorphiaCursor of views
+     * @see EntityView
+     * @since 3.0
+     */
+    MorphiaCursor<EntityView<T>> views(FindOptions options);
+
     /**
      * Provides a {@link Stream} representation of the results of this query.
      *
@@ -219,15 +242,21 @@ public interface Query<T> extends Iterable<T> {
     }
 
     /**
-     * Provides a {@link Stream} representation of the results of this query.
+     * Provides a {@link Stream} representation of the results of this query. When the results are
+     * {@linkplain FindOptions#parallelDecode(boolean) decoded in parallel}, the stream splits them by batch so that a
+     * {@link Stream#parallel() parallel} stream spreads its work across threads. Closing the stream closes the cursor.
      *
      * @param options the options to apply
      * @return the stream
      * @since 2.2
      */
     default Stream<T> stream(FindOptions options) {
-        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator(options), 0);
-        return StreamSupport.stream(spliterator, false);
+        MorphiaCursor<T> cursor = iterator(options);
+        Spliterator<T> spliterator = options.decodeExecutor() != null
+                ? new BatchSpliterator<>(cursor, options.orderedDecode())
+                : Spliterators.spliteratorUnknownSize(cursor, 0);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cursor::close);
     }
 
     /**
@@ -0,0 +1,214 @@
+package dev.morphia.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.sofia.Sofia;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Records the commands sent by a client along with how long they took and how many results they returned. Only commands carrying a
+ * {@code comment}, such as queries run with {@link FindOptions#logQuery()}, are recorded so the log costs nothing for other commands.
+ * The most recent commands are kept up to the capacity of the log.
+ * <p>
+ * The log must be added to the client's settings with {@link com.mongodb.MongoClientSettings.Builder#addCommandListener(CommandListener)}
+ * and given to the datastore with {@link dev.morphia.Morphia#createDatastore(com.mongodb.client.MongoClient,
+ * dev.morphia.config.MorphiaConfig, QueryLog)} for {@link Query#getLoggedQuery()} to read from it rather than the server's profiler.
+ *
+ * @since 3.0
+ */
+public class QueryLog implements CommandListener {
+    private final Entry[] entries;
+    private final Map<Integer, Entry> started = new ConcurrentHashMap<>();
+    private int next;
+    private int size;
+
+    /**
+     * Creates a log
+     *
+     * @param capacity the number of commands to keep
+     */
+    public QueryLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(Sofia.queryLogCapacity(capacity));
+        }
+        entries = new Entry[capacity];
+    }
+
+    /**
+     * Removes all the recorded commands
+     */
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        size = 0;
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Entry entry = started.remove(event.getRequestId());
+        if (entry != null) {
+            entry.duration = event.getElapsedTime(TimeUnit.NANOSECONDS);
+            entry.failure = event.getThrowable();
+            add(entry);
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonValue comment = event.getCommand().get("comment");
+        if (comment != null) {
+            started.put(event.getRequestId(), new Entry(event.getCommandName(), event.getDatabaseName(),
+                    event.getCommand().clone(), comment.isString() ? comment.asString().getValue() : comment.toString()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Entry entry = started.remove(event.getRequestId());
+        if (entry != null) {
+            entry.duration = event.getElapsedTime(TimeUnit.NANOSECONDS);
+            entry.results = count(event.getResponse());
+            add(entry);
+        }
+    }
+
+    /**
+     * @return the recorded commands, oldest first
+     */
+    public synchronized List<Entry> entries() {
+        List<Entry> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(entries[(next - size + i + entries.length) % entries.length]);
+        }
+        return list;
+    }
+
+    /**
+     * @param comment the comment to look for
+     * @return the recorded commands carrying the comment, oldest first
+     */
+    public List<Entry> entries(String comment) {
+        List<Entry> list = new ArrayList<>();
+        for (Entry entry : entries()) {
+            if (entry.comment.equals(comment)) {
+                list.add(entry);
+            }
+        }
+        return list;
+    }
+
+    private static int count(BsonDocument response) {
+        BsonDocument cursor = response.getDocument("cursor", null);
+        if (cursor != null) {
+            BsonValue batch = cursor.containsKey("firstBatch") ? cursor.get("firstBatch") : cursor.get("nextBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : -1;
+        }
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().intValue() : -1;
+    }
+
+    private synchronized void add(Entry entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        size = Math.min(size + 1, entries.length);
+    }
+
+    /**
+     * A recorded command
+     */
+    public static final class Entry {
+        private final String commandName;
+        private final String databaseName;
+        private final BsonDocument command;
+        private final String comment;
+        private long duration;
+        private int results = -1;
+        @Nullable
+        private Throwable failure;
+
+        private Entry(String commandName, String databaseName, BsonDocument command, String comment) {
+            this.commandName = commandName;
+            this.databaseName = databaseName;
+            this.command = command;
+            this.comment = comment;
+        }
+
+        /**
+         * @return the command sent
+         */
+        public BsonDocument getCommand() {
+            return command;
+        }
+
+        /**
+         * @return the name of the command
+         */
+        public String getCommandName() {
+            return commandName;
+        }
+
+        /**
+         * @return the comment the command carried
+         */
+        public String getComment() {
+            return comment;
+        }
+
+        /**
+         * @return the name of the database the command ran against
+         */
+        public String getDatabaseName() {
+            return databaseName;
+        }
+
+        /**
+         * @param unit the unit to return the duration in
+         * @return how long the command took
+         */
+        public long getDuration(TimeUnit unit) {
+            return unit.convert(duration, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @return the exception the command failed with, if any
+         */
+        @Nullable
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return the number of documents returned or affected by the command or -1 if it isn't known
+         */
+        public int getResults() {
+            return results;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Entry.class.getSimpleName() + "[", "]")
+                    .add("commandName='" + commandName + "'")
+                    .add("databaseName='" + databaseName + "'")
+                    .add("comment='" + comment + "'")
+                    .add("durationMS=" + getDuration(TimeUnit.MILLISECONDS))
+                    .add("results=" + results)
+                    .add("failure=" + failure)
+                    .add("command=" + command.toJson())
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package dev.morphia.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.internal.PathTarget;
+import dev.morphia.mapping.codec.CodecHelper;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.query.filters.EqFilter;
+import dev.morphia.query.filters.ExistsFilter;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.query.filters.LogicalFilter;
+
+import org.bson.Document;
+import org.bson.codecs.EncoderContext;
+
+import static dev.morphia.mapping.codec.CodecHelper.document;
+
+/**
+ * Caches the encoded form of query filters by their shape: the entity type, the structure of the filters, their operators and fields
+ * but not their values. The first query of a given shape is encoded with a placeholder in place of each value. Later queries of the same
+ * shape reuse that template and the resolved field paths so only their values need to be encoded.
+ * <p>
+ * Only the common comparison, equality, existence and logical filters are cached. Queries using any other filter are encoded in full.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class QueryShapes {
+    private static final String SLOT = "$morphia.slot";
+    private static final EncoderContext CONTEXT = EncoderContext.builder().build();
+
+    private final MorphiaDatastore datastore;
+    private final int maxSize;
+    private final Map<List<Object>, Shape> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * @param datastore the datastore
+     * @param maxSize   the maximum number of shapes to cache
+     */
+    public QueryShapes(MorphiaDatastore datastore, int maxSize) {
+        this.datastore = datastore;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the number of cached shapes
+     */
+    public int size() {
+        return shapes.size();
+    }
+
+    /**
+     * Encodes the filters of a query reusing the template for the query's shape if there is one. Once the cache is full, queries of new
+     * shapes are encoded in full rather than compiled into templates that would not be kept.
+     *
+     * @param type    the query type
+     * @param filters the query filters
+     * @param encoder encodes a list of filters in full
+     * @return the encoded filters
+     */
+    Document toDocument(Class<?> type, List<Filter> filters, Function<List<Filter>, Document> encoder) {
+        if (maxSize <= 0) {
+            return encoder.apply(filters);
+        }
+        List<Object> key = key(type, filters);
+        if (key == null) {
+            return encoder.apply(filters);
+        }
+
+        Shape shape = shapes.get(key);
+        if (shape == null) {
+            if (shapes.size() >= maxSize) {
+                return encoder.apply(filters);
+            }
+            shape = compile(filters, encoder);
+            Shape existing = shapes.putIfAbsent(key, shape);
+            if (existing != null) {
+                shape = existing;
+            }
+        }
+        List<Filter> slots = new ArrayList<>();
+        collectSlots(filters, slots);
+        return shape.bind(slots);
+    }
+
+    /**
+     * Encodes copies of the filters with a placeholder in place of each value so the caller's filters are left untouched
+     */
+    private Shape compile(List<Filter> filters, Function<List<Filter>, Document> encoder) {
+        List<Filter> copies = new ArrayList<>(filters.size());
+        for (Filter filter : filters) {
+            copies.add(filter.copy());
+        }
+        List<Filter> slots = new ArrayList<>();
+        collectSlots(copies, slots);
+        for (int i = 0; i < slots.size(); i++) {
+            slots.get(i).mappedValue(new Document(SLOT, i));
+        }
+        Document template = encoder.apply(copies);
+
+        List<PathTarget> targets = new ArrayList<>(slots.size());
+        for (Filter filter : slots) {
+            targets.add(filter.pathTarget(datastore.getMapper()));
+        }
+        return new Shape(template, targets);
+    }
+
+    /**
+     * @return the shape key of the filters or null if any of them can not be cached
+     */
+    @Nullable
+    private static List<Object> key(Class<?> type, List<Filter> filters) {
+        List<Object> key = new ArrayList<>(filters.size() + 1);
+        key.add(type);
+        for (Filter filter : filters) {
+            Object part = key(filter);
+            if (part == null) {
+                return null;
+            }
+            key.add(part);
+        }
+        return key;
+    }
+
+    @Nullable
+    private static Object key(Filter filter) {
+        Class<? extends Filter> filterType = filter.getClass();
+        if (filterType.equals(LogicalFilter.class)) {
+            List<Filter> nested = ((LogicalFilter) filter).filters();
+            List<Object> parts = new ArrayList<>(nested.size() + 1);
+            parts.add(filter.getName());
+            for (Filter child : nested) {
+                Object part = key(child);
+                if (part == null) {
+                    return null;
+                }
+                parts.add(part);
+            }
+            return parts;
+        }
+        if (filterType.equals(Filter.class) || filterType.equals(EqFilter.class) || filterType.equals(ExistsFilter.class)) {
+            // null values are written differently when several filters share a path so they are part of the shape
+            return Arrays.asList(filterType, filter.getName(), filter.getField(), filter.isNot(), filter.isValidating(),
+                    filter.getValue() == null);
+        }
+        return null;
+    }
+
+    private static void collectSlots(List<Filter> filters, List<Filter> slots) {
+        for (Filter filter : filters) {
+            if (filter instanceof LogicalFilter) {
+                collectSlots(((LogicalFilter) filter).filters(), slots);
+            } else if (!(filter instanceof ExistsFilter)) {
+                slots.add(filter);
+            }
+        }
+    }
+
+    private class Shape {
+        private final Document template;
+        private final List<PathTarget> targets;
+
+        Shape(Document template, List<PathTarget> targets) {
+            this.template = template;
+            this.targets = targets;
+        }
+
+        Document bind(List<Filter> slots) {
+            DocumentWriter writer = new DocumentWriter(datastore.getMapper().getConfig());
+            document(writer, () -> {
+                for (int i = 0; i < slots.size(); i++) {
+                    Filter filter = slots.get(i);
+                    filter.pathTarget(targets.get(i));
+                    CodecHelper.namedValue(writer, datastore, String.valueOf(i), filter.getValue(datastore), CONTEXT);
+                }
+            });
+            return (Document) copy(template, writer.getDocument());
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object copy(@Nullable Object node, Document values) {
+            if (node instanceof Document) {
+                Document document = (Document) node;
+                Object slot = document.get(SLOT);
+                if (slot != null && document.size() == 1) {
+                    return values.get(String.valueOf(slot));
+                }
+                Document copy = new Document();
+                for (Entry<String, Object> entry : document.entrySet()) {
+                    copy.put(entry.getKey(), copy(entry.getValue(), values));
+                }
+                return copy;
+            } else if (node instanceof List) {
+                List<Object> list = (List<Object>) node;
+                List<Object> copy = new ArrayList<>(list.size());
+                for (Object value : list) {
+                    copy.add(copy(value, values));
+                }
+                return copy;
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package dev.morphia.query;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.mapping.codec.references.ReferenceBatch;
+
+/**
+ * Reads ahead a window of entities from the wrapped cursor and fetches their references together before returning any of them.
+ * References found while decoding are collected by a {@link ReferenceBatch} and resolved with one {@code $in} query per referenced type
+ * rather than one query per entity.
+ *
+ * @param <T> the entity type
+ */
+class ReferenceBatchingCursor<T> implements MongoCursor<T> {
+    private final MongoCursor<T> wrapped;
+    private final ReferenceBatch batch;
+    private final int window;
+    private final ArrayDeque<T> buffer;
+
+    ReferenceBatchingCursor(MongoCursor<T> wrapped, ReferenceBatch batch, int window) {
+        this.wrapped = wrapped;
+        this.batch = batch;
+        this.window = window;
+        buffer = new ArrayDeque<>(window);
+    }
+
+    @Override
+    public void close() {
+        wrapped.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !buffer.isEmpty() || batch.run(wrapped::hasNext);
+    }
+
+    @Override
+    public T next() {
+        if (buffer.isEmpty()) {
+            batch.run(() -> {
+                while (buffer.size() < window && wrapped.hasNext()) {
+                    buffer.add(wrapped.next());
+                }
+                return null;
+            });
+            batch.resolve();
+        }
+        if (buffer.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return buffer.poll();
+    }
+
+    @Override
+    public int available() {
+        return buffer.size() + wrapped.available();
+    }
+
+    @Override
+    @Nullable
+    public T tryNext() {
+        if (buffer.isEmpty()) {
+            batch.run(() -> {
+                T next = wrapped.tryNext();
+                if (next != null) {
+                    buffer.add(next);
+                    while (buffer.size() < window && wrapped.available() > 0) {
+                        buffer.add(wrapped.next());
+                    }
+                }
+                return null;
+            });
+            batch.resolve();
+        }
+        return buffer.poll();
+    }
+
+    @Override
+    @Nullable
+    public ServerCursor getServerCursor() {
+        return wrapped.getServerCursor();
+    }
+
+    @Override
+    public ServerAddress getServerAddress() {
+        return wrapped.getServerAddress();
+    }
+}
@@ -20,4 +20,14 @@ public class EqFilter extends Filter {
     public EqFilter(String field, @Nullable Object val) {
         super("$eq", field, val);
     }
+
+    /**
+     * @hidden
+     * @morphia.internal
+     */
+    @Override
+    @MorphiaInternal
+    public Filter copy() {
+        return copyTo(new EqFilter(getField(), getValue()));
+    }
 }
@@ -17,4 +17,14 @@ public class ExistsFilter extends Filter {
     public ExistsFilter(String field) {
         super("$exists", field, null);
     }
+
+    /**
+     * @hidden
+     * @morphia.internal
+     */
+    @Override
+    @MorphiaInternal
+    public Filter copy() {
+        return copyTo(new ExistsFilter(getField()));
+    }
 }
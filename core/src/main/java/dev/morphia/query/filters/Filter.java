@@ -130,6 +130,17 @@ public class Filter {
         this.value = value;
     }
 
+    /**
+     * @return true if field names are validated
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public boolean isValidating() {
+        return validate;
+    }
+
     /**
      * Sets whether to validate field names or not
      *
@@ -189,7 +200,15 @@ public class Filter {
         return pathTarget(mapper).translatedPath();
     }
 
-    private PathTarget pathTarget(Mapper mapper) {
+    /**
+     * @param mapper the mapper
+     * @return the target of this filter's field
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public PathTarget pathTarget(Mapper mapper) {
         if (pathTarget == null) {
             pathTarget = new PathTarget(mapper, entityClass, field, validate);
         }
@@ -197,6 +216,73 @@ public class Filter {
         return pathTarget;
     }
 
+    /**
+     * Uses an already resolved target for this filter's field. The target must have been resolved for the same entity type, field and
+     * validation setting.
+     *
+     * @param pathTarget the resolved target
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public void pathTarget(PathTarget pathTarget) {
+        this.pathTarget = pathTarget;
+    }
+
+    /**
+     * Replaces the value of this filter with one that has already been mapped and so is encoded as is.
+     *
+     * @param value the mapped value
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public void mappedValue(@Nullable Object value) {
+        this.value = value;
+        mapped = true;
+    }
+
+    /**
+     * Creates a copy of this filter which can be changed without affecting this filter. Subclasses holding state of their own must
+     * override this to copy it.
+     *
+     * @return the copy
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    public Filter copy() {
+        if (getClass() != Filter.class) {
+            throw new UnsupportedOperationException();
+        }
+        return copyTo(new Filter(name, field, value));
+    }
+
+    /**
+     * Copies the state of this filter to another
+     *
+     * @param copy the filter to copy to
+     * @param <F>  the filter type
+     * @return the copy
+     * @hidden
+     * @morphia.internal
+     * @since 3.0
+     */
+    @MorphiaInternal
+    protected <F extends Filter> F copyTo(F copy) {
+        Filter filter = copy;
+        filter.value = value;
+        filter.not = not;
+        filter.validate = validate;
+        filter.entityClass = entityClass;
+        filter.pathTarget = pathTarget;
+        filter.mapped = mapped;
+        return copy;
+    }
+
     /**
      * @param value          the value to write
      * @param datastore      the datastore
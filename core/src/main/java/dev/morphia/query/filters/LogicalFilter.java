@@ -54,6 +54,20 @@ public class LogicalFilter extends Filter {
         return this;
     }
 
+    /**
+     * @hidden
+     * @morphia.internal
+     */
+    @Override
+    @MorphiaInternal
+    public Filter copy() {
+        LogicalFilter copy = copyTo(new LogicalFilter(getName()));
+        for (Filter filter : filters) {
+            copy.filters.add(filter.copy());
+        }
+        return copy;
+    }
+
     /**
      * @hidden
      * @morphia.internal
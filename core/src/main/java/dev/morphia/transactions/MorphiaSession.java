@@ -1,11 +1,28 @@
 package dev.morphia.transactions;
 
 import com.mongodb.client.ClientSession;
+import com.mongodb.lang.Nullable;
 
 import dev.morphia.Datastore;
+import dev.morphia.IdentityMap;
 
 /**
  * Wraps a ClientSession reference for convenient use of MongoDB's multidocument transaction support.
  */
 public interface MorphiaSession extends Datastore, ClientSession {
+    /**
+     * Sets the identity map used by queries run through this session unless a query sets its own.
+     *
+     * @param identityMap the identity map or null to stop using one
+     * @return this
+     * @since 3.0
+     */
+    MorphiaSession identityMap(@Nullable IdentityMap identityMap);
+
+    /**
+     * @return the identity map used by this session or null if none is set
+     * @since 3.0
+     */
+    @Nullable
+    IdentityMap identityMap();
 }
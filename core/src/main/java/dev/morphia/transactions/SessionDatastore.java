@@ -1,14 +1,18 @@
 package dev.morphia.transactions;
 
 import java.util.List;
+import java.util.function.Function;
 
 import com.mongodb.ClientSessionOptions;
 import com.mongodb.ServerAddress;
 import com.mongodb.TransactionOptions;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.TransactionBody;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertManyResult;
 import com.mongodb.client.result.InsertOneResult;
@@ -18,6 +22,7 @@ import com.mongodb.lang.Nullable;
 import com.mongodb.session.ServerSession;
 
 import dev.morphia.DeleteOptions;
+import dev.morphia.IdentityMap;
 import dev.morphia.InsertManyOptions;
 import dev.morphia.InsertOneOptions;
 import dev.morphia.ModifyOptions;
@@ -33,6 +38,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.bson.BsonDocument;
 import org.bson.BsonTimestamp;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 /**
  * @hidden
@@ -43,6 +49,8 @@ import org.bson.Document;
 public class SessionDatastore extends MorphiaDatastore implements MorphiaSession {
 
     private final ClientSession session;
+    @Nullable
+    private IdentityMap identityMap;
 
     /**
      * Creates a new session.
@@ -57,6 +65,18 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
         this.session = session;
     }
 
+    @Override
+    public MorphiaSession identityMap(@Nullable IdentityMap identityMap) {
+        this.identityMap = identityMap;
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public IdentityMap identityMap() {
+        return identityMap;
+    }
+
     @Override
     @Nullable
     public ServerAddress getPinnedServerAddress() {
@@ -96,16 +116,18 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
     @Override
     public void commitTransaction() {
         session.commitTransaction();
+        getSnapshots().commit();
     }
 
     @Override
     public void abortTransaction() {
         session.abortTransaction();
+        getSnapshots().discard();
     }
 
     @Override
     public <T> T withTransaction(TransactionBody<T> transactionBody) {
-        return session.withTransaction(transactionBody);
+        return tracked(transactionBody, body -> session.withTransaction(body));
     }
 
     @Override
@@ -115,7 +137,7 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
 
     @Override
     public <T> T withTransaction(TransactionBody<T> transactionBody, TransactionOptions options) {
-        return session.withTransaction(transactionBody, options);
+        return tracked(transactionBody, body -> session.withTransaction(body, options));
     }
 
     /**
@@ -187,29 +209,80 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
         session.advanceClusterTime(clusterTime);
     }
 
+    /**
+     * Runs a transaction, passing the entities it tracked on to the parent datastore once it has committed. The driver retries the
+     * body after transient errors, so each attempt starts from the snapshots as they were before the transaction rather than from those
+     * recorded by an attempt whose writes were rolled back.
+     */
+    private <T> T tracked(TransactionBody<T> body, Function<TransactionBody<T>, T> transaction) {
+        getSnapshots().commit();
+        T result;
+        try {
+            result = transaction.apply(() -> {
+                getSnapshots().discard();
+                return body.execute();
+            });
+        } catch (RuntimeException e) {
+            getSnapshots().discard();
+            throw e;
+        }
+        getSnapshots().commit();
+        return result;
+    }
+
     private class TransactionalOperations extends DatastoreOperations {
+        @Override
+        public <T> BulkWriteResult bulkWrite(MongoCollection<T> collection, List<WriteModel<T>> requests, BulkWriteOptions options) {
+            return collection.bulkWrite(session, requests, options);
+        }
+
         @Override
         public <T> long countDocuments(MongoCollection<T> collection, Document query, CountOptions options) {
+            return countDocuments(collection, (Bson) query, options);
+        }
+
+        @Override
+        public <T> long countDocuments(MongoCollection<T> collection, Bson query, CountOptions options) {
             return collection.countDocuments(session, query, options);
         }
 
         @Override
         public <T> DeleteResult deleteMany(MongoCollection<T> collection, Document queryDocument, DeleteOptions options) {
+            return deleteMany(collection, (Bson) queryDocument, options);
+        }
+
+        @Override
+        public <T> DeleteResult deleteMany(MongoCollection<T> collection, Bson queryDocument, DeleteOptions options) {
             return collection.deleteMany(session, queryDocument, options);
         }
 
         @Override
         public <T> DeleteResult deleteOne(MongoCollection<T> collection, Document queryDocument, DeleteOptions options) {
+            return deleteOne(collection, (Bson) queryDocument, options);
+        }
+
+        @Override
+        public <T> DeleteResult deleteOne(MongoCollection<T> collection, Bson queryDocument, DeleteOptions options) {
             return collection.deleteOne(session, queryDocument, options);
         }
 
         @Override
         public <E> FindIterable<E> find(MongoCollection<E> collection, Document query) {
+            return find(collection, (Bson) query);
+        }
+
+        @Override
+        public <E> FindIterable<E> find(MongoCollection<E> collection, Bson query) {
             return collection.find(session, query);
         }
 
         @Override
         public <T> T findOneAndDelete(MongoCollection<T> mongoCollection, Document queryDocument, FindAndDeleteOptions options) {
+            return findOneAndDelete(mongoCollection, (Bson) queryDocument, options);
+        }
+
+        @Override
+        public <T> T findOneAndDelete(MongoCollection<T> mongoCollection, Bson queryDocument, FindAndDeleteOptions options) {
             return mongoCollection.findOneAndDelete(session, queryDocument, options);
         }
 
@@ -277,6 +350,13 @@ public class SessionDatastore extends MorphiaDatastore implements MorphiaSession
 
     @Override
     public void close() {
+        // closing aborts any transaction still open
+        boolean aborted = session.hasActiveTransaction();
         session.close();
+        if (aborted) {
+            getSnapshots().discard();
+        } else {
+            getSnapshots().commit();
+        }
     }
 }
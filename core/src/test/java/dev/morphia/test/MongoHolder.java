@@ -1,6 +1,7 @@
 package dev.morphia.test;
 
 import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 
@@ -35,12 +36,15 @@ class MongoHolder implements AutoCloseable {
 
     public MongoClient getMongoClient() {
         if (mongoClient == null) {
-            mongoClient = MongoClients.create(builder()
-                    .uuidRepresentation(UuidRepresentation.STANDARD)
-                    .applyConnectionString(new ConnectionString(connectionString))
-                    .build());
+            mongoClient = MongoClients.create(settings().build());
 
         }
         return mongoClient;
     }
+
+    public MongoClientSettings.Builder settings() {
+        return builder()
+                .uuidRepresentation(UuidRepresentation.STANDARD)
+                .applyConnectionString(new ConnectionString(connectionString));
+    }
 }
@@ -0,0 +1,158 @@
+package dev.morphia.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import dev.morphia.BulkLoader;
+import dev.morphia.BulkLoader.BatchResult;
+import dev.morphia.InsertManyOptions;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Version;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestBulkLoader extends TestBase {
+    @Test
+    public void loadsInBatches() {
+        withTestConfig(List.of(Reading.class), () -> {
+            List<Reading> readings = new ArrayList<>();
+            List<BatchResult> batches = Collections.synchronizedList(new ArrayList<>());
+            BulkLoader.Result result = getDs().bulkLoader(Reading.class, new InsertManyOptions().batchSize(10))
+                    .threads(2)
+                    .maxPendingBatches(1)
+                    .onBatch(batches::add)
+                    .load(IntStream.range(0, 25)
+                            .mapToObj(i -> new Reading("reading " + i))
+                            .peek(readings::add));
+
+            assertTrue(result.isSuccessful());
+            assertEquals(result.getInsertedCount(), 25);
+            assertEquals(result.getBatchCount(), 3);
+            assertEquals(batches.stream().map(BatchResult::getCount).toList(), List.of(10, 10, 5));
+            assertEquals(batches.get(2).getResult().getInsertedIds().size(), 5);
+
+            assertEquals(getDs().find(Reading.class).count(), 25);
+            for (Reading reading : readings) {
+                assertNotNull(reading.id);
+                assertEquals(reading.version, 1L);
+            }
+        });
+    }
+
+    @Test
+    public void splitsBySize() {
+        withTestConfig(List.of(Reading.class), () -> {
+            BulkLoader.Result result = getDs().bulkLoader(Reading.class)
+                    .maxBatchBytes(2500)
+                    .load(IntStream.range(0, 10).mapToObj(i -> new Reading("x".repeat(1000))));
+
+            assertTrue(result.isSuccessful());
+            assertEquals(result.getBatchCount(), 5);
+            assertEquals(getDs().find(Reading.class).count(), 10);
+        });
+    }
+
+    @Test
+    public void reportsFailures() {
+        withTestConfig(List.of(Reading.class), () -> {
+            Reading duplicate = new Reading("duplicate");
+            duplicate.id = new ObjectId();
+            getDs().insert(copy(duplicate));
+
+            List<Reading> readings = new ArrayList<>();
+            for (int i = 0; i < 9; i++) {
+                readings.add(new Reading("reading " + i));
+            }
+            readings.add(4, duplicate);
+
+            BulkLoader.Result result = getDs().bulkLoader(Reading.class, new InsertManyOptions().ordered(false).batchSize(5))
+                    .load(readings.iterator());
+
+            assertFalse(result.isSuccessful());
+            assertEquals(result.getBatchCount(), 2);
+            assertEquals(result.getInsertedCount(), 9);
+            assertEquals(result.getFailures().size(), 1);
+            assertEquals(result.getFailures().get(0).getIndex(), 0);
+            assertNull(result.getFailures().get(0).getResult());
+            assertNull(duplicate.version);
+            assertEquals(getDs().find(Reading.class).count(), 10);
+        });
+    }
+
+    @Test
+    public void stopsOrderedLoads() {
+        withTestConfig(List.of(Reading.class), () -> {
+            Reading duplicate = new Reading("duplicate");
+            duplicate.id = new ObjectId();
+            getDs().insert(copy(duplicate));
+
+            List<Reading> readings = new ArrayList<>();
+            for (int i = 0; i < 14; i++) {
+                readings.add(new Reading("reading " + i));
+            }
+            readings.add(2, duplicate);
+
+            BulkLoader.Result result = getDs().bulkLoader(Reading.class, new InsertManyOptions().batchSize(5))
+                    .maxPendingBatches(3)
+                    .load(readings.iterator());
+
+            assertFalse(result.isSuccessful());
+            assertEquals(result.getBatchCount(), 1);
+            assertEquals(result.getInsertedCount(), 2);
+            assertEquals(getDs().find(Reading.class).count(), 3);
+            for (Reading reading : readings.subList(2, readings.size())) {
+                assertNull(reading.version);
+            }
+        });
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void rejectsOtherTypes() {
+        withTestConfig(List.of(Reading.class, Other.class), () -> {
+            BulkLoader<Object> loader = (BulkLoader) getDs().bulkLoader(Reading.class);
+
+            assertThrows(IllegalArgumentException.class, () -> loader.load(List.of(new Other()).iterator()));
+            assertEquals(getDs().find(Other.class).count(), 0);
+        });
+    }
+
+    private static Reading copy(Reading reading) {
+        Reading copy = new Reading(reading.name);
+        copy.id = reading.id;
+        return copy;
+    }
+
+    @Entity
+    private static class Other {
+        @Id
+        private ObjectId id;
+    }
+
+    @Entity
+    private static class Reading {
+        @Id
+        private ObjectId id;
+        private String name;
+        @Version
+        private Long version;
+
+        Reading() {
+        }
+
+        Reading(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.morphia.test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import dev.morphia.ChangeWatcher;
+import dev.morphia.ChangeWatcher.Watch;
+import dev.morphia.CheckpointStore;
+import dev.morphia.test.models.Rectangle;
+
+import org.awaitility.Awaitility;
+import org.bson.Document;
+import org.testng.annotations.Test;
+
+import static dev.morphia.aggregation.expressions.ComparisonExpressions.eq;
+import static dev.morphia.aggregation.expressions.ComparisonExpressions.gt;
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.expressions.Expressions.literal;
+import static dev.morphia.aggregation.expressions.Expressions.value;
+import static dev.morphia.query.filters.Filters.expr;
+import static dev.morphia.query.filters.Filters.gt;
+import static dev.morphia.query.filters.Filters.or;
+import static dev.morphia.query.filters.Filters.where;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestChangeWatcher extends TestBase {
+    @Test
+    public void testPipeline() {
+        ChangeWatcher<Rectangle> watcher = getDs().watch(Rectangle.class)
+                .filter(or(gt("width", 1), gt("height", 2)))
+                .operationTypes(OperationType.INSERT, OperationType.REPLACE);
+
+        assertEquals(watcher.pipeline(), List.of(Document.parse("{$match: {$or: [{'fullDocument.width': {$gt: 1}}, "
+                + "{'fullDocument.height': {$gt: 2}}], operationType: {$in: ['insert', 'replace']}}}")));
+        assertEquals(getDs().watch(Rectangle.class).pipeline(), List.of());
+
+        assertEquals(getDs().watch(Rectangle.class)
+                .filter(expr(gt(field("width"), field("height"))))
+                .pipeline(), List.of(Document.parse("{$match: {$expr: {$gt: ['$fullDocument.width', '$fullDocument.height']}}}")));
+        assertEquals(getDs().watch(Rectangle.class)
+                .filter(expr(eq(value("$$ROOT.width"), literal("$width"))))
+                .pipeline(), List.of(Document.parse("{$match: {$expr: {$eq: ['$fullDocument.width', {$literal: '$width'}]}}}")));
+        assertThrows(UnsupportedOperationException.class, () -> getDs().watch(Rectangle.class)
+                .filter(where("this.width > 1"))
+                .pipeline());
+    }
+
+    @Test
+    public void testIdleCheckpoints() {
+        checkForReplicaSet();
+        getDs().getMapper().map(Rectangle.class);
+        CheckpointStore store = CheckpointStore.collection(getDs(), "checkpoints");
+
+        Watch watch = getDs().watch(Rectangle.class)
+                .filter(gt("width", 100))
+                .checkpoints(store, "idle")
+                .maxAwaitTime(100, MILLISECONDS)
+                .start(changes -> {
+                });
+        try {
+            // nothing matches but the watcher still records how far it has read
+            getDs().save(new Rectangle(1, 1));
+            Awaitility.await().atMost(10, SECONDS).until(() -> store.load("idle") != null);
+        } finally {
+            watch.close();
+        }
+        assertNull(watch.getFailure());
+    }
+
+    @Test
+    public void testWatch() throws InterruptedException {
+        checkForReplicaSet();
+        getDs().getMapper().map(Rectangle.class);
+        CheckpointStore store = CheckpointStore.collection(getDs(), "checkpoints");
+
+        BlockingQueue<ChangeStreamDocument<Rectangle>> changes = new LinkedBlockingQueue<>();
+        Watch watch = getDs().watch(Rectangle.class)
+                .filter(gt("width", 1))
+                .checkpoints(store, "rectangles")
+                .start(changes::addAll);
+        try {
+            getDs().save(List.of(new Rectangle(1, 1), new Rectangle(1, 5)));
+            ChangeStreamDocument<Rectangle> change = changes.poll(10, SECONDS);
+            assertNotNull(change);
+            assertEquals(change.getOperationType(), OperationType.INSERT);
+            assertEquals(change.getFullDocument().getWidth(), 5.0);
+        } finally {
+            watch.close();
+        }
+        assertTrue(watch.awaitTermination(10, SECONDS));
+        assertNull(watch.getFailure());
+        assertNotNull(store.load("rectangles"));
+
+        getDs().save(new Rectangle(1, 7));
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Rectangle>> cursor = getDs().watch(Rectangle.class)
+                .filter(gt("width", 1))
+                .checkpoints(store, "rectangles")
+                .cursor()) {
+            assertEquals(cursor.next().getFullDocument().getWidth(), 7.0);
+        }
+    }
+}
@@ -13,17 +13,32 @@
 
 package dev.morphia.test;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mongodb.MongoException;
+
 import dev.morphia.Datastore;
 import dev.morphia.InsertOneOptions;
+import dev.morphia.annotations.AlsoLoad;
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
+import dev.morphia.annotations.LoadOnly;
 import dev.morphia.annotations.Version;
+import dev.morphia.mapping.codec.pojo.EntitySnapshots;
+import dev.morphia.transactions.SessionDatastore;
 
+import org.bson.BsonDocument;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import static dev.morphia.query.filters.Filters.eq;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 
 public class TestDatastoreMerge extends TestBase {
 
@@ -90,6 +105,166 @@ public class TestDatastoreMerge extends TestBase {
         Assert.assertEquals(te2.position, merge.position);
     }
 
+    @Test
+    public void testDirtyTracking() {
+        withTestConfig(buildConfig().dirtyTracking(true), List.of(Tracked.class), () -> {
+            Tracked tracked = new Tracked();
+            tracked.name = "first";
+            tracked.count = 1;
+            tracked.nested = new Nested("old", 1);
+            getDs().save(tracked);
+
+            Tracked loaded = getDs().find(Tracked.class).first();
+            assertNotNull(getDs().getSnapshots().get(loaded));
+
+            // changes made elsewhere to fields this entity doesn't change should survive the update
+            getDs().getCollection(Tracked.class).withDocumentClass(Document.class)
+                    .updateOne(new Document("_id", tracked.id), new Document("$set", new Document("name", "elsewhere")
+                            .append("nested.size", 2)));
+
+            loaded.count = 2;
+            loaded.nested.label = "new";
+            getDs().update(loaded);
+            assertEquals(loaded.version, 2L);
+
+            Tracked found = getDs().find(Tracked.class).first();
+            assertEquals(found.name, "elsewhere");
+            assertEquals(found.count, 2);
+            assertEquals(found.nested.label, "new");
+            assertEquals(found.nested.size, 2);
+
+            // nothing has changed so no update is sent and the version is left alone
+            getDs().update(found);
+            assertEquals(found.version, 2L);
+
+            found.name = null;
+            Tracked merged = getDs().merge(found, new InsertOneOptions().unsetMissing(true));
+            assertNull(merged.name);
+            assertEquals(merged.count, 2);
+        });
+    }
+
+    @Test
+    public void testDirtyTrackingLeavesUnwrittenFields() {
+        withTestConfig(buildConfig().dirtyTracking(true), List.of(Legacy.class), () -> {
+            ObjectId id = new ObjectId();
+            getDs().getCollection(Legacy.class).withDocumentClass(Document.class)
+                    .insertOne(new Document("_id", id)
+                            .append("title", "old title")
+                            .append("notes", "only loaded")
+                            .append("unmapped", "kept")
+                            .append("count", 1));
+
+            Legacy loaded = getDs().find(Legacy.class).first();
+            assertEquals(loaded.name, "old title");
+            assertEquals(loaded.notes, "only loaded");
+            loaded.count = 2;
+            getDs().update(loaded);
+
+            Document stored = getDs().getCollection(Legacy.class).withDocumentClass(Document.class).find().first();
+            assertEquals(stored.get("title"), "old title");
+            assertEquals(stored.get("name"), "old title");
+            assertEquals(stored.get("notes"), "only loaded");
+            assertEquals(stored.get("unmapped"), "kept");
+            assertEquals(stored.get("count"), 2);
+        });
+    }
+
+    @Test
+    public void testDirtyTrackingMergeSetsEmbedded() {
+        withTestConfig(buildConfig().dirtyTracking(true), List.of(Tracked.class), () -> {
+            Tracked tracked = new Tracked();
+            tracked.nested = new Nested("old", 1);
+            getDs().save(tracked);
+
+            Tracked loaded = getDs().find(Tracked.class).first();
+            getDs().getCollection(Tracked.class).withDocumentClass(Document.class)
+                    .updateOne(new Document("_id", tracked.id), new Document("$set", new Document("nested.size", 2)));
+
+            // merge writes embedded values as a whole like it does for untracked entities
+            loaded.nested.label = "new";
+            Tracked merged = getDs().merge(loaded);
+            assertEquals(merged.nested.label, "new");
+            assertEquals(merged.nested.size, 1);
+        });
+    }
+
+    @Test
+    public void testDirtyTrackingInSessions() {
+        withTestConfig(buildConfig().dirtyTracking(true), List.of(Tracked.class), () -> {
+            Tracked tracked = new Tracked();
+            tracked.name = "first";
+            getDs().save(tracked);
+            Tracked outside = getDs().find(Tracked.class).first();
+
+            Tracked inside;
+            try (SessionDatastore session = getDs().startSession()) {
+                inside = session.find(Tracked.class).first();
+                assertNotNull(session.getSnapshots().get(inside));
+                assertNull(getDs().getSnapshots().get(inside));
+                // entities loaded outside the session are still tracked within it
+                assertNotNull(session.getSnapshots().get(outside));
+
+                session.save(outside);
+                assertNull(session.getSnapshots().get(outside));
+                assertNotNull(getDs().getSnapshots().get(outside));
+            }
+            assertNotNull(getDs().getSnapshots().get(inside));
+            assertNull(getDs().getSnapshots().get(outside));
+        });
+    }
+
+    @Test
+    public void testDirtyTrackingRetriedTransactions() {
+        checkForReplicaSet();
+        withTestConfig(buildConfig().dirtyTracking(true), List.of(Merger.class), () -> {
+            Merger merger = new Merger();
+            merger.name = "first";
+            getDs().save(merger);
+            Merger loaded = getDs().find(Merger.class).first();
+
+            AtomicInteger attempts = new AtomicInteger();
+            getDs().withTransaction(session -> {
+                loaded.name = "second";
+                session.update(loaded);
+                if (attempts.incrementAndGet() == 1) {
+                    // the driver aborts the transaction and runs the body again
+                    MongoException exception = new MongoException("transient");
+                    exception.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+                    throw exception;
+                }
+                return null;
+            });
+
+            assertEquals(attempts.get(), 2);
+            assertEquals(getDs().find(Merger.class).first().name, "second");
+        });
+    }
+
+    @Test
+    public void testDiff() {
+        BsonDocument before = BsonDocument.parse("{_id: 1, name: 'a', count: 1, nested: {label: 'x', size: 1}, tags: ['a']}");
+        BsonDocument after = BsonDocument.parse("{_id: 1, name: 'a', count: 2, nested: {label: 'x', size: 2}, tags: ['a', 'b']}");
+        Set<String> names = Set.of("name", "count", "nested", "tags");
+
+        assertEquals(diff(before, after, names, true), Document.parse("{$set: {count: 2, 'nested.size': 2, tags: ['a', 'b']}}"));
+        assertEquals(diff(before, after, names, false),
+                Document.parse("{$set: {count: 2, nested: {label: 'x', size: 2}, tags: ['a', 'b']}}"));
+        assertEquals(diff(before, before, names, true), new Document());
+        assertEquals(diff(after, BsonDocument.parse("{_id: 1, count: 2}"), names, true),
+                Document.parse("{$unset: {name: '', nested: '', tags: ''}}"));
+        assertEquals(diff(after, BsonDocument.parse("{_id: 1, count: 2}"), Set.of("name"), true),
+                Document.parse("{$unset: {name: ''}}"));
+        assertEquals(diff(after, BsonDocument.parse("{_id: 1, count: 2}"), Set.of(), true), new Document());
+        // embedded documents which lose a field are set whole rather than partially unset
+        assertEquals(diff(after, BsonDocument.parse("{_id: 1, count: 2, nested: {label: 'y'}}"), Set.of(), true),
+                Document.parse("{$set: {nested: {label: 'y'}}}"));
+    }
+
+    private static Document diff(BsonDocument before, BsonDocument after, Set<String> unset, boolean nested) {
+        return Document.parse(EntitySnapshots.diff(before, after, unset, nested).toJson());
+    }
+
     @Entity
     private static class Merger {
         @Id
@@ -116,4 +291,40 @@ public class TestDatastoreMerge extends TestBase {
         @Version
         long version;
     }
+
+    @Entity
+    private static class Tracked {
+        @Id
+        private ObjectId id;
+        private String name;
+        private int count;
+        private Nested nested;
+        @Version
+        private long version;
+    }
+
+    @Entity
+    private static class Legacy {
+        @Id
+        private ObjectId id;
+        @AlsoLoad("title")
+        private String name;
+        @LoadOnly
+        private String notes;
+        private int count;
+    }
+
+    @Entity
+    private static class Nested {
+        private String label;
+        private int size;
+
+        Nested() {
+        }
+
+        Nested(String label, int size) {
+            this.label = label;
+            this.size = size;
+        }
+    }
 }
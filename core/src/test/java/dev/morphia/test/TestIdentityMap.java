@@ -0,0 +1,144 @@
+package dev.morphia.test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dev.morphia.IdentityMap;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Reference;
+import dev.morphia.query.FindOptions;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.filters.Filters.eq;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+
+public class TestIdentityMap extends TestBase {
+    public TestIdentityMap() {
+        super(buildConfig(Product.class, LineItem.class));
+    }
+
+    @Test
+    public void bounded() {
+        IdentityMap map = IdentityMap.bounded(2);
+        map.putIfAbsent("products", 1, "one");
+        map.putIfAbsent("products", 2, "two");
+        map.get("products", 1);
+        map.putIfAbsent("products", 3, "three");
+
+        assertEquals(map.size(), 2);
+        assertEquals(map.get("products", 1), "one");
+        assertNull(map.get("products", 2));
+        assertEquals(map.putIfAbsent("products", 3, "other"), "three");
+        assertThrows(IllegalArgumentException.class, () -> IdentityMap.bounded(0));
+    }
+
+    @Test
+    public void queries() {
+        Product product = new Product("widget");
+        getDs().save(product);
+
+        IdentityMap map = IdentityMap.weak();
+        FindOptions options = new FindOptions().identityMap(map);
+        Product first = getDs().find(Product.class).filter(eq("_id", product.id)).first(options);
+        Product second = getDs().find(Product.class).first(options);
+
+        assertSame(second, first);
+        assertNotSame(getDs().find(Product.class).first(), first);
+
+        FindOptions projected = new FindOptions().identityMap(IdentityMap.weak());
+        projected.projection().include("_id");
+        assertNull(getDs().find(Product.class).first(projected).name);
+    }
+
+    @Test
+    public void references() {
+        Product product = new Product("widget");
+        getDs().save(product);
+        for (int i = 0; i < 5; i++) {
+            getDs().save(new LineItem(product));
+        }
+
+        IdentityMap map = IdentityMap.bounded(100);
+        List<LineItem> items = getDs().find(LineItem.class).iterator(new FindOptions().identityMap(map)).toList();
+        assertEquals(items.size(), 5);
+        for (LineItem item : items) {
+            assertSame(item.product, items.get(0).product);
+            assertEquals(item.lazyProduct.getName(), "widget");
+        }
+
+        // references are resolved from the map without going back to the server
+        getDs().find(Product.class).delete();
+        LineItem item = getDs().find(LineItem.class).first(new FindOptions().identityMap(map));
+        assertSame(item.product, items.get(0).product);
+    }
+
+    @Test
+    public void parallelDecoding() {
+        Product product = new Product("widget");
+        getDs().save(product);
+        for (int i = 0; i < 5; i++) {
+            getDs().save(new LineItem(product));
+        }
+
+        IdentityMap map = IdentityMap.bounded(100);
+        Product held = getDs().find(Product.class).first(new FindOptions().identityMap(map));
+
+        // references fetched on the decoding threads are resolved from the map
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<LineItem> items = getDs().find(LineItem.class)
+                    .iterator(new FindOptions().identityMap(map).parallelDecode(executor, false))
+                    .toList();
+            assertEquals(items.size(), 5);
+            for (LineItem item : items) {
+                assertSame(item.product, held);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Entity
+    public static class Product {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        public Product() {
+        }
+
+        Product(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Entity
+    public static class LineItem {
+        @Id
+        private ObjectId id;
+        @Reference
+        private Product product;
+        @Reference(lazy = true)
+        private Product lazyProduct;
+
+        LineItem() {
+        }
+
+        LineItem(Product product) {
+            this.product = product;
+            this.lazyProduct = product;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package dev.morphia.test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import dev.morphia.Datastore;
+import dev.morphia.Morphia;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.Query;
+import dev.morphia.query.QueryLog;
+import dev.morphia.test.models.Rectangle;
+
+import org.bson.Document;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.filters.Filters.gt;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestQueryLog extends TestBase {
+    @Test
+    public void testQueryLog() {
+        QueryLog log = new QueryLog(2);
+        try (MongoClient client = MongoClients.create(getMongoHolder().settings().addCommandListener(log).build())) {
+            Datastore datastore = Morphia.createDatastore(client, buildConfig(Rectangle.class), log);
+            datastore.save(List.of(new Rectangle(1, 1), new Rectangle(1, 5), new Rectangle(1, 10)));
+            assertTrue(log.entries().isEmpty());
+
+            Query<Rectangle> query = datastore.find(Rectangle.class).filter(gt("width", 2));
+            FindOptions options = new FindOptions().logQuery();
+            assertEquals(query.iterator(options).toList().size(), 2);
+            assertEquals(Document.parse(query.getLoggedQuery()), Document.parse("{width: {$gt: 2}}"));
+
+            List<QueryLog.Entry> entries = log.entries();
+            assertEquals(entries.size(), 1);
+            QueryLog.Entry entry = entries.get(0);
+            assertEquals(entry.getCommandName(), "find");
+            assertEquals(entry.getResults(), 2);
+            assertNull(entry.getFailure());
+            assertTrue(entry.getDuration(TimeUnit.NANOSECONDS) > 0);
+
+            for (int i = 0; i < 3; i++) {
+                query.iterator(new FindOptions().comment("count " + i)).toList();
+            }
+            assertEquals(log.entries().size(), 2);
+            assertEquals(log.entries().get(0).getComment(), "count 1");
+            assertEquals(log.entries("count 2").size(), 1);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new QueryLog(0));
+    }
+}
@@ -10,7 +10,9 @@ import com.mongodb.client.result.UpdateResult;
 
 import dev.morphia.Datastore;
 import dev.morphia.DeleteOptions;
+import dev.morphia.InsertManyOptions;
 import dev.morphia.ModifyOptions;
+import dev.morphia.ReplaceOptions;
 import dev.morphia.UpdateOptions;
 import dev.morphia.VersionMismatchException;
 import dev.morphia.annotations.Entity;
@@ -42,6 +44,7 @@ import static dev.morphia.query.updates.UpdateOperators.inc;
 import static dev.morphia.query.updates.UpdateOperators.set;
 import static java.util.Arrays.asList;
 import static java.util.List.of;
+import static java.util.stream.Collectors.toList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertThrows;
@@ -296,6 +299,69 @@ public class TestVersioning extends TestBase {
         assertThrows(VersionMismatchException.class, () -> getDs().save(initial));
     }
 
+    @Test
+    public void testBulkSaves() {
+        List<VersionedType> entities = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            VersionedType entity = new VersionedType();
+            entity.text = "entity " + i;
+            entities.add(entity);
+        }
+        getDs().save(entities);
+
+        Query<VersionedType> query = getDs().find(VersionedType.class);
+        List<VersionedType> stale = query.iterator(new FindOptions().sort(Sort.ascending("text"))).toList();
+        List<VersionedType> current = query.iterator(new FindOptions().sort(Sort.ascending("text"))).toList();
+        getDs().save(List.of(current.get(1), current.get(3)));
+
+        stale.forEach(entity -> entity.text += " updated");
+        VersionMismatchException mismatch = Assert.expectThrows(VersionMismatchException.class,
+                () -> getDs().save(stale, new InsertManyOptions().ordered(false).batchSize(2)));
+        assertTrue(mismatch.getMessage().contains(stale.get(1).id.toString()));
+        assertEquals(mismatch.getSuppressed().length, 1);
+        assertTrue(mismatch.getSuppressed()[0].getMessage().contains(stale.get(3).id.toString()));
+
+        assertEquals(stale.stream().map(entity -> entity.version).collect(toList()), List.of(2L, 1L, 2L, 1L, 2L));
+        for (VersionedType entity : query.iterator(new FindOptions().sort(Sort.ascending("text"))).toList()) {
+            assertEquals(entity.version, 2L);
+            assertEquals(entity.text.endsWith(" updated"), !entity.id.equals(stale.get(1).id) && !entity.id.equals(stale.get(3).id));
+        }
+    }
+
+    @Test
+    public void testBulkReplace() {
+        List<VersionedType> entities = List.of(new VersionedType(), new VersionedType(), new VersionedType());
+        getDs().save(entities);
+
+        entities.forEach(entity -> entity.text = "replaced");
+        getDs().replace(entities, new ReplaceOptions().batchSize(2));
+        for (VersionedType entity : getDs().find(VersionedType.class).iterator().toList()) {
+            assertEquals(entity.version, 2L);
+            assertEquals(entity.text, "replaced");
+        }
+
+        getDs().delete(entities.get(2));
+        assertThrows(VersionMismatchException.class, () -> getDs().replace(entities));
+        assertEquals(entities.get(2).version, 2L);
+        assertEquals(getDs().find(VersionedType.class).count(), 2);
+        assertEquals(getDs().find(VersionedType.class).filter(eq("version", 3L)).count(), 2);
+    }
+
+    @Test
+    public void testBulkSaveDeleted() {
+        List<VersionedType> entities = List.of(new VersionedType(), new VersionedType(), new VersionedType());
+        getDs().save(entities);
+        getDs().delete(entities.get(0));
+
+        VersionMismatchException mismatch = Assert.expectThrows(VersionMismatchException.class,
+                () -> getDs().save(entities, new InsertManyOptions().ordered(false)));
+        assertTrue(mismatch.getMessage().contains(entities.get(0).id.toString()));
+        assertEquals(entities.stream().map(entity -> entity.version).collect(toList()), List.of(1L, 2L, 2L));
+        // the deleted document is not recreated
+        assertEquals(getDs().find(VersionedType.class).count(), 2);
+        assertEquals(getDs().find(VersionedType.class).filter(eq("version", 2L)).count(), 2);
+    }
+
     @Test
     public void testPrimitive() {
         Primitive Primitive = new Primitive();
@@ -5,10 +5,12 @@ import java.time.format.DateTimeFormatter;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import dev.morphia.InsertOneOptions;
 import dev.morphia.aggregation.Aggregation;
 import dev.morphia.aggregation.AggregationOptions;
+import dev.morphia.aggregation.PreparedAggregation;
 import dev.morphia.aggregation.stages.Group;
 import dev.morphia.query.MorphiaCursor;
 import dev.morphia.test.TestBase;
@@ -22,6 +24,7 @@ import dev.morphia.test.models.User;
 import dev.morphia.test.models.geo.GeoCity;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -31,6 +34,7 @@ import static dev.morphia.aggregation.expressions.DateExpressions.dateToString;
 import static dev.morphia.aggregation.expressions.DateExpressions.month;
 import static dev.morphia.aggregation.expressions.DateExpressions.year;
 import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.expressions.Expressions.parameter;
 import static dev.morphia.aggregation.expressions.Expressions.value;
 import static dev.morphia.aggregation.stages.Group.group;
 import static dev.morphia.aggregation.stages.Group.id;
@@ -42,6 +46,7 @@ import static java.util.Arrays.asList;
 import static java.util.List.of;
 import static java.util.stream.Collectors.groupingBy;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
 
 @SuppressWarnings({ "unused", "RedundantSuppression" })
 public class TestAggregation extends TestBase {
@@ -141,6 +146,36 @@ public class TestAggregation extends TestBase {
         assertEquals(pipeline.execute(Document.class).next().getInteger("count"), valueOf(4));
     }
 
+    @Test
+    public void testPreparedAggregation() {
+        getDs().save(asList(new Book("The Banquet", "Dante", 2),
+                new Book("Divine Comedy", "Dante", 1),
+                new Book("Eclogues", "Dante", 2),
+                new Book("The Odyssey", "Homer", 10),
+                new Book("Iliad", "Homer", 10)));
+
+        PreparedAggregation<Book> prepared = getDs().aggregate(Book.class)
+                .match(gte("copies", parameter("min")))
+                .sort(sort().ascending("title"))
+                .prepare();
+        assertEquals(prepared.getParameters(), Set.of("min"));
+
+        assertEquals(prepared.execute(Book.class, Map.of("min", 2)).toList().size(), 4);
+        assertEquals(prepared.execute(Book.class, Map.of("min", 10)).toList().size(), 2);
+        assertEquals(prepared.execute(Book.class, new AggregationOptions(), Map.of("min", 1)).toList().size(), 5);
+
+        assertThrows(IllegalArgumentException.class, () -> prepared.execute(Book.class, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> prepared.execute(Book.class, Map.of("min", 1, "max", 2)));
+
+        // parameters only take values once prepared
+        assertThrows(IllegalArgumentException.class, () -> getDs().aggregate(Book.class)
+                .match(gte("copies", parameter("min")))
+                .execute(Book.class));
+
+        List<Bson> stages = getDs().aggregate(Book.class).sort(sort().ascending("title")).prepare().bind(Map.of());
+        assertThrows(UnsupportedOperationException.class, stages::clear);
+    }
+
     @Test
     public void testResultTypes() {
         Martian martian = new Martian();
@@ -26,8 +26,10 @@ import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
 import dev.morphia.annotations.Property;
 import dev.morphia.internal.PathTarget;
+import dev.morphia.internal.ResolvedPaths;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.query.ValidationException;
 import dev.morphia.test.TestBase;
 import dev.morphia.test.models.City;
 import dev.morphia.test.models.CityPopulation;
@@ -61,6 +63,34 @@ public class PathTargetTest extends TestBase {
         });
     }
 
+    @Test
+    public void cachesResolution() {
+        withTestConfig(List.of(State.class, CityPopulation.class), () -> {
+            Mapper mapper = getMapper();
+            ResolvedPaths cache = mapper.getResolvedPaths();
+            cache.clear();
+
+            PathTarget first = new PathTarget(mapper, State.class, "biggestCity.population");
+            Assert.assertEquals(first.translatedPath(), "biggestCity.pop");
+            Assert.assertEquals(cache.size(), 1);
+
+            PathTarget second = new PathTarget(mapper, State.class, "biggestCity.population");
+            Assert.assertEquals(second.translatedPath(), "biggestCity.pop");
+            Assert.assertSame(second.target(), first.target());
+            Assert.assertEquals(cache.size(), 1);
+
+            new PathTarget(mapper, State.class, "biggestCity.population", false).translatedPath();
+            Assert.assertEquals(cache.size(), 2);
+
+            Assert.assertThrows(ValidationException.class,
+                    () -> new PathTarget(mapper, State.class, "biggestCity.missing").translatedPath());
+            Assert.assertEquals(cache.size(), 2);
+
+            mapper.map(City.class);
+            Assert.assertEquals(cache.size(), 0);
+        });
+    }
+
     @Test
     public void disableValidation() {
         withTestConfig(List.of(FatherEntity.class), () -> {
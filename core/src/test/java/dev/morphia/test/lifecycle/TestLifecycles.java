@@ -24,6 +24,7 @@ import dev.morphia.annotations.PreLoad;
 import dev.morphia.annotations.PrePersist;
 import dev.morphia.annotations.Transient;
 import dev.morphia.mapping.DateStorage;
+import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.query.FindOptions;
 import dev.morphia.test.TestBase;
@@ -153,6 +154,25 @@ public class TestLifecycles extends TestBase {
         Assert.assertTrue(reloaded.isPersistent());
     }
 
+    @Test
+    public void documentOnlyMaterializedWhenRequested() {
+        EntityModel streaming = getMapper().getEntityModel(SomeEntity.class);
+        assertFalse(streaming.requiresDocument(PostPersist.class, getMapper()));
+        assertFalse(streaming.requiresDocument(PostLoad.class, getMapper()));
+
+        EntityModel materialized = getMapper().getEntityModel(DocumentHolder.class);
+        assertTrue(materialized.requiresDocument(PrePersist.class, getMapper()));
+        assertFalse(materialized.requiresDocument(PostLoad.class, getMapper()));
+
+        DocumentHolder holder = new DocumentHolder();
+        getDs().save(holder);
+        DocumentHolder loaded = getDs().find(DocumentHolder.class)
+                .filter(eq("_id", holder.id))
+                .first();
+        Assert.assertEquals(loaded.stamp, "stamped");
+        assertTrue(loaded.loaded);
+    }
+
     @Test
     public void testWithGeoJson() {
         final Polygon polygon = new Polygon(
@@ -288,6 +308,25 @@ public class TestLifecycles extends TestBase {
         }
     }
 
+    @Entity
+    private static class DocumentHolder {
+        @Id
+        private ObjectId id;
+        private String stamp;
+        @Transient
+        private boolean loaded;
+
+        @PrePersist
+        void stamp(Document document) {
+            document.put("stamp", "stamped");
+        }
+
+        @PostLoad
+        void loaded() {
+            loaded = true;
+        }
+    }
+
     @Entity
     private static class SomeEntity {
         @Id
@@ -0,0 +1,79 @@
+package dev.morphia.test.mapping;
+
+import java.util.List;
+import java.util.UUID;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.mapping.PropertyDiscovery;
+import dev.morphia.mapping.codec.FieldHandleAccessor;
+import dev.morphia.mapping.codec.LambdaMethodAccessor;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.test.TestBase;
+import dev.morphia.test.models.methods.MethodMappedSpecializedEntity;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.mapping.AccessorStrategy.HANDLES;
+import static dev.morphia.query.filters.Filters.eq;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestAccessorStrategy extends TestBase {
+    @Test
+    public void fields() {
+        withTestConfig(buildConfig().accessorStrategy(HANDLES), List.of(HandleEntity.class), () -> {
+            EntityModel model = getMapper().getEntityModel(HandleEntity.class);
+            assertTrue(model.getProperty("count").getAccessor() instanceof FieldHandleAccessor);
+            assertTrue(model.getProperty("name").getAccessor() instanceof FieldHandleAccessor);
+
+            HandleEntity entity = new HandleEntity(42, "handles");
+            getDs().save(entity);
+
+            HandleEntity loaded = getDs().find(HandleEntity.class)
+                    .filter(eq("_id", entity.id))
+                    .first();
+            assertEquals(loaded.count, 42);
+            assertEquals(loaded.name, "handles");
+            assertEquals(loaded.flags, entity.flags);
+        });
+    }
+
+    @Test
+    public void methods() {
+        withConfig(buildConfig(MethodMappedSpecializedEntity.class)
+                .propertyDiscovery(PropertyDiscovery.METHODS)
+                .accessorStrategy(HANDLES), () -> {
+                    EntityModel model = getMapper().getEntityModel(MethodMappedSpecializedEntity.class);
+                    assertTrue(model.getProperty("test").getAccessor() instanceof LambdaMethodAccessor);
+
+                    MethodMappedSpecializedEntity entity = new MethodMappedSpecializedEntity();
+                    entity.setId(UUID.randomUUID());
+                    entity.setTest(UUID.randomUUID());
+                    getDs().save(entity);
+
+                    MethodMappedSpecializedEntity loaded = getDs().find(MethodMappedSpecializedEntity.class)
+                            .filter(eq("_id", entity.getId()))
+                            .first();
+                    assertEquals(loaded.getTest(), entity.getTest());
+                });
+    }
+
+    @Entity
+    private static class HandleEntity {
+        @Id
+        private ObjectId id;
+        private int count;
+        private String name;
+        private long[] flags = { 1, 2, 3 };
+
+        HandleEntity() {
+        }
+
+        HandleEntity(int count, String name) {
+            this.count = count;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.morphia.test.mapping;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.test.TestBase;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class TestEntityIndex extends TestBase {
+    private static final String PACKAGE = "dev.morphia.test.mapping.indexed";
+
+    @Test
+    @SuppressWarnings("removal")
+    public void combinesIndexesWithScanning() throws IOException {
+        Path indexed = Files.createTempDirectory("indexed");
+        Path scanned = Files.createTempDirectory("scanned");
+        defineEntity(indexed, PACKAGE + ".Listed");
+        defineEntity(indexed, PACKAGE + ".Unlisted");
+        defineEntity(scanned, PACKAGE + ".Scanned");
+        Path index = indexed.resolve(Mapper.ENTITY_INDEX);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, PACKAGE + ".Listed\n");
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { indexed.toUri().toURL(), scanned.toUri().toURL() },
+                getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+            Mapper mapper = new Mapper(getMapper().getConfig());
+            mapper.mapPackage(PACKAGE);
+
+            // the indexed element only contributes the types it lists while the other one is scanned
+            assertEquals(mapper.getMappedEntities().stream()
+                    .map(EntityModel::getType)
+                    .map(Class::getName)
+                    .sorted()
+                    .collect(Collectors.toList()), List.of(PACKAGE + ".Listed", PACKAGE + ".Scanned"));
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    private static void defineEntity(Path root, String name) throws IOException {
+        new ByteBuddy()
+                .subclass(Object.class)
+                .name(name)
+                .modifiers(Visibility.PUBLIC)
+                .annotateType(AnnotationDescription.Builder.ofType(Entity.class).build())
+                .defineField("id", ObjectId.class, Visibility.PRIVATE)
+                .annotateField(AnnotationDescription.Builder.ofType(Id.class).build())
+                .make()
+                .saveIn(new File(root.toString()));
+    }
+}
@@ -0,0 +1,202 @@
+package dev.morphia.test.mapping;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import dev.morphia.Datastore;
+import dev.morphia.Morphia;
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.annotations.AlsoLoad;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Property;
+import dev.morphia.annotations.Version;
+import dev.morphia.mapping.DiscriminatorFunction;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.MappingSnapshotImporter;
+import dev.morphia.mapping.NamingStrategy;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.MappingSnapshot;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.test.TestBase;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.filters.Filters.eq;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TestMappingSnapshot extends TestBase {
+    @Test
+    public void restoresModels() {
+        withTestConfig(List.of(Shape.class, Square.class), () -> {
+            Mapper mapper = new Mapper(getMapper().getConfig());
+            List<EntityModel> restored = snapshot().restore(mapper);
+
+            assertEquals(restored.size(), 2);
+            for (Class<?> type : List.of(Shape.class, Square.class)) {
+                EntityModel expected = getMapper().getEntityModel(type);
+                EntityModel actual = mapper.getEntityModel(type);
+                assertEquals(actual.getCollectionName(), expected.getCollectionName());
+                assertEquals(actual.getDiscriminator(), expected.getDiscriminator());
+                assertEquals(actual.getDiscriminatorKey(), expected.getDiscriminatorKey());
+                assertEquals(actual.getIdProperty().getName(), expected.getIdProperty().getName());
+                assertEquals(actual.getVersionProperty().getName(), expected.getVersionProperty().getName());
+                assertEquals(actual.getProperties().size(), expected.getProperties().size());
+                for (PropertyModel property : expected.getProperties()) {
+                    PropertyModel match = actual.getProperty(property.getName());
+                    assertNotNull(match, property.getName());
+                    assertEquals(match.getMappedName(), property.getMappedName());
+                    assertEquals(match.getLoadNames(), property.getLoadNames());
+                    assertEquals(match.getTypeData(), property.getTypeData());
+                }
+            }
+            assertSame(mapper.getEntityModel(Square.class).getSuperClass(), mapper.getEntityModel(Shape.class));
+        });
+    }
+
+    @Test(expectedExceptions = MappingException.class)
+    public void rejectsChangedConfiguration() {
+        withTestConfig(List.of(Shape.class, Square.class), () -> {
+            snapshot().restore(new Mapper(getMapper().getConfig().propertyNaming(NamingStrategy.snakeCase())));
+        });
+    }
+
+    @Test(expectedExceptions = MappingException.class)
+    public void rejectsChangedDiscriminators() {
+        withTestConfig(List.of(Shape.class, Square.class), () -> {
+            snapshot().restore(new Mapper(getMapper().getConfig().discriminator(DiscriminatorFunction.className())));
+        });
+    }
+
+    @Test(expectedExceptions = MappingException.class)
+    public void rejectsChangedNamingWithSameSample() {
+        withTestConfig(List.of(Shape.class, Square.class), () -> {
+            // camelCase and identity name "mappingSnapshot" the same way
+            snapshot().restore(new Mapper(getMapper().getConfig().propertyNaming(NamingStrategy.camelCase())));
+        });
+    }
+
+    @Test(expectedExceptions = MappingException.class)
+    public void rejectsChangedTypes() {
+        withTestConfig(List.of(Shape.class, Square.class), () -> {
+            try {
+                // Circle has the same members as Square but different annotations. The names are the same length so the snapshot
+                // stays readable.
+                byte[] changed = new String(write(), ISO_8859_1)
+                        .replace(Square.class.getName(), Circle.class.getName())
+                        .getBytes(ISO_8859_1);
+                MappingSnapshot.read(new ByteArrayInputStream(changed)).restore(new Mapper(getMapper().getConfig()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Test
+    public void importsSnapshots() {
+        withTestConfig(List.of(Shape.class, Square.class), () -> {
+            ClassLoader original = Thread.currentThread().getContextClassLoader();
+            try {
+                Path root = Files.createTempDirectory("snapshot");
+                Path file = root.resolve(MappingSnapshotImporter.SNAPSHOT_FILE);
+                Files.createDirectories(file.getParent());
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    assertEquals(getDs().writeMappingSnapshot(out), 2);
+                }
+
+                try (URLClassLoader loader = new URLClassLoader(new URL[] { root.toUri().toURL() }, original)) {
+                    Thread.currentThread().setContextClassLoader(loader);
+                    List<EntityModel> imported = new MappingSnapshotImporter().getModels(new Mapper(getMapper().getConfig()));
+                    assertEquals(imported.stream().map(EntityModel::getType).collect(toList()), List.of(Shape.class, Square.class));
+
+                    Datastore datastore = Morphia.createDatastore(getMongoClient(), getMapper().getConfig());
+                    Square square = new Square();
+                    square.name = "square";
+                    square.side = 4;
+                    square.tags = Map.of("colors", List.of("red", "blue"));
+                    datastore.save(square);
+
+                    Shape loaded = datastore.find(Shape.class).filter(eq("_id", square.id)).first();
+                    assertTrue(loaded instanceof Square);
+                    Square loadedSquare = (Square) loaded;
+                    assertEquals(loadedSquare.name, square.name);
+                    assertEquals(loadedSquare.side, square.side);
+                    assertEquals(loadedSquare.tags, square.tags);
+                    assertEquals(loadedSquare.version, 1L);
+
+                    EntityModel model = ((MorphiaDatastore) datastore).getMapper().getEntityModel(Square.class);
+                    getDatabase().getCollection("shapes").insertOne(new Document("_id", new ObjectId())
+                            .append(model.getDiscriminatorKey(), model.getDiscriminator())
+                            .append("title", "renamed")
+                            .append("length", 2));
+                    Square aliased = datastore.find(Square.class).filter(eq("side", 2)).first();
+                    assertEquals(aliased.name, "renamed");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                Thread.currentThread().setContextClassLoader(original);
+            }
+        });
+    }
+
+    private byte[] write() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            MappingSnapshot.write(getMapper(), out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappingSnapshot snapshot() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(MappingSnapshot.write(getMapper(), out), 2);
+            return MappingSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Entity("shapes")
+    private static class Shape {
+        @Id
+        private ObjectId id;
+        @AlsoLoad("title")
+        private String name;
+        @Version
+        private Long version;
+    }
+
+    private static class Circle extends Shape {
+        @Property("length")
+        private int side;
+        @AlsoLoad("labels")
+        private Map<String, List<String>> tags;
+    }
+
+    private static class Square extends Shape {
+        @Property("length")
+        private int side;
+        private Map<String, List<String>> tags;
+    }
+}
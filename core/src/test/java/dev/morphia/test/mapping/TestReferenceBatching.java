@@ -0,0 +1,149 @@
+package dev.morphia.test.mapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Reference;
+import dev.morphia.mapping.lazy.proxy.ReferenceException;
+import dev.morphia.metrics.MorphiaMetrics;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.Sort;
+import dev.morphia.test.TestBase;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+
+@Test(groups = "references")
+public class TestReferenceBatching extends TestBase {
+    @Test
+    public void batchesReferences() {
+        withTestConfig(buildConfig().referenceBatchSize(4), List.of(Customer.class, Order.class), () -> {
+            List<Customer> customers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                customers.add(new Customer("customer " + i));
+            }
+            getDs().save(customers);
+            for (int i = 0; i < 10; i++) {
+                getDs().save(new Order(i, customers.get(i % 3), customers.get((i + 1) % 3)));
+            }
+
+            List<Order> orders = getDs().find(Order.class)
+                    .iterator(new FindOptions().sort(Sort.ascending("number")))
+                    .toList();
+            assertEquals(orders.size(), 10);
+            for (Order order : orders) {
+                assertEquals(order.customer.name, customers.get(order.number % 3).name);
+                assertEquals(order.billing.name, customers.get((order.number + 1) % 3).name);
+            }
+            // both orders are in the first window so share the single fetched instance
+            assertSame(orders.get(0).customer, orders.get(3).customer);
+
+            Order first = getDs().find(Order.class).first(new FindOptions().sort(Sort.descending("number")));
+            assertNotNull(first);
+            assertEquals(first.customer.name, customers.get(0).name);
+        });
+    }
+
+    @Test
+    public void missingReferences() {
+        withTestConfig(buildConfig().referenceBatchSize(4), List.of(Customer.class, Order.class), () -> {
+            Customer customer = new Customer("saved");
+            getDs().save(customer);
+            getDs().save(new Order(1, customer, new Customer("never saved")));
+
+            Order order = getDs().find(Order.class).first();
+            assertEquals(order.customer.name, "saved");
+            assertNull(order.billing);
+
+            getDs().save(new Order(2, new Customer("never saved"), customer));
+            assertThrows(ReferenceException.class, () -> getDs().find(Order.class).iterator().toList());
+        });
+    }
+
+    @Test
+    public void missingReferencesAreNotFetchedAgain() {
+        AtomicInteger finds = new AtomicInteger();
+        MorphiaMetrics metrics = new MorphiaMetrics() {
+            @Override
+            public void operation(String operation, @Nullable String collection, @Nullable Class<?> type, long nanos, long documents,
+                    @Nullable Throwable failure) {
+                if (operation.equals("find") && Customer.class.equals(type)) {
+                    finds.incrementAndGet();
+                }
+            }
+        };
+        withTestConfig(buildConfig().referenceBatchSize(4).metrics(metrics), List.of(Customer.class, Order.class), () -> {
+            Customer customer = new Customer("saved");
+            getDs().save(customer);
+            for (int i = 0; i < 8; i++) {
+                getDs().save(new Order(i, customer, new Customer("never saved")));
+            }
+
+            List<Order> orders = getDs().find(Order.class).iterator().toList();
+            assertEquals(orders.size(), 8);
+            for (Order order : orders) {
+                assertEquals(order.customer.name, "saved");
+                assertNull(order.billing);
+            }
+            // one fetch per window of 4 orders
+            assertEquals(finds.get(), 2);
+        });
+    }
+
+    @Test
+    public void rejectsParallelDecoding() {
+        withTestConfig(buildConfig().referenceBatchSize(4), List.of(Customer.class, Order.class), () -> {
+            Customer customer = new Customer("saved");
+            getDs().save(customer);
+            getDs().save(new Order(1, customer, customer));
+
+            assertThrows(IllegalStateException.class, () -> getDs().find(Order.class)
+                    .iterator(new FindOptions().parallelDecode(true)));
+        });
+    }
+
+    @Entity
+    private static class Customer {
+        @Id
+        private final ObjectId id = new ObjectId();
+        private String name;
+
+        Customer() {
+        }
+
+        Customer(String name) {
+            this.name = name;
+        }
+    }
+
+    @Entity
+    private static class Order {
+        @Id
+        private ObjectId id;
+        private int number;
+        @Reference
+        private Customer customer;
+        @Reference(idOnly = true, ignoreMissing = true)
+        private Customer billing;
+
+        Order() {
+        }
+
+        Order(int number, Customer customer, Customer billing) {
+            this.number = number;
+            this.customer = customer;
+            this.billing = billing;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package dev.morphia.test.mapping.codec.pojo;
 
+import java.util.List;
+
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
 import dev.morphia.annotations.PostLoad;
@@ -43,6 +45,25 @@ public class DiscriminantLifecycleTest extends TestBase {
         Assert.assertEquals("embedded", saved.getEmbed().embeddedValue);
     }
 
+    @Test(dataProvider = "classes")
+    public void testDiscriminatorPosition(Class<?> baseClass, Class<?> childClass) {
+        Document embed = new Document("embeddedValue", "embedded")
+                .append("_t", Embed.class.getName());
+        Document trailing = new Document("embed", embed)
+                .append("_t", childClass.getName());
+        Document leading = new Document("_t", childClass.getName())
+                .append("embed", new Document("_t", Embed.class.getName()).append("embeddedValue", "embedded"));
+        getDatabase().getCollection("entity").insertMany(of(trailing, leading));
+
+        List<?> loaded = getDs().find(baseClass).iterator().toList();
+        Assert.assertEquals(loaded.size(), 2);
+        for (Object saved : loaded) {
+            Assert.assertTrue(childClass.isInstance(saved));
+            Assert.assertTrue(((Child) saved).getAudited());
+            Assert.assertEquals(((Child) saved).getEmbed().embeddedValue, "embedded");
+        }
+    }
+
     @Test(expectedExceptions = CodecConfigurationException.class, dataProvider = "classes")
     public void testWrongDiscriminator(Class<?> baseClass, Class<?> childClass) {
         Document entity = new Document("_t", "Nonsense");
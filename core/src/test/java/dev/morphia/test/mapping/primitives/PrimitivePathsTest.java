@@ -0,0 +1,89 @@
+package dev.morphia.test.mapping.primitives;
+
+import java.util.List;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PrimitiveKind;
+import dev.morphia.test.TestBase;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.filters.Filters.eq;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class PrimitivePathsTest extends TestBase {
+    @Test
+    public void kinds() {
+        withTestConfig(List.of(Sample.class), () -> {
+            EntityModel model = getMapper().getEntityModel(Sample.class);
+            getDs().getCodecRegistry().get(Sample.class);
+
+            assertEquals(model.getProperty("count").getPrimitiveKind(), PrimitiveKind.INT);
+            assertEquals(model.getProperty("total").getPrimitiveKind(), PrimitiveKind.LONG);
+            assertEquals(model.getProperty("average").getPrimitiveKind(), PrimitiveKind.DOUBLE);
+            assertEquals(model.getProperty("active").getPrimitiveKind(), PrimitiveKind.BOOLEAN);
+            assertNull(model.getProperty("wrapped").getPrimitiveKind());
+        });
+    }
+
+    @Test
+    public void roundTrip() {
+        withTestConfig(List.of(Sample.class), () -> {
+            Sample sample = new Sample();
+            sample.count = 42;
+            sample.total = Long.MAX_VALUE;
+            sample.average = 3.14;
+            sample.active = true;
+            sample.wrapped = 7;
+            getDs().save(sample);
+
+            Document document = getDatabase().getCollection("samples").find().first();
+            assertTrue(document.get("count") instanceof Integer);
+            assertTrue(document.get("total") instanceof Long);
+
+            Sample loaded = getDs().find(Sample.class)
+                    .filter(eq("_id", sample.id))
+                    .first();
+            assertEquals(loaded.count, 42);
+            assertEquals(loaded.total, Long.MAX_VALUE);
+            assertEquals(loaded.average, 3.14);
+            assertTrue(loaded.active);
+            assertEquals(loaded.wrapped, Integer.valueOf(7));
+        });
+    }
+
+    @Test
+    public void mismatchedStorageTypes() {
+        withTestConfig(List.of(Sample.class), () -> {
+            ObjectId id = new ObjectId();
+            getDatabase().getCollection("samples").insertOne(new Document("_id", id)
+                    .append("count", 42L)
+                    .append("total", 12)
+                    .append("average", 2));
+
+            Sample loaded = getDs().find(Sample.class)
+                    .filter(eq("_id", id))
+                    .first();
+            assertEquals(loaded.count, 42);
+            assertEquals(loaded.total, 12L);
+            assertEquals(loaded.average, 2.0);
+        });
+    }
+
+    @Entity("samples")
+    private static class Sample {
+        @Id
+        private ObjectId id;
+        private int count;
+        private long total;
+        private double average;
+        private boolean active;
+        private Integer wrapped;
+    }
+}
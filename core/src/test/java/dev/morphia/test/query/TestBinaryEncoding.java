@@ -0,0 +1,179 @@
+package dev.morphia.test.query;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import dev.morphia.aggregation.AggregationImpl;
+import dev.morphia.aggregation.stages.Lookup;
+import dev.morphia.aggregation.stages.Projection;
+import dev.morphia.aggregation.stages.Sort;
+import dev.morphia.aggregation.stages.Stage;
+import dev.morphia.aggregation.stages.Unwind;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Property;
+import dev.morphia.mapping.codec.writer.BinaryDocumentWriter;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.query.Type;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.test.TestBase;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.max;
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.sum;
+import static dev.morphia.aggregation.expressions.ComparisonExpressions.gt;
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.expressions.Expressions.value;
+import static dev.morphia.aggregation.stages.Group.group;
+import static dev.morphia.aggregation.stages.Group.id;
+import static dev.morphia.mapping.codec.CodecHelper.document;
+import static dev.morphia.query.filters.Filters.all;
+import static dev.morphia.query.filters.Filters.and;
+import static dev.morphia.query.filters.Filters.bitsAllSet;
+import static dev.morphia.query.filters.Filters.elemMatch;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.exists;
+import static dev.morphia.query.filters.Filters.expr;
+import static dev.morphia.query.filters.Filters.gt;
+import static dev.morphia.query.filters.Filters.gte;
+import static dev.morphia.query.filters.Filters.in;
+import static dev.morphia.query.filters.Filters.lt;
+import static dev.morphia.query.filters.Filters.lte;
+import static dev.morphia.query.filters.Filters.mod;
+import static dev.morphia.query.filters.Filters.ne;
+import static dev.morphia.query.filters.Filters.nin;
+import static dev.morphia.query.filters.Filters.nor;
+import static dev.morphia.query.filters.Filters.or;
+import static dev.morphia.query.filters.Filters.regex;
+import static dev.morphia.query.filters.Filters.size;
+import static dev.morphia.query.filters.Filters.type;
+import static dev.morphia.query.filters.Filters.where;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class TestBinaryEncoding extends TestBase {
+    @Test
+    public void encodesQueries() {
+        withTestConfig(buildConfig().binaryEncoding(true), List.of(Item.class), () -> {
+            getDs().save(List.of(new Item("first", 1), new Item("second", 2), new Item("third", 3)));
+
+            assertEquals(getDs().find(Item.class).filter(gte("count", 2)).count(), 2);
+            assertEquals(getDs().find(Item.class)
+                    .filter(eq("name", "second"), or(lt("count", 2), in("name", List.of("first", "second"))))
+                    .iterator()
+                    .toList().size(), 1);
+            assertEquals(getDs().find(Item.class).filter(gte("count", 2), lt("count", 3)).count(), 1);
+            assertEquals(getDs().aggregate(Item.class)
+                    .match(gte("count", 2))
+                    .execute(Item.class)
+                    .toList().size(), 2);
+
+            getDs().find(Item.class).filter(eq("name", "first")).delete();
+            assertEquals(getDs().find(Item.class).count(), 2);
+        });
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void matchesDocumentWriterFilters() {
+        withTestConfig(buildConfig(), List.of(Item.class), () -> {
+            List<Filter> filters = List.of(eq("name", "first"), ne("name", null), gt("count", 1), gte("count", 2L), lt("count", 3.5),
+                    lte("count", 4), in("name", List.of("first", "second")), nin("name", List.of("third")), exists("name"),
+                    exists("tags").not(), all("tags", List.of("a", "b")), size("tags", 2), type("count", Type.INTEGER_32_BIT),
+                    mod("count", 2, 1), bitsAllSet("count", 3), regex("name", Pattern.compile("^f", Pattern.CASE_INSENSITIVE)),
+                    elemMatch("tags", eq("name", "a")), where("this.cnt > 1"), expr(gt(field("count"), value(1))),
+                    and(eq("name", "first"), gt("count", 0)), or(lt("count", 2), in("name", List.of("first"))),
+                    nor(eq("name", "second"), exists("tags")));
+            for (Filter filter : filters) {
+                filter.entityType(Item.class);
+                Codec codec = getDs().getCodecRegistry().get(filter.getClass());
+
+                DocumentWriter writer = new DocumentWriter(getMapper().getConfig());
+                document(writer, () -> codec.encode(writer, filter, EncoderContext.builder().build()));
+                RawBsonDocument binary = BinaryDocumentWriter.encodeFields(
+                        fields -> codec.encode(fields, filter, EncoderContext.builder().build()));
+
+                assertNotNull(binary, filter.toString());
+                assertEquals(decode(binary), writer.getDocument(), filter.toString());
+            }
+        });
+    }
+
+    @Test
+    public void matchesDocumentWriterStages() {
+        withTestConfig(buildConfig(), List.of(Item.class), () -> {
+            AggregationImpl<Item> aggregation = (AggregationImpl<Item>) getDs().aggregate(Item.class)
+                    .match(gte("count", 2), or(eq("name", "first"), exists("tags")))
+                    .group(group(id(field("name")))
+                            .field("total", sum(field("count")))
+                            .field("largest", max(field("count"))))
+                    .project(Projection.project()
+                            .include("name")
+                            .include("doubled", gt(field("count"), value(2))))
+                    .sort(Sort.sort().ascending("name").descending("count"))
+                    .unwind(Unwind.unwind("tags").includeArrayIndex("index"))
+                    .lookup(Lookup.lookup(Item.class)
+                            .localField("name")
+                            .foreignField("name")
+                            .as("matches"))
+                    .skip(5)
+                    .limit(10);
+            for (Stage stage : aggregation.getStages()) {
+                RawBsonDocument binary = BinaryDocumentWriter.encode(stage, getDs().getCodecRegistry());
+
+                assertNotNull(binary, stage.stageName());
+                assertEquals(decode(binary), DocumentWriter.encode(stage, getMapper(), getDs().getCodecRegistry()),
+                        stage.stageName());
+            }
+        });
+    }
+
+    @Test
+    public void rejectsRepeatedNames() {
+        assertNull(BinaryDocumentWriter.encodeFields(writer -> {
+            writer.writeInt32("count", 1);
+            writer.writeInt32("count", 2);
+        }));
+
+        RawBsonDocument document = BinaryDocumentWriter.encodeFields(writer -> {
+            writer.writeStartDocument("count");
+            writer.writeInt32("$gte", 1);
+            writer.writeEndDocument();
+            writer.writeStartDocument("name");
+            writer.writeInt32("$gte", 1);
+            writer.writeEndDocument();
+        });
+        assertEquals(Document.parse(document.toJson()), new Document("count", new Document("$gte", 1))
+                .append("name", new Document("$gte", 1)));
+    }
+
+    private Document decode(RawBsonDocument document) {
+        return getDs().getCodecRegistry().get(Document.class).decode(document.asBsonReader(), DecoderContext.builder().build());
+    }
+
+    @Entity
+    private static class Item {
+        @Id
+        private ObjectId id;
+        private String name;
+        @Property("cnt")
+        private int count;
+        private List<String> tags;
+
+        Item() {
+        }
+
+        Item(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+}
@@ -8,10 +8,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -31,8 +34,11 @@ import dev.morphia.annotations.Indexed;
 import dev.morphia.annotations.PrePersist;
 import dev.morphia.annotations.Property;
 import dev.morphia.annotations.Reference;
+import dev.morphia.metrics.MorphiaMetrics;
 import dev.morphia.query.CountOptions;
+import dev.morphia.query.EntityView;
 import dev.morphia.query.FindOptions;
+import dev.morphia.query.MorphiaCursor;
 import dev.morphia.query.MorphiaQuery;
 import dev.morphia.query.Query;
 import dev.morphia.query.QueryFactory;
@@ -43,6 +49,7 @@ import dev.morphia.test.models.CustomId;
 import dev.morphia.test.models.Rectangle;
 import dev.morphia.test.models.Student;
 import dev.morphia.test.models.UsesCustomIdObject;
+import dev.morphia.transactions.SessionDatastore;
 
 import org.awaitility.Awaitility;
 import org.bson.Document;
@@ -80,6 +87,7 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
@@ -1100,6 +1108,131 @@ public class TestQuery extends TestBase {
         }
     }
 
+    @Test
+    public void testDecodeOnly() {
+        ContainsRenamedFields saved = new ContainsRenamedFields("Frank", "Zappa");
+        getDs().save(saved);
+
+        ContainsRenamedFields found = getDs()
+                .find(ContainsRenamedFields.class)
+                .first(new FindOptions().decodeOnly("lastName"));
+        assertNotNull(found);
+        assertEquals(found.id, saved.id);
+        assertNull(found.firstName);
+        assertEquals(found.lastName, "Zappa");
+
+        found = getDs()
+                .find(ContainsRenamedFields.class)
+                .first(new FindOptions().decodeOnly("first_name"));
+        assertEquals(found.firstName, "Frank");
+        assertNull(found.lastName);
+
+        assertThrows(ValidationException.class, () -> getDs()
+                .find(ContainsRenamedFields.class)
+                .first(new FindOptions().decodeOnly("bad field name")));
+    }
+
+    @Test
+    public void testParallelDecode() {
+        List<Rectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rectangles.add(new Rectangle(1, i));
+        }
+        getDs().save(rectangles);
+
+        List<Double> ordered = getDs().find(Rectangle.class)
+                .iterator(new FindOptions()
+                        .sort(ascending("width"))
+                        .batchSize(50)
+                        .parallelDecode(true))
+                .toList()
+                .stream()
+                .map(Rectangle::getWidth)
+                .collect(Collectors.toList());
+        List<Double> expected = rectangles.stream().map(Rectangle::getWidth).collect(Collectors.toList());
+        assertEquals(ordered, expected);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Double> unordered = getDs().find(Rectangle.class)
+                    .iterator(new FindOptions().parallelDecode(executor, false))
+                    .toList()
+                    .stream()
+                    .map(Rectangle::getWidth)
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertEquals(unordered, expected);
+        } finally {
+            executor.shutdown();
+        }
+
+        try (var stream = getDs().find(Rectangle.class).stream(new FindOptions().parallelDecode(false))) {
+            assertEquals(stream.parallel().mapToDouble(Rectangle::getWidth).sum(), 499 * 500 / 2.0);
+        }
+    }
+
+    @Test
+    public void testParallelDecodeClose() {
+        AtomicInteger decoded = new AtomicInteger();
+        MorphiaMetrics metrics = new MorphiaMetrics() {
+            @Override
+            public void decoded(Class<?> type, long nanos, long bytes) {
+                decoded.incrementAndGet();
+            }
+        };
+        withTestConfig(buildConfig().metrics(metrics), List.of(Rectangle.class), () -> {
+            List<Rectangle> rectangles = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                rectangles.add(new Rectangle(1, i));
+            }
+            getDs().save(rectangles);
+            decoded.set(0);
+
+            // only the first document is decoded straight away and the rest wait until the cursor is closed
+            List<Runnable> queued = new ArrayList<>();
+            Executor executor = task -> {
+                if (decoded.get() == 0 && queued.isEmpty()) {
+                    task.run();
+                } else {
+                    queued.add(task);
+                }
+            };
+            try (MorphiaCursor<Rectangle> cursor = getDs().find(Rectangle.class)
+                    .iterator(new FindOptions().parallelDecode(executor, true))) {
+                assertNotNull(cursor.next());
+            }
+            assertEquals(queued.size(), 9);
+            queued.forEach(Runnable::run);
+            assertEquals(decoded.get(), 1);
+        });
+    }
+
+    @Test
+    public void testParallelDecodeInSession() {
+        getDs().save(new Rectangle(1, 1));
+        try (SessionDatastore session = getDs().startSession()) {
+            assertThrows(IllegalStateException.class, () -> session.find(Rectangle.class)
+                    .iterator(new FindOptions().parallelDecode(true)));
+        }
+    }
+
+    @Test
+    public void testViews() {
+        ContainsRenamedFields saved = new ContainsRenamedFields("Frank", "Zappa");
+        getDs().save(saved);
+
+        List<EntityView<ContainsRenamedFields>> views = getDs().find(ContainsRenamedFields.class).views().toList();
+        assertEquals(views.size(), 1);
+        EntityView<ContainsRenamedFields> view = views.get(0);
+        assertEquals(view.get("firstName"), "Frank");
+        assertEquals(view.get("last_name"), "Zappa");
+        assertEquals(view.get("id"), saved.id);
+        assertEquals(view.toEntity().lastName, "Zappa");
+        assertSame(view.toEntity(), view.toEntity());
+
+        assertThrows(ValidationException.class, () -> view.get("middleName"));
+    }
+
     @Test
     public void testReturnOnlyIndexedFields() {
         getMapper().map(Pic.class);
@@ -0,0 +1,108 @@
+package dev.morphia.test.query;
+
+import java.util.List;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Property;
+import dev.morphia.query.MorphiaQuery;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.test.TestBase;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static dev.morphia.query.filters.Filters.and;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.exists;
+import static dev.morphia.query.filters.Filters.gte;
+import static dev.morphia.query.filters.Filters.in;
+import static dev.morphia.query.filters.Filters.lt;
+import static dev.morphia.query.filters.Filters.or;
+import static dev.morphia.query.filters.Filters.regex;
+import static org.testng.Assert.assertEquals;
+
+public class TestQueryShapes extends TestBase {
+    @Test
+    public void reusesShapes() {
+        withTestConfig(buildConfig().queryShapeCacheSize(10), List.of(Item.class), () -> {
+            getDs().save(List.of(new Item("first", 1), new Item("second", 2), new Item("third", 3)));
+
+            for (int i = 1; i <= 3; i++) {
+                List<Item> found = getDs().find(Item.class)
+                        .filter(gte("count", i), exists("name"))
+                        .iterator()
+                        .toList();
+                assertEquals(found.size(), 4 - i);
+            }
+            assertEquals(getDs().getQueryShapes().size(), 1);
+
+            Filter[] filters = { eq("name", "second"), or(lt("count", 2), in("name", List.of("first", "third"))) };
+            Document cached = query(filters).toDocument();
+            assertEquals(getDs().getQueryShapes().size(), 2);
+            assertEquals(query(filters).toDocument(), cached);
+            assertEquals(cached, new Document("name", "second")
+                    .append("$or", List.of(new Document("cnt", new Document("$lt", 2)),
+                            new Document("name", new Document("$in", List.of("first", "third"))))));
+
+            assertEquals(getDs().find(Item.class).filter(and(eq("name", "third"), eq("count", 3))).count(), 1);
+            assertEquals(getDs().find(Item.class).filter(and(eq("name", "first"), eq("count", 3))).count(), 0);
+        });
+    }
+
+    @Test
+    public void skipsUnsupportedFilters() {
+        withTestConfig(buildConfig().queryShapeCacheSize(10), List.of(Item.class), () -> {
+            getDs().save(new Item("first", 1));
+
+            assertEquals(getDs().find(Item.class).filter(regex("name", "^fir")).count(), 1);
+            assertEquals(getDs().getQueryShapes().size(), 0);
+        });
+    }
+
+    @Test
+    public void leavesFiltersAlone() {
+        withTestConfig(buildConfig().queryShapeCacheSize(1), List.of(Item.class), () -> {
+            Filter name = eq("name", "first");
+            assertEquals(query(name).toDocument(), new Document("name", "first"));
+            assertEquals(name.getValue(), "first");
+
+            Filter count = lt("count", 2);
+            assertEquals(query(count).toDocument(), new Document("cnt", new Document("$lt", 2)));
+            assertEquals(count.getValue(), 2);
+            // the cache is full so the new shape is encoded without being cached
+            assertEquals(getDs().getQueryShapes().size(), 1);
+            assertEquals(query(eq("name", "second")).toDocument(), new Document("name", "second"));
+        });
+    }
+
+    @Test
+    public void disabledByDefault() {
+        withTestConfig(List.of(Item.class), () -> {
+            assertEquals(query(eq("name", "first")).toDocument(), new Document("name", "first"));
+            assertEquals(getDs().getQueryShapes().size(), 0);
+        });
+    }
+
+    private MorphiaQuery<Item> query(Filter... filters) {
+        return (MorphiaQuery<Item>) getDs().find(Item.class).filter(filters);
+    }
+
+    @Entity
+    private static class Item {
+        @Id
+        private ObjectId id;
+        private String name;
+        @Property("cnt")
+        private int count;
+
+        Item() {
+        }
+
+        Item(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+}
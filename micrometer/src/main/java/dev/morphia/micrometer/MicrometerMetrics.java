@@ -0,0 +1,168 @@
+package dev.morphia.micrometer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.metrics.MorphiaMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Reports Morphia's measurements to a Micrometer {@link MeterRegistry}. Every meter is tagged with the entity type it measures so
+ * expensive types can be found. The following meters are registered:
+ * <ul>
+ * <li>{@value #OPERATIONS}: a timer of server operations tagged with the operation, collection, type and outcome</li>
+ * <li>{@value #DOCUMENTS}: the number of documents read, written or affected by each operation when known</li>
+ * <li>{@value #CODEC}: a timer of encoding and decoding tagged with the type and whether it was an encode or a decode. Decoding
+ * times leave out any references fetched.</li>
+ * <li>{@value #BYTES}: the size of the documents encoded and decoded when known</li>
+ * <li>{@value #REFERENCES}: a timer of reference fetches tagged with the referenced type</li>
+ * <li>{@value #REFERENCES_FETCHED}: a count of the references fetched</li>
+ * <li>{@value #MAPPING}: a timer of mapping each entity type</li>
+ * </ul>
+ * <p>
+ * When configured by class name via {@code morphia.metrics}, meters are registered with Micrometer's global registry.
+ *
+ * @since 3.0
+ */
+public class MicrometerMetrics implements MorphiaMetrics {
+    /**
+     * The name of the timer of server operations
+     */
+    public static final String OPERATIONS = "morphia.operations";
+    /**
+     * The name of the summary of the documents handled by server operations
+     */
+    public static final String DOCUMENTS = "morphia.operations.documents";
+    /**
+     * The name of the timer of encoding and decoding
+     */
+    public static final String CODEC = "morphia.codec";
+    /**
+     * The name of the summary of the size of encoded and decoded documents
+     */
+    public static final String BYTES = "morphia.codec.bytes";
+    /**
+     * The name of the timer of reference fetches
+     */
+    public static final String REFERENCES = "morphia.references";
+    /**
+     * The name of the counter of fetched references
+     */
+    public static final String REFERENCES_FETCHED = "morphia.references.fetched";
+    /**
+     * The name of the timer of entity mapping
+     */
+    public static final String MAPPING = "morphia.mapping";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, CodecMeters> encoders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, CodecMeters> decoders = new ConcurrentHashMap<>();
+
+    /**
+     * Creates metrics reporting to Micrometer's global registry
+     */
+    public MicrometerMetrics() {
+        this(Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates metrics reporting to the given registry
+     *
+     * @param registry the registry to register meters with
+     */
+    public MicrometerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void decoded(Class<?> type, long nanos, long bytes) {
+        decoders.computeIfAbsent(type, t -> new CodecMeters(t, "decode"))
+                .record(nanos, bytes);
+    }
+
+    @Override
+    public void encoded(Class<?> type, long nanos, long bytes) {
+        encoders.computeIfAbsent(type, t -> new CodecMeters(t, "encode"))
+                .record(nanos, bytes);
+    }
+
+    @Override
+    public void mapped(Class<?> type, long nanos) {
+        Timer.builder(MAPPING)
+                .description("The time taken to map an entity type")
+                .tag("type", type.getName())
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void operation(String operation, @Nullable String collection, @Nullable Class<?> type, long nanos, long documents,
+            @Nullable Throwable failure) {
+        Tags tags = Tags.of("operation", operation,
+                "collection", collection != null ? collection : NONE,
+                "type", type != null ? type.getName() : NONE);
+        Timer.builder(OPERATIONS)
+                .description("The time taken by operations sent to the server")
+                .tags(tags)
+                .tag("outcome", failure != null ? failure.getClass().getSimpleName() : "success")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (documents >= 0) {
+            DistributionSummary.builder(DOCUMENTS)
+                    .description("The number of documents read, written or affected by an operation")
+                    .tags(tags)
+                    .register(registry)
+                    .record(documents);
+        }
+    }
+
+    @Override
+    public void referencesFetched(Class<?> type, int count, long nanos) {
+        Timer.builder(REFERENCES)
+                .description("The time taken to fetch referenced entities")
+                .tag("type", type.getName())
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder(REFERENCES_FETCHED)
+                .description("The number of referenced entities fetched")
+                .tag("type", type.getName())
+                .register(registry)
+                .increment(count);
+    }
+
+    private class CodecMeters {
+        private final Timer timer;
+        private final DistributionSummary bytes;
+
+        CodecMeters(Class<?> type, String direction) {
+            Tags tags = Tags.of("type", type.getName(), "direction", direction);
+            timer = Timer.builder(CODEC)
+                    .description("The time taken to encode or decode an entity")
+                    .tags(tags)
+                    .register(registry);
+            bytes = DistributionSummary.builder(BYTES)
+                    .description("The size of an encoded or decoded entity")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        void record(long nanos, long size) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            if (size >= 0) {
+                bytes.record(size);
+            }
+        }
+    }
+}
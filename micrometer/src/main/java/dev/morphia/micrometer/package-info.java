@@ -0,0 +1,7 @@
+/**
+ * Micrometer support
+ */
+@NonNullApi
+package dev.morphia.micrometer;
+
+import com.mongodb.lang.NonNullApi;
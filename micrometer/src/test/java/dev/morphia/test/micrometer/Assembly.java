@@ -0,0 +1,24 @@
+package dev.morphia.test.micrometer;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Reference;
+
+import org.bson.types.ObjectId;
+
+@Entity
+public class Assembly {
+    @Id
+    ObjectId id;
+    String name;
+    @Reference
+    SlowPart part;
+
+    public Assembly() {
+    }
+
+    public Assembly(String name, SlowPart part) {
+        this.name = name;
+        this.part = part;
+    }
+}
@@ -0,0 +1,20 @@
+package dev.morphia.test.micrometer;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+
+import org.bson.types.ObjectId;
+
+@Entity
+public class Part {
+    @Id
+    ObjectId id;
+    String name;
+
+    public Part() {
+    }
+
+    public Part(String name) {
+        this.name = name;
+    }
+}
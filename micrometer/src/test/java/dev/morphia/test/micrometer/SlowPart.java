@@ -0,0 +1,28 @@
+package dev.morphia.test.micrometer;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.PostLoad;
+
+import org.bson.types.ObjectId;
+
+@Entity
+public class SlowPart {
+    static final long DELAY = 200;
+
+    @Id
+    ObjectId id;
+    String name;
+
+    public SlowPart() {
+    }
+
+    public SlowPart(String name) {
+        this.name = name;
+    }
+
+    @PostLoad
+    void loaded() throws InterruptedException {
+        Thread.sleep(DELAY);
+    }
+}
@@ -0,0 +1,66 @@
+package dev.morphia.test.micrometer;
+
+import java.util.List;
+
+import dev.morphia.micrometer.MicrometerMetrics;
+import dev.morphia.test.TestBase;
+
+import org.testng.annotations.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static dev.morphia.micrometer.MicrometerMetrics.BYTES;
+import static dev.morphia.micrometer.MicrometerMetrics.CODEC;
+import static dev.morphia.micrometer.MicrometerMetrics.DOCUMENTS;
+import static dev.morphia.micrometer.MicrometerMetrics.MAPPING;
+import static dev.morphia.micrometer.MicrometerMetrics.OPERATIONS;
+import static dev.morphia.micrometer.MicrometerMetrics.REFERENCES;
+import static dev.morphia.micrometer.MicrometerMetrics.REFERENCES_FETCHED;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+@Test
+public class TestMicrometerMetrics extends TestBase {
+    public void testMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        withTestConfig(buildConfig().metrics(new MicrometerMetrics(registry)), List.of(Part.class, Widget.class), () -> {
+            Part part = getDs().save(new Part("gear"));
+            getDs().save(List.of(new Widget("clock", part), new Widget("watch", part)));
+
+            List<Widget> widgets = getDs().find(Widget.class).iterator().toList();
+            assertEquals(widgets.size(), 2);
+
+            String widget = Widget.class.getName();
+            assertEquals(registry.get(MAPPING).tag("type", widget).timer().count(), 1);
+            assertEquals(registry.get(OPERATIONS).tags("operation", "insertMany", "type", widget, "outcome", "success")
+                    .timer().count(), 1);
+            assertEquals(registry.get(DOCUMENTS).tags("operation", "insertMany", "type", widget).summary().totalAmount(), 2.0);
+            assertEquals(registry.get(OPERATIONS).tags("operation", "find", "type", widget).timer().count(), 1);
+            assertEquals(registry.get(CODEC).tags("type", widget, "direction", "encode").timer().count(), 2);
+            assertEquals(registry.get(CODEC).tags("type", widget, "direction", "decode").timer().count(), 2);
+            assertTrue(registry.get(BYTES).tags("type", widget, "direction", "decode").summary().totalAmount() > 0);
+            assertEquals(registry.get(REFERENCES_FETCHED).tag("type", Part.class.getName()).counter().count(), 2.0);
+        });
+    }
+
+    public void testDecodingLeavesOutReferences() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        withTestConfig(buildConfig().metrics(new MicrometerMetrics(registry)), List.of(SlowPart.class, Assembly.class), () -> {
+            SlowPart part = getDs().save(new SlowPart("spring"));
+            getDs().save(new Assembly("clock", part));
+
+            assertNotNull(getDs().find(Assembly.class).first());
+
+            // the referenced part takes at least the delay to decode, which is covered by the fetch rather than the assembly
+            long delay = MILLISECONDS.toNanos(SlowPart.DELAY);
+            assertTrue(registry.get(REFERENCES).tag("type", SlowPart.class.getName()).timer().totalTime(NANOSECONDS) >= delay);
+            assertTrue(registry.get(CODEC).tags("type", SlowPart.class.getName(), "direction", "decode").timer()
+                    .totalTime(NANOSECONDS) >= delay);
+            assertTrue(registry.get(CODEC).tags("type", Assembly.class.getName(), "direction", "decode").timer()
+                    .totalTime(NANOSECONDS) < delay);
+        });
+    }
+}
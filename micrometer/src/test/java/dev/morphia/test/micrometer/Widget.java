@@ -0,0 +1,24 @@
+package dev.morphia.test.micrometer;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Reference;
+
+import org.bson.types.ObjectId;
+
+@Entity
+public class Widget {
+    @Id
+    ObjectId id;
+    String name;
+    @Reference
+    Part part;
+
+    public Widget() {
+    }
+
+    public Widget(String name, Part part) {
+        this.name = name;
+        this.part = part;
+    }
+}
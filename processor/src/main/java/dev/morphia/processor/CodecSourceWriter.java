@@ -0,0 +1,240 @@
+package dev.morphia.processor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+
+import static java.lang.String.format;
+
+/**
+ * Emits the source for the generated codecs of a single entity type
+ */
+class CodecSourceWriter {
+    private final List<PropertyInfo> properties;
+    private final boolean decodable;
+    private final String packageName;
+    private final String simpleName;
+    private final String entityName;
+    private final StringBuilder source = new StringBuilder();
+
+    CodecSourceWriter(TypeElement type, List<PropertyInfo> properties, boolean decodable) {
+        this.properties = properties;
+        this.decodable = decodable;
+
+        Element current = type;
+        String flatName = type.getSimpleName().toString();
+        while (!(current.getEnclosingElement() instanceof PackageElement)) {
+            current = current.getEnclosingElement();
+            flatName = current.getSimpleName() + "_" + flatName;
+        }
+        packageName = ((PackageElement) current.getEnclosingElement()).getQualifiedName().toString();
+        simpleName = flatName + "_MorphiaCodecs";
+        entityName = type.getQualifiedName().toString();
+    }
+
+    String getQualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    String write() {
+        if (!packageName.isEmpty()) {
+            line(0, "package %s;", packageName);
+            line(0, "");
+        }
+        line(0, "import java.util.Map;");
+        line(0, "");
+        line(0, "import javax.annotation.processing.Generated;");
+        line(0, "");
+        line(0, "import dev.morphia.mapping.codec.pojo.EntityDecoder;");
+        line(0, "import dev.morphia.mapping.codec.pojo.EntityEncoder;");
+        line(0, "import dev.morphia.mapping.codec.pojo.EntityModel;");
+        line(0, "import dev.morphia.mapping.codec.pojo.GeneratedCodecs;");
+        line(0, "import dev.morphia.mapping.codec.pojo.MorphiaCodec;");
+        line(0, "import dev.morphia.mapping.codec.pojo.PropertyModel;");
+        line(0, "");
+        line(0, "import org.bson.BsonReader;");
+        line(0, "import org.bson.BsonType;");
+        line(0, "import org.bson.BsonWriter;");
+        line(0, "import org.bson.codecs.DecoderContext;");
+        line(0, "import org.bson.codecs.EncoderContext;");
+        line(0, "");
+        line(0, "@Generated(\"%s\")", EntityCodecProcessor.class.getName());
+        line(0, "@SuppressWarnings({ \"unchecked\", \"rawtypes\" })");
+        line(0, "public final class %s implements GeneratedCodecs {", simpleName);
+        writeFactory();
+        writeEncoder();
+        if (decodable) {
+            writeDecoder();
+        }
+        line(0, "}");
+
+        return source.toString();
+    }
+
+    private void writeFactory() {
+        line(1, "@Override");
+        line(1, "public Class<?> getType() {");
+        line(2, "return %s.class;", entityName);
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public Map<String, String> getMappedNames() {");
+        line(2, "return Map.ofEntries(%s);", properties.stream()
+                .map(p -> format("Map.entry(%s, %s)", literal(p.name()), literal(p.mappedName())))
+                .collect(Collectors.joining(", ")));
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public EntityEncoder<?> encoder(MorphiaCodec<?> codec) {");
+        line(2, "return new Encoder((MorphiaCodec<%s>) codec);", entityName);
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public EntityDecoder<?> decoder(MorphiaCodec<?> codec) {");
+        if (decodable) {
+            line(2, "return new Decoder((MorphiaCodec<%s>) codec);", entityName);
+        } else {
+            line(2, "return null;");
+        }
+        line(1, "}");
+    }
+
+    private void writeEncoder() {
+        PropertyInfo id = properties.stream().filter(PropertyInfo::isId).findFirst().orElse(null);
+
+        line(0, "");
+        line(1, "private static final class Encoder extends EntityEncoder<%s> {", entityName);
+        writeModelFields();
+        line(0, "");
+        line(2, "Encoder(MorphiaCodec<%s> codec) {", entityName);
+        line(3, "super(codec);");
+        writeModelLookups();
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public void encode(BsonWriter writer, %s value, EncoderContext encoderContext) {", entityName);
+        line(3, "if (!value.getClass().equals(%s.class)) {", entityName);
+        line(4, "super.encode(writer, value, encoderContext);");
+        line(4, "return;");
+        line(3, "}");
+        line(3, "EntityModel model = getMorphiaCodec().getEntityModel();");
+        line(3, "writer.writeStartDocument();");
+        if (id != null) {
+            line(3, "encodeIdProperty(writer, value, encoderContext, %s);", id.modelName());
+        }
+        line(3, "if (model.useDiscriminator()) {");
+        line(4, "encodeDiscriminator(writer, model);");
+        line(3, "}");
+        for (PropertyInfo property : properties) {
+            if (property == id) {
+                continue;
+            }
+            if (!property.isReadable()) {
+                line(3, "encodeProperty(writer, %s, value, encoderContext);", property.modelName());
+            } else if (property.bsonType() != null) {
+                line(3, "if (%s.getPrimitiveKind() != null && writePrimitiveName(writer, %s)) {", property.modelName(),
+                        property.modelName());
+                line(4, "writer.write%s(value.%s);", property.bsonType(), property.name());
+                line(3, "} else {");
+                line(4, "encodeValue(writer, encoderContext, %s, value.%s);", property.modelName(), property.name());
+                line(3, "}");
+            } else {
+                line(3, "encodeValue(writer, encoderContext, %s, value.%s);", property.modelName(), property.name());
+            }
+        }
+        line(3, "writer.writeEndDocument();");
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private void writeDecoder() {
+        line(0, "");
+        line(1, "private static final class Decoder extends EntityDecoder<%s> {", entityName);
+        writeModelFields();
+        line(0, "");
+        line(2, "Decoder(MorphiaCodec<%s> codec) {", entityName);
+        line(3, "super(codec);");
+        writeModelLookups();
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public %s decode(BsonReader reader, DecoderContext decoderContext) {", entityName);
+        line(3, "if (!decoderContext.hasCheckedDiscriminator()) {");
+        line(4, "return super.decode(reader, decoderContext);");
+        line(3, "}");
+        line(3, "%s entity = new %s();", entityName, entityName);
+        line(3, "reader.readStartDocument();");
+        line(3, "while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {");
+        line(4, "String name = reader.readName();");
+        line(4, "switch (name) {");
+        for (PropertyInfo property : uniqueMappedNames()) {
+            if (property.isReference()) {
+                continue;
+            }
+            line(5, "case %s:", literal(property.mappedName()));
+            String decode = format("decodeValue(reader, decoderContext, %s)", property.modelName());
+            if (property.bsonType() != null) {
+                line(6, "if (isPrimitive(reader, %s)) {", property.modelName());
+                if (property.isWritable()) {
+                    line(7, "entity.%s = reader.read%s();", property.name(), property.bsonType());
+                } else {
+                    line(7, "decodePrimitive(reader, entity, %s);", property.modelName());
+                }
+                line(6, "} else if (!skipNull(reader)) {");
+            } else {
+                line(6, "if (!skipNull(reader)) {");
+            }
+            if (property.isWritable()) {
+                line(7, "entity.%s = (%s) %s;", property.name(), property.castType(), decode);
+            } else {
+                line(7, "%s.getAccessor().set(entity, %s);", property.modelName(), decode);
+            }
+            line(6, "}");
+            line(6, "break;");
+        }
+        line(5, "default:");
+        line(6, "decodeProperty(reader, decoderContext, entity, name);");
+        line(4, "}");
+        line(3, "}");
+        line(3, "reader.readEndDocument();");
+        line(3, "return entity;");
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private void writeModelFields() {
+        for (PropertyInfo property : properties) {
+            line(2, "private final PropertyModel %s;", property.modelName());
+        }
+    }
+
+    private void writeModelLookups() {
+        if (!properties.isEmpty()) {
+            line(3, "EntityModel model = codec.getEntityModel();");
+        }
+        for (PropertyInfo property : properties) {
+            line(3, "%s = model.getProperty(%s);", property.modelName(), literal(property.mappedName()));
+        }
+    }
+
+    private List<PropertyInfo> uniqueMappedNames() {
+        return properties.stream()
+                .collect(Collectors.toMap(PropertyInfo::mappedName, p -> p, (first, second) -> first, LinkedHashMap::new))
+                .values().stream()
+                .collect(Collectors.toList());
+    }
+
+    private void line(int indent, String format, Object... args) {
+        source.append("    ".repeat(indent))
+                .append(args.length == 0 ? format : format(format, args))
+                .append('\n');
+    }
+
+    private static String literal(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
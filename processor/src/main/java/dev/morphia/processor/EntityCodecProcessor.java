@@ -0,0 +1,259 @@
+package dev.morphia.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import dev.morphia.mapping.NamingStrategy;
+
+/**
+ * Generates specialized codecs for each {@code @Entity} type at build time. The generated encoders write each property in a straight line
+ * with precomputed mapped names and the generated decoders dispatch on field names with a {@code switch} rather than looking up each
+ * property in the model. Fields which are not visible to the generated code (e.g., private fields) are still read and written via the
+ * property's accessor.
+ * <p>
+ * Supported options:
+ * <ul>
+ * <li>{@code morphia.propertyNaming}: the naming strategy configured at runtime via {@code morphia.property-naming}. Defaults to
+ * {@code identity}.</li>
+ * </ul>
+ *
+ * @since 3.0
+ */
+@SupportedAnnotationTypes(EntityCodecProcessor.ENTITY)
+@SupportedOptions(EntityCodecProcessor.PROPERTY_NAMING)
+public class EntityCodecProcessor extends AbstractProcessor {
+    static final String ENTITY = "dev.morphia.annotations.Entity";
+    static final String PROPERTY_NAMING = "morphia.propertyNaming";
+    static final String SERVICE_FILE = "META-INF/services/dev.morphia.mapping.codec.pojo.GeneratedCodecs";
+
+    private static final String ID = "dev.morphia.annotations.Id";
+    private static final String PROPERTY = "dev.morphia.annotations.Property";
+    private static final String REFERENCE = "dev.morphia.annotations.Reference";
+    private static final String VERSION = "dev.morphia.annotations.Version";
+    private static final String TRANSIENT = "dev.morphia.annotations.Transient";
+    private static final String BEANS_TRANSIENT = "java.beans.Transient";
+    private static final String IGNORED_FIELDNAME = ".";
+
+    private final Set<String> generated = new TreeSet<>();
+    private NamingStrategy propertyNaming;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        propertyNaming = namingStrategy(processingEnv.getOptions().getOrDefault(PROPERTY_NAMING, "identity"));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (isSupported(type)) {
+                    generate(type);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !generated.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        List<PropertyInfo> properties = properties(type);
+        CodecSourceWriter writer = new CodecSourceWriter(type, properties, hasVisibleNoArgConstructor(type));
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(writer.getQualifiedName(), type);
+            try (Writer out = file.openWriter()) {
+                out.write(writer.write());
+            }
+            generated.add(writer.getQualifiedName());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "Could not generate codecs: " + e.getMessage(), type);
+        }
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer out = file.openWriter()) {
+                for (String name : generated) {
+                    out.write(name);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Only concrete, non-generic types which the generated code can see are supported. Everything else falls back to the reflective
+     * codecs at runtime.
+     */
+    private boolean isSupported(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !type.getTypeParameters().isEmpty()) {
+            return false;
+        }
+        Element current = type;
+        while (current instanceof TypeElement) {
+            TypeElement element = (TypeElement) current;
+            if (element.getModifiers().contains(Modifier.PRIVATE)
+                    || element.getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(Modifier.STATIC)
+                    || element.getNestingKind() == NestingKind.LOCAL
+                    || element.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            current = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Mirrors the order used by field discovery at runtime: the parent classes, nearest first, followed by the type itself. The first
+     * property found with a given name wins.
+     */
+    private List<PropertyInfo> properties(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement parent = superclass(type);
+        while (parent != null && !parent.getQualifiedName().contentEquals("java.lang.Object")
+                && parent.getKind() != ElementKind.ENUM) {
+            hierarchy.add(parent);
+            parent = superclass(parent);
+        }
+        hierarchy.add(type);
+
+        String packageName = packageName(type);
+        Map<String, PropertyInfo> properties = new LinkedHashMap<>();
+        Set<String> hidden = new TreeSet<>();
+        for (TypeElement declaring : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(declaring.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)
+                        || hasAnnotation(field, TRANSIENT) || hasAnnotation(field, BEANS_TRANSIENT)) {
+                    continue;
+                }
+                String name = field.getSimpleName().toString();
+                if (properties.containsKey(name)) {
+                    hidden.add(name);
+                    continue;
+                }
+                boolean visible = !modifiers.contains(Modifier.PRIVATE)
+                        && (modifiers.contains(Modifier.PUBLIC) || packageName.equals(packageName(declaring)));
+                properties.put(name, new PropertyInfo(name, mappedName(field), field.asType(), hasAnnotation(field, ID),
+                        hasAnnotation(field, REFERENCE), visible, modifiers.contains(Modifier.FINAL), processingEnv.getTypeUtils()));
+            }
+        }
+        hidden.forEach(name -> properties.get(name).hidden());
+
+        return new ArrayList<>(properties.values());
+    }
+
+    private String mappedName(VariableElement field) {
+        if (hasAnnotation(field, ID)) {
+            return "_id";
+        }
+        for (String annotation : List.of(PROPERTY, REFERENCE, VERSION)) {
+            String value = annotationValue(field, annotation);
+            if (value != null && !value.equals(IGNORED_FIELDNAME)) {
+                return value;
+            }
+        }
+        return propertyNaming.apply(field.getSimpleName().toString());
+    }
+
+    private boolean hasVisibleNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return !constructor.getModifiers().contains(Modifier.PRIVATE);
+            }
+        }
+        return false;
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private String packageName(TypeElement type) {
+        return processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        return findAnnotation(element, annotation) != null;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private String annotationValue(Element element, String annotation) {
+        AnnotationMirror mirror = findAnnotation(element, annotation);
+        if (mirror != null) {
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils()
+                    .getElementValuesWithDefaults(mirror).entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return entry.getValue().getValue().toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static NamingStrategy namingStrategy(String name) {
+        switch (name) {
+            case "camelCase":
+                return NamingStrategy.camelCase();
+            case "kebabCase":
+                return NamingStrategy.kebabCase();
+            case "lowerCase":
+                return NamingStrategy.lowerCase();
+            case "snakeCase":
+                return NamingStrategy.snakeCase();
+            default:
+                return NamingStrategy.identity();
+        }
+    }
+}
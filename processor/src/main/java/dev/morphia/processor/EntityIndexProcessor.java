@@ -0,0 +1,119 @@
+package dev.morphia.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of the mappable types in a module to {@value #INDEX_FILE} so that packages can be mapped at runtime without scanning
+ * the classpath. A type is mappable if it, one of its superclasses, or one of its interfaces is annotated with {@code @Entity} or
+ * {@code @ExternalEntity}. Entries from an existing index are kept as long as their types still exist so that incremental compilations,
+ * which only see the changed sources, don't lose them.
+ *
+ * @since 3.0
+ */
+@SupportedAnnotationTypes("*")
+public class EntityIndexProcessor extends AbstractProcessor {
+    static final String INDEX_FILE = "META-INF/morphia/entities";
+
+    private static final List<String> MAPPING_ANNOTATIONS = List.of("dev.morphia.annotations.Entity",
+            "dev.morphia.annotations.ExternalEntity");
+
+    private final Set<String> indexed = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            index(type);
+        }
+        if (roundEnv.processingOver() && !indexed.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void index(TypeElement type) {
+        if (isMappable(type)) {
+            indexed.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        }
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            index(nested);
+        }
+    }
+
+    private boolean isMappable(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            Element annotation = mirror.getAnnotationType().asElement();
+            if (MAPPING_ANNOTATIONS.contains(((TypeElement) annotation).getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        if (isMappable(type.getSuperclass())) {
+            return true;
+        }
+        for (TypeMirror anInterface : type.getInterfaces()) {
+            if (isMappable(anInterface)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isMappable(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && isMappable((TypeElement) ((DeclaredType) type).asElement());
+    }
+
+    private void writeIndex() {
+        Set<String> entries = new TreeSet<>(indexed);
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (Reader reader = existing.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && processingEnv.getElementUtils().getTypeElement(line.replace('$', '.')) != null) {
+                        entries.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+            // no index from a previous compilation
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (Writer out = file.openWriter()) {
+                for (String name : entries) {
+                    out.write(name);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write " + INDEX_FILE + ": " + e.getMessage());
+        }
+    }
+}
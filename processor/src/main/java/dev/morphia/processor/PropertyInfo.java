@@ -0,0 +1,145 @@
+package dev.morphia.processor;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Types;
+
+/**
+ * The build time view of a mapped property
+ */
+class PropertyInfo {
+    private final String name;
+    private final String mappedName;
+    private final boolean id;
+    private final boolean reference;
+    private final boolean readable;
+    private final boolean writable;
+    private final String castType;
+    private final String bsonType;
+    private boolean hidden;
+
+    PropertyInfo(String name, String mappedName, TypeMirror type, boolean id, boolean reference, boolean visible, boolean isFinal,
+            Types types) {
+        this.name = name;
+        this.mappedName = mappedName;
+        this.id = id;
+        this.reference = reference;
+
+        boolean direct = visible && !hasTypeVariables(type) && !isConvertedArray(type);
+        readable = direct;
+        writable = direct && !isFinal;
+        castType = type.getKind().isPrimitive()
+                ? types.boxedClass((PrimitiveType) type).getQualifiedName().toString()
+                : types.erasure(type).toString();
+        bsonType = bsonType(type.getKind());
+    }
+
+    /**
+     * @return the suffix of the {@code BsonReader}/{@code BsonWriter} methods used for this property if it is one of the primitive
+     *         types handled without boxing or null
+     */
+    String bsonType() {
+        return bsonType;
+    }
+
+    /**
+     * @return the type to cast decoded values to
+     */
+    String castType() {
+        return castType;
+    }
+
+    /**
+     * Marks this property as being hidden by a field of the same name in a subtype. Such properties are always accessed via the
+     * property's accessor since a plain field reference would resolve to the subtype's field.
+     */
+    void hidden() {
+        hidden = true;
+    }
+
+    boolean isId() {
+        return id;
+    }
+
+    /**
+     * @return true if the property is a {@code @Reference}. References are always decoded by the runtime so their fetching can be
+     *         batched across entities.
+     */
+    boolean isReference() {
+        return reference;
+    }
+
+    /**
+     * @return true if the field can be read directly by the generated code
+     */
+    boolean isReadable() {
+        return readable && !hidden;
+    }
+
+    /**
+     * @return true if the field can be assigned directly by the generated code
+     */
+    boolean isWritable() {
+        return writable && !hidden;
+    }
+
+    String mappedName() {
+        return mappedName;
+    }
+
+    String modelName() {
+        return name + "Model";
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Non-byte arrays are converted by the array accessor at runtime so must not be assigned directly.
+     */
+    private static boolean isConvertedArray(TypeMirror type) {
+        return type.getKind() == TypeKind.ARRAY && ((ArrayType) type).getComponentType().getKind() != TypeKind.BYTE;
+    }
+
+    private static String bsonType(TypeKind kind) {
+        switch (kind) {
+            case INT:
+                return "Int32";
+            case LONG:
+                return "Int64";
+            case DOUBLE:
+                return "Double";
+            case BOOLEAN:
+                return "Boolean";
+            default:
+                return null;
+        }
+    }
+
+    private static boolean hasTypeVariables(TypeMirror type) {
+        switch (type.getKind()) {
+            case TYPEVAR:
+                return true;
+            case ARRAY:
+                return hasTypeVariables(((ArrayType) type).getComponentType());
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                return wildcard.getExtendsBound() != null && hasTypeVariables(wildcard.getExtendsBound())
+                        || wildcard.getSuperBound() != null && hasTypeVariables(wildcard.getSuperBound());
+            case DECLARED:
+                for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                    if (hasTypeVariables(argument)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package dev.morphia.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.lang.Nullable;
+
+import dev.morphia.Morphia;
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.config.ManualMorphiaConfig;
+import dev.morphia.mapping.codec.pojo.GeneratedCodecs;
+import dev.morphia.mapping.codec.pojo.MorphiaCodec;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestEntityCodecProcessor {
+    private static final String SOURCE = String.join("\n",
+            "package com.example;",
+            "",
+            "import java.util.List;",
+            "import dev.morphia.annotations.Entity;",
+            "import dev.morphia.annotations.Id;",
+            "import dev.morphia.annotations.Property;",
+            "import dev.morphia.annotations.Reference;",
+            "import dev.morphia.annotations.Transient;",
+            "import org.bson.types.ObjectId;",
+            "",
+            "@Entity",
+            "public class Order {",
+            "    @Id",
+            "    ObjectId id;",
+            "    @Property(\"n\")",
+            "    String name;",
+            "    int count;",
+            "    List<String> tags;",
+            "    private double total;",
+            "    @Reference",
+            "    Order parent;",
+            "    @Transient",
+            "    String ignored;",
+            "    static String constant;",
+            "}");
+
+    @Test
+    public void generatesCodecs() throws IOException {
+        Path output = compile();
+
+        File generated = output.resolve("com/example/Order_MorphiaCodecs.java").toFile();
+        assertTrue(generated.exists());
+        String code = Files.readString(generated.toPath(), UTF_8);
+
+        assertTrue(code.contains("case \"_id\":"), code);
+        assertTrue(code.contains("case \"n\":"), code);
+        assertTrue(code.contains("entity.count = (java.lang.Integer)"), code);
+        assertTrue(code.contains("totalModel.getAccessor().set(entity"), code);
+        assertTrue(code.contains("entity.count = reader.readInt32();"), code);
+        assertTrue(code.contains("writer.writeInt32(value.count);"), code);
+        assertTrue(code.contains("decodePrimitive(reader, entity, totalModel);"), code);
+        assertTrue(code.contains("encodeValue(writer, encoderContext, nameModel, value.name);"), code);
+        assertTrue(code.contains("encodeValue(writer, encoderContext, parentModel, value.parent);"), code);
+        assertFalse(code.contains("case \"parent\":"), code);
+        assertFalse(code.contains("ignored"), code);
+        assertFalse(code.contains("constant"), code);
+
+        String services = Files.readString(output.resolve(EntityCodecProcessor.SERVICE_FILE), UTF_8);
+        assertTrue(services.contains("com.example.Order_MorphiaCodecs"), services);
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void roundTripsThroughGeneratedCodecs() throws Exception {
+        Path output = compile();
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { output.toUri().toURL() }, getClass().getClassLoader());
+                MongoClient client = MongoClients.create()) {
+            thread.setContextClassLoader(loader);
+            Class<?> type = loader.loadClass("com.example.Order");
+            MorphiaDatastore datastore = (MorphiaDatastore) Morphia.createDatastore(client, ManualMorphiaConfig.configure());
+
+            Codec codec = datastore.getCodecRegistry().get(type);
+            assertTrue(codec instanceof MorphiaCodec, codec.getClass().getName());
+            assertEquals(((MorphiaCodec<?>) codec).getEncoder().getClass().getEnclosingClass().getName(),
+                    "com.example.Order_MorphiaCodecs");
+
+            Object order = type.getDeclaredConstructor().newInstance();
+            set(order, "id", new ObjectId());
+            set(order, "name", "widgets");
+            set(order, "count", 42);
+            set(order, "tags", List.of("red", "blue"));
+            set(order, "total", 12.5);
+
+            BsonDocument document = new BsonDocument();
+            codec.encode(new BsonDocumentWriter(document), order, EncoderContext.builder().build());
+            assertEquals(document.getString("n").getValue(), "widgets");
+            assertEquals(document.getInt32("count").getValue(), 42);
+
+            Object decoded = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+            for (String name : List.of("id", "name", "count", "tags", "total")) {
+                assertEquals(get(decoded, name), get(order, name), name);
+            }
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private static Path compile() throws IOException {
+        Path root = Files.createTempDirectory("morphia-processor");
+        Path sources = Files.createDirectories(root.resolve("src/com/example"));
+        Path output = Files.createDirectories(root.resolve("classes"));
+        Files.writeString(sources.resolve("Order.java"), SOURCE, UTF_8);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sources.resolve("Order.java").toFile());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-d", output.toString(), "-s", output.toString(), "-classpath", classpath()),
+                    null, units);
+            task.setProcessors(List.of(new EntityCodecProcessor()));
+            assertTrue(task.call(), "Generated code should compile");
+        }
+        return output;
+    }
+
+    private static Object get(Object entity, String name) throws ReflectiveOperationException {
+        Field field = entity.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(entity);
+    }
+
+    private static void set(Object entity, String name, Object value) throws ReflectiveOperationException {
+        Field field = entity.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(entity, value);
+    }
+
+    private static String classpath() {
+        return Stream.of(GeneratedCodecs.class, ObjectId.class, MongoClient.class, Nullable.class)
+                .map(type -> {
+                    try {
+                        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getAbsolutePath();
+                    } catch (URISyntaxException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .distinct()
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+}
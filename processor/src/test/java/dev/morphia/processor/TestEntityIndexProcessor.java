@@ -0,0 +1,79 @@
+package dev.morphia.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import dev.morphia.annotations.Entity;
+
+import org.testng.annotations.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestEntityIndexProcessor {
+    @Test
+    public void indexesMappableTypes() throws IOException {
+        Path root = Files.createTempDirectory("morphia-index");
+        Path sources = Files.createDirectories(root.resolve("src/com/example"));
+        Path output = Files.createDirectories(root.resolve("classes"));
+        write(sources, "Shape", "package com.example;",
+                "@dev.morphia.annotations.Entity",
+                "public abstract class Shape {",
+                "    @dev.morphia.annotations.Entity",
+                "    public static class Nested {",
+                "    }",
+                "}");
+        write(sources, "Circle", "package com.example;",
+                "public class Circle extends Shape {",
+                "}");
+        write(sources, "Helper", "package com.example;",
+                "public class Helper {",
+                "}");
+
+        assertTrue(compile(output, sources.resolve("Shape.java"), sources.resolve("Circle.java"), sources.resolve("Helper.java")));
+        assertEquals(Files.readAllLines(output.resolve(EntityIndexProcessor.INDEX_FILE), UTF_8),
+                List.of("com.example.Circle", "com.example.Shape", "com.example.Shape$Nested"));
+
+        // an incremental compilation only sees the changed sources
+        write(sources, "Square", "package com.example;",
+                "public class Square extends Shape {",
+                "}");
+        assertTrue(compile(output, sources.resolve("Square.java")));
+        assertEquals(Files.readAllLines(output.resolve(EntityIndexProcessor.INDEX_FILE), UTF_8),
+                List.of("com.example.Circle", "com.example.Shape", "com.example.Shape$Nested", "com.example.Square"));
+    }
+
+    private static boolean compile(Path output, Path... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(List.of(sources));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-d", output.toString(), "-classpath", classpath() + File.pathSeparator + output),
+                    null, units);
+            task.setProcessors(List.of(new EntityIndexProcessor()));
+            return task.call();
+        }
+    }
+
+    private static void write(Path directory, String name, String... lines) throws IOException {
+        Files.writeString(directory.resolve(name + ".java"), String.join("\n", lines), UTF_8);
+    }
+
+    private static String classpath() {
+        try {
+            return new File(Entity.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getAbsolutePath();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package dev.morphia.reactive;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.mongodb.CursorType;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.Collation;
+import com.mongodb.lang.Nullable;
+import com.mongodb.reactivestreams.client.FindPublisher;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+/**
+ * Presents a {@link FindPublisher} as a {@link FindIterable} so that {@link dev.morphia.query.FindOptions} can configure it the same
+ * way it does synchronous queries. Only the configuration methods are supported.
+ *
+ * @param <T> the result type
+ */
+class FindPublisherAdapter<T> implements FindIterable<T> {
+    private final FindPublisher<T> publisher;
+
+    FindPublisherAdapter(FindPublisher<T> publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public FindIterable<T> allowDiskUse(@Nullable Boolean allowDiskUse) {
+        publisher.allowDiskUse(allowDiskUse);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> batchSize(int batchSize) {
+        publisher.batchSize(batchSize);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> collation(@Nullable Collation collation) {
+        publisher.collation(collation);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> comment(@Nullable String comment) {
+        publisher.comment(comment);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> comment(@Nullable BsonValue comment) {
+        publisher.comment(comment);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> cursorType(CursorType cursorType) {
+        publisher.cursorType(cursorType);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> filter(@Nullable Bson filter) {
+        publisher.filter(filter);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> hint(@Nullable Bson hint) {
+        publisher.hint(hint);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> hintString(@Nullable String hint) {
+        publisher.hintString(hint);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> let(@Nullable Bson variables) {
+        publisher.let(variables);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> limit(int limit) {
+        publisher.limit(limit);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> max(@Nullable Bson max) {
+        publisher.max(max);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> maxAwaitTime(long maxAwaitTime, TimeUnit timeUnit) {
+        publisher.maxAwaitTime(maxAwaitTime, timeUnit);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> maxTime(long maxTime, TimeUnit timeUnit) {
+        publisher.maxTime(maxTime, timeUnit);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> min(@Nullable Bson min) {
+        publisher.min(min);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> noCursorTimeout(boolean noCursorTimeout) {
+        publisher.noCursorTimeout(noCursorTimeout);
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public FindIterable<T> oplogReplay(boolean oplogReplay) {
+        publisher.oplogReplay(oplogReplay);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> partial(boolean partial) {
+        publisher.partial(partial);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> projection(@Nullable Bson projection) {
+        publisher.projection(projection);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> returnKey(boolean returnKey) {
+        publisher.returnKey(returnKey);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> showRecordId(boolean showRecordId) {
+        publisher.showRecordId(showRecordId);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> skip(int skip) {
+        publisher.skip(skip);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> sort(@Nullable Bson sort) {
+        publisher.sort(sort);
+        return this;
+    }
+
+    @Override
+    public MongoCursor<T> cursor() {
+        throw unsupported();
+    }
+
+    @Override
+    public Document explain() {
+        throw unsupported();
+    }
+
+    @Override
+    public Document explain(ExplainVerbosity verbosity) {
+        throw unsupported();
+    }
+
+    @Override
+    public <E> E explain(Class<E> explainResultClass) {
+        throw unsupported();
+    }
+
+    @Override
+    public <E> E explain(Class<E> explainResultClass, ExplainVerbosity verbosity) {
+        throw unsupported();
+    }
+
+    @Override
+    public T first() {
+        throw unsupported();
+    }
+
+    @Override
+    public <A extends Collection<? super T>> A into(A target) {
+        throw unsupported();
+    }
+
+    @Override
+    public MongoCursor<T> iterator() {
+        throw unsupported();
+    }
+
+    @Override
+    public <U> MongoIterable<U> map(Function<T, U> mapper) {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Results are only available via the FindPublisher");
+    }
+}
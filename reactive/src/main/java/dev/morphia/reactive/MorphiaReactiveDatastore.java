@@ -0,0 +1,264 @@
+package dev.morphia.reactive;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+
+import dev.morphia.InsertManyOptions;
+import dev.morphia.InsertOneOptions;
+import dev.morphia.MorphiaDatastore;
+import dev.morphia.UpdateOptions;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.aggregation.AggregationImpl;
+import dev.morphia.aggregation.AggregationImpl.ResultCodec;
+import dev.morphia.aggregation.stages.Stage;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.internal.MorphiaInternal;
+import dev.morphia.internal.CollectionConfigurable;
+import dev.morphia.internal.CollectionConfiguration;
+import dev.morphia.internal.ReadConfigurable;
+import dev.morphia.internal.VersionBump;
+import dev.morphia.internal.WriteConfigurable;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.MorphiaQuery;
+import dev.morphia.query.Operations;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.query.updates.UpdateOperator;
+import dev.morphia.sofia.Sofia;
+
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static dev.morphia.mapping.codec.CodecHelper.coalesce;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
+/**
+ * The default {@link ReactiveDatastore} implementation. Queries, updates and aggregation pipelines are encoded by the synchronous
+ * datastore's machinery and then executed via the reactive driver.
+ *
+ * @hidden
+ * @morphia.internal
+ * @since 3.0
+ */
+@MorphiaInternal
+public class MorphiaReactiveDatastore implements ReactiveDatastore {
+    private final MorphiaDatastore datastore;
+    private final MongoDatabase database;
+
+    /**
+     * Creates a new reactive datastore
+     *
+     * @param datastore   the datastore whose mapping should be shared
+     * @param mongoClient the reactive client to use
+     */
+    public MorphiaReactiveDatastore(MorphiaDatastore datastore, MongoClient mongoClient) {
+        this.datastore = datastore;
+        this.database = mongoClient.getDatabase(datastore.getMapper().getConfig().database())
+                .withCodecRegistry(datastore.getCodecRegistry());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S, R> Publisher<R> aggregate(Class<S> source, Class<R> resultType, Stage... stages) {
+        return Flux.defer(() -> {
+            AggregationImpl<S> aggregation = (AggregationImpl<S>) datastore.aggregate(source);
+            for (Stage stage : stages) {
+                aggregation.addStage(stage);
+            }
+            List<Document> pipeline = aggregation.pipeline();
+            MongoCollection<S> collection = getCollection(source);
+            if (getMapper().isMappable(resultType) && !resultType.equals(source)) {
+                Codec<R> codec = new ResultCodec<>(datastore.getCodecRegistry().get(resultType));
+                return collection.withCodecRegistry(fromRegistries(fromCodecs(codec), collection.getCodecRegistry()))
+                        .aggregate(pipeline, resultType);
+            }
+            return collection.aggregate(pipeline, resultType);
+        });
+    }
+
+    @Override
+    public <T> Publisher<T> find(Class<T> type, FindOptions options, Filter... filters) {
+        return Flux.defer(() -> {
+            Document query = query(type, filters).toDocument();
+            FindPublisher<T> publisher = configure(options, getCollection(type)).find(query);
+            options.apply(new FindPublisherAdapter<>(publisher), getMapper(), type);
+            return publisher;
+        });
+    }
+
+    @Override
+    public <T> MongoCollection<T> getCollection(Class<T> type) {
+        EntityModel entityModel = getMapper().getEntityModel(type);
+        MongoCollection<T> collection = database.getCollection(entityModel.getCollectionName(), type);
+
+        Entity annotation = entityModel.getEntityAnnotation();
+        if (annotation != null && !annotation.concern().equals("")) {
+            collection = collection.withWriteConcern(WriteConcern.valueOf(annotation.concern()));
+        }
+        return collection;
+    }
+
+    @Override
+    public MongoDatabase getDatabase() {
+        return database;
+    }
+
+    @Override
+    public Mapper getMapper() {
+        return datastore.getMapper();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Publisher<T> insert(T entity, InsertOneOptions options) {
+        return Mono.defer(() -> {
+            MongoCollection<T> collection = configure(options, getCollection((Class<T>) entity.getClass()));
+            VersionBump bump = VersionBump.of(getMapper(), entity);
+            return Mono.from(collection.insertOne(entity, options.driver()))
+                    .doOnError(MongoException.class, e -> bump.rollbackVersion())
+                    .thenReturn(entity);
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Publisher<T> insert(List<T> entities, InsertManyOptions options) {
+        return Flux.defer(() -> {
+            Map<Class<T>, List<T>> grouped = new LinkedHashMap<>();
+            for (T entity : entities) {
+                grouped.computeIfAbsent((Class<T>) entity.getClass(), c -> new ArrayList<>())
+                        .add(entity);
+            }
+            String alternate = options.collection();
+            if (alternate != null && grouped.size() > 1) {
+                Sofia.logInsertManyAlternateCollection(alternate);
+            }
+            return Flux.fromIterable(grouped.entrySet())
+                    .concatMap(entry -> {
+                        List<T> list = entry.getValue();
+                        List<VersionBump> bumps = new ArrayList<>();
+                        for (T entity : list) {
+                            bumps.add(VersionBump.of(getMapper(), entity));
+                        }
+                        MongoCollection<T> collection = configure(options, getCollection(entry.getKey()));
+                        return Mono.from(collection.insertMany(list, options.driver()))
+                                .doOnError(MongoException.class, e -> bumps.forEach(VersionBump::rollbackVersion))
+                                .thenMany(Flux.fromIterable(list));
+                    });
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Publisher<T> save(T entity, InsertOneOptions options) {
+        return Mono.defer(() -> {
+            MongoCollection<T> collection = configure(options, getCollection((Class<T>) entity.getClass()));
+
+            EntityModel entityModel = getMapper().getEntityModel(entity.getClass());
+            PropertyModel idProperty = entityModel.getIdProperty();
+            Object id = idProperty != null ? idProperty.getValue(entity) : null;
+            VersionBump bump = VersionBump.of(getMapper(), entity);
+
+            Mono<T> result;
+            if (id == null || bump.isFirstVersion()) {
+                result = Mono.from(collection.insertOne(entity, options.driver()))
+                        .thenReturn(entity);
+            } else {
+                ReplaceOptions replaceOptions = new ReplaceOptions()
+                        .bypassDocumentValidation(options.bypassDocumentValidation())
+                        .upsert(!bump.versioned());
+                Document filter = new Document("_id", id);
+                bump.filter(filter);
+                entityModel.getShardKeys().forEach((property) -> {
+                    filter.put(property.getMappedName(), property.getValue(entity));
+                });
+
+                result = Mono.from(collection.replaceOne(filter, entity, replaceOptions))
+                        .map(updateResult -> {
+                            if (bump.versioned() && updateResult.getModifiedCount() != 1) {
+                                bump.rollbackVersion();
+                                throw new VersionMismatchException(entity.getClass(), id);
+                            }
+                            return entity;
+                        });
+            }
+            return result.doOnError(MongoWriteException.class, e -> bump.rollbackVersion());
+        });
+    }
+
+    @Override
+    public <T> Publisher<UpdateResult> update(Class<T> type, List<Filter> filters, UpdateOptions options, UpdateOperator first,
+            UpdateOperator... updates) {
+        return Mono.defer(() -> {
+            EntityModel entityModel = getMapper().getEntityModel(type);
+            MorphiaQuery<T> query = query(type, filters.toArray(new Filter[0]));
+            Document updateOperations = new Operations(entityModel, coalesce(first, updates), query.isValidate())
+                    .toDocument(datastore);
+
+            Document queryObject = query.toDocument();
+            if (options.isUpsert() && entityModel.useDiscriminator()) {
+                queryObject.put(entityModel.getDiscriminatorKey(), entityModel.getDiscriminator());
+            }
+
+            MongoCollection<T> collection = configure(options, getCollection(type));
+            return Mono.from(options.multi()
+                    ? collection.updateMany(queryObject, updateOperations, options)
+                    : collection.updateOne(queryObject, updateOperations, options));
+        });
+    }
+
+    /**
+     * Mirrors {@link MorphiaDatastore#configureCollection(CollectionConfiguration, com.mongodb.client.MongoCollection)} for reactive
+     * collections.
+     */
+    private <T> MongoCollection<T> configure(CollectionConfiguration options, MongoCollection<T> collection) {
+        if (options instanceof CollectionConfigurable) {
+            String alternate = ((CollectionConfigurable<?>) options).collection();
+            if (alternate != null) {
+                collection = database.getCollection(alternate, collection.getDocumentClass());
+            }
+        }
+        if (options instanceof ReadConfigurable) {
+            ReadConcern readConcern = ((ReadConfigurable<?>) options).readConcern();
+            if (readConcern != null) {
+                collection = collection.withReadConcern(readConcern);
+            }
+            ReadPreference readPreference = ((ReadConfigurable<?>) options).readPreference();
+            if (readPreference != null) {
+                collection = collection.withReadPreference(readPreference);
+            }
+        }
+        if (options instanceof WriteConfigurable) {
+            WriteConcern writeConcern = ((WriteConfigurable<?>) options).writeConcern();
+            if (writeConcern != null) {
+                collection = collection.withWriteConcern(writeConcern);
+            }
+        }
+        return collection;
+    }
+
+    private <T> MorphiaQuery<T> query(Class<T> type, Filter... filters) {
+        return (MorphiaQuery<T>) datastore.find(type).filter(filters);
+    }
+}
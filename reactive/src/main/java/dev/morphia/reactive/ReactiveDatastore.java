@@ -0,0 +1,176 @@
+package dev.morphia.reactive;
+
+import java.util.List;
+
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+
+import dev.morphia.InsertManyOptions;
+import dev.morphia.InsertOneOptions;
+import dev.morphia.UpdateOptions;
+import dev.morphia.aggregation.stages.Stage;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.filters.Filter;
+import dev.morphia.query.updates.UpdateOperator;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * A non-blocking datastore backed by the reactive streams driver. It shares the {@code Mapper}, codecs and filter and update encoding of
+ * the {@link dev.morphia.MorphiaDatastore} it was created from so entities are mapped exactly as they are by the synchronous API. None of
+ * the operations are executed until the returned {@code Publisher} is subscribed to.
+ * <p>
+ * Eagerly fetched references are still resolved through the synchronous datastore while decoding. Entities with {@code @Reference}
+ * properties should use lazy references when used with this datastore.
+ *
+ * @see ReactiveMorphia#createDatastore(dev.morphia.MorphiaDatastore, com.mongodb.reactivestreams.client.MongoClient)
+ * @since 3.0
+ */
+public interface ReactiveDatastore {
+    /**
+     * Runs an aggregation pipeline against the collection mapped for the source type.
+     *
+     * @param source     the source type
+     * @param resultType the type of the results
+     * @param stages     the pipeline stages
+     * @param <S>        the source type
+     * @param <R>        the result type
+     * @return the results
+     */
+    <S, R> Publisher<R> aggregate(Class<S> source, Class<R> resultType, Stage... stages);
+
+    /**
+     * Finds the entities matching the filters.
+     *
+     * @param type    the entity type
+     * @param filters the filters to apply
+     * @param <T>     the entity type
+     * @return the matching entities
+     */
+    default <T> Publisher<T> find(Class<T> type, Filter... filters) {
+        return find(type, new FindOptions(), filters);
+    }
+
+    /**
+     * Finds the entities matching the filters.
+     *
+     * @param type    the entity type
+     * @param options the options to apply
+     * @param filters the filters to apply
+     * @param <T>     the entity type
+     * @return the matching entities
+     */
+    <T> Publisher<T> find(Class<T> type, FindOptions options, Filter... filters);
+
+    /**
+     * @param type the entity type
+     * @param <T>  the entity type
+     * @return the collection mapped for the type
+     */
+    <T> MongoCollection<T> getCollection(Class<T> type);
+
+    /**
+     * @return the database
+     */
+    MongoDatabase getDatabase();
+
+    /**
+     * @return the mapper shared with the synchronous datastore
+     */
+    Mapper getMapper();
+
+    /**
+     * Inserts an entity. Any generated ID is set on the entity before it is emitted.
+     *
+     * @param entity the entity to insert
+     * @param <T>    the entity type
+     * @return the inserted entity
+     */
+    default <T> Publisher<T> insert(T entity) {
+        return insert(entity, new InsertOneOptions());
+    }
+
+    /**
+     * Inserts an entity. Any generated ID is set on the entity before it is emitted.
+     *
+     * @param entity  the entity to insert
+     * @param options the options to apply
+     * @param <T>     the entity type
+     * @return the inserted entity
+     */
+    <T> Publisher<T> insert(T entity, InsertOneOptions options);
+
+    /**
+     * Inserts a list of entities. Entities of different types are inserted in to their respective collections one type after another.
+     *
+     * @param entities the entities to insert
+     * @param <T>      the entity type
+     * @return the inserted entities
+     */
+    default <T> Publisher<T> insert(List<T> entities) {
+        return insert(entities, new InsertManyOptions());
+    }
+
+    /**
+     * Inserts a list of entities. Entities of different types are inserted in to their respective collections one type after another.
+     *
+     * @param entities the entities to insert
+     * @param options  the options to apply
+     * @param <T>      the entity type
+     * @return the inserted entities
+     */
+    <T> Publisher<T> insert(List<T> entities, InsertManyOptions options);
+
+    /**
+     * Saves an entity. Entities without an ID are inserted while others replace any existing document with the same ID. Versioned
+     * entities fail with a {@link dev.morphia.VersionMismatchException} if the stored version has changed.
+     *
+     * @param entity the entity to save
+     * @param <T>    the entity type
+     * @return the saved entity
+     */
+    default <T> Publisher<T> save(T entity) {
+        return save(entity, new InsertOneOptions());
+    }
+
+    /**
+     * Saves an entity. Entities without an ID are inserted while others replace any existing document with the same ID. Versioned
+     * entities fail with a {@link dev.morphia.VersionMismatchException} if the stored version has changed.
+     *
+     * @param entity  the entity to save
+     * @param options the options to apply
+     * @param <T>     the entity type
+     * @return the saved entity
+     */
+    <T> Publisher<T> save(T entity, InsertOneOptions options);
+
+    /**
+     * Updates the first entity matching the filters.
+     *
+     * @param type    the entity type
+     * @param filters the filters to apply
+     * @param first   the first update operator
+     * @param updates any further update operators
+     * @param <T>     the entity type
+     * @return the results of the update
+     */
+    default <T> Publisher<UpdateResult> update(Class<T> type, List<Filter> filters, UpdateOperator first, UpdateOperator... updates) {
+        return update(type, filters, new UpdateOptions(), first, updates);
+    }
+
+    /**
+     * Updates the entities matching the filters. All matching entities are updated if {@link UpdateOptions#multi(boolean)} is set.
+     *
+     * @param type    the entity type
+     * @param filters the filters to apply
+     * @param options the options to apply
+     * @param first   the first update operator
+     * @param updates any further update operators
+     * @param <T>     the entity type
+     * @return the results of the update
+     */
+    <T> Publisher<UpdateResult> update(Class<T> type, List<Filter> filters, UpdateOptions options, UpdateOperator first,
+            UpdateOperator... updates);
+}
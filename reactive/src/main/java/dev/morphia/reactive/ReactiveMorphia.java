@@ -0,0 +1,28 @@
+package dev.morphia.reactive;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+
+import dev.morphia.MorphiaDatastore;
+
+/**
+ * Entry point for working with Morphia via the reactive streams driver
+ *
+ * @since 3.0
+ */
+public final class ReactiveMorphia {
+
+    private ReactiveMorphia() {
+    }
+
+    /**
+     * Creates a reactive datastore sharing the mapping and configuration of an existing datastore. Both clients should be configured
+     * to connect to the same deployment.
+     *
+     * @param datastore   the datastore whose mapper, codecs and configuration should be used
+     * @param mongoClient the reactive client to use
+     * @return a ReactiveDatastore that you can use to interact with MongoDB
+     */
+    public static ReactiveDatastore createDatastore(MorphiaDatastore datastore, MongoClient mongoClient) {
+        return new MorphiaReactiveDatastore(datastore, mongoClient);
+    }
+}
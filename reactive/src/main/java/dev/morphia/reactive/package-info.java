@@ -0,0 +1,7 @@
+/**
+ * Defines a non-blocking datastore backed by the reactive streams driver.
+ */
+@NonNullApi
+package dev.morphia.reactive;
+
+import com.mongodb.lang.NonNullApi;
@@ -0,0 +1,144 @@
+package dev.morphia.test.reactive;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+
+import dev.morphia.UpdateOptions;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Version;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.Sort;
+import dev.morphia.reactive.ReactiveDatastore;
+import dev.morphia.reactive.ReactiveMorphia;
+import dev.morphia.test.TestBase;
+
+import org.bson.types.ObjectId;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static dev.morphia.aggregation.expressions.AccumulatorExpressions.sum;
+import static dev.morphia.aggregation.expressions.Expressions.field;
+import static dev.morphia.aggregation.stages.Group.group;
+import static dev.morphia.aggregation.stages.Group.id;
+import static dev.morphia.aggregation.stages.Sort.sort;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gt;
+import static dev.morphia.query.updates.UpdateOperators.inc;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertThrows;
+
+public class TestReactiveDatastore extends TestBase {
+    private MongoClient reactiveClient;
+
+    @AfterClass
+    public void closeClient() {
+        if (reactiveClient != null) {
+            reactiveClient.close();
+        }
+    }
+
+    @Test
+    public void testFind() {
+        ReactiveDatastore datastore = reactive();
+        Flux.from(datastore.insert(List.of(new Product("widget", 5), new Product("gadget", 10), new Product("gizmo", 15))))
+                .blockLast();
+
+        List<Product> found = Flux.from(datastore.find(Product.class, new FindOptions().sort(Sort.descending("price")), gt("price", 7)))
+                .collectList()
+                .block();
+
+        assertEquals(found.stream().map(p -> p.name).collect(Collectors.toList()), List.of("gizmo", "gadget"));
+        assertEquals(getDs().find(Product.class).count(), 3);
+    }
+
+    @Test
+    public void testAggregate() {
+        ReactiveDatastore datastore = reactive();
+        Flux.from(datastore.insert(List.of(new Product("widget", 5), new Product("widget", 10), new Product("gizmo", 15))))
+                .blockLast();
+
+        List<Total> totals = Flux.from(datastore.aggregate(Product.class, Total.class,
+                group(id(field("name"))).field("total", sum(field("price"))),
+                sort().ascending("_id")))
+                .collectList()
+                .block();
+
+        assertEquals(totals.size(), 2);
+        assertEquals(totals.get(0).id, "gizmo");
+        assertEquals(totals.get(0).total, 15);
+        assertEquals(totals.get(1).id, "widget");
+        assertEquals(totals.get(1).total, 15);
+    }
+
+    @Test
+    public void testSaveAndUpdate() {
+        ReactiveDatastore datastore = reactive();
+        Product product = Mono.from(datastore.save(new Product("widget", 5))).block();
+        assertNotNull(product.id);
+        assertEquals(product.version, 1L);
+
+        product.price = 6;
+        Mono.from(datastore.save(product)).block();
+        assertEquals(product.version, 2L);
+
+        Mono.from(datastore.update(Product.class, List.of(eq("_id", product.id)), new UpdateOptions(), inc("price", 4)))
+                .block();
+        Product loaded = getDs().find(Product.class).filter(eq("_id", product.id)).first();
+        assertEquals(loaded.price, 10);
+        assertEquals(loaded.version, 2L);
+
+        loaded.version = 1L;
+        assertThrows(VersionMismatchException.class, () -> Mono.from(datastore.save(loaded)).block());
+        assertEquals(loaded.version, 1L);
+    }
+
+    private ReactiveDatastore reactive() {
+        if (reactiveClient == null) {
+            List<ServerAddress> hosts = getMongoClient().getClusterDescription().getServerDescriptions().stream()
+                    .map(ServerDescription::getAddress)
+                    .collect(Collectors.toList());
+            reactiveClient = MongoClients.create(MongoClientSettings.builder()
+                    .applyToClusterSettings(builder -> builder.hosts(hosts))
+                    .build());
+        }
+        getMapper().map(Product.class);
+        return ReactiveMorphia.createDatastore(getDs(), reactiveClient);
+    }
+
+    @Entity("reactive_products")
+    public static class Product {
+        @Id
+        ObjectId id;
+        String name;
+        int price;
+        @Version
+        Long version;
+
+        public Product() {
+        }
+
+        Product(String name, int price) {
+            this.name = name;
+            this.price = price;
+        }
+    }
+
+    @Entity
+    public static class Total {
+        @Id
+        String id;
+        int total;
+    }
+}